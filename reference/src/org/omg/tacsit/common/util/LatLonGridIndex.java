@@ -0,0 +1,283 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.common.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A spatial index of items at latitude/longitude locations on the globe.
+ * <p>
+ * The globe is divided into a grid of equal sized latitude/longitude cells, and each item is kept in the cell that
+ * contains its location.  Moving an item to a new location moves it between cells, so the index stays correct for
+ * items that move.  A region query only visits the cells that overlap the region, so its cost is proportional to the
+ * number of items near the region rather than the number of items in the index.
+ * <p>
+ * LatLonGridIndex is not thread-safe.  An index that is changed on one thread and queried on another must be
+ * guarded by the caller.
+ * @param <T> The type of item in the index.
+ * @author Matthew Child
+ */
+public class LatLonGridIndex<T>
+{
+  /**
+   * The size of the grid cells used when none is specified, in degrees.
+   */
+  public static final double DEFAULT_CELL_SIZE = 2.0;
+
+  private double cellSize;
+  private int rowCount;
+  private int columnCount;
+  private Map<Integer, List<Entry<T>>> cells;
+  private Map<T, Entry<T>> itemToEntry;
+
+  /**
+   * Creates a new instance with the default cell size.
+   */
+  public LatLonGridIndex()
+  {
+    this(DEFAULT_CELL_SIZE);
+  }
+
+  /**
+   * Creates a new instance.
+   * @param cellSize The size of each grid cell, in degrees.  Must be positive, and no more than 180 degrees.
+   */
+  public LatLonGridIndex(double cellSize)
+  {
+    if (!(cellSize > 0) || cellSize > 180)
+    {
+      throw new IllegalArgumentException("cellSize must be greater than 0 and no more than 180 degrees");
+    }
+    this.cellSize = cellSize;
+    this.rowCount = (int) Math.ceil(180 / cellSize);
+    this.columnCount = (int) Math.ceil(360 / cellSize);
+    this.cells = new HashMap<Integer, List<Entry<T>>>();
+    this.itemToEntry = new HashMap<T, Entry<T>>();
+  }
+
+  /**
+   * Gets the size of each grid cell.
+   * @return The cell size, in degrees.
+   */
+  public double getCellSize()
+  {
+    return cellSize;
+  }
+
+  /**
+   * Gets the number of items in the index.
+   * @return The number of items in the index.
+   */
+  public int size()
+  {
+    return itemToEntry.size();
+  }
+
+  /**
+   * Checks to see if an item is in the index.
+   * @param item The item to check for.
+   * @return true if the item is in the index, false otherwise.
+   */
+  public boolean contains(T item)
+  {
+    return itemToEntry.containsKey(item);
+  }
+
+  /**
+   * Puts an item in the index at a location.  If the item is already in the index, it is moved to the new location.
+   * @param item The item to put in the index. May not be null.
+   * @param latitude The latitude of the item, in degrees.
+   * @param longitude The longitude of the item, in degrees.
+   */
+  public void put(T item, double latitude, double longitude)
+  {
+    if (item == null)
+    {
+      throw new IllegalArgumentException("item may not be null");
+    }
+
+    int cellKey = toCellKey(toRow(latitude), toColumn(longitude));
+
+    Entry<T> entry = itemToEntry.get(item);
+    if (entry == null)
+    {
+      entry = new Entry<T>(item);
+      itemToEntry.put(item, entry);
+      addToCell(entry, cellKey);
+    }
+    else if (entry.cellKey != cellKey)
+    {
+      removeFromCell(entry);
+      addToCell(entry, cellKey);
+    }
+    entry.latitude = latitude;
+    entry.longitude = longitude;
+  }
+
+  /**
+   * Removes an item from the index.
+   * @param item The item to remove.
+   * @return true if the item was in the index, false otherwise.
+   */
+  public boolean remove(T item)
+  {
+    Entry<T> entry = itemToEntry.remove(item);
+    if (entry != null)
+    {
+      removeFromCell(entry);
+    }
+    return entry != null;
+  }
+
+  /**
+   * Removes all items from the index.
+   */
+  public void clear()
+  {
+    cells.clear();
+    itemToEntry.clear();
+  }
+
+  /**
+   * Gets all of the items in the index.
+   * @param result The collection to add the items to.
+   * @return The result collection.
+   */
+  public <C extends Collection<? super T>> C getItems(C result)
+  {
+    result.addAll(itemToEntry.keySet());
+    return result;
+  }
+
+  /**
+   * Gets the items whose locations are inside a latitude/longitude region.  Items on the edges of the region are
+   * inside it.
+   * @param minLatitude The southern edge of the region, in degrees.
+   * @param maxLatitude The northern edge of the region, in degrees.
+   * @param minLongitude The western edge of the region, in degrees.
+   * @param maxLongitude The eastern edge of the region, in degrees.
+   * @param result The collection to add the items to.
+   * @return The result collection.
+   */
+  public <C extends Collection<? super T>> C getItemsInRegion(double minLatitude, double maxLatitude,
+                                                              double minLongitude, double maxLongitude, C result)
+  {
+    int minRow = toRow(minLatitude);
+    int maxRow = toRow(maxLatitude);
+    int minColumn = toColumn(minLongitude);
+    int maxColumn = toColumn(maxLongitude);
+
+    long regionCellCount = (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+    if (regionCellCount > cells.size())
+    {
+      // Large regions cover more cells than are occupied, so it is cheaper to check every occupied cell.
+      for (Map.Entry<Integer, List<Entry<T>>> cell : cells.entrySet())
+      {
+        int cellKey = cell.getKey().intValue();
+        int row = cellKey / columnCount;
+        int column = cellKey % columnCount;
+        if (row >= minRow && row <= maxRow && column >= minColumn && column <= maxColumn)
+        {
+          addEntriesInRegion(cell.getValue(), minLatitude, maxLatitude, minLongitude, maxLongitude, result);
+        }
+      }
+    }
+    else
+    {
+      for (int row = minRow; row <= maxRow; row++)
+      {
+        for (int column = minColumn; column <= maxColumn; column++)
+        {
+          List<Entry<T>> cell = cells.get(Integer.valueOf(toCellKey(row, column)));
+          if (cell != null)
+          {
+            addEntriesInRegion(cell, minLatitude, maxLatitude, minLongitude, maxLongitude, result);
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private void addEntriesInRegion(List<Entry<T>> cell, double minLatitude, double maxLatitude, double minLongitude,
+                                  double maxLongitude, Collection<? super T> result)
+  {
+    for (int i = 0; i < cell.size(); i++)
+    {
+      Entry<T> entry = cell.get(i);
+      if (entry.latitude >= minLatitude && entry.latitude <= maxLatitude &&
+          entry.longitude >= minLongitude && entry.longitude <= maxLongitude)
+      {
+        result.add(entry.item);
+      }
+    }
+  }
+
+  private int toRow(double latitude)
+  {
+    int row = (int) Math.floor((latitude + 90) / cellSize);
+    return Math.max(0, Math.min(rowCount - 1, row));
+  }
+
+  private int toColumn(double longitude)
+  {
+    int column = (int) Math.floor((longitude + 180) / cellSize);
+    return Math.max(0, Math.min(columnCount - 1, column));
+  }
+
+  private int toCellKey(int row, int column)
+  {
+    return (row * columnCount) + column;
+  }
+
+  private void addToCell(Entry<T> entry, int cellKey)
+  {
+    Integer key = Integer.valueOf(cellKey);
+    List<Entry<T>> cell = cells.get(key);
+    if (cell == null)
+    {
+      cell = new ArrayList<Entry<T>>();
+      cells.put(key, cell);
+    }
+    entry.cellKey = cellKey;
+    entry.indexInCell = cell.size();
+    cell.add(entry);
+  }
+
+  private void removeFromCell(Entry<T> entry)
+  {
+    Integer key = Integer.valueOf(entry.cellKey);
+    List<Entry<T>> cell = cells.get(key);
+    int lastIndex = cell.size() - 1;
+    Entry<T> lastEntry = cell.remove(lastIndex);
+    if (lastEntry != entry)
+    {
+      cell.set(entry.indexInCell, lastEntry);
+      lastEntry.indexInCell = entry.indexInCell;
+    }
+    if (cell.isEmpty())
+    {
+      cells.remove(key);
+    }
+  }
+
+  private static class Entry<T>
+  {
+    private T item;
+    private double latitude;
+    private double longitude;
+    private int cellKey;
+    private int indexInCell;
+
+    public Entry(T item)
+    {
+      this.item = item;
+    }
+  }
+}
@@ -16,10 +16,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.swing.SwingUtilities;
+import org.omg.tacsit.common.util.LatLonGridIndex;
 import org.omg.tacsit.common.util.ObjectUtils;
+import org.omg.tacsit.entity.PositionedEntity;
+import org.omg.tacsit.geometry.GeodeticPosition;
 import org.omg.tacsit.repository.EntityRepository;
 import org.omg.tacsit.repository.RepositoryChangeEvent;
 import org.omg.tacsit.repository.RepositoryListener;
+import org.omg.tacsit.ui.viewport.InterestRegion;
 
 /**
  * A ViewportManager that manages a set of EntityViewports.
@@ -28,6 +33,22 @@ import org.omg.tacsit.repository.RepositoryListener;
  * the ViewportManager is operating with a VIEWPORT_INDEPENDENT SelectionMethodology, changes to any Viewport's
  * SelectionManager will affect all other managed Viewport's SelectionManager.  It will also implicitly update
  * the EntityViewportManager's viewportIndependentSelectionManager.
+ * <p>
+ * Entities are only routed to the viewports that allow them.  The manager keeps track of which repository entities
+ * each viewport holds, and checks every added or updated entity against each viewport's isEntityAllowed method.  An
+ * updated entity that a viewport newly allows is added to it, and one it no longer allows is removed from it.  When
+ * a viewport fires an INTEREST_PROPERTY change, such as when it pans to a new area, its entities are checked against
+ * it again, and only the entities whose membership changed are added or removed.  The positions of the repository's
+ * point entities are kept in a spatial index, so when only the viewport's InterestRegion has moved, just the point
+ * entities that are inside one region and not the other are checked.  Other interest changes check the whole
+ * repository.
+ * <p>
+ * Changes are not delivered to viewports on the thread that fired the repository event.  Each viewport has its own
+ * mailbox, which merges the changes to each entity and delivers them in a batch on the event dispatch thread once per
+ * drain interval.  A slow viewport therefore only delays its own updates, and never the repository or the other
+ * viewports.  Each mailbox is bounded; if a viewport falls further behind than the mailbox capacity, its waiting
+ * changes are dropped and it is reloaded with the entities it should hold.  The backlog of each viewport is available
+ * from getMailboxStatistics(EntityViewport).
  * @author Matthew Child
  */
 public class EntityViewportManager implements ViewportManager
@@ -41,6 +62,13 @@ public class EntityViewportManager implements ViewportManager
   private SelectionManager viewportIndependentSelectionManager;
   private SelectionMethodology selectionMethodology;
   private PropertyChangeListener viewportSelectionPropertyListener;
+  private PropertyChangeListener viewportInterestPropertyListener;
+  private Map<EntityViewport, Set<Entity>> viewportToEntities;
+  private Map<EntityViewport, ViewportMailbox> viewportToMailbox;
+  private LatLonGridIndex<Entity> pointEntityIndex;
+  private ViewportMailbox.Resynchronizer mailboxResynchronizer;
+  private int mailboxCapacity;
+  private int drainInterval;
 
   /**
    * Creates a new instance.
@@ -48,11 +76,18 @@ public class EntityViewportManager implements ViewportManager
   public EntityViewportManager()
   {
     repositoryListener = new RepositoryToViewportAdapter();
-    viewports = new HashSet();
-    listeners = new HashSet();
-    viewportToOldSelectionManager = new HashMap();
+    viewports = new HashSet<EntityViewport>();
+    listeners = new HashSet<ViewportManagerListener>();
+    viewportToOldSelectionManager = new HashMap<EntityViewport, SelectionManager>();
     viewportIndependentSelectionManager = createDefaultSelectionManager();
     viewportSelectionPropertyListener = new ViewportSelectionPropertyListener();
+    viewportInterestPropertyListener = new ViewportInterestPropertyListener();
+    viewportToEntities = new HashMap<EntityViewport, Set<Entity>>();
+    viewportToMailbox = new HashMap<EntityViewport, ViewportMailbox>();
+    pointEntityIndex = new LatLonGridIndex<Entity>();
+    mailboxResynchronizer = new MailboxResynchronizer();
+    mailboxCapacity = ViewportMailbox.DEFAULT_CAPACITY;
+    drainInterval = ViewportMailbox.DEFAULT_DRAIN_INTERVAL;
     selectionMethodology = SelectionMethodology.VIEWPORT_DEPENDENT;
   }
 
@@ -121,11 +156,24 @@ public class EntityViewportManager implements ViewportManager
     }
 
     EntityViewport entityViewport = (EntityViewport) viewport;
-    boolean added = viewports.add(entityViewport);
+    boolean added;
+    synchronized (this)
+    {
+      // Repository changes arrive on other threads, and look the viewport up in both maps as soon as it is in the
+      // set of viewports, so the maps are filled first.
+      added = !viewports.contains(entityViewport);
+      if (added)
+      {
+        viewportToEntities.put(entityViewport, new HashSet<Entity>());
+        viewportToMailbox.put(entityViewport, createMailbox(entityViewport));
+        viewports.add(entityViewport);
+        addRepositoryEntitiesTo(entityViewport);
+      }
+    }
 
     if (added)
     {
-      addRepositoryEntitiesTo(entityViewport);
+      entityViewport.addPropertyChangeListener(EntityViewport.INTEREST_PROPERTY, viewportInterestPropertyListener);
 
       // Update the viewport if we are using a common selection methodology.
       if (selectionMethodology == SelectionMethodology.VIEWPORT_INDEPENDENT)
@@ -139,11 +187,32 @@ public class EntityViewportManager implements ViewportManager
   @Override
   public void removeViewport(Viewport viewport)
   {
-    boolean removed = viewports.remove(viewport);
-    if (removed)
+    ViewportMailbox mailbox = null;
+    Set<Entity> viewportEntities = null;
+    synchronized (this)
+    {
+      // Once the viewport is out of the set of viewports, no more changes are posted to it.
+      if (viewports.remove(viewport))
+      {
+        mailbox = viewportToMailbox.remove(viewport);
+        viewportEntities = viewportToEntities.remove(viewport);
+      }
+    }
+
+    if (mailbox != null)
     {
       EntityViewport entityViewport = (EntityViewport) viewport;
-      removeRepositoryEntitiesFrom(entityViewport);
+      entityViewport.removePropertyChangeListener(EntityViewport.INTEREST_PROPERTY, viewportInterestPropertyListener);
+      // Mailboxes only deliver changes on the event dispatch thread, so the last delivery is made there as well.
+      Runnable finalDrain = new FinalDrain(entityViewport, mailbox, viewportEntities);
+      if (SwingUtilities.isEventDispatchThread())
+      {
+        finalDrain.run();
+      }
+      else
+      {
+        SwingUtilities.invokeLater(finalDrain);
+      }
       if (selectionMethodology == SelectionMethodology.VIEWPORT_INDEPENDENT)
       {
         revertViewportToOldSelectionManager(entityViewport);
@@ -263,6 +332,7 @@ public class EntityViewportManager implements ViewportManager
     if (this.entityRepository != null)
     {
       this.entityRepository.addRepositoryListener(repositoryListener);
+      indexPointEntities(getRepositoryEntities());
       for (EntityViewport viewport : viewports)
       {
         addRepositoryEntitiesTo(viewport);
@@ -270,72 +340,325 @@ public class EntityViewportManager implements ViewportManager
     }
   }
 
+  private List<Entity> getRepositoryEntities()
+  {
+    List<Entity> repositoryEntities = new ArrayList<Entity>();
+    Iterator<Entity> entities = entityRepository.getEntities();
+    while (entities.hasNext())
+    {
+      repositoryEntities.add(entities.next());
+    }
+    return repositoryEntities;
+  }
+
   private synchronized void addRepositoryEntitiesTo(EntityViewport viewport)
   {
     if (entityRepository != null)
     {
-      Iterator<Entity> entities = entityRepository.getEntities();
-      while (entities.hasNext())
+      addToViewport(viewport, getRepositoryEntities());
+    }
+  }
+
+  private synchronized void clearViewportEntities()
+  {
+    pointEntityIndex.clear();
+    for (EntityViewport viewport : viewports)
+    {
+      viewportToMailbox.get(viewport).postCleared();
+      viewportToEntities.get(viewport).clear();
+    }
+  }
+
+  private ViewportMailbox createMailbox(EntityViewport viewport)
+  {
+    ViewportMailbox mailbox = new ViewportMailbox(viewport, mailboxResynchronizer);
+    mailbox.setCapacity(mailboxCapacity);
+    mailbox.setDrainInterval(drainInterval);
+    return mailbox;
+  }
+
+  /**
+   * Sets the largest number of entities that may have changes waiting for a viewport.  A viewport that falls further
+   * behind has its waiting changes dropped, and is reloaded with the entities it should hold.
+   * @param mailboxCapacity The capacity of each viewport's mailbox, in entities.  Must be positive.
+   */
+  public synchronized void setMailboxCapacity(int mailboxCapacity)
+  {
+    if (mailboxCapacity <= 0)
+    {
+      throw new IllegalArgumentException("mailboxCapacity must be positive");
+    }
+    this.mailboxCapacity = mailboxCapacity;
+    for (ViewportMailbox mailbox : viewportToMailbox.values())
+    {
+      mailbox.setCapacity(mailboxCapacity);
+    }
+  }
+
+  /**
+   * Gets the largest number of entities that may have changes waiting for a viewport.
+   * @return The capacity of each viewport's mailbox, in entities.
+   */
+  public synchronized int getMailboxCapacity()
+  {
+    return mailboxCapacity;
+  }
+
+  /**
+   * Sets how long changes wait before they are delivered to a viewport.  Changes that arrive within one interval are
+   * delivered together.
+   * @param drainInterval The interval, in milliseconds.  May not be negative.
+   */
+  public synchronized void setDrainInterval(int drainInterval)
+  {
+    if (drainInterval < 0)
+    {
+      throw new IllegalArgumentException("drainInterval may not be negative");
+    }
+    this.drainInterval = drainInterval;
+    for (ViewportMailbox mailbox : viewportToMailbox.values())
+    {
+      mailbox.setDrainInterval(drainInterval);
+    }
+  }
+
+  /**
+   * Gets how long changes wait before they are delivered to a viewport.
+   * @return The interval, in milliseconds.
+   */
+  public synchronized int getDrainInterval()
+  {
+    return drainInterval;
+  }
+
+  /**
+   * Gets the statistics of the mailbox that holds a viewport's waiting changes.
+   * @param viewport The viewport to get the statistics of.
+   * @return The viewport's mailbox statistics, or null if the viewport is not managed by this manager.
+   */
+  public synchronized MailboxStatistics getMailboxStatistics(EntityViewport viewport)
+  {
+    ViewportMailbox mailbox = viewportToMailbox.get(viewport);
+    return (mailbox != null) ? mailbox.getStatistics() : null;
+  }
+
+  private void addToViewport(EntityViewport viewport, Collection<Entity> entities)
+  {
+    Set<Entity> viewportEntities = viewportToEntities.get(viewport);
+    List<Entity> addedEntities = new ArrayList<Entity>();
+    for (Entity entity : entities)
+    {
+      if (viewport.isEntityAllowed(entity) && viewportEntities.add(entity))
       {
-        Entity entity = entities.next();
-        viewport.addEntity(entity);
+        addedEntities.add(entity);
       }
     }
+    if (!addedEntities.isEmpty())
+    {
+      viewportToMailbox.get(viewport).postAdded(addedEntities);
+    }
   }
 
-  private synchronized void removeRepositoryEntitiesFrom(EntityViewport viewport)
+  private synchronized void addToAllViewports(Collection<Entity> entities)
   {
-    if (entityRepository != null)
+    indexPointEntities(entities);
+    for (EntityViewport viewport : viewports)
+    {
+      addToViewport(viewport, entities);
+    }
+  }
+
+  private synchronized void removeFromAllViewports(Collection<Entity> entities)
+  {
+    for (Entity entity : entities)
     {
-      Iterator<Entity> entities = entityRepository.getEntities();
-      while (entities.hasNext())
+      pointEntityIndex.remove(entity);
+    }
+    for (EntityViewport viewport : viewports)
+    {
+      Set<Entity> viewportEntities = viewportToEntities.get(viewport);
+      List<Entity> removedEntities = new ArrayList<Entity>();
+      for (Entity entity : entities)
+      {
+        if (viewportEntities.remove(entity))
+        {
+          removedEntities.add(entity);
+        }
+      }
+      if (!removedEntities.isEmpty())
       {
-        Entity entity = entities.next();
-        viewport.removeEntity(entity);
+        viewportToMailbox.get(viewport).postRemoved(removedEntities);
       }
     }
   }
 
-  private synchronized void clearViewportEntities()
+  private synchronized void updateForAllViewports(Collection<Entity> entities, Map<Entity, Integer> changedFields)
   {
+    indexPointEntities(entities);
     for (EntityViewport viewport : viewports)
     {
-      viewport.clearEntities();
+      updateViewportMembership(viewport, entities, true, changedFields);
     }
   }
 
-  private synchronized void addToAllViewports(Iterator<Entity> entities)
+  /**
+   * Brings the entities a viewport holds up to date with the entities it allows.
+   * @param viewport The viewport to update.
+   * @param entities The entities to check against the viewport.
+   * @param updateMembers true if the entities it already holds and still allows have changed, and should be
+   * updated in the viewport.
+   * @param changedFields The fields that changed for each entity, or null if they are not known.
+   */
+  private void updateViewportMembership(EntityViewport viewport, Collection<Entity> entities, boolean updateMembers,
+                                        Map<Entity, Integer> changedFields)
   {
-    while (entities.hasNext())
+    Set<Entity> viewportEntities = viewportToEntities.get(viewport);
+    List<Entity> addedEntities = new ArrayList<Entity>();
+    List<Entity> removedEntities = new ArrayList<Entity>();
+    List<Entity> updatedEntities = new ArrayList<Entity>();
+    for (Entity entity : entities)
     {
-      Entity entity = entities.next();
-      for (EntityViewport viewport : viewports)
+      boolean allowed = viewport.isEntityAllowed(entity);
+      boolean held = viewportEntities.contains(entity);
+      if (allowed && !held)
+      {
+        viewportEntities.add(entity);
+        addedEntities.add(entity);
+      }
+      else if (!allowed && held)
+      {
+        viewportEntities.remove(entity);
+        removedEntities.add(entity);
+      }
+      else if (allowed && updateMembers)
       {
-        viewport.addEntity(entity);
+        updatedEntities.add(entity);
       }
     }
+    ViewportMailbox mailbox = viewportToMailbox.get(viewport);
+    if (!removedEntities.isEmpty())
+    {
+      mailbox.postRemoved(removedEntities);
+    }
+    if (!addedEntities.isEmpty())
+    {
+      mailbox.postAdded(addedEntities);
+    }
+    if (!updatedEntities.isEmpty())
+    {
+      mailbox.postUpdated(updatedEntities, changedFields);
+    }
   }
 
-  private synchronized void removeFromAllViewports(Iterator<Entity> entities)
+  private synchronized void updateViewportInterest(EntityViewport viewport, Object oldInterest, Object newInterest)
   {
-    while (entities.hasNext())
+    if (entityRepository != null && viewports.contains(viewport))
     {
-      Entity entity = entities.next();
-      for (EntityViewport viewport : viewports)
+      boolean regionMoved = (oldInterest instanceof InterestRegion || newInterest instanceof InterestRegion) &&
+                            (oldInterest == null || oldInterest instanceof InterestRegion) &&
+                            (newInterest == null || newInterest instanceof InterestRegion);
+      if (regionMoved)
+      {
+        Set<Entity> crossingEntities = new HashSet<Entity>();
+        addEntitiesOutside((InterestRegion) oldInterest, (InterestRegion) newInterest, crossingEntities);
+        addEntitiesOutside((InterestRegion) newInterest, (InterestRegion) oldInterest, crossingEntities);
+        updateViewportMembership(viewport, crossingEntities, false, null);
+      }
+      else
       {
-        viewport.removeEntity(entity);
+        updateViewportMembership(viewport, getRepositoryEntities(), false, null);
       }
     }
   }
 
-  private synchronized void updateForAllViewports(Iterator<Entity> entities)
+  /**
+   * Keeps the positions of point entities in the spatial index up to date.  Point entities without a position are
+   * allowed wherever the interest region is, so they are left out of the index.
+   * @param entities The entities that were added or updated.
+   */
+  private void indexPointEntities(Collection<Entity> entities)
   {
-    while (entities.hasNext())
+    for (Entity entity : entities)
     {
-      Entity entity = entities.next();
-      for (EntityViewport viewport : viewports)
+      GeodeticPosition position = getPointPosition(entity);
+      if (position != null)
       {
-        viewport.updateEntity(entity);
+        pointEntityIndex.put(entity, Math.toDegrees(position.getLatitude()), Math.toDegrees(position.getLongitude()));
+      }
+      else
+      {
+        pointEntityIndex.remove(entity);
+      }
+    }
+  }
+
+  private static GeodeticPosition getPointPosition(Entity entity)
+  {
+    GeodeticPosition position = null;
+    if (entity.isPointEntity() && (entity instanceof PositionedEntity))
+    {
+      position = ((PositionedEntity) entity).getReferencePosition();
+    }
+    return position;
+  }
+
+  /**
+   * Finds the indexed point entities that are inside one region, but not inside another.  Only the parts of the
+   * first region that are outside of the second are searched, so the cost depends on the number of entities near the
+   * edges of a moving region, rather than on the number of entities in the repository.
+   * @param region The region to search, or null to search everywhere.
+   * @param excludedRegion The region the entities must be outside of, or null if it covers everywhere.
+   * @param result The collection to add the entities to.
+   */
+  private void addEntitiesOutside(InterestRegion region, InterestRegion excludedRegion, Collection<Entity> result)
+  {
+    if (excludedRegion != null)
+    {
+      double minLatitude = (region != null) ? region.getMinLatitude() : -90;
+      double maxLatitude = (region != null) ? region.getMaxLatitude() : 90;
+      double minLongitude = (region != null) ? region.getMinLongitude() : -180;
+      double maxLongitude = (region != null) ? region.getMaxLongitude() : 180;
+      List<Entity> candidates = new ArrayList<Entity>();
+      if (excludedRegion.getMinLatitude() > maxLatitude || excludedRegion.getMaxLatitude() < minLatitude ||
+          excludedRegion.getMinLongitude() > maxLongitude || excludedRegion.getMaxLongitude() < minLongitude)
+      {
+        pointEntityIndex.getItemsInRegion(minLatitude, maxLatitude, minLongitude, maxLongitude, candidates);
+      }
+      else
+      {
+        // The part of the region outside of the excluded region is made of a strip to the south and the north, and
+        // a strip to the west and the east between them.
+        double middleMinLatitude = Math.max(minLatitude, excludedRegion.getMinLatitude());
+        double middleMaxLatitude = Math.min(maxLatitude, excludedRegion.getMaxLatitude());
+        if (minLatitude < excludedRegion.getMinLatitude())
+        {
+          pointEntityIndex.getItemsInRegion(minLatitude, excludedRegion.getMinLatitude(), minLongitude, maxLongitude,
+                                            candidates);
+        }
+        if (maxLatitude > excludedRegion.getMaxLatitude())
+        {
+          pointEntityIndex.getItemsInRegion(excludedRegion.getMaxLatitude(), maxLatitude, minLongitude, maxLongitude,
+                                            candidates);
+        }
+        if (minLongitude < excludedRegion.getMinLongitude())
+        {
+          pointEntityIndex.getItemsInRegion(middleMinLatitude, middleMaxLatitude, minLongitude,
+                                            excludedRegion.getMinLongitude(), candidates);
+        }
+        if (maxLongitude > excludedRegion.getMaxLongitude())
+        {
+          pointEntityIndex.getItemsInRegion(middleMinLatitude, middleMaxLatitude, excludedRegion.getMaxLongitude(),
+                                            maxLongitude, candidates);
+        }
+      }
+      // The strips include their edges, which are shared with the excluded region.
+      for (Entity candidate : candidates)
+      {
+        GeodeticPosition position = getPointPosition(candidate);
+        if (position != null && !excludedRegion.contains(position))
+        {
+          result.add(candidate);
+        }
       }
     }
   }
@@ -490,13 +813,13 @@ public class EntityViewportManager implements ViewportManager
     public void entitiesAdded(RepositoryChangeEvent event)
     {
       Collection<Entity> addedEntities = event.getEntities();
-      addToAllViewports(addedEntities.iterator());
+      addToAllViewports(addedEntities);
     }
 
     public void entitiesRemoved(RepositoryChangeEvent event)
     {
       Collection<Entity> removedEntities = event.getEntities();
-      removeFromAllViewports(removedEntities.iterator());
+      removeFromAllViewports(removedEntities);
     }
 
     public void entitiesCleared(RepositoryChangeEvent event)
@@ -507,7 +830,65 @@ public class EntityViewportManager implements ViewportManager
     public void entitiesUpdated(RepositoryChangeEvent event)
     {
       Collection<Entity> updatedEntities = event.getEntities();
-      updateForAllViewports(updatedEntities.iterator());
+      updateForAllViewports(updatedEntities, event.getChangedFields());
+    }
+  }
+
+  private class MailboxResynchronizer implements ViewportMailbox.Resynchronizer
+  {
+
+    public List<Entity> resynchronize(ViewportMailbox mailbox)
+    {
+      List<Entity> viewportEntities = new ArrayList<Entity>();
+      synchronized (EntityViewportManager.this)
+      {
+        for (Map.Entry<EntityViewport, ViewportMailbox> entry : viewportToMailbox.entrySet())
+        {
+          if (entry.getValue() == mailbox)
+          {
+            viewportEntities.addAll(viewportToEntities.get(entry.getKey()));
+          }
+        }
+        mailbox.discardChanges();
+      }
+      return viewportEntities;
+    }
+  }
+
+  private class ViewportInterestPropertyListener implements PropertyChangeListener
+  {
+
+    public void propertyChange(PropertyChangeEvent evt)
+    {
+      updateViewportInterest((EntityViewport) evt.getSource(), evt.getOldValue(), evt.getNewValue());
+    }
+  }
+
+  /**
+   * Delivers the changes still waiting for a removed viewport, then removes the entities it was given.  Delivering
+   * the waiting changes first leaves the viewport holding exactly the entities that were recorded for it.
+   */
+  private static class FinalDrain implements Runnable
+  {
+    private EntityViewport viewport;
+    private ViewportMailbox mailbox;
+    private Set<Entity> viewportEntities;
+
+    public FinalDrain(EntityViewport viewport, ViewportMailbox mailbox, Set<Entity> viewportEntities)
+    {
+      this.viewport = viewport;
+      this.mailbox = mailbox;
+      this.viewportEntities = viewportEntities;
+    }
+
+    public void run()
+    {
+      mailbox.drain();
+      mailbox.dispose();
+      if (!viewportEntities.isEmpty())
+      {
+        viewport.removeEntities(new ArrayList<Entity>(viewportEntities));
+      }
     }
   }
 
@@ -517,7 +898,7 @@ public class EntityViewportManager implements ViewportManager
     private List<EntityViewport> getOtherViewports(Object eventSource)
     {
       EntityViewport changedViewport = (EntityViewport) eventSource;
-      List<EntityViewport> viewportListCopy = new ArrayList(viewports);
+      List<EntityViewport> viewportListCopy = new ArrayList<EntityViewport>(viewports);
       viewportListCopy.remove(changedViewport);
       return viewportListCopy;
     }
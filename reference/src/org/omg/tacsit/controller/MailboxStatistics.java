@@ -0,0 +1,119 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.controller;
+
+/**
+ * A snapshot of the statistics of the mailbox that holds an EntityViewport's pending entity changes.
+ * @author Matthew Child
+ */
+public class MailboxStatistics
+{
+  private int backlog;
+  private int maxBacklog;
+  private long postedCount;
+  private long coalescedCount;
+  private long drainCount;
+  private long overflowCount;
+  private long lastDrainTime;
+  private long maxDrainTime;
+
+  /**
+   * Creates a new instance.
+   * @param backlog The number of entities with changes waiting to be delivered.
+   * @param maxBacklog The largest backlog there has been.
+   * @param postedCount The number of entity changes posted to the mailbox.
+   * @param coalescedCount The number of posted changes that were merged into a change already waiting.
+   * @param drainCount The number of times the mailbox has been drained.
+   * @param overflowCount The number of times the backlog outgrew the mailbox, and the viewport was resynchronized.
+   * @param lastDrainTime The time spent delivering the most recent drain, in nanoseconds.
+   * @param maxDrainTime The longest time spent delivering a single drain, in nanoseconds.
+   */
+  public MailboxStatistics(int backlog, int maxBacklog, long postedCount, long coalescedCount, long drainCount,
+                           long overflowCount, long lastDrainTime, long maxDrainTime)
+  {
+    this.backlog = backlog;
+    this.maxBacklog = maxBacklog;
+    this.postedCount = postedCount;
+    this.coalescedCount = coalescedCount;
+    this.drainCount = drainCount;
+    this.overflowCount = overflowCount;
+    this.lastDrainTime = lastDrainTime;
+    this.maxDrainTime = maxDrainTime;
+  }
+
+  /**
+   * Gets the number of entities with changes waiting to be delivered to the viewport.
+   * @return The current backlog.
+   */
+  public int getBacklog()
+  {
+    return backlog;
+  }
+
+  /**
+   * Gets the largest number of entities that have had changes waiting at once.
+   * @return The largest backlog.
+   */
+  public int getMaxBacklog()
+  {
+    return maxBacklog;
+  }
+
+  /**
+   * Gets the number of entity changes that have been posted to the mailbox.
+   * @return The number of posted changes.
+   */
+  public long getPostedCount()
+  {
+    return postedCount;
+  }
+
+  /**
+   * Gets the number of posted changes that were merged into a change to the same entity that was already waiting,
+   * and so were never delivered separately.
+   * @return The number of coalesced changes.
+   */
+  public long getCoalescedCount()
+  {
+    return coalescedCount;
+  }
+
+  /**
+   * Gets the number of times the mailbox has delivered its changes to the viewport.
+   * @return The number of drains.
+   */
+  public long getDrainCount()
+  {
+    return drainCount;
+  }
+
+  /**
+   * Gets the number of times the backlog grew past the mailbox capacity.  Each time, the waiting changes were
+   * discarded and the viewport was reloaded with the entities it should hold.
+   * @return The number of overflows.
+   */
+  public long getOverflowCount()
+  {
+    return overflowCount;
+  }
+
+  /**
+   * Gets the time spent delivering the most recent drain to the viewport.
+   * @return The most recent drain time, in nanoseconds.
+   */
+  public long getLastDrainTime()
+  {
+    return lastDrainTime;
+  }
+
+  /**
+   * Gets the longest time spent delivering a single drain to the viewport.
+   * @return The longest drain time, in nanoseconds.
+   */
+  public long getMaxDrainTime()
+  {
+    return maxDrainTime;
+  }
+}
@@ -0,0 +1,358 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.controller;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.Timer;
+import org.omg.tacsit.entity.EntityFields;
+import org.omg.tacsit.ui.viewport.EntityViewport;
+
+/**
+ * Holds the entity changes waiting to be delivered to one EntityViewport, and delivers them in batches on the event
+ * dispatch thread.
+ * <p>
+ * Changes may be posted from any thread.  Changes to the same entity are merged, so the mailbox holds at most one
+ * change per entity: an update after an add is still an add, a remove after an add cancels both, and so on.  The
+ * first change posted after a drain schedules the next drain one drain interval later, so a viewport receives at most
+ * one batch of changes per interval however quickly they are posted.  The changed fields of merged updates are
+ * combined, so the viewport learns every field that changed since it was last updated.
+ * <p>
+ * If more entities have changes waiting than the mailbox's capacity, the waiting changes are discarded.  At the next
+ * drain, the viewport is cleared and reloaded with the entities the Resynchronizer says it should hold.
+ * @author Matthew Child
+ */
+class ViewportMailbox
+{
+  /**
+   * The capacity used when none is specified, in entities.
+   */
+  static final int DEFAULT_CAPACITY = 100000;
+
+  /**
+   * The drain interval used when none is specified, in milliseconds.  This is about one frame at 60 frames per
+   * second.
+   */
+  static final int DEFAULT_DRAIN_INTERVAL = 16;
+
+  private enum Change
+  {
+    ADD, UPDATE, REMOVE
+  }
+
+  private EntityViewport viewport;
+  private Resynchronizer resynchronizer;
+  private Timer drainTimer;
+  private int capacity;
+  private Map<Entity, Change> pendingChanges;
+  private Map<Entity, Integer> pendingFields;
+  private boolean clearPending;
+  private boolean resyncPending;
+
+  private int maxBacklog;
+  private long postedCount;
+  private long coalescedCount;
+  private long drainCount;
+  private long overflowCount;
+  private long lastDrainTime;
+  private long maxDrainTime;
+
+  /**
+   * Creates a new instance.
+   * @param viewport The viewport to deliver changes to.
+   * @param resynchronizer Supplies the entities to reload the viewport with after an overflow.
+   */
+  ViewportMailbox(EntityViewport viewport, Resynchronizer resynchronizer)
+  {
+    this.viewport = viewport;
+    this.resynchronizer = resynchronizer;
+    this.capacity = DEFAULT_CAPACITY;
+    this.pendingChanges = new LinkedHashMap<Entity, Change>();
+    this.pendingFields = new HashMap<Entity, Integer>();
+    this.drainTimer = new Timer(DEFAULT_DRAIN_INTERVAL, new DrainAction());
+    this.drainTimer.setRepeats(false);
+  }
+
+  /**
+   * Sets the largest number of entities that may have changes waiting before the mailbox overflows.
+   * @param capacity The capacity, in entities.
+   */
+  synchronized void setCapacity(int capacity)
+  {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Sets the time between the first change posted after a drain and the drain that delivers it.
+   * @param drainInterval The interval, in milliseconds.
+   */
+  void setDrainInterval(int drainInterval)
+  {
+    drainTimer.setInitialDelay(drainInterval);
+  }
+
+  /**
+   * Posts entities that should be added to the viewport.
+   * @param entities The entities to add.
+   */
+  synchronized void postAdded(List<Entity> entities)
+  {
+    for (Entity entity : entities)
+    {
+      post(entity, Change.ADD, EntityFields.ALL);
+    }
+  }
+
+  /**
+   * Posts entities that should be removed from the viewport.
+   * @param entities The entities to remove.
+   */
+  synchronized void postRemoved(List<Entity> entities)
+  {
+    for (Entity entity : entities)
+    {
+      post(entity, Change.REMOVE, EntityFields.NONE);
+    }
+  }
+
+  /**
+   * Posts entities that have changed, and should be updated in the viewport.
+   * @param entities The entities to update.
+   * @param changedFields The fields that changed for each entity, or null if they are not known.
+   */
+  synchronized void postUpdated(List<Entity> entities, Map<Entity, Integer> changedFields)
+  {
+    for (Entity entity : entities)
+    {
+      post(entity, Change.UPDATE, EntityFields.get(changedFields, entity));
+    }
+  }
+
+  /**
+   * Posts that every entity should be cleared from the viewport.  Any changes still waiting are discarded.
+   */
+  synchronized void postCleared()
+  {
+    pendingChanges.clear();
+    pendingFields.clear();
+    clearPending = true;
+    scheduleDrain();
+  }
+
+  private void post(Entity entity, Change change, int fields)
+  {
+    postedCount++;
+    if (resyncPending)
+    {
+      // The resynchronization will reload the viewport with its current entities, which includes this change.
+      coalescedCount++;
+      return;
+    }
+
+    Change pendingChange = pendingChanges.get(entity);
+    Change mergedChange = change;
+    if (pendingChange != null)
+    {
+      coalescedCount++;
+      mergedChange = merge(pendingChange, change);
+    }
+    if (mergedChange == null)
+    {
+      pendingChanges.remove(entity);
+    }
+    else
+    {
+      pendingChanges.put(entity, mergedChange);
+    }
+    if (mergedChange == Change.UPDATE)
+    {
+      int pendingEntityFields = (pendingChange == Change.UPDATE) ? pendingFields.get(entity).intValue() : 0;
+      pendingFields.put(entity, Integer.valueOf(pendingEntityFields | fields));
+    }
+    else
+    {
+      pendingFields.remove(entity);
+    }
+
+    int backlog = pendingChanges.size();
+    maxBacklog = Math.max(maxBacklog, backlog);
+    if (backlog > capacity)
+    {
+      pendingChanges.clear();
+      pendingFields.clear();
+      resyncPending = true;
+      overflowCount++;
+    }
+    scheduleDrain();
+  }
+
+  /**
+   * Merges a change into the change already waiting for an entity.
+   * @return The single change with the same effect as both, or null if they cancel out.
+   */
+  private static Change merge(Change pendingChange, Change change)
+  {
+    Change mergedChange;
+    if (pendingChange == Change.ADD)
+    {
+      // The viewport has never seen the entity, so it only needs adding in its latest state, or not at all.
+      mergedChange = (change == Change.REMOVE) ? null : Change.ADD;
+    }
+    else if (pendingChange == Change.REMOVE)
+    {
+      // The viewport still holds the entity, so adding it back only needs to update it.
+      mergedChange = (change == Change.REMOVE) ? Change.REMOVE : Change.UPDATE;
+    }
+    else
+    {
+      mergedChange = (change == Change.REMOVE) ? Change.REMOVE : Change.UPDATE;
+    }
+    return mergedChange;
+  }
+
+  private void scheduleDrain()
+  {
+    if (!drainTimer.isRunning())
+    {
+      drainTimer.start();
+    }
+  }
+
+  /**
+   * Discards every change that is waiting.  The Resynchronizer calls this while it gathers the entities to reload
+   * the viewport with, so that no change posted before then is delivered again afterwards.
+   */
+  synchronized void discardChanges()
+  {
+    pendingChanges.clear();
+    pendingFields.clear();
+    clearPending = false;
+    resyncPending = false;
+  }
+
+  /**
+   * Delivers every waiting change to the viewport now, on the calling thread.
+   */
+  void drain()
+  {
+    boolean resync;
+    boolean clear = false;
+    List<Entity> addedEntities = new ArrayList<Entity>();
+    List<Entity> removedEntities = new ArrayList<Entity>();
+    List<Entity> updatedEntities = new ArrayList<Entity>();
+    Map<Entity, Integer> updatedFields = null;
+    synchronized (this)
+    {
+      resync = resyncPending;
+      if (!resync)
+      {
+        clear = clearPending;
+        clearPending = false;
+        for (Map.Entry<Entity, Change> entry : pendingChanges.entrySet())
+        {
+          Change change = entry.getValue();
+          if (change == Change.ADD)
+          {
+            addedEntities.add(entry.getKey());
+          }
+          else if (change == Change.REMOVE)
+          {
+            removedEntities.add(entry.getKey());
+          }
+          else
+          {
+            updatedEntities.add(entry.getKey());
+          }
+        }
+        pendingChanges.clear();
+        if (!pendingFields.isEmpty())
+        {
+          updatedFields = pendingFields;
+          pendingFields = new HashMap<Entity, Integer>();
+        }
+      }
+    }
+    if (!resync && !clear && addedEntities.isEmpty() && removedEntities.isEmpty() && updatedEntities.isEmpty())
+    {
+      return;
+    }
+
+    long startTime = System.nanoTime();
+    if (resync)
+    {
+      addedEntities = resynchronizer.resynchronize(this);
+      clear = true;
+    }
+    if (clear)
+    {
+      viewport.clearEntities();
+    }
+    if (!removedEntities.isEmpty())
+    {
+      viewport.removeEntities(removedEntities);
+    }
+    if (!addedEntities.isEmpty())
+    {
+      viewport.addEntities(addedEntities);
+    }
+    if (!updatedEntities.isEmpty())
+    {
+      viewport.updateEntities(updatedEntities, updatedFields);
+    }
+    long drainTime = System.nanoTime() - startTime;
+
+    synchronized (this)
+    {
+      drainCount++;
+      lastDrainTime = drainTime;
+      maxDrainTime = Math.max(maxDrainTime, drainTime);
+    }
+  }
+
+  /**
+   * Gets a snapshot of the mailbox's statistics.
+   * @return The current statistics.
+   */
+  synchronized MailboxStatistics getStatistics()
+  {
+    return new MailboxStatistics(pendingChanges.size(), maxBacklog, postedCount, coalescedCount, drainCount,
+                                 overflowCount, lastDrainTime, maxDrainTime);
+  }
+
+  /**
+   * Stops any drain that is scheduled.  Changes that are still waiting are not delivered.
+   */
+  void dispose()
+  {
+    drainTimer.stop();
+  }
+
+  /**
+   * Supplies the entities a viewport should hold, when its mailbox has overflowed.
+   */
+  interface Resynchronizer
+  {
+    /**
+     * Gets every entity the mailbox's viewport should hold.  Implementations must call the mailbox's
+     * discardChanges() while holding whatever lock guards posting to it, so that no change is lost or repeated.
+     * @param mailbox The mailbox that overflowed.
+     * @return The entities to reload the viewport with.
+     */
+    List<Entity> resynchronize(ViewportMailbox mailbox);
+  }
+
+  private class DrainAction implements ActionListener
+  {
+    public void actionPerformed(ActionEvent e)
+    {
+      drain();
+    }
+  }
+}
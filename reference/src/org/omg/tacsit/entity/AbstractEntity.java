@@ -15,7 +15,8 @@ import org.omg.tacsit.common.util.PropertyListenable;
  * An Entity which provides the standard services most implementations will need.
  * @author Matthew Child
  */
-public abstract class AbstractEntity implements PollableEntity, PropertyListenable, PositionedEntity
+public abstract class AbstractEntity implements PollableEntity, FieldTrackingEntity, PropertyListenable,
+                                                PositionedEntity
 {
   /**
    * The property event fired when the validity of the entity has changed.
@@ -28,6 +29,7 @@ public abstract class AbstractEntity implements PollableEntity, PropertyListenab
   public static final String PROPERTY_REFERENCE_POSITION = "referencePosition";
     
   private long lastModified;
+  private int changedFields;
   
   private EntityType entityType;
   private boolean valid;
@@ -110,13 +112,44 @@ public abstract class AbstractEntity implements PollableEntity, PropertyListenab
   }
   
   /**
-   * Fires a property change to all associated listeners, and marks the entity as having been modified.
+   * Fires a property change to all associated listeners, and marks the entity as having been modified.  The changed
+   * fields are worked out from the property; properties this class doesn't define mark every field as changed.
    * @param property The name of the property that was changed.
    * @param oldValue The old value of the property.
    * @param newValue The new value of the property.
    */
   protected void propertyChanged(String property, Object oldValue, Object newValue)
   {
+    int fields;
+    if (PROPERTY_REFERENCE_POSITION.equals(property))
+    {
+      fields = EntityFields.POSITION;
+    }
+    else if (PROPERTY_VALID.equals(property))
+    {
+      fields = EntityFields.VALIDITY;
+    }
+    else
+    {
+      fields = EntityFields.ALL;
+    }
+    propertyChanged(property, oldValue, newValue, fields);
+  }
+
+  /**
+   * Fires a property change to all associated listeners, and marks the entity as having been modified.
+   * @param property The name of the property that was changed.
+   * @param oldValue The old value of the property.
+   * @param newValue The new value of the property.
+   * @param fields The fields the change affects, as a bitmask of the values in EntityFields.
+   */
+  protected void propertyChanged(String property, Object oldValue, Object newValue, int fields)
+  {
+    // The fields are marked before the modified time, so a poll that sees the new time always finds the fields.
+    synchronized (this)
+    {
+      changedFields |= fields;
+    }
     markModifiedTime();
     if(changeSupport != null)
     {
@@ -144,4 +177,11 @@ public abstract class AbstractEntity implements PollableEntity, PropertyListenab
   {
     return lastModified;
   }
+
+  public synchronized int takeChangedFields()
+  {
+    int fields = changedFields;
+    changedFields = EntityFields.NONE;
+    return fields;
+  }
 }
@@ -0,0 +1,80 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.entity;
+
+import java.util.Map;
+
+/**
+ * Bits that identify which fields of an entity have changed.  An entity's changed fields are a bitmask of these
+ * values, which is carried with update notifications so that displays only refresh the parts of an entity that
+ * actually changed.  When nothing is known about what changed, ALL is used.
+ * @author Matthew Child
+ */
+public final class EntityFields
+{
+  /**
+   * No fields have changed.
+   */
+  public static final int NONE = 0;
+
+  /**
+   * The entity has moved.  For geometry, this means the geometry's center has moved.
+   */
+  public static final int POSITION = 1;
+
+  /**
+   * The entity has become valid or invalid.
+   */
+  public static final int VALIDITY = 1 << 1;
+
+  /**
+   * The entity's shape has changed, such as the radius of a circle or the size of a rectangle.
+   */
+  public static final int SHAPE = 1 << 2;
+
+  /**
+   * Any other attribute of the entity has changed, such as its name.
+   */
+  public static final int ATTRIBUTES = 1 << 3;
+
+  /**
+   * Every field may have changed.
+   */
+  public static final int ALL = ~NONE;
+
+  private EntityFields()
+  {
+  }
+
+  /**
+   * Gets the changed fields of an entity from a map of changed fields.
+   * @param changedFields The changed fields of each entity, or null if they are not known.
+   * @param entity The entity to get the changed fields of.
+   * @return The entity's changed fields, or ALL if they are not known.
+   */
+  public static int get(Map<?, Integer> changedFields, Object entity)
+  {
+    int fields = ALL;
+    if (changedFields != null)
+    {
+      Integer entityFields = changedFields.get(entity);
+      if (entityFields != null)
+      {
+        fields = entityFields.intValue();
+      }
+    }
+    return fields;
+  }
+
+  /**
+   * Checks whether only an entity's position has changed, so that it only needs to be moved.
+   * @param changedFields The fields that have changed.
+   * @return true if the position is the only field that has changed, false otherwise.
+   */
+  public static boolean isMoveOnly(int changedFields)
+  {
+    return (changedFields & ~POSITION) == 0;
+  }
+}
@@ -0,0 +1,22 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.entity;
+
+import org.omg.tacsit.controller.Entity;
+
+/**
+ * An Entity which keeps track of which of its fields have changed, so that displays can refresh only those parts of
+ * it.  Repositories check for this interface, and treat every field of entities that don't implement it as changed.
+ * @author Matthew Child
+ */
+public interface FieldTrackingEntity extends Entity
+{
+  /**
+   * Gets the fields that have changed since this was last called, and starts collecting changed fields afresh.  The
+   * result is a bitmask of the values in EntityFields.
+   * @return The fields that have changed since the last call.
+   */
+  public int takeChangedFields();
+}
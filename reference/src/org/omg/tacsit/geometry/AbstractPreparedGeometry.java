@@ -0,0 +1,120 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.BitSet;
+import org.omg.tacsit.common.util.PropertyListenable;
+
+/**
+ * A surface geometry that is evaluated against an Ellipsoid, with no dependency on any rendering toolkit.
+ * <p>
+ * The boundary of the geometry is tessellated into a {@link PreparedPolygon} the first time it's needed, and cached
+ * until one of the geometry's properties changes.
+ * @author Matthew Child
+ */
+public abstract class AbstractPreparedGeometry implements Geometry, PropertyListenable, BatchContainment
+{
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The name of the property fired when the center of a geometry changes, whatever its shape.
+   */
+  public static final String PROPERTY_CENTER = "center";
+
+  private Ellipsoid ellipsoid;
+
+  private PropertyChangeSupport changeSupport;
+
+  private volatile PreparedPolygon polygon;
+
+  /**
+   * Creates a new instance.
+   * @param ellipsoid The ellipsoid the geometry is defined on.
+   */
+  public AbstractPreparedGeometry(Ellipsoid ellipsoid)
+  {
+    if(ellipsoid == null)
+    {
+      throw new IllegalArgumentException("ellipsoid may not be null");
+    }
+    this.ellipsoid = ellipsoid;
+    this.changeSupport = new PropertyChangeSupport(this);
+  }
+
+  /**
+   * Gets the ellipsoid the geometry is defined on.
+   * @return The ellipsoid.
+   */
+  public Ellipsoid getEllipsoid()
+  {
+    return ellipsoid;
+  }
+
+  /**
+   * Computes the boundary of the geometry.  This is only called when the cached boundary is missing or has been
+   * invalidated by a property change.
+   * @return The boundary of the geometry.
+   */
+  protected abstract PreparedPolygon computePolygon();
+
+  /**
+   * Gets the tessellated boundary of this geometry, computing it if necessary.
+   * @return The boundary of the geometry.
+   */
+  public PreparedPolygon getPolygon()
+  {
+    PreparedPolygon preparedPolygon = polygon;
+    if(preparedPolygon == null)
+    {
+      preparedPolygon = computePolygon();
+      polygon = preparedPolygon;
+    }
+    return preparedPolygon;
+  }
+
+  /**
+   * Discards the cached boundary, and notifies listeners that a property has changed.
+   * @param propertyName The name of the property that changed.
+   * @param oldValue The old value of the property.
+   * @param newValue The new value of the property.
+   */
+  protected void firePropertyChange(String propertyName, Object oldValue, Object newValue)
+  {
+    polygon = null;
+    changeSupport.firePropertyChange(propertyName, oldValue, newValue);
+  }
+
+  public boolean contains(GeodeticPosition point)
+  {
+    return getPolygon().contains(point);
+  }
+
+  public void containsAll(double[] latitudes, double[] longitudes, BitSet result)
+  {
+    getPolygon().containsAll(latitudes, longitudes, result);
+  }
+
+  public void addPropertyChangeListener(PropertyChangeListener listener)
+  {
+    changeSupport.addPropertyChangeListener(listener);
+  }
+
+  public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
+  {
+    changeSupport.addPropertyChangeListener(propertyName, listener);
+  }
+
+  public void removePropertyChangeListener(PropertyChangeListener listener)
+  {
+    changeSupport.removePropertyChangeListener(listener);
+  }
+
+  public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
+  {
+    changeSupport.removePropertyChangeListener(propertyName, listener);
+  }
+}
@@ -0,0 +1,26 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+import java.util.BitSet;
+
+/**
+ * Checks containment of many locations in a single call.  Locations are passed as parallel arrays of primitive
+ * latitudes and longitudes, so that callers holding columnar position data do not have to box each location into a
+ * GeodeticPosition, and so that implementors can prepare once and loop tightly over the arrays.
+ * @author Matthew Child
+ */
+public interface BatchContainment
+{
+  /**
+   * Checks which of a set of locations are contained.  Locations are treated as being on the surface of the globe
+   * (with an altitude of zero).
+   * @param latitudes The latitudes of the locations, in radians.
+   * @param longitudes The longitudes of the locations, in radians.  Must be the same length as latitudes.
+   * @param result The set to store the results in.  Bit <code>i</code> is set if location <code>i</code> is contained
+   * and cleared if not.  Bits beyond the length of the arrays are left untouched.
+   */
+  public void containsAll(double[] latitudes, double[] longitudes, BitSet result);
+}
@@ -0,0 +1,126 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+/**
+ * A Circle on the surface of an Ellipsoid.  The circle is the set of locations within a geodesic radius of its
+ * center, tessellated into a polygon for containment checks.
+ * @author Matthew Child
+ */
+public class DefaultCircle extends AbstractPreparedGeometry implements Circle
+{
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The name of the property fired when the center changes.
+   */
+  public static final String PROPERTY_CENTER = AbstractPreparedGeometry.PROPERTY_CENTER;
+
+  /**
+   * The name of the property fired when the radius changes.
+   */
+  public static final String PROPERTY_RADIUS = "radius";
+
+  private static final int DEFAULT_INTERVALS = 64;
+
+  private GeodeticPosition center;
+
+  private double radius;
+
+  private int intervals;
+
+  /**
+   * Creates a new instance on the WGS-84 ellipsoid, centered at 0, 0 with a radius of 0.
+   */
+  public DefaultCircle()
+  {
+    this(Ellipsoid.WGS84);
+  }
+
+  /**
+   * Creates a new instance centered at 0, 0 with a radius of 0.
+   * @param ellipsoid The ellipsoid the circle is defined on.
+   */
+  public DefaultCircle(Ellipsoid ellipsoid)
+  {
+    super(ellipsoid);
+    this.center = DefaultGeodeticPosition.ZERO;
+    this.intervals = DEFAULT_INTERVALS;
+  }
+
+  public GeodeticPosition getCenter()
+  {
+    return center;
+  }
+
+  /**
+   * Sets the center of the circle.
+   * @param center The new center.
+   */
+  public void setCenter(GeodeticPosition center)
+  {
+    if(center == null)
+    {
+      throw new IllegalArgumentException("center may not be null");
+    }
+    GeodeticPosition oldCenter = this.center;
+    this.center = center;
+    firePropertyChange(PROPERTY_CENTER, oldCenter, center);
+  }
+
+  public double getRadius()
+  {
+    return radius;
+  }
+
+  /**
+   * Sets the radius of the circle.
+   * @param radius The new radius, in meters.
+   */
+  public void setRadius(double radius)
+  {
+    if(radius < 0)
+    {
+      throw new IllegalArgumentException("radius may not be negative");
+    }
+    double oldRadius = this.radius;
+    this.radius = radius;
+    firePropertyChange(PROPERTY_RADIUS, oldRadius, radius);
+  }
+
+  /**
+   * Gets the number of edges used to approximate the circle.
+   * @return The number of edges in the tessellated circle.
+   */
+  public int getIntervals()
+  {
+    return intervals;
+  }
+
+  @Override
+  protected PreparedPolygon computePolygon()
+  {
+    Ellipsoid ellipsoid = getEllipsoid();
+    double centerLatitude = center.getLatitude();
+    double centerLongitude = center.getLongitude();
+    double[] latitudes = new double[intervals];
+    double[] longitudes = new double[intervals];
+    double[] destination = new double[2];
+    for (int i = 0; i < intervals; i++)
+    {
+      double azimuth = 2 * Math.PI * i / intervals;
+      ellipsoid.computeDestination(centerLatitude, centerLongitude, azimuth, radius, destination);
+      latitudes[i] = destination[0];
+      longitudes[i] = destination[1];
+    }
+    return new PreparedPolygon(latitudes, longitudes);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "DefaultCircle{" + "center=" + center + ", radius=" + radius + '}';
+  }
+}
@@ -5,6 +5,7 @@
 
 package org.omg.tacsit.geometry;
 
+import java.util.BitSet;
 import org.omg.tacsit.common.math.Angle;
 import org.omg.tacsit.common.math.Distance;
 import org.omg.tacsit.common.math.SurfacePosition;
@@ -16,7 +17,7 @@ import org.omg.tacsit.common.math.SurfacePosition;
  * new DefaultGeodeticPositions that are partial copies of the existing one: newAltitude, newLatitude, and newLongitude.
  * @author Matthew Child
  */
-public class DefaultGeodeticPosition implements GeodeticPosition
+public class DefaultGeodeticPosition implements GeodeticPosition, BatchContainment
 {
   /**
    * The position representing 0 latitude, 0 longitude, and 0 altitude.
@@ -219,6 +220,25 @@ public class DefaultGeodeticPosition implements GeodeticPosition
             (this.getAltitude() == point.getAltitude()));
   }
 
+  public void containsAll(double[] latitudes, double[] longitudes, BitSet result)
+  {
+    GeometryUtils.checkBatchArguments(latitudes, longitudes, result);
+    int locationCount = latitudes.length;
+    result.clear(0, locationCount);
+    if(getAltitude() == 0)
+    {
+      double latitude = getLatitude();
+      double longitude = getLongitude();
+      for (int i = 0; i < locationCount; i++)
+      {
+        if((latitudes[i] == latitude) && (longitudes[i] == longitude))
+        {
+          result.set(i);
+        }
+      }
+    }
+  }
+
   @Override
   public String toString()
   {
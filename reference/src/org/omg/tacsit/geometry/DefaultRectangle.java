@@ -0,0 +1,171 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+/**
+ * A Rectangle on the surface of an Ellipsoid.  The corners of the rectangle are found by travelling along geodesics
+ * from its center, so the width and height are measured along the surface.
+ * @author Matthew Child
+ */
+public class DefaultRectangle extends AbstractPreparedGeometry implements Rectangle
+{
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The name of the property fired when the center changes.
+   */
+  public static final String PROPERTY_CENTER = AbstractPreparedGeometry.PROPERTY_CENTER;
+
+  /**
+   * The name of the property fired when the width changes.
+   */
+  public static final String PROPERTY_WIDTH = "width";
+
+  /**
+   * The name of the property fired when the height changes.
+   */
+  public static final String PROPERTY_HEIGHT = "height";
+
+  /**
+   * The name of the property fired when the orientation changes.
+   */
+  public static final String PROPERTY_ORIENTATION = "orientation";
+
+  private GeodeticPosition center;
+
+  private double width;
+
+  private double height;
+
+  private double orientation;
+
+  /**
+   * Creates a new instance on the WGS-84 ellipsoid, centered at 0, 0 with no width or height.
+   */
+  public DefaultRectangle()
+  {
+    this(Ellipsoid.WGS84);
+  }
+
+  /**
+   * Creates a new instance centered at 0, 0 with no width or height.
+   * @param ellipsoid The ellipsoid the rectangle is defined on.
+   */
+  public DefaultRectangle(Ellipsoid ellipsoid)
+  {
+    super(ellipsoid);
+    this.center = DefaultGeodeticPosition.ZERO;
+  }
+
+  public GeodeticPosition getCenter()
+  {
+    return center;
+  }
+
+  /**
+   * Sets the center of the rectangle.
+   * @param center The new center.
+   */
+  public void setCenter(GeodeticPosition center)
+  {
+    if(center == null)
+    {
+      throw new IllegalArgumentException("center may not be null");
+    }
+    GeodeticPosition oldCenter = this.center;
+    this.center = center;
+    firePropertyChange(PROPERTY_CENTER, oldCenter, center);
+  }
+
+  public double getWidth()
+  {
+    return width;
+  }
+
+  /**
+   * Sets the width of the rectangle.  If the rectangle were facing directly north, the width would affect the minimum
+   * and maximum longitude.
+   * @param width The new width, in meters.
+   */
+  public void setWidth(double width)
+  {
+    if(width < 0)
+    {
+      throw new IllegalArgumentException("width may not be negative");
+    }
+    double oldWidth = this.width;
+    this.width = width;
+    firePropertyChange(PROPERTY_WIDTH, oldWidth, width);
+  }
+
+  public double getHeight()
+  {
+    return height;
+  }
+
+  /**
+   * Sets the height of the rectangle.  If the rectangle were facing directly north, the height would affect the
+   * minimum and maximum latitude.
+   * @param height The new height, in meters.
+   */
+  public void setHeight(double height)
+  {
+    if(height < 0)
+    {
+      throw new IllegalArgumentException("height may not be negative");
+    }
+    double oldHeight = this.height;
+    this.height = height;
+    firePropertyChange(PROPERTY_HEIGHT, oldHeight, height);
+  }
+
+  public double getOrientation()
+  {
+    return orientation;
+  }
+
+  /**
+   * Sets the orientation of the rectangle, as an offset from true north.
+   * @param orientation The new orientation, in radians clockwise from north.
+   */
+  public void setOrientation(double orientation)
+  {
+    double oldOrientation = this.orientation;
+    this.orientation = orientation;
+    firePropertyChange(PROPERTY_ORIENTATION, oldOrientation, orientation);
+  }
+
+  @Override
+  protected PreparedPolygon computePolygon()
+  {
+    Ellipsoid ellipsoid = getEllipsoid();
+    double centerLatitude = center.getLatitude();
+    double centerLongitude = center.getLongitude();
+    double halfWidth = width / 2;
+    double halfHeight = height / 2;
+    double cornerDistance = Math.sqrt(halfWidth * halfWidth + halfHeight * halfHeight);
+    double cornerAngle = Math.atan2(halfWidth, halfHeight);
+    double[] cornerAzimuths = {-cornerAngle, cornerAngle, Math.PI - cornerAngle, Math.PI + cornerAngle};
+
+    double[] latitudes = new double[cornerAzimuths.length];
+    double[] longitudes = new double[cornerAzimuths.length];
+    double[] destination = new double[2];
+    for (int i = 0; i < cornerAzimuths.length; i++)
+    {
+      ellipsoid.computeDestination(centerLatitude, centerLongitude, orientation + cornerAzimuths[i], cornerDistance,
+                                   destination);
+      latitudes[i] = destination[0];
+      longitudes[i] = destination[1];
+    }
+    return new PreparedPolygon(latitudes, longitudes);
+  }
+
+  @Override
+  public String toString()
+  {
+    return "DefaultRectangle{" + "center=" + center + ", width=" + width + ", height=" + height +
+           ", orientation=" + orientation + '}';
+  }
+}
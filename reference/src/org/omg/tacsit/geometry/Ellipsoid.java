@@ -0,0 +1,164 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+import java.io.Serializable;
+
+/**
+ * An ellipsoid of revolution used to model the shape of the Earth for geometric calculations.  This allows geometry
+ * to be evaluated without any rendering or globe classes.
+ * <p>
+ * Ellipsoids are immutable.
+ * @author Matthew Child
+ */
+public class Ellipsoid implements Serializable
+{
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The WGS-84 ellipsoid.
+   */
+  public static final Ellipsoid WGS84 = new Ellipsoid(6378137.0, 6356752.314245);
+
+  private static final int MAX_ITERATIONS = 100;
+
+  private static final double CONVERGENCE_THRESHOLD = 1e-12;
+
+  private final double equatorialRadius;
+
+  private final double polarRadius;
+
+  private final double flattening;
+
+  /**
+   * Creates a new instance.
+   * @param equatorialRadius The semi-major axis of the ellipsoid, in meters.
+   * @param polarRadius The semi-minor axis of the ellipsoid, in meters.
+   */
+  public Ellipsoid(double equatorialRadius, double polarRadius)
+  {
+    if(!(equatorialRadius > 0) || !(polarRadius > 0))
+    {
+      throw new IllegalArgumentException("Radii must be positive");
+    }
+    if(polarRadius > equatorialRadius)
+    {
+      throw new IllegalArgumentException("polarRadius may not exceed equatorialRadius");
+    }
+    this.equatorialRadius = equatorialRadius;
+    this.polarRadius = polarRadius;
+    this.flattening = (equatorialRadius - polarRadius) / equatorialRadius;
+  }
+
+  /**
+   * Gets the equatorial radius.
+   * @return The semi-major axis, in meters.
+   */
+  public double getEquatorialRadius()
+  {
+    return equatorialRadius;
+  }
+
+  /**
+   * Gets the polar radius.
+   * @return The semi-minor axis, in meters.
+   */
+  public double getPolarRadius()
+  {
+    return polarRadius;
+  }
+
+  /**
+   * Gets the flattening of the ellipsoid.
+   * @return The flattening, (a - b) / a.
+   */
+  public double getFlattening()
+  {
+    return flattening;
+  }
+
+  /**
+   * Computes the location reached by travelling along a geodesic from a starting location.  This uses Vincenty's
+   * direct formula.
+   * @param latitude The starting latitude, in radians.
+   * @param longitude The starting longitude, in radians.
+   * @param azimuth The initial bearing, in radians clockwise from north.
+   * @param distance The distance to travel, in meters.
+   * @param destination An array of at least 2 elements.  The destination latitude is stored at index 0 and the
+   * longitude at index 1, both in radians.  The longitude is normalized to [-PI, PI].
+   */
+  public void computeDestination(double latitude, double longitude, double azimuth, double distance,
+                                 double[] destination)
+  {
+    double a = equatorialRadius;
+    double b = polarRadius;
+    double f = flattening;
+
+    double sinAlpha1 = Math.sin(azimuth);
+    double cosAlpha1 = Math.cos(azimuth);
+
+    double tanU1 = (1 - f) * Math.tan(latitude);
+    double cosU1 = 1 / Math.sqrt(1 + tanU1 * tanU1);
+    double sinU1 = tanU1 * cosU1;
+    double sigma1 = Math.atan2(tanU1, cosAlpha1);
+    double sinAlpha = cosU1 * sinAlpha1;
+    double cosSqAlpha = 1 - sinAlpha * sinAlpha;
+    double uSq = cosSqAlpha * (a * a - b * b) / (b * b);
+    double bigA = 1 + uSq / 16384 * (4096 + uSq * (-768 + uSq * (320 - 175 * uSq)));
+    double bigB = uSq / 1024 * (256 + uSq * (-128 + uSq * (74 - 47 * uSq)));
+
+    double sigma = distance / (b * bigA);
+    double previousSigma;
+    double sinSigma;
+    double cosSigma;
+    double cos2SigmaM;
+    int iterations = 0;
+    do
+    {
+      cos2SigmaM = Math.cos(2 * sigma1 + sigma);
+      sinSigma = Math.sin(sigma);
+      cosSigma = Math.cos(sigma);
+      double deltaSigma = bigB * sinSigma * (cos2SigmaM + bigB / 4 *
+          (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM) -
+           bigB / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+      previousSigma = sigma;
+      sigma = distance / (b * bigA) + deltaSigma;
+      iterations++;
+    }
+    while ((Math.abs(sigma - previousSigma) > CONVERGENCE_THRESHOLD) && (iterations < MAX_ITERATIONS));
+
+    double tmp = sinU1 * sinSigma - cosU1 * cosSigma * cosAlpha1;
+    double destinationLatitude = Math.atan2(sinU1 * cosSigma + cosU1 * sinSigma * cosAlpha1,
+                                            (1 - f) * Math.sqrt(sinAlpha * sinAlpha + tmp * tmp));
+    double lambda = Math.atan2(sinSigma * sinAlpha1, cosU1 * cosSigma - sinU1 * sinSigma * cosAlpha1);
+    double c = f / 16 * cosSqAlpha * (4 + f * (4 - 3 * cosSqAlpha));
+    double l = lambda - (1 - c) * f * sinAlpha *
+               (sigma + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+
+    destination[0] = destinationLatitude;
+    destination[1] = normalizeLongitude(longitude + l);
+  }
+
+  /**
+   * Normalizes a longitude into the range [-PI, PI].
+   * @param longitude The longitude to normalize, in radians.
+   * @return The normalized longitude, in radians.
+   */
+  public static double normalizeLongitude(double longitude)
+  {
+    double normalized = longitude;
+    if((normalized < -Math.PI) || (normalized > Math.PI))
+    {
+      normalized = ((normalized + Math.PI) % (2 * Math.PI) + 2 * Math.PI) % (2 * Math.PI) - Math.PI;
+    }
+    return normalized;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "Ellipsoid{" + "equatorialRadius=" + equatorialRadius + ", polarRadius=" + polarRadius + '}';
+  }
+}
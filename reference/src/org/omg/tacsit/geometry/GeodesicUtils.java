@@ -0,0 +1,386 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+/**
+ * Batch distance and bearing calculations over primitive arrays of locations.
+ * <p>
+ * All angles are in radians and all distances are in meters.  Two families of calculation are provided:
+ * <ul>
+ *   <li>Haversine, which treats the Earth as a sphere.  These loops have no branches or iteration, and cost a fixed
+ *       handful of trigonometric calls per pair.</li>
+ *   <li>Vincenty, which is accurate to within a millimeter on the ellipsoid, but iterates per pair.  Pairs that do not
+ *       converge (nearly antipodal locations) produce NaN.</li>
+ * </ul>
+ * Each family has one-to-many (one origin against an array of locations), pairwise (element <code>i</code> of one
+ * array against element <code>i</code> of another) and many-to-many (every origin against every location, stored row
+ * by row) forms.
+ * @author Matthew Child
+ */
+public abstract class GeodesicUtils
+{
+  /**
+   * The mean radius of the Earth, in meters, as defined by the IUGG.
+   */
+  public static final double MEAN_EARTH_RADIUS = 6371008.8;
+
+  private static final int MAX_ITERATIONS = 100;
+
+  private static final double CONVERGENCE_THRESHOLD = 1e-12;
+
+  private static void checkLengths(double[] latitudes, double[] longitudes, double[] results)
+  {
+    if((latitudes == null) || (longitudes == null) || (results == null))
+    {
+      throw new IllegalArgumentException("arrays may not be null");
+    }
+    if((latitudes.length != longitudes.length) || (results.length < latitudes.length))
+    {
+      throw new IllegalArgumentException("latitudes and longitudes must be the same length, and results at least as long");
+    }
+  }
+
+  private static void checkPairwiseLengths(double[] latitudes, double[] longitudes, double[] otherLatitudes,
+                                           double[] otherLongitudes, double[] results)
+  {
+    checkLengths(latitudes, longitudes, results);
+    checkLengths(otherLatitudes, otherLongitudes, results);
+    if(latitudes.length != otherLatitudes.length)
+    {
+      throw new IllegalArgumentException("Both sets of locations must be the same length");
+    }
+  }
+
+  /**
+   * Computes the great circle distance from one location to each of a set of locations.
+   * @param radius The radius of the sphere, in meters.
+   * @param latitude The latitude of the origin.
+   * @param longitude The longitude of the origin.
+   * @param latitudes The latitudes of the destinations.
+   * @param longitudes The longitudes of the destinations.
+   * @param distances Receives the distance to each destination, in meters.
+   */
+  public static void haversineDistances(double radius, double latitude, double longitude, double[] latitudes,
+                                        double[] longitudes, double[] distances)
+  {
+    checkLengths(latitudes, longitudes, distances);
+    double cosLatitude = Math.cos(latitude);
+    int count = latitudes.length;
+    for (int i = 0; i < count; i++)
+    {
+      double sinHalfLatitude = Math.sin((latitudes[i] - latitude) * 0.5);
+      double sinHalfLongitude = Math.sin((longitudes[i] - longitude) * 0.5);
+      double h = sinHalfLatitude * sinHalfLatitude +
+                 cosLatitude * Math.cos(latitudes[i]) * sinHalfLongitude * sinHalfLongitude;
+      distances[i] = 2 * radius * Math.asin(Math.sqrt(Math.min(1, h)));
+    }
+  }
+
+  /**
+   * Computes the great circle distance between pairs of locations.
+   * @param radius The radius of the sphere, in meters.
+   * @param latitudes The latitudes of the origins.
+   * @param longitudes The longitudes of the origins.
+   * @param otherLatitudes The latitudes of the destinations.
+   * @param otherLongitudes The longitudes of the destinations.
+   * @param distances Receives the distance between each origin and its destination, in meters.
+   */
+  public static void haversineDistances(double radius, double[] latitudes, double[] longitudes,
+                                        double[] otherLatitudes, double[] otherLongitudes, double[] distances)
+  {
+    checkPairwiseLengths(latitudes, longitudes, otherLatitudes, otherLongitudes, distances);
+    int count = latitudes.length;
+    for (int i = 0; i < count; i++)
+    {
+      double sinHalfLatitude = Math.sin((otherLatitudes[i] - latitudes[i]) * 0.5);
+      double sinHalfLongitude = Math.sin((otherLongitudes[i] - longitudes[i]) * 0.5);
+      double h = sinHalfLatitude * sinHalfLatitude +
+                 Math.cos(latitudes[i]) * Math.cos(otherLatitudes[i]) * sinHalfLongitude * sinHalfLongitude;
+      distances[i] = 2 * radius * Math.asin(Math.sqrt(Math.min(1, h)));
+    }
+  }
+
+  /**
+   * Computes the great circle distance from every origin to every destination.
+   * @param radius The radius of the sphere, in meters.
+   * @param latitudes The latitudes of the origins.
+   * @param longitudes The longitudes of the origins.
+   * @param otherLatitudes The latitudes of the destinations.
+   * @param otherLongitudes The longitudes of the destinations.
+   * @param distances Receives the distances, in meters.  The distance from origin <code>i</code> to destination
+   * <code>j</code> is stored at <code>i * otherLatitudes.length + j</code>.
+   */
+  public static void haversineDistanceMatrix(double radius, double[] latitudes, double[] longitudes,
+                                             double[] otherLatitudes, double[] otherLongitudes, double[] distances)
+  {
+    int rowLength = checkMatrixLengths(latitudes, longitudes, otherLatitudes, otherLongitudes, distances);
+    double[] row = new double[rowLength];
+    for (int i = 0; i < latitudes.length; i++)
+    {
+      haversineDistances(radius, latitudes[i], longitudes[i], otherLatitudes, otherLongitudes, row);
+      System.arraycopy(row, 0, distances, i * rowLength, rowLength);
+    }
+  }
+
+  /**
+   * Computes the initial great circle bearing from one location to each of a set of locations.
+   * @param latitude The latitude of the origin.
+   * @param longitude The longitude of the origin.
+   * @param latitudes The latitudes of the destinations.
+   * @param longitudes The longitudes of the destinations.
+   * @param bearings Receives the initial bearing to each destination, in radians clockwise from north in the range
+   * [-PI, PI].
+   */
+  public static void initialBearings(double latitude, double longitude, double[] latitudes, double[] longitudes,
+                                     double[] bearings)
+  {
+    checkLengths(latitudes, longitudes, bearings);
+    double sinLatitude = Math.sin(latitude);
+    double cosLatitude = Math.cos(latitude);
+    int count = latitudes.length;
+    for (int i = 0; i < count; i++)
+    {
+      double longitudeDelta = longitudes[i] - longitude;
+      double cosOtherLatitude = Math.cos(latitudes[i]);
+      double y = Math.sin(longitudeDelta) * cosOtherLatitude;
+      double x = cosLatitude * Math.sin(latitudes[i]) - sinLatitude * cosOtherLatitude * Math.cos(longitudeDelta);
+      bearings[i] = Math.atan2(y, x);
+    }
+  }
+
+  /**
+   * Computes the initial great circle bearing between pairs of locations.
+   * @param latitudes The latitudes of the origins.
+   * @param longitudes The longitudes of the origins.
+   * @param otherLatitudes The latitudes of the destinations.
+   * @param otherLongitudes The longitudes of the destinations.
+   * @param bearings Receives the initial bearing from each origin to its destination, in radians clockwise from
+   * north in the range [-PI, PI].
+   */
+  public static void initialBearings(double[] latitudes, double[] longitudes, double[] otherLatitudes,
+                                     double[] otherLongitudes, double[] bearings)
+  {
+    checkPairwiseLengths(latitudes, longitudes, otherLatitudes, otherLongitudes, bearings);
+    int count = latitudes.length;
+    for (int i = 0; i < count; i++)
+    {
+      double longitudeDelta = otherLongitudes[i] - longitudes[i];
+      double cosOtherLatitude = Math.cos(otherLatitudes[i]);
+      double y = Math.sin(longitudeDelta) * cosOtherLatitude;
+      double x = Math.cos(latitudes[i]) * Math.sin(otherLatitudes[i]) -
+                 Math.sin(latitudes[i]) * cosOtherLatitude * Math.cos(longitudeDelta);
+      bearings[i] = Math.atan2(y, x);
+    }
+  }
+
+  /**
+   * Computes the geodesic distance and initial bearing between two locations on an ellipsoid, using Vincenty's
+   * inverse formula.
+   * @param ellipsoid The ellipsoid to measure on.
+   * @param latitude The latitude of the origin.
+   * @param longitude The longitude of the origin.
+   * @param otherLatitude The latitude of the destination.
+   * @param otherLongitude The longitude of the destination.
+   * @param result An array of at least 2 elements.  The distance in meters is stored at index 0, and the initial
+   * bearing in radians at index 1.  Both are NaN if the formula does not converge.
+   */
+  public static void vincentyInverse(Ellipsoid ellipsoid, double latitude, double longitude, double otherLatitude,
+                                     double otherLongitude, double[] result)
+  {
+    double a = ellipsoid.getEquatorialRadius();
+    double b = ellipsoid.getPolarRadius();
+    double f = ellipsoid.getFlattening();
+
+    double l = otherLongitude - longitude;
+    double u1 = Math.atan((1 - f) * Math.tan(latitude));
+    double u2 = Math.atan((1 - f) * Math.tan(otherLatitude));
+    double sinU1 = Math.sin(u1);
+    double cosU1 = Math.cos(u1);
+    double sinU2 = Math.sin(u2);
+    double cosU2 = Math.cos(u2);
+
+    double lambda = l;
+    double previousLambda;
+    double sinLambda;
+    double cosLambda;
+    double sinSigma;
+    double cosSigma;
+    double sigma;
+    double cosSqAlpha;
+    double cos2SigmaM;
+    boolean converged;
+    int iterations = 0;
+    do
+    {
+      sinLambda = Math.sin(lambda);
+      cosLambda = Math.cos(lambda);
+      double crossTerm = cosU1 * sinU2 - sinU1 * cosU2 * cosLambda;
+      sinSigma = Math.sqrt((cosU2 * sinLambda) * (cosU2 * sinLambda) + crossTerm * crossTerm);
+      if(sinSigma == 0)
+      {
+        // The locations are coincident.
+        result[0] = 0;
+        result[1] = 0;
+        return;
+      }
+      cosSigma = sinU1 * sinU2 + cosU1 * cosU2 * cosLambda;
+      sigma = Math.atan2(sinSigma, cosSigma);
+      double sinAlpha = cosU1 * cosU2 * sinLambda / sinSigma;
+      cosSqAlpha = 1 - sinAlpha * sinAlpha;
+      // Along the equator cosSqAlpha is zero, and cos2SigmaM is taken to be zero.
+      cos2SigmaM = (cosSqAlpha != 0) ? cosSigma - 2 * sinU1 * sinU2 / cosSqAlpha : 0;
+      double c = f / 16 * cosSqAlpha * (4 + f * (4 - 3 * cosSqAlpha));
+      previousLambda = lambda;
+      lambda = l + (1 - c) * f * sinAlpha *
+               (sigma + c * sinSigma * (cos2SigmaM + c * cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM)));
+      converged = Math.abs(lambda - previousLambda) <= CONVERGENCE_THRESHOLD;
+      iterations++;
+    }
+    while (!converged && (iterations < MAX_ITERATIONS));
+
+    if(!converged)
+    {
+      result[0] = Double.NaN;
+      result[1] = Double.NaN;
+      return;
+    }
+
+    double uSq = cosSqAlpha * (a * a - b * b) / (b * b);
+    double bigA = 1 + uSq / 16384 * (4096 + uSq * (-768 + uSq * (320 - 175 * uSq)));
+    double bigB = uSq / 1024 * (256 + uSq * (-128 + uSq * (74 - 47 * uSq)));
+    double deltaSigma = bigB * sinSigma * (cos2SigmaM + bigB / 4 *
+        (cosSigma * (-1 + 2 * cos2SigmaM * cos2SigmaM) -
+         bigB / 6 * cos2SigmaM * (-3 + 4 * sinSigma * sinSigma) * (-3 + 4 * cos2SigmaM * cos2SigmaM)));
+
+    result[0] = b * bigA * (sigma - deltaSigma);
+    result[1] = Math.atan2(cosU2 * sinLambda, cosU1 * sinU2 - sinU1 * cosU2 * cosLambda);
+  }
+
+  /**
+   * Computes the geodesic distance between two locations on an ellipsoid, using Vincenty's inverse formula.
+   * @param ellipsoid The ellipsoid to measure on.
+   * @param latitude The latitude of the origin.
+   * @param longitude The longitude of the origin.
+   * @param otherLatitude The latitude of the destination.
+   * @param otherLongitude The longitude of the destination.
+   * @return The distance, in meters, or NaN if the formula does not converge.
+   */
+  public static double vincentyDistance(Ellipsoid ellipsoid, double latitude, double longitude, double otherLatitude,
+                                        double otherLongitude)
+  {
+    double[] result = new double[2];
+    vincentyInverse(ellipsoid, latitude, longitude, otherLatitude, otherLongitude, result);
+    return result[0];
+  }
+
+  /**
+   * Computes the geodesic distance and initial bearing from one location to each of a set of locations.
+   * @param ellipsoid The ellipsoid to measure on.
+   * @param latitude The latitude of the origin.
+   * @param longitude The longitude of the origin.
+   * @param latitudes The latitudes of the destinations.
+   * @param longitudes The longitudes of the destinations.
+   * @param distances Receives the distance to each destination, in meters.
+   * @param bearings Receives the initial bearing to each destination, in radians.  May be null if bearings are not
+   * needed.
+   */
+  public static void vincentyInverse(Ellipsoid ellipsoid, double latitude, double longitude, double[] latitudes,
+                                     double[] longitudes, double[] distances, double[] bearings)
+  {
+    checkLengths(latitudes, longitudes, distances);
+    checkBearings(latitudes, bearings);
+    double[] result = new double[2];
+    int count = latitudes.length;
+    for (int i = 0; i < count; i++)
+    {
+      vincentyInverse(ellipsoid, latitude, longitude, latitudes[i], longitudes[i], result);
+      distances[i] = result[0];
+      if(bearings != null)
+      {
+        bearings[i] = result[1];
+      }
+    }
+  }
+
+  /**
+   * Computes the geodesic distance and initial bearing between pairs of locations.
+   * @param ellipsoid The ellipsoid to measure on.
+   * @param latitudes The latitudes of the origins.
+   * @param longitudes The longitudes of the origins.
+   * @param otherLatitudes The latitudes of the destinations.
+   * @param otherLongitudes The longitudes of the destinations.
+   * @param distances Receives the distance between each origin and its destination, in meters.
+   * @param bearings Receives the initial bearing from each origin to its destination, in radians.  May be null if
+   * bearings are not needed.
+   */
+  public static void vincentyInverse(Ellipsoid ellipsoid, double[] latitudes, double[] longitudes,
+                                     double[] otherLatitudes, double[] otherLongitudes, double[] distances,
+                                     double[] bearings)
+  {
+    checkPairwiseLengths(latitudes, longitudes, otherLatitudes, otherLongitudes, distances);
+    checkBearings(latitudes, bearings);
+    double[] result = new double[2];
+    int count = latitudes.length;
+    for (int i = 0; i < count; i++)
+    {
+      vincentyInverse(ellipsoid, latitudes[i], longitudes[i], otherLatitudes[i], otherLongitudes[i], result);
+      distances[i] = result[0];
+      if(bearings != null)
+      {
+        bearings[i] = result[1];
+      }
+    }
+  }
+
+  /**
+   * Computes the geodesic distance from every origin to every destination.
+   * @param ellipsoid The ellipsoid to measure on.
+   * @param latitudes The latitudes of the origins.
+   * @param longitudes The longitudes of the origins.
+   * @param otherLatitudes The latitudes of the destinations.
+   * @param otherLongitudes The longitudes of the destinations.
+   * @param distances Receives the distances, in meters.  The distance from origin <code>i</code> to destination
+   * <code>j</code> is stored at <code>i * otherLatitudes.length + j</code>.
+   */
+  public static void vincentyDistanceMatrix(Ellipsoid ellipsoid, double[] latitudes, double[] longitudes,
+                                            double[] otherLatitudes, double[] otherLongitudes, double[] distances)
+  {
+    int rowLength = checkMatrixLengths(latitudes, longitudes, otherLatitudes, otherLongitudes, distances);
+    double[] row = new double[rowLength];
+    for (int i = 0; i < latitudes.length; i++)
+    {
+      vincentyInverse(ellipsoid, latitudes[i], longitudes[i], otherLatitudes, otherLongitudes, row, null);
+      System.arraycopy(row, 0, distances, i * rowLength, rowLength);
+    }
+  }
+
+  private static void checkBearings(double[] latitudes, double[] bearings)
+  {
+    if((bearings != null) && (bearings.length < latitudes.length))
+    {
+      throw new IllegalArgumentException("bearings must be at least as long as the locations");
+    }
+  }
+
+  private static int checkMatrixLengths(double[] latitudes, double[] longitudes, double[] otherLatitudes,
+                                        double[] otherLongitudes, double[] distances)
+  {
+    if((latitudes == null) || (longitudes == null) || (otherLatitudes == null) || (otherLongitudes == null) ||
+       (distances == null))
+    {
+      throw new IllegalArgumentException("arrays may not be null");
+    }
+    if((latitudes.length != longitudes.length) || (otherLatitudes.length != otherLongitudes.length))
+    {
+      throw new IllegalArgumentException("latitudes and longitudes must be the same length");
+    }
+    int rowLength = otherLatitudes.length;
+    if(distances.length < latitudes.length * rowLength)
+    {
+      throw new IllegalArgumentException("distances must hold a result for every origin and destination");
+    }
+    return rowLength;
+  }
+}
@@ -4,6 +4,7 @@
  */
 package org.omg.tacsit.geometry;
 
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -89,4 +90,63 @@ public abstract class GeometryUtils
     }
     return maximumPosition;
   }
+
+  /**
+   * Checks which of a set of surface locations are contained by a Geometry.  If the geometry supports
+   * {@link BatchContainment}, the check is delegated to it.  Otherwise, each location is checked individually through
+   * {@link Geometry#contains(GeodeticPosition)}.
+   * @param geometry The geometry to check against.
+   * @param latitudes The latitudes of the locations, in radians.
+   * @param longitudes The longitudes of the locations, in radians.  Must be the same length as latitudes.
+   * @param result The set to store the results in.  Bit <code>i</code> is set if location <code>i</code> is contained
+   * and cleared if not.
+   */
+  public static void containsAll(Geometry geometry, double[] latitudes, double[] longitudes, BitSet result)
+  {
+    if(geometry == null)
+    {
+      throw new IllegalArgumentException("geometry may not be null");
+    }
+    if(geometry instanceof BatchContainment)
+    {
+      ((BatchContainment)geometry).containsAll(latitudes, longitudes, result);
+    }
+    else
+    {
+      checkBatchArguments(latitudes, longitudes, result);
+      int locationCount = latitudes.length;
+      for (int i = 0; i < locationCount; i++)
+      {
+        DefaultGeodeticPosition position = DefaultGeodeticPosition.fromRadians(latitudes[i], longitudes[i], 0);
+        result.set(i, geometry.contains(position));
+      }
+    }
+  }
+
+  /**
+   * Validates the arguments to a batch containment check.
+   * @param latitudes The latitudes of the locations.
+   * @param longitudes The longitudes of the locations.
+   * @param result The set that results will be stored in.
+   * @throws IllegalArgumentException If any argument is null, or the arrays are different lengths.
+   */
+  public static void checkBatchArguments(double[] latitudes, double[] longitudes, BitSet result)
+  {
+    if(latitudes == null)
+    {
+      throw new IllegalArgumentException("latitudes may not be null");
+    }
+    if(longitudes == null)
+    {
+      throw new IllegalArgumentException("longitudes may not be null");
+    }
+    if(latitudes.length != longitudes.length)
+    {
+      throw new IllegalArgumentException("latitudes and longitudes must be the same length");
+    }
+    if(result == null)
+    {
+      throw new IllegalArgumentException("result may not be null");
+    }
+  }
 }
@@ -0,0 +1,512 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+
+/**
+ * A closed polygon on the surface of the globe, prepared for repeated spatial queries.
+ * <p>
+ * The boundary of the polygon is held as parallel arrays of latitudes and longitudes, in radians, along with the
+ * bounds of the polygon.  Edges are treated as straight lines in latitude/longitude space, which is the same
+ * approximation used when testing a location against a tessellated surface shape.
+ * <p>
+ * Polygon to polygon predicates are exact for the edges as described.  They reject on bounds first, then look for
+ * crossing edges, and only fall back to point in polygon tests when no edges cross.  Crossing edges are found with a
+ * heuristic prefilter rather than a true sweep line: both polygons' edges are walked in order of their westernmost
+ * longitude, and each edge is only tested exactly against the other polygon's edges whose longitude intervals overlap
+ * it, and whose latitude intervals pass a quick check.  This skips most pairs for typical polygons, but gives no
+ * better bound than testing every pair; long edges that span the longitudes of many others, such as two polygons
+ * lying along the same parallel, are tested against all of them.
+ * <p>
+ * PreparedPolygons are immutable, and so may be shared freely between threads.  They are serializable so that the
+ * geometries that cache them can be serialized too.
+ * @author Matthew Child
+ */
+public class PreparedPolygon implements BatchContainment, Serializable
+{
+  private static final long serialVersionUID = 1L;
+
+  private static final int CONTAINMENT_BLOCK_SIZE = 1024;
+
+  private final double[] latitudes;
+
+  private final double[] longitudes;
+
+  private final double minLatitude;
+
+  private final double maxLatitude;
+
+  private final double minLongitude;
+
+  private final double maxLongitude;
+
+  private volatile int[] edgesByMinLongitude;
+
+  /**
+   * Creates a new instance.  If the ring described by the coordinates is not closed, it will be closed by
+   * repeating the first vertex.  The arrays are copied, and may be modified after construction.
+   * @param latitudes The latitudes of the vertices, in radians.
+   * @param longitudes The longitudes of the vertices, in radians.
+   */
+  public PreparedPolygon(double[] latitudes, double[] longitudes)
+  {
+    if(latitudes == null)
+    {
+      throw new IllegalArgumentException("latitudes may not be null");
+    }
+    if(longitudes == null)
+    {
+      throw new IllegalArgumentException("longitudes may not be null");
+    }
+    if(latitudes.length != longitudes.length)
+    {
+      throw new IllegalArgumentException("latitudes and longitudes must be the same length");
+    }
+    if(latitudes.length == 0)
+    {
+      throw new IllegalArgumentException("A polygon must have at least one vertex");
+    }
+
+    int sourceCount = latitudes.length;
+    int lastIndex = sourceCount - 1;
+    boolean closed = (latitudes[0] == latitudes[lastIndex]) && (longitudes[0] == longitudes[lastIndex]);
+    int vertexCount = closed ? sourceCount : sourceCount + 1;
+
+    this.latitudes = new double[vertexCount];
+    this.longitudes = new double[vertexCount];
+    System.arraycopy(latitudes, 0, this.latitudes, 0, sourceCount);
+    System.arraycopy(longitudes, 0, this.longitudes, 0, sourceCount);
+    if(!closed)
+    {
+      this.latitudes[sourceCount] = latitudes[0];
+      this.longitudes[sourceCount] = longitudes[0];
+    }
+
+    double foundMinLatitude = Double.POSITIVE_INFINITY;
+    double foundMaxLatitude = Double.NEGATIVE_INFINITY;
+    double foundMinLongitude = Double.POSITIVE_INFINITY;
+    double foundMaxLongitude = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < vertexCount; i++)
+    {
+      foundMinLatitude = Math.min(foundMinLatitude, this.latitudes[i]);
+      foundMaxLatitude = Math.max(foundMaxLatitude, this.latitudes[i]);
+      foundMinLongitude = Math.min(foundMinLongitude, this.longitudes[i]);
+      foundMaxLongitude = Math.max(foundMaxLongitude, this.longitudes[i]);
+    }
+    this.minLatitude = foundMinLatitude;
+    this.maxLatitude = foundMaxLatitude;
+    this.minLongitude = foundMinLongitude;
+    this.maxLongitude = foundMaxLongitude;
+  }
+
+  /**
+   * Gets the number of vertices in the closed ring, including the repeated closing vertex.
+   * @return The number of vertices in the ring.
+   */
+  public int getVertexCount()
+  {
+    return latitudes.length;
+  }
+
+  /**
+   * Gets the number of edges in the polygon.
+   * @return The number of edges.
+   */
+  public int getEdgeCount()
+  {
+    return latitudes.length - 1;
+  }
+
+  /**
+   * Gets the latitude of a vertex.
+   * @param vertexIndex The index of the vertex.
+   * @return The latitude of the vertex, in radians.
+   */
+  public double getLatitude(int vertexIndex)
+  {
+    return latitudes[vertexIndex];
+  }
+
+  /**
+   * Gets the longitude of a vertex.
+   * @param vertexIndex The index of the vertex.
+   * @return The longitude of the vertex, in radians.
+   */
+  public double getLongitude(int vertexIndex)
+  {
+    return longitudes[vertexIndex];
+  }
+
+  /**
+   * Gets the southernmost latitude of the polygon.
+   * @return The minimum latitude, in radians.
+   */
+  public double getMinLatitude()
+  {
+    return minLatitude;
+  }
+
+  /**
+   * Gets the northernmost latitude of the polygon.
+   * @return The maximum latitude, in radians.
+   */
+  public double getMaxLatitude()
+  {
+    return maxLatitude;
+  }
+
+  /**
+   * Gets the westernmost longitude of the polygon.
+   * @return The minimum longitude, in radians.
+   */
+  public double getMinLongitude()
+  {
+    return minLongitude;
+  }
+
+  /**
+   * Gets the easternmost longitude of the polygon.
+   * @return The maximum longitude, in radians.
+   */
+  public double getMaxLongitude()
+  {
+    return maxLongitude;
+  }
+
+  /**
+   * Checks whether a location is within the bounds of this polygon.
+   * @param latitude The latitude of the location, in radians.
+   * @param longitude The longitude of the location, in radians.
+   * @return true if the location is within the bounds, false if not.
+   */
+  public boolean boundsContain(double latitude, double longitude)
+  {
+    return (latitude >= minLatitude) && (latitude <= maxLatitude) &&
+           (longitude >= minLongitude) && (longitude <= maxLongitude);
+  }
+
+  /**
+   * Checks whether the bounds of this polygon overlap the bounds of another polygon.
+   * @param polygon The polygon to check.
+   * @return true if the bounds overlap, false if not.
+   */
+  public boolean boundsIntersect(PreparedPolygon polygon)
+  {
+    boolean intersects = false;
+    if(polygon != null)
+    {
+      intersects = (polygon.minLatitude <= maxLatitude) && (polygon.maxLatitude >= minLatitude) &&
+                   (polygon.minLongitude <= maxLongitude) && (polygon.maxLongitude >= minLongitude);
+    }
+    return intersects;
+  }
+
+  /**
+   * Checks whether a location is inside this polygon.
+   * @param latitude The latitude of the location, in radians.
+   * @param longitude The longitude of the location, in radians.
+   * @return true if the location is inside the polygon, false if not.
+   */
+  public boolean contains(double latitude, double longitude)
+  {
+    boolean inside = false;
+    if(boundsContain(latitude, longitude))
+    {
+      int edgeCount = getEdgeCount();
+      for (int i = 0; i < edgeCount; i++)
+      {
+        double startLatitude = latitudes[i];
+        double startLongitude = longitudes[i];
+        double endLatitude = latitudes[i + 1];
+        double endLongitude = longitudes[i + 1];
+        if(((startLatitude <= latitude) && (latitude < endLatitude)) ||
+           ((endLatitude <= latitude) && (latitude < startLatitude)))
+        {
+          double inverseSlope = (endLongitude - startLongitude) / (endLatitude - startLatitude);
+          double crossingLongitude = startLongitude + (latitude - startLatitude) * inverseSlope;
+          if(longitude < crossingLongitude)
+          {
+            inside = !inside;
+          }
+        }
+      }
+    }
+    return inside;
+  }
+
+  /**
+   * Checks whether a position is inside this polygon.
+   * @param position The position to check.
+   * @return true if the position is inside the polygon, false if not or if the position is null.
+   */
+  public boolean contains(GeodeticPosition position)
+  {
+    boolean contains = false;
+    if(position != null)
+    {
+      contains = contains(position.getLatitude(), position.getLongitude());
+    }
+    return contains;
+  }
+
+  /**
+   * Checks which of a set of locations are inside this polygon.  The locations are processed in blocks, and each
+   * block is tested against one edge at a time, which keeps the inner loop free of branches and object access.
+   * @param latitudes The latitudes of the locations, in radians.
+   * @param longitudes The longitudes of the locations, in radians.  Must be the same length as latitudes.
+   * @param result The set to store the results in.  Bit <code>i</code> is set if location <code>i</code> is inside.
+   */
+  public void containsAll(double[] latitudes, double[] longitudes, BitSet result)
+  {
+    GeometryUtils.checkBatchArguments(latitudes, longitudes, result);
+    int locationCount = latitudes.length;
+    result.clear(0, locationCount);
+    int edgeCount = getEdgeCount();
+    boolean[] insideBlock = new boolean[Math.min(locationCount, CONTAINMENT_BLOCK_SIZE)];
+    for (int blockStart = 0; blockStart < locationCount; blockStart += CONTAINMENT_BLOCK_SIZE)
+    {
+      int blockEnd = Math.min(blockStart + CONTAINMENT_BLOCK_SIZE, locationCount);
+      Arrays.fill(insideBlock, false);
+      for (int edge = 0; edge < edgeCount; edge++)
+      {
+        double startLatitude = this.latitudes[edge];
+        double startLongitude = this.longitudes[edge];
+        double endLatitude = this.latitudes[edge + 1];
+        double inverseSlope = (this.longitudes[edge + 1] - startLongitude) / (endLatitude - startLatitude);
+        for (int i = blockStart; i < blockEnd; i++)
+        {
+          double latitude = latitudes[i];
+          boolean straddles = (startLatitude <= latitude) != (endLatitude <= latitude);
+          boolean crosses = longitudes[i] < startLongitude + (latitude - startLatitude) * inverseSlope;
+          insideBlock[i - blockStart] ^= straddles & crosses;
+        }
+      }
+      for (int i = blockStart; i < blockEnd; i++)
+      {
+        if(insideBlock[i - blockStart])
+        {
+          result.set(i);
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks whether the bounds of this polygon completely enclose the bounds of another polygon.
+   * @param polygon The polygon to check.
+   * @return true if the other polygon's bounds are within these bounds, false if not.
+   */
+  public boolean boundsContain(PreparedPolygon polygon)
+  {
+    boolean contains = false;
+    if(polygon != null)
+    {
+      contains = (polygon.minLatitude >= minLatitude) && (polygon.maxLatitude <= maxLatitude) &&
+                 (polygon.minLongitude >= minLongitude) && (polygon.maxLongitude <= maxLongitude);
+    }
+    return contains;
+  }
+
+  /**
+   * Checks whether this polygon and another polygon share any area or boundary.
+   * @param polygon The polygon to check.
+   * @return true if the polygons intersect, false if not or if the polygon is null.
+   */
+  public boolean intersects(PreparedPolygon polygon)
+  {
+    boolean intersects = false;
+    if(boundsIntersect(polygon))
+    {
+      intersects = edgesIntersect(polygon) ||
+                   contains(polygon.latitudes[0], polygon.longitudes[0]) ||
+                   polygon.contains(latitudes[0], longitudes[0]);
+    }
+    return intersects;
+  }
+
+  /**
+   * Checks whether another polygon lies completely inside this polygon.  Polygons whose boundaries touch are not
+   * considered to be contained.
+   * @param polygon The polygon to check.
+   * @return true if the polygon is wholly inside this polygon, false if not or if the polygon is null.
+   */
+  public boolean contains(PreparedPolygon polygon)
+  {
+    boolean contains = false;
+    if(boundsContain(polygon))
+    {
+      contains = !edgesIntersect(polygon) && contains(polygon.latitudes[0], polygon.longitudes[0]);
+    }
+    return contains;
+  }
+
+  /**
+   * Checks whether any edge of this polygon touches or crosses any edge of another polygon.  Only pairs of edges
+   * whose longitude intervals overlap are tested exactly.
+   * @param polygon The polygon to check against.
+   * @return true if any pair of edges intersect, false if not.
+   */
+  public boolean edgesIntersect(PreparedPolygon polygon)
+  {
+    boolean intersects = false;
+    if(boundsIntersect(polygon))
+    {
+      int[] myEdges = getEdgesByMinLongitude();
+      int[] theirEdges = polygon.getEdgesByMinLongitude();
+      int[] myActiveEdges = new int[myEdges.length];
+      int[] theirActiveEdges = new int[theirEdges.length];
+      int myActiveCount = 0;
+      int theirActiveCount = 0;
+      int myNext = 0;
+      int theirNext = 0;
+      while (!intersects && ((myNext < myEdges.length) || (theirNext < theirEdges.length)))
+      {
+        boolean takeMine = (theirNext >= theirEdges.length) ||
+                           ((myNext < myEdges.length) &&
+                            (getEdgeMinLongitude(myEdges[myNext]) <= polygon.getEdgeMinLongitude(theirEdges[theirNext])));
+        if(takeMine)
+        {
+          int edge = myEdges[myNext++];
+          double sweepLongitude = getEdgeMinLongitude(edge);
+          theirActiveCount = polygon.retireEdges(theirActiveEdges, theirActiveCount, sweepLongitude);
+          intersects = polygon.anyActiveEdgeCrosses(theirActiveEdges, theirActiveCount, this, edge);
+          myActiveEdges[myActiveCount++] = edge;
+        }
+        else
+        {
+          int edge = theirEdges[theirNext++];
+          double sweepLongitude = polygon.getEdgeMinLongitude(edge);
+          myActiveCount = retireEdges(myActiveEdges, myActiveCount, sweepLongitude);
+          intersects = anyActiveEdgeCrosses(myActiveEdges, myActiveCount, polygon, edge);
+          theirActiveEdges[theirActiveCount++] = edge;
+        }
+      }
+    }
+    return intersects;
+  }
+
+  private int retireEdges(int[] activeEdges, int activeCount, double sweepLongitude)
+  {
+    int remaining = 0;
+    for (int i = 0; i < activeCount; i++)
+    {
+      int edge = activeEdges[i];
+      if(getEdgeMaxLongitude(edge) >= sweepLongitude)
+      {
+        activeEdges[remaining++] = edge;
+      }
+    }
+    return remaining;
+  }
+
+  private boolean anyActiveEdgeCrosses(int[] activeEdges, int activeCount, PreparedPolygon polygon, int polygonEdge)
+  {
+    boolean crosses = false;
+    double startLatitude = polygon.latitudes[polygonEdge];
+    double startLongitude = polygon.longitudes[polygonEdge];
+    double endLatitude = polygon.latitudes[polygonEdge + 1];
+    double endLongitude = polygon.longitudes[polygonEdge + 1];
+    double edgeMinLatitude = Math.min(startLatitude, endLatitude);
+    double edgeMaxLatitude = Math.max(startLatitude, endLatitude);
+    for (int i = 0; (i < activeCount) && !crosses; i++)
+    {
+      int edge = activeEdges[i];
+      double otherStartLatitude = latitudes[edge];
+      double otherEndLatitude = latitudes[edge + 1];
+      if((Math.max(otherStartLatitude, otherEndLatitude) >= edgeMinLatitude) &&
+         (Math.min(otherStartLatitude, otherEndLatitude) <= edgeMaxLatitude))
+      {
+        crosses = segmentsIntersect(startLatitude, startLongitude, endLatitude, endLongitude,
+                                    otherStartLatitude, longitudes[edge], otherEndLatitude, longitudes[edge + 1]);
+      }
+    }
+    return crosses;
+  }
+
+  private double getEdgeMinLongitude(int edge)
+  {
+    return Math.min(longitudes[edge], longitudes[edge + 1]);
+  }
+
+  private double getEdgeMaxLongitude(int edge)
+  {
+    return Math.max(longitudes[edge], longitudes[edge + 1]);
+  }
+
+  private int[] getEdgesByMinLongitude()
+  {
+    int[] sortedEdges = edgesByMinLongitude;
+    if(sortedEdges == null)
+    {
+      int edgeCount = getEdgeCount();
+      Integer[] edges = new Integer[edgeCount];
+      for (int i = 0; i < edgeCount; i++)
+      {
+        edges[i] = Integer.valueOf(i);
+      }
+      Arrays.sort(edges, new Comparator<Integer>()
+      {
+        public int compare(Integer first, Integer second)
+        {
+          return Double.compare(getEdgeMinLongitude(first.intValue()), getEdgeMinLongitude(second.intValue()));
+        }
+      });
+      sortedEdges = new int[edgeCount];
+      for (int i = 0; i < edgeCount; i++)
+      {
+        sortedEdges[i] = edges[i].intValue();
+      }
+      edgesByMinLongitude = sortedEdges;
+    }
+    return sortedEdges;
+  }
+
+  private static double orientation(double originY, double originX, double firstY, double firstX,
+                                    double secondY, double secondX)
+  {
+    return (firstX - originX) * (secondY - originY) - (firstY - originY) * (secondX - originX);
+  }
+
+  private static boolean isWithinSegmentBounds(double startY, double startX, double endY, double endX,
+                                               double pointY, double pointX)
+  {
+    return (pointX >= Math.min(startX, endX)) && (pointX <= Math.max(startX, endX)) &&
+           (pointY >= Math.min(startY, endY)) && (pointY <= Math.max(startY, endY));
+  }
+
+  private static boolean segmentsIntersect(double firstStartY, double firstStartX, double firstEndY, double firstEndX,
+                                           double secondStartY, double secondStartX, double secondEndY,
+                                           double secondEndX)
+  {
+    double firstToSecondStart = orientation(firstStartY, firstStartX, firstEndY, firstEndX, secondStartY, secondStartX);
+    double firstToSecondEnd = orientation(firstStartY, firstStartX, firstEndY, firstEndX, secondEndY, secondEndX);
+    double secondToFirstStart = orientation(secondStartY, secondStartX, secondEndY, secondEndX, firstStartY, firstStartX);
+    double secondToFirstEnd = orientation(secondStartY, secondStartX, secondEndY, secondEndX, firstEndY, firstEndX);
+
+    boolean intersects;
+    if((((firstToSecondStart > 0) && (firstToSecondEnd < 0)) || ((firstToSecondStart < 0) && (firstToSecondEnd > 0))) &&
+       (((secondToFirstStart > 0) && (secondToFirstEnd < 0)) || ((secondToFirstStart < 0) && (secondToFirstEnd > 0))))
+    {
+      intersects = true;
+    }
+    else
+    {
+      intersects =
+          ((firstToSecondStart == 0) &&
+           isWithinSegmentBounds(firstStartY, firstStartX, firstEndY, firstEndX, secondStartY, secondStartX)) ||
+          ((firstToSecondEnd == 0) &&
+           isWithinSegmentBounds(firstStartY, firstStartX, firstEndY, firstEndX, secondEndY, secondEndX)) ||
+          ((secondToFirstStart == 0) &&
+           isWithinSegmentBounds(secondStartY, secondStartX, secondEndY, secondEndX, firstStartY, firstStartX)) ||
+          ((secondToFirstEnd == 0) &&
+           isWithinSegmentBounds(secondStartY, secondStartX, secondEndY, secondEndX, firstEndY, firstEndX));
+    }
+    return intersects;
+  }
+}
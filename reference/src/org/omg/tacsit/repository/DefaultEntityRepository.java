@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import org.omg.tacsit.controller.Entity;
 import org.omg.tacsit.query.EntityQuery;
@@ -93,6 +94,16 @@ public class DefaultEntityRepository<E extends Entity> implements MutableEntityR
     changeSupport.fireEntitiesUpdated(entities);
   }
 
+  /**
+   * Notifies all RepositoryListeners that a group of entities were updated, and which of their fields changed.
+   * @param entities The group of entities that were updated.
+   * @param changedFields The fields that changed for each entity, as a bitmask of the values in EntityFields.
+   */
+  protected void fireEntitiesUpdated(Collection<E> entities, Map<E, Integer> changedFields)
+  {
+    changeSupport.fireEntitiesUpdated(entities, changedFields);
+  }
+
   /**
    * Performs the insert of the entity into the repository.  No listeners are notified.
    * @param entity The entity to insert into the repository.
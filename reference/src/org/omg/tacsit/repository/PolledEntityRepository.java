@@ -4,12 +4,15 @@
  */
 package org.omg.tacsit.repository;
 
+import org.omg.tacsit.entity.FieldTrackingEntity;
 import org.omg.tacsit.entity.PollableEntity;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import javax.swing.Timer;
 
 /**
@@ -75,6 +78,7 @@ public class PolledEntityRepository extends DefaultEntityRepository<PollableEnti
   private synchronized void updateChangedItems()
   {
     Collection<PollableEntity> changedItems = null;
+    Map<PollableEntity, Integer> changedFields = null;
     long newUpdateTime = System.currentTimeMillis();
     Iterator<PollableEntity> entityIterator = getEntities();
     while (entityIterator.hasNext())
@@ -90,15 +94,22 @@ public class PolledEntityRepository extends DefaultEntityRepository<PollableEnti
       {
         if(changedItems == null)
         {
-          changedItems = new ArrayList();
+          changedItems = new ArrayList<PollableEntity>();
+          changedFields = new HashMap<PollableEntity, Integer>();
         }
         changedItems.add(pollableEntity);
+        // Entities that don't track their changed fields are left out of the map, which marks every field as changed.
+        if (pollableEntity instanceof FieldTrackingEntity)
+        {
+          int fields = ((FieldTrackingEntity) pollableEntity).takeChangedFields();
+          changedFields.put(pollableEntity, Integer.valueOf(fields));
+        }
       }
     }
     lastUpdateTime = newUpdateTime;
     if(changedItems != null)
     {
-      fireEntitiesUpdated(changedItems);
+      fireEntitiesUpdated(changedItems, changedFields);
     }
   }
 
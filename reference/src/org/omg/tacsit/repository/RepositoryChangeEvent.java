@@ -6,8 +6,11 @@ package org.omg.tacsit.repository;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import org.omg.tacsit.common.util.CollectionUtils;
 import org.omg.tacsit.controller.Entity;
+import org.omg.tacsit.entity.EntityFields;
 
 /**
  * A Event signifying changes to the entities contained in an EntityRepository.
@@ -41,6 +44,7 @@ public class RepositoryChangeEvent
   
   private Type type;
   private Collection<Entity> entities;
+  private Map<Entity, Integer> changedFields;
   
   /**
    * Creates a new instance.
@@ -66,6 +70,23 @@ public class RepositoryChangeEvent
     this.entities = (Collection<Entity>)CollectionUtils.copyToUnmodifiableCollection(entities);
   }
 
+  /**
+   * Creates a new instance for updated entities whose changed fields are known.
+   * @param type The type of change
+   * @param entities The entities that were updated in the repository.
+   * @param changedFields The fields that changed for each entity, as a bitmask of the values in EntityFields.
+   * Entities that aren't in the map are treated as if every field changed.  May be null.
+   */
+  public RepositoryChangeEvent(Type type, Collection<? extends Entity> entities,
+                               Map<? extends Entity, Integer> changedFields)
+  {
+    this(type, entities);
+    if (changedFields != null)
+    {
+      this.changedFields = Collections.unmodifiableMap(new HashMap<Entity, Integer>(changedFields));
+    }
+  }
+
   /**
    * Gets the type of change.
    * @return The event type.
@@ -83,4 +104,24 @@ public class RepositoryChangeEvent
   {
     return entities;
   }
+
+  /**
+   * Gets the fields that changed for each updated entity.
+   * @return An unmodifiable map of each entity to a bitmask of the values in EntityFields, or null if the changed
+   * fields are not known.
+   */
+  public Map<Entity, Integer> getChangedFields()
+  {
+    return changedFields;
+  }
+
+  /**
+   * Gets the fields that changed for an updated entity.
+   * @param entity The entity to get the changed fields of.
+   * @return A bitmask of the values in EntityFields, which is EntityFields.ALL if the changed fields are not known.
+   */
+  public int getChangedFields(Entity entity)
+  {
+    return EntityFields.get(changedFields, entity);
+  }
 }
@@ -6,6 +6,7 @@ package org.omg.tacsit.repository;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import org.omg.tacsit.controller.Entity;
 import org.omg.tacsit.repository.RepositoryChangeEvent.Type;
@@ -127,10 +128,23 @@ public class RepositoryChangeSupport
    * @param updatedEntities The entities that were updated.
    */
   public void fireEntitiesUpdated(Collection<? extends Entity> updatedEntities)
+  {
+    fireEntitiesUpdated(updatedEntities, null);
+  }
+
+  /**
+   * Notifies all registered listeners that several entities contained in the repository were updated, and which of
+   * their fields changed.
+   * @param updatedEntities The entities that were updated.
+   * @param changedFields The fields that changed for each entity, as a bitmask of the values in EntityFields, or
+   * null if they are not known.
+   */
+  public void fireEntitiesUpdated(Collection<? extends Entity> updatedEntities,
+                                  Map<? extends Entity, Integer> changedFields)
   {
     if(!repositoryListeners.isEmpty() && !updatedEntities.isEmpty())
     {
-      RepositoryChangeEvent event = new RepositoryChangeEvent(Type.ADDED, updatedEntities);
+      RepositoryChangeEvent event = new RepositoryChangeEvent(Type.UPDATED, updatedEntities, changedFields);
       for (RepositoryListener repositoryListener : repositoryListeners)
       {
         repositoryListener.entitiesUpdated(event);
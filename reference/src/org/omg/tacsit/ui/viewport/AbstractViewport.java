@@ -66,11 +66,20 @@ public abstract class AbstractViewport implements ComponentViewport
   {
     if(viewportChangeListeners.size() > 0)
     {
-      ViewportChangeEvent evt = new ViewportChangeEvent(this, viewEyeProperties);
-      for(ViewportChangeListener changeListener : viewportChangeListeners)
-      {
-        changeListener.viewportChanged(evt);
-      }
+      fireViewportChanged(new ViewportChangeEvent(this, viewEyeProperties));
+    }
+  }
+
+  /**
+   * Notifies ViewportChangeListeners that the viewport has changed.  Viewports whose view eye is expensive to work out
+   * can pass a LazyViewportChangeEvent, so that it is only worked out for listeners that ask for it.
+   * @param evt The event to pass to the listeners.
+   */
+  protected void fireViewportChanged(ViewportChangeEvent evt)
+  {
+    for(ViewportChangeListener changeListener : viewportChangeListeners)
+    {
+      changeListener.viewportChanged(evt);
     }
   }
   
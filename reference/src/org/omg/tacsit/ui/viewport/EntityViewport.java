@@ -4,6 +4,9 @@
  */
 package org.omg.tacsit.ui.viewport;
 
+import java.util.Collection;
+import java.util.Map;
+import org.omg.tacsit.controller.Entity;
 import org.omg.tacsit.controller.SelectionManager;
 import org.omg.tacsit.ui.entity.EntityCollectionUI;
 
@@ -19,6 +22,15 @@ import org.omg.tacsit.ui.entity.EntityCollectionUI;
  */
 public interface EntityViewport extends ComponentViewport, EntityCollectionUI
 {
+  /**
+   * The property that's fired when the set of entities the viewport allows may have changed, such as when it pans to
+   * a new area.  Managers that route entities to the viewport by isEntityAllowed(Entity) should check their entities
+   * against the viewport again when this is fired.  When only the region that point entities must be inside has
+   * moved, the old and new values of the change are InterestRegions, and only the point entities that are inside one
+   * region and not the other need to be checked again.
+   */
+  public static final String INTEREST_PROPERTY = "interest";
+
   /**
    * Sets the selection manager that handles the selection state for the Viewport.
    * @param selectionManager The selection manager that handles entity selection state.
@@ -30,4 +42,34 @@ public interface EntityViewport extends ComponentViewport, EntityCollectionUI
    * @return The selection manager that handles entity selection state.
    */
   public SelectionManager getSelectionManager();
+  
+  /**
+   * Adds a collection of entities to the set of displayed entities.  The viewport applies the whole batch before
+   * redrawing.  Entities the viewport does not allow are discarded.
+   * @param entities The entities to add.
+   */
+  public void addEntities(Collection<? extends Entity> entities);
+  
+  /**
+   * Removes a collection of entities from the set of displayed entities.  The viewport applies the whole batch before
+   * redrawing.
+   * @param entities The entities to remove.
+   */
+  public void removeEntities(Collection<? extends Entity> entities);
+  
+  /**
+   * Notifies the viewport that a collection of entities have changed.  The viewport applies the whole batch before
+   * redrawing.
+   * @param entities The entities that have been modified.
+   */
+  public void updateEntities(Collection<? extends Entity> entities);
+
+  /**
+   * Notifies the viewport that a collection of entities have changed, and which of their fields changed.  The
+   * viewport only needs to refresh the parts of each entity's display that depend on those fields.
+   * @param entities The entities that have been modified.
+   * @param changedFields The fields that changed for each entity, as a bitmask of the values in EntityFields.
+   * Entities that aren't in the map, or every entity if the map is null, are treated as if every field changed.
+   */
+  public void updateEntities(Collection<? extends Entity> entities, Map<Entity, Integer> changedFields);
 }
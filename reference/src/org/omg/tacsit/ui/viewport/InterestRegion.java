@@ -0,0 +1,109 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.ui.viewport;
+
+import org.omg.tacsit.geometry.GeodeticPosition;
+
+/**
+ * A latitude/longitude region that point entities must be inside to be allowed in an EntityViewport.
+ * <p>
+ * Viewports that limit point entities to a region fire an INTEREST_PROPERTY change with the old and new
+ * InterestRegion when the region moves.  A null region means point entities are allowed anywhere.  Only point entities
+ * whose reference positions are inside one region and not the other can change whether they are allowed, so
+ * managers only need to check those entities again.
+ * @author Matthew Child
+ */
+public class InterestRegion
+{
+  private double minLatitude;
+  private double maxLatitude;
+  private double minLongitude;
+  private double maxLongitude;
+
+  /**
+   * Creates a new instance.
+   * @param minLatitude The southern edge of the region, in degrees.
+   * @param maxLatitude The northern edge of the region, in degrees.
+   * @param minLongitude The western edge of the region, in degrees.
+   * @param maxLongitude The eastern edge of the region, in degrees.
+   */
+  public InterestRegion(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude)
+  {
+    if (!(minLatitude <= maxLatitude))
+    {
+      throw new IllegalArgumentException("minLatitude may not be greater than maxLatitude");
+    }
+    if (!(minLongitude <= maxLongitude))
+    {
+      throw new IllegalArgumentException("minLongitude may not be greater than maxLongitude");
+    }
+    this.minLatitude = minLatitude;
+    this.maxLatitude = maxLatitude;
+    this.minLongitude = minLongitude;
+    this.maxLongitude = maxLongitude;
+  }
+
+  /**
+   * Gets the southern edge of the region.
+   * @return The minimum latitude, in degrees.
+   */
+  public double getMinLatitude()
+  {
+    return minLatitude;
+  }
+
+  /**
+   * Gets the northern edge of the region.
+   * @return The maximum latitude, in degrees.
+   */
+  public double getMaxLatitude()
+  {
+    return maxLatitude;
+  }
+
+  /**
+   * Gets the western edge of the region.
+   * @return The minimum longitude, in degrees.
+   */
+  public double getMinLongitude()
+  {
+    return minLongitude;
+  }
+
+  /**
+   * Gets the eastern edge of the region.
+   * @return The maximum longitude, in degrees.
+   */
+  public double getMaxLongitude()
+  {
+    return maxLongitude;
+  }
+
+  /**
+   * Checks to see if a location is inside the region.  Locations on the edges of the region are inside it.
+   * @param latitude The latitude of the location, in degrees.
+   * @param longitude The longitude of the location, in degrees.
+   * @return true if the location is inside the region, false otherwise.
+   */
+  public boolean contains(double latitude, double longitude)
+  {
+    return latitude >= minLatitude && latitude <= maxLatitude && longitude >= minLongitude &&
+           longitude <= maxLongitude;
+  }
+
+  /**
+   * Checks to see if a position is inside the region.
+   * @param position The position to check. May not be null.
+   * @return true if the position is inside the region, false otherwise.
+   */
+  public boolean contains(GeodeticPosition position)
+  {
+    if (position == null)
+    {
+      throw new IllegalArgumentException("position may not be null");
+    }
+    return contains(Math.toDegrees(position.getLatitude()), Math.toDegrees(position.getLongitude()));
+  }
+}
@@ -0,0 +1,48 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.ui.viewport;
+
+import org.omg.tacsit.controller.ViewEyeProperties;
+import org.omg.tacsit.controller.Viewport;
+import org.omg.tacsit.controller.ViewportChangeEvent;
+
+/**
+ * A ViewportChangeEvent that works out the view eye only when a listener asks for it.
+ * <p>
+ * Working out a view eye can be expensive, and many listeners never look at it.  The view eye is created the first
+ * time getViewEyeProperties() is called, and the same properties are returned to every later caller.  Subclasses
+ * should capture the state they need when the event is created, and create the view eye from that state, so that it
+ * shows the viewport as it was when the event was fired rather than when a listener asked.
+ * @author Matthew Child
+ */
+public abstract class LazyViewportChangeEvent extends ViewportChangeEvent
+{
+  private ViewEyeProperties viewEyeProperties;
+
+  /**
+   * Creates a new instance.
+   * @param viewport The viewport that has changed.
+   */
+  public LazyViewportChangeEvent(Viewport viewport)
+  {
+    super(viewport, null);
+  }
+
+  /**
+   * Creates the view eye of the viewport, as it was when the event was fired.  This is called at most once per event.
+   * @return The view eye properties of the viewport.
+   */
+  protected abstract ViewEyeProperties createViewEyeProperties();
+
+  @Override
+  public synchronized ViewEyeProperties getViewEyeProperties()
+  {
+    if (viewEyeProperties == null)
+    {
+      viewEyeProperties = createViewEyeProperties();
+    }
+    return viewEyeProperties;
+  }
+}
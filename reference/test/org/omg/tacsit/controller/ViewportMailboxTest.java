@@ -0,0 +1,293 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.controller;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.omg.tacsit.entity.EntityFields;
+import org.omg.tacsit.ui.viewport.EntityViewport;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of how ViewportMailbox merges the changes posted to it, and delivers them to its viewport.
+ * @author Matthew Child
+ */
+public class ViewportMailboxTest
+{
+  private RecordingViewport recorder;
+  private List<Entity> resyncEntities;
+  private ViewportMailbox mailbox;
+
+  private Entity alpha = new TestEntity("alpha");
+  private Entity bravo = new TestEntity("bravo");
+  private Entity charlie = new TestEntity("charlie");
+
+  @Before
+  public void setUp()
+  {
+    recorder = new RecordingViewport();
+    resyncEntities = new ArrayList<Entity>();
+    mailbox = new ViewportMailbox(recorder.createViewport(), new ViewportMailbox.Resynchronizer()
+    {
+      public List<Entity> resynchronize(ViewportMailbox resyncMailbox)
+      {
+        resyncMailbox.discardChanges();
+        return new ArrayList<Entity>(resyncEntities);
+      }
+    });
+    // Keep the drain timer from firing during a test; each test drains explicitly.
+    mailbox.setDrainInterval(Integer.MAX_VALUE);
+  }
+
+  @After
+  public void tearDown()
+  {
+    mailbox.dispose();
+  }
+
+  /**
+   * Changes posted to separate entities are delivered together, one call per kind of change.
+   */
+  @Test
+  public void testDrainDeliversEachKindOfChange()
+  {
+    mailbox.postAdded(Arrays.asList(alpha));
+    mailbox.postRemoved(Arrays.asList(bravo));
+    mailbox.postUpdated(Arrays.asList(charlie), null);
+    mailbox.drain();
+
+    assertEquals(Arrays.asList("removeEntities [bravo]", "addEntities [alpha]", "updateEntities [charlie]"),
+                 recorder.calls);
+    assertEquals(EntityFields.ALL, recorder.lastChangedFields.get(charlie).intValue());
+  }
+
+  /**
+   * Removing an entity that was added since the last drain cancels both; the viewport never sees it.
+   */
+  @Test
+  public void testAddThenRemoveCancels()
+  {
+    mailbox.postAdded(Arrays.asList(alpha, bravo));
+    mailbox.postRemoved(Arrays.asList(alpha));
+    mailbox.drain();
+
+    assertEquals(Arrays.asList("addEntities [bravo]"), recorder.calls);
+    assertEquals(1, mailbox.getStatistics().getCoalescedCount());
+  }
+
+  /**
+   * Updating an entity that was added since the last drain is still an add.
+   */
+  @Test
+  public void testAddThenUpdateIsAdd()
+  {
+    mailbox.postAdded(Arrays.asList(alpha));
+    mailbox.postUpdated(Arrays.asList(alpha), fields(alpha, EntityFields.POSITION));
+    mailbox.drain();
+
+    assertEquals(Arrays.asList("addEntities [alpha]"), recorder.calls);
+  }
+
+  /**
+   * Adding back an entity removed since the last drain becomes an update, since the viewport still holds it.
+   */
+  @Test
+  public void testRemoveThenAddIsUpdate()
+  {
+    mailbox.postRemoved(Arrays.asList(alpha));
+    mailbox.postAdded(Arrays.asList(alpha));
+    mailbox.drain();
+
+    assertEquals(Arrays.asList("updateEntities [alpha]"), recorder.calls);
+    assertEquals(EntityFields.ALL, recorder.lastChangedFields.get(alpha).intValue());
+  }
+
+  /**
+   * Removing an entity updated since the last drain is just a remove.
+   */
+  @Test
+  public void testUpdateThenRemoveIsRemove()
+  {
+    mailbox.postUpdated(Arrays.asList(alpha), fields(alpha, EntityFields.POSITION));
+    mailbox.postRemoved(Arrays.asList(alpha));
+    mailbox.drain();
+
+    assertEquals(Arrays.asList("removeEntities [alpha]"), recorder.calls);
+  }
+
+  /**
+   * The changed fields of merged updates are combined.
+   */
+  @Test
+  public void testUpdateFieldsAreCombined()
+  {
+    mailbox.postUpdated(Arrays.asList(alpha, bravo), fields(alpha, EntityFields.POSITION));
+    mailbox.postUpdated(Arrays.asList(alpha), fields(alpha, EntityFields.ATTRIBUTES));
+    mailbox.drain();
+
+    assertEquals(Arrays.asList("updateEntities [alpha, bravo]"), recorder.calls);
+    assertEquals(EntityFields.POSITION | EntityFields.ATTRIBUTES, recorder.lastChangedFields.get(alpha).intValue());
+    assertEquals(EntityFields.ALL, recorder.lastChangedFields.get(bravo).intValue());
+  }
+
+  /**
+   * Clearing discards the changes waiting, and clears the viewport before later changes are delivered.
+   */
+  @Test
+  public void testClearDiscardsWaitingChanges()
+  {
+    mailbox.postAdded(Arrays.asList(alpha));
+    mailbox.postCleared();
+    mailbox.postAdded(Arrays.asList(bravo));
+    mailbox.drain();
+
+    assertEquals(Arrays.asList("clearEntities", "addEntities [bravo]"), recorder.calls);
+  }
+
+  /**
+   * Going over capacity discards the waiting changes, and the next drain reloads the viewport from the
+   * Resynchronizer instead.
+   */
+  @Test
+  public void testOverflowResynchronizes()
+  {
+    mailbox.setCapacity(2);
+    resyncEntities.add(charlie);
+    mailbox.postAdded(Arrays.asList(alpha, bravo));
+    assertEquals(0, mailbox.getStatistics().getOverflowCount());
+    mailbox.postUpdated(Arrays.asList(charlie), null);
+
+    MailboxStatistics statistics = mailbox.getStatistics();
+    assertEquals(1, statistics.getOverflowCount());
+    assertEquals(0, statistics.getBacklog());
+    assertEquals(3, statistics.getMaxBacklog());
+
+    // Changes posted while a resynchronization is pending are covered by it.
+    mailbox.postRemoved(Arrays.asList(alpha));
+    assertEquals(0, mailbox.getStatistics().getBacklog());
+
+    mailbox.drain();
+    assertEquals(Arrays.asList("clearEntities", "addEntities [charlie]"), recorder.calls);
+
+    recorder.calls.clear();
+    mailbox.postAdded(Arrays.asList(alpha));
+    mailbox.drain();
+    assertEquals(Arrays.asList("addEntities [alpha]"), recorder.calls);
+  }
+
+  /**
+   * Draining with nothing waiting doesn't touch the viewport.
+   */
+  @Test
+  public void testEmptyDrainDoesNothing()
+  {
+    mailbox.postAdded(Arrays.asList(alpha));
+    mailbox.postRemoved(Arrays.asList(alpha));
+    mailbox.drain();
+
+    assertTrue(recorder.calls.isEmpty());
+    assertEquals(0, mailbox.getStatistics().getDrainCount());
+  }
+
+  private static Map<Entity, Integer> fields(Entity entity, int changedFields)
+  {
+    Map<Entity, Integer> fields = new HashMap<Entity, Integer>();
+    fields.put(entity, Integer.valueOf(changedFields));
+    return fields;
+  }
+
+  /**
+   * An entity that is only identified by its name.
+   */
+  private static class TestEntity implements Entity
+  {
+    private String name;
+
+    public TestEntity(String name)
+    {
+      this.name = name;
+    }
+
+    public boolean equals(Entity entity)
+    {
+      return this == entity;
+    }
+
+    public boolean isValid()
+    {
+      return true;
+    }
+
+    public EntityType getType()
+    {
+      return null;
+    }
+
+    public boolean isPointEntity()
+    {
+      return true;
+    }
+
+    @Override
+    public String toString()
+    {
+      return name;
+    }
+  }
+
+  /**
+   * Records the entity calls made on a viewport, as the name of the method and the entities it was given.  Every
+   * other method of the viewport does nothing.
+   */
+  private static class RecordingViewport implements InvocationHandler
+  {
+    private List<String> calls = new ArrayList<String>();
+    private Map<Entity, Integer> lastChangedFields;
+
+    public EntityViewport createViewport()
+    {
+      return (EntityViewport) Proxy.newProxyInstance(EntityViewport.class.getClassLoader(),
+                                                     new Class[] {EntityViewport.class}, this);
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args)
+    {
+      String name = method.getName();
+      if (name.equals("clearEntities"))
+      {
+        calls.add(name);
+      }
+      else if (name.equals("addEntities") || name.equals("removeEntities") || name.equals("updateEntities"))
+      {
+        calls.add(name + " " + new ArrayList<Object>((Collection<?>) args[0]));
+        if (args.length > 1)
+        {
+          lastChangedFields = (Map<Entity, Integer>) args[1];
+        }
+      }
+      Class<?> returnType = method.getReturnType();
+      Object result = null;
+      if (returnType == boolean.class)
+      {
+        result = Boolean.FALSE;
+      }
+      else if (returnType.isPrimitive() && returnType != void.class)
+      {
+        result = Integer.valueOf(0);
+      }
+      return result;
+    }
+  }
+}
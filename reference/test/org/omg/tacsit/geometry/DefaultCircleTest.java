@@ -0,0 +1,128 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the boundary, containment and property events of DefaultCircle.
+ * @author Matthew Child
+ */
+public class DefaultCircleTest
+{
+  private static GeodeticPosition offset(GeodeticPosition position, double azimuthDegrees, double distance)
+  {
+    double[] destination = new double[2];
+    Ellipsoid.WGS84.computeDestination(position.getLatitude(), position.getLongitude(),
+                                       Math.toRadians(azimuthDegrees), distance, destination);
+    return DefaultGeodeticPosition.fromRadians(destination[0], destination[1], 0);
+  }
+
+  private static DefaultCircle circle(GeodeticPosition center, double radius)
+  {
+    DefaultCircle circle = new DefaultCircle();
+    circle.setCenter(center);
+    circle.setRadius(radius);
+    return circle;
+  }
+
+  /**
+   * Every vertex of the boundary should lie one radius from the center.
+   */
+  @Test
+  public void testPolygonVertices()
+  {
+    GeodeticPosition center = DefaultGeodeticPosition.fromDegrees(10, 20, 0);
+    DefaultCircle circle = circle(center, 1000);
+    PreparedPolygon polygon = circle.getPolygon();
+    assertEquals(circle.getIntervals() + 1, polygon.getVertexCount());
+
+    for (int i = 0; i < polygon.getVertexCount(); i++)
+    {
+      double distance = GeodesicUtils.vincentyDistance(Ellipsoid.WGS84, center.getLatitude(), center.getLongitude(),
+                                                       polygon.getLatitude(i), polygon.getLongitude(i));
+      assertEquals(1000, distance, 1e-3);
+    }
+    GeodeticPosition north = offset(center, 0, 1000);
+    assertEquals(north.getLatitude(), polygon.getMaxLatitude(), 1e-12);
+  }
+
+  /**
+   * Test of contains, for locations inside and outside of the radius in several directions.
+   */
+  @Test
+  public void testContains()
+  {
+    GeodeticPosition center = DefaultGeodeticPosition.fromDegrees(10, 20, 0);
+    DefaultCircle circle = circle(center, 1000);
+    assertTrue(circle.contains(center));
+    for (int azimuth = 0; azimuth < 360; azimuth += 30)
+    {
+      assertTrue("inside at " + azimuth, circle.contains(offset(center, azimuth, 950)));
+      assertFalse("outside at " + azimuth, circle.contains(offset(center, azimuth, 1050)));
+    }
+  }
+
+  /**
+   * Moving the circle should fire a center event and discard the cached boundary.
+   */
+  @Test
+  public void testSetCenterFiresEventAndMovesBoundary()
+  {
+    GeodeticPosition center = DefaultGeodeticPosition.fromDegrees(10, 20, 0);
+    GeodeticPosition newCenter = offset(center, 90, 5000);
+    DefaultCircle circle = circle(center, 1000);
+    assertTrue(circle.contains(center));
+
+    final List<PropertyChangeEvent> events = new ArrayList<PropertyChangeEvent>();
+    circle.addPropertyChangeListener(new PropertyChangeListener()
+    {
+      public void propertyChange(PropertyChangeEvent evt)
+      {
+        events.add(evt);
+      }
+    });
+    circle.setCenter(newCenter);
+
+    assertEquals(1, events.size());
+    assertEquals(DefaultCircle.PROPERTY_CENTER, events.get(0).getPropertyName());
+    assertEquals("center", events.get(0).getPropertyName());
+    assertSame(center, events.get(0).getOldValue());
+    assertSame(newCenter, events.get(0).getNewValue());
+    assertFalse(circle.contains(center));
+    assertTrue(circle.contains(newCenter));
+  }
+
+  /**
+   * Changing the radius should fire a radius event and discard the cached boundary.
+   */
+  @Test
+  public void testSetRadiusFiresEventAndResizesBoundary()
+  {
+    GeodeticPosition center = DefaultGeodeticPosition.fromDegrees(10, 20, 0);
+    DefaultCircle circle = circle(center, 1000);
+    GeodeticPosition point = offset(center, 45, 1500);
+    assertFalse(circle.contains(point));
+
+    final List<String> propertyNames = new ArrayList<String>();
+    circle.addPropertyChangeListener(new PropertyChangeListener()
+    {
+      public void propertyChange(PropertyChangeEvent evt)
+      {
+        propertyNames.add(evt.getPropertyName());
+      }
+    });
+    circle.setRadius(2000);
+
+    assertEquals(1, propertyNames.size());
+    assertEquals(DefaultCircle.PROPERTY_RADIUS, propertyNames.get(0));
+    assertTrue(circle.contains(point));
+  }
+}
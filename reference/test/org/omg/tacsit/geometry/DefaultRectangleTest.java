@@ -0,0 +1,145 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the boundary, containment and property events of DefaultRectangle.
+ * @author Matthew Child
+ */
+public class DefaultRectangleTest
+{
+  private static GeodeticPosition offset(GeodeticPosition position, double azimuthDegrees, double distance)
+  {
+    double[] destination = new double[2];
+    Ellipsoid.WGS84.computeDestination(position.getLatitude(), position.getLongitude(),
+                                       Math.toRadians(azimuthDegrees), distance, destination);
+    return DefaultGeodeticPosition.fromRadians(destination[0], destination[1], 0);
+  }
+
+  private static DefaultRectangle rectangle(GeodeticPosition center, double width, double height)
+  {
+    DefaultRectangle rectangle = new DefaultRectangle();
+    rectangle.setCenter(center);
+    rectangle.setWidth(width);
+    rectangle.setHeight(height);
+    return rectangle;
+  }
+
+  /**
+   * The corners of the boundary should lie half a diagonal from the center, starting at the north-west corner.
+   */
+  @Test
+  public void testPolygonCorners()
+  {
+    GeodeticPosition center = DefaultGeodeticPosition.fromDegrees(-30, 45, 0);
+    DefaultRectangle rectangle = rectangle(center, 3000, 4000);
+    PreparedPolygon polygon = rectangle.getPolygon();
+    assertEquals(5, polygon.getVertexCount());
+    for (int i = 0; i < polygon.getVertexCount(); i++)
+    {
+      double distance = GeodesicUtils.vincentyDistance(Ellipsoid.WGS84, center.getLatitude(), center.getLongitude(),
+                                                       polygon.getLatitude(i), polygon.getLongitude(i));
+      assertEquals(2500, distance, 1e-3);
+    }
+    assertTrue(polygon.getLatitude(0) > center.getLatitude());
+    assertTrue(polygon.getLongitude(0) < center.getLongitude());
+    assertTrue(polygon.getLatitude(2) < center.getLatitude());
+    assertTrue(polygon.getLongitude(2) > center.getLongitude());
+  }
+
+  /**
+   * Test of contains for a rectangle facing north, which is wider than it is high.
+   */
+  @Test
+  public void testContains()
+  {
+    GeodeticPosition center = DefaultGeodeticPosition.fromDegrees(-30, 45, 0);
+    DefaultRectangle rectangle = rectangle(center, 2000, 1000);
+    assertTrue(rectangle.contains(center));
+    assertTrue(rectangle.contains(offset(center, 90, 900)));
+    assertTrue(rectangle.contains(offset(center, 270, 900)));
+    assertTrue(rectangle.contains(offset(center, 0, 400)));
+    assertFalse(rectangle.contains(offset(center, 0, 900)));
+    assertFalse(rectangle.contains(offset(center, 180, 600)));
+    assertFalse(rectangle.contains(offset(center, 90, 1100)));
+  }
+
+  /**
+   * Turning the rectangle a quarter turn should swap the directions its width and height lie in.
+   */
+  @Test
+  public void testContainsWhenOriented()
+  {
+    GeodeticPosition center = DefaultGeodeticPosition.fromDegrees(-30, 45, 0);
+    DefaultRectangle rectangle = rectangle(center, 2000, 1000);
+    rectangle.setOrientation(Math.PI / 2);
+    assertTrue(rectangle.contains(offset(center, 0, 900)));
+    assertTrue(rectangle.contains(offset(center, 180, 900)));
+    assertFalse(rectangle.contains(offset(center, 90, 900)));
+    assertTrue(rectangle.contains(offset(center, 90, 400)));
+  }
+
+  /**
+   * Changing the center or orientation should fire center and orientation events.  Geometry entities tell a move
+   * from a change of shape by the center event, and orientation has replaced the Worldwind rectangle's heading.
+   */
+  @Test
+  public void testPropertyEvents()
+  {
+    GeodeticPosition center = DefaultGeodeticPosition.fromDegrees(-30, 45, 0);
+    GeodeticPosition newCenter = offset(center, 0, 5000);
+    DefaultRectangle rectangle = rectangle(center, 2000, 1000);
+
+    final List<PropertyChangeEvent> events = new ArrayList<PropertyChangeEvent>();
+    rectangle.addPropertyChangeListener(new PropertyChangeListener()
+    {
+      public void propertyChange(PropertyChangeEvent evt)
+      {
+        events.add(evt);
+      }
+    });
+    rectangle.setCenter(newCenter);
+    rectangle.setOrientation(0.5);
+
+    assertEquals(2, events.size());
+    assertEquals("center", events.get(0).getPropertyName());
+    assertSame(center, events.get(0).getOldValue());
+    assertSame(newCenter, events.get(0).getNewValue());
+    assertEquals("orientation", events.get(1).getPropertyName());
+    assertEquals(DefaultRectangle.PROPERTY_ORIENTATION, events.get(1).getPropertyName());
+    assertEquals(0.0, ((Double) events.get(1).getOldValue()).doubleValue(), 0);
+    assertEquals(0.5, ((Double) events.get(1).getNewValue()).doubleValue(), 0);
+
+    assertFalse(rectangle.contains(center));
+    assertTrue(rectangle.contains(newCenter));
+  }
+
+  /**
+   * Setting the same orientation again should not fire an event.
+   */
+  @Test
+  public void testUnchangedOrientationFiresNoEvent()
+  {
+    DefaultRectangle rectangle = new DefaultRectangle();
+    rectangle.setOrientation(1.0);
+    final List<String> propertyNames = new ArrayList<String>();
+    rectangle.addPropertyChangeListener(new PropertyChangeListener()
+    {
+      public void propertyChange(PropertyChangeEvent evt)
+      {
+        propertyNames.add(evt.getPropertyName());
+      }
+    });
+    rectangle.setOrientation(1.0);
+    assertTrue(propertyNames.isEmpty());
+  }
+}
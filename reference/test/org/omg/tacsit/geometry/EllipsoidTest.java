@@ -0,0 +1,95 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the geodesic calculations of Ellipsoid.
+ * @author Matthew Child
+ */
+public class EllipsoidTest
+{
+  private static final double ANGLE_TOLERANCE = Math.toRadians(1e-8);
+
+  private static final double SECOND_TOLERANCE = Math.toRadians(1e-4 / 3600);
+
+  private static double dms(int degrees, int minutes, double seconds)
+  {
+    double sign = (degrees < 0) ? -1 : 1;
+    return Math.toRadians(sign * (Math.abs(degrees) + minutes / 60.0 + seconds / 3600.0));
+  }
+
+  /**
+   * The worked example of Vincenty's direct formula, from Flinders Peak to Buninyong.
+   */
+  @Test
+  public void testComputeDestinationFlindersPeak()
+  {
+    double[] destination = new double[2];
+    Ellipsoid.WGS84.computeDestination(dms(-37, 57, 3.72030), dms(144, 25, 29.52440), dms(306, 52, 5.37), 54972.271,
+                                       destination);
+    assertEquals(dms(-37, 39, 10.15610), destination[0], SECOND_TOLERANCE);
+    assertEquals(dms(143, 55, 35.38390), destination[1], SECOND_TOLERANCE);
+  }
+
+  /**
+   * Travelling east along the equator should cover one radian of longitude per equatorial radius.
+   */
+  @Test
+  public void testComputeDestinationAlongEquator()
+  {
+    double[] destination = new double[2];
+    double distance = Ellipsoid.WGS84.getEquatorialRadius() * Math.toRadians(10);
+    Ellipsoid.WGS84.computeDestination(0, Math.toRadians(175), Math.PI / 2, distance, destination);
+    assertEquals(0, destination[0], ANGLE_TOLERANCE);
+    assertEquals(Math.toRadians(-175), destination[1], ANGLE_TOLERANCE);
+  }
+
+  /**
+   * Travelling north for the length of a quarter meridian should reach the pole.
+   */
+  @Test
+  public void testComputeDestinationToPole()
+  {
+    double[] destination = new double[2];
+    Ellipsoid.WGS84.computeDestination(0, 0, 0, 10001965.729, destination);
+    assertEquals(Math.PI / 2, destination[0], 1e-9);
+  }
+
+  /**
+   * Travelling no distance should stay in place.
+   */
+  @Test
+  public void testComputeDestinationZeroDistance()
+  {
+    double[] destination = new double[2];
+    Ellipsoid.WGS84.computeDestination(Math.toRadians(45), Math.toRadians(-120), 1.0, 0, destination);
+    assertEquals(Math.toRadians(45), destination[0], ANGLE_TOLERANCE);
+    assertEquals(Math.toRadians(-120), destination[1], ANGLE_TOLERANCE);
+  }
+
+  /**
+   * Test of normalizeLongitude.
+   */
+  @Test
+  public void testNormalizeLongitude()
+  {
+    assertEquals(Math.toRadians(10), Ellipsoid.normalizeLongitude(Math.toRadians(10)), 1e-12);
+    assertEquals(Math.toRadians(-170), Ellipsoid.normalizeLongitude(Math.toRadians(190)), 1e-12);
+    assertEquals(Math.toRadians(170), Ellipsoid.normalizeLongitude(Math.toRadians(-190)), 1e-12);
+    assertEquals(Math.toRadians(10), Ellipsoid.normalizeLongitude(Math.toRadians(730)), 1e-12);
+  }
+
+  /**
+   * The polar radius may not be larger than the equatorial radius.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testPolarRadiusTooLarge()
+  {
+    new Ellipsoid(6356752.314245, 6378137.0);
+  }
+}
@@ -0,0 +1,152 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the batch distance and bearing calculations of GeodesicUtils.
+ * @author Matthew Child
+ */
+public class GeodesicUtilsTest
+{
+  private static final double RADIUS = GeodesicUtils.MEAN_EARTH_RADIUS;
+
+  private static final double MILLIMETER = 1e-3;
+
+  private static final double ANGLE_TOLERANCE = Math.toRadians(1e-6);
+
+  private static double dms(int degrees, int minutes, double seconds)
+  {
+    double sign = (degrees < 0) ? -1 : 1;
+    return Math.toRadians(sign * (Math.abs(degrees) + minutes / 60.0 + seconds / 3600.0));
+  }
+
+  /**
+   * Haversine distances from the origin to locations a known fraction of a great circle away.
+   */
+  @Test
+  public void testHaversineDistancesFromOrigin()
+  {
+    double[] latitudes = {0, Math.PI / 2, 0, Math.toRadians(45), 0};
+    double[] longitudes = {Math.PI / 2, 0, Math.PI, 0, 0};
+    double[] distances = new double[latitudes.length];
+    GeodesicUtils.haversineDistances(RADIUS, 0, 0, latitudes, longitudes, distances);
+    assertEquals(RADIUS * Math.PI / 2, distances[0], MILLIMETER);
+    assertEquals(RADIUS * Math.PI / 2, distances[1], MILLIMETER);
+    assertEquals(RADIUS * Math.PI, distances[2], MILLIMETER);
+    assertEquals(RADIUS * Math.PI / 4, distances[3], MILLIMETER);
+    assertEquals(0, distances[4], 0);
+  }
+
+  /**
+   * The pairwise and matrix haversine forms should agree with the one-to-many form.
+   */
+  @Test
+  public void testHaversinePairwiseAndMatrixAgree()
+  {
+    double[] latitudes = {Math.toRadians(51.5), Math.toRadians(-33.9)};
+    double[] longitudes = {Math.toRadians(-0.1), Math.toRadians(151.2)};
+    double[] otherLatitudes = {Math.toRadians(48.9), Math.toRadians(40.7)};
+    double[] otherLongitudes = {Math.toRadians(2.35), Math.toRadians(-74.0)};
+
+    double[] pairwise = new double[2];
+    GeodesicUtils.haversineDistances(RADIUS, latitudes, longitudes, otherLatitudes, otherLongitudes, pairwise);
+    double[] matrix = new double[4];
+    GeodesicUtils.haversineDistanceMatrix(RADIUS, latitudes, longitudes, otherLatitudes, otherLongitudes, matrix);
+    double[] row = new double[2];
+    for (int i = 0; i < latitudes.length; i++)
+    {
+      GeodesicUtils.haversineDistances(RADIUS, latitudes[i], longitudes[i], otherLatitudes, otherLongitudes, row);
+      assertEquals(row[i], pairwise[i], 0);
+      assertEquals(row[0], matrix[i * 2], 0);
+      assertEquals(row[1], matrix[i * 2 + 1], 0);
+    }
+  }
+
+  /**
+   * Initial bearings from the origin toward each of the cardinal directions.
+   */
+  @Test
+  public void testInitialBearings()
+  {
+    double[] latitudes = {Math.toRadians(10), 0, Math.toRadians(-10), 0};
+    double[] longitudes = {0, Math.toRadians(10), 0, Math.toRadians(-10)};
+    double[] bearings = new double[latitudes.length];
+    GeodesicUtils.initialBearings(0, 0, latitudes, longitudes, bearings);
+    assertEquals(0, bearings[0], ANGLE_TOLERANCE);
+    assertEquals(Math.PI / 2, bearings[1], ANGLE_TOLERANCE);
+    assertEquals(Math.PI, Math.abs(bearings[2]), ANGLE_TOLERANCE);
+    assertEquals(-Math.PI / 2, bearings[3], ANGLE_TOLERANCE);
+  }
+
+  /**
+   * The worked example of Vincenty's inverse formula, from Flinders Peak to Buninyong.
+   */
+  @Test
+  public void testVincentyInverseFlindersPeak()
+  {
+    double[] result = new double[2];
+    GeodesicUtils.vincentyInverse(Ellipsoid.WGS84, dms(-37, 57, 3.72030), dms(144, 25, 29.52440),
+                                  dms(-37, 39, 10.15610), dms(143, 55, 35.38390), result);
+    assertEquals(54972.271, result[0], MILLIMETER);
+    assertEquals(dms(306, 52, 5.37) - 2 * Math.PI, result[1], Math.toRadians(0.01 / 3600));
+  }
+
+  /**
+   * Vincenty distances with closed forms: along the equator, and along a meridian from the equator to a pole.
+   */
+  @Test
+  public void testVincentyDistanceClosedForms()
+  {
+    Ellipsoid ellipsoid = Ellipsoid.WGS84;
+    assertEquals(ellipsoid.getEquatorialRadius() * Math.toRadians(10),
+                 GeodesicUtils.vincentyDistance(ellipsoid, 0, 0, 0, Math.toRadians(10)), MILLIMETER);
+    assertEquals(10001965.729, GeodesicUtils.vincentyDistance(ellipsoid, 0, 0, Math.PI / 2, 0), MILLIMETER);
+    assertEquals(0, GeodesicUtils.vincentyDistance(ellipsoid, 0.3, 0.4, 0.3, 0.4), 0);
+  }
+
+  /**
+   * Vincenty's formula does not converge for nearly antipodal locations, which should be reported as NaN.
+   */
+  @Test
+  public void testVincentyNearlyAntipodalIsNaN()
+  {
+    double[] result = new double[2];
+    GeodesicUtils.vincentyInverse(Ellipsoid.WGS84, 0, 0, Math.toRadians(0.5), Math.toRadians(179.7), result);
+    assertTrue(Double.isNaN(result[0]));
+    assertTrue(Double.isNaN(result[1]));
+  }
+
+  /**
+   * The batch Vincenty forms should agree with the single pair form, and keep NaN for the pairs that don't converge.
+   */
+  @Test
+  public void testVincentyBatchFormsAgree()
+  {
+    Ellipsoid ellipsoid = Ellipsoid.WGS84;
+    double[] latitudes = {Math.toRadians(51.5), 0};
+    double[] longitudes = {Math.toRadians(-0.1), 0};
+    double[] otherLatitudes = {Math.toRadians(48.9), Math.toRadians(0.5)};
+    double[] otherLongitudes = {Math.toRadians(2.35), Math.toRadians(179.7)};
+
+    double[] distances = new double[2];
+    double[] bearings = new double[2];
+    GeodesicUtils.vincentyInverse(ellipsoid, latitudes, longitudes, otherLatitudes, otherLongitudes, distances,
+                                  bearings);
+    double[] matrix = new double[4];
+    GeodesicUtils.vincentyDistanceMatrix(ellipsoid, latitudes, longitudes, otherLatitudes, otherLongitudes, matrix);
+
+    double[] result = new double[2];
+    GeodesicUtils.vincentyInverse(ellipsoid, latitudes[0], longitudes[0], otherLatitudes[0], otherLongitudes[0],
+                                  result);
+    assertEquals(result[0], distances[0], 0);
+    assertEquals(result[1], bearings[0], 0);
+    assertEquals(result[0], matrix[0], 0);
+    assertTrue(Double.isNaN(distances[1]));
+    assertTrue(Double.isNaN(matrix[3]));
+  }
+}
@@ -0,0 +1,227 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.geometry;
+
+import java.util.BitSet;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Correctness tests for the polygon predicates of PreparedPolygon.
+ * @author Matthew Child
+ */
+public class PreparedPolygonTest
+{
+  private static PreparedPolygon square(double centerLatitude, double centerLongitude, double halfSize)
+  {
+    return rotatedSquare(centerLatitude, centerLongitude, halfSize, 0);
+  }
+
+  private static PreparedPolygon rotatedSquare(double centerLatitude, double centerLongitude, double halfSize,
+                                               double rotationDegrees)
+  {
+    double[] latitudes = new double[4];
+    double[] longitudes = new double[4];
+    for (int i = 0; i < 4; i++)
+    {
+      double angle = Math.toRadians(rotationDegrees + 45 + (90 * i));
+      double cornerDistance = halfSize * Math.sqrt(2);
+      latitudes[i] = Math.toRadians(centerLatitude + cornerDistance * Math.sin(angle));
+      longitudes[i] = Math.toRadians(centerLongitude + cornerDistance * Math.cos(angle));
+    }
+    return new PreparedPolygon(latitudes, longitudes);
+  }
+
+  private static PreparedPolygon circle(double centerLatitude, double centerLongitude, double radius, int vertices)
+  {
+    double[] latitudes = new double[vertices];
+    double[] longitudes = new double[vertices];
+    for (int i = 0; i < vertices; i++)
+    {
+      double angle = 2 * Math.PI * i / vertices;
+      latitudes[i] = Math.toRadians(centerLatitude + radius * Math.sin(angle));
+      longitudes[i] = Math.toRadians(centerLongitude + radius * Math.cos(angle));
+    }
+    return new PreparedPolygon(latitudes, longitudes);
+  }
+
+  /**
+   * Test of contains for a single location.
+   */
+  @Test
+  public void testContainsLocation()
+  {
+    PreparedPolygon polygon = square(10, 20, 1);
+    assertTrue(polygon.contains(Math.toRadians(10), Math.toRadians(20)));
+    assertTrue(polygon.contains(Math.toRadians(10.9), Math.toRadians(19.1)));
+    assertFalse(polygon.contains(Math.toRadians(11.1), Math.toRadians(20)));
+    assertFalse(polygon.contains(Math.toRadians(10), Math.toRadians(21.1)));
+  }
+
+  /**
+   * An open ring should be closed, so the same polygon results from open and closed input.
+   */
+  @Test
+  public void testRingIsClosed()
+  {
+    PreparedPolygon open = new PreparedPolygon(new double[] {0, 1, 1, 0}, new double[] {0, 0, 1, 1});
+    PreparedPolygon closed = new PreparedPolygon(new double[] {0, 1, 1, 0, 0}, new double[] {0, 0, 1, 1, 0});
+    assertEquals(5, open.getVertexCount());
+    assertEquals(5, closed.getVertexCount());
+    assertEquals(4, open.getEdgeCount());
+  }
+
+  /**
+   * Rotated rectangles whose bounds overlap but whose areas do not should not intersect.
+   */
+  @Test
+  public void testRotatedSquaresWithOverlappingBoundsDoNotIntersect()
+  {
+    PreparedPolygon first = rotatedSquare(0, 0, 1, 45);
+    PreparedPolygon second = rotatedSquare(1.5, 1.5, 1, 45);
+    assertTrue(first.boundsIntersect(second));
+    assertFalse(first.intersects(second));
+    assertFalse(second.intersects(first));
+  }
+
+  /**
+   * Circles whose bounds overlap at the corners but whose areas do not should not intersect.
+   */
+  @Test
+  public void testCirclesWithOverlappingBoundsDoNotIntersect()
+  {
+    PreparedPolygon first = circle(0, 0, 1, 72);
+    PreparedPolygon second = circle(1.6, 1.6, 1, 72);
+    assertTrue(first.boundsIntersect(second));
+    assertFalse(first.intersects(second));
+  }
+
+  /**
+   * Overlapping polygons intersect, whichever one is asked.
+   */
+  @Test
+  public void testCrossingPolygonsIntersect()
+  {
+    PreparedPolygon first = square(0, 0, 1);
+    PreparedPolygon second = rotatedSquare(0, 1.5, 1, 30);
+    assertTrue(first.edgesIntersect(second));
+    assertTrue(first.intersects(second));
+    assertTrue(second.intersects(first));
+    assertFalse(first.contains(second));
+    assertFalse(second.contains(first));
+  }
+
+  /**
+   * A polygon wholly inside another intersects it, and is contained by it, even though no edges cross.
+   */
+  @Test
+  public void testNestedPolygons()
+  {
+    PreparedPolygon outer = circle(5, 5, 3, 64);
+    PreparedPolygon inner = rotatedSquare(5, 5, 1, 20);
+    assertFalse(outer.edgesIntersect(inner));
+    assertTrue(outer.intersects(inner));
+    assertTrue(inner.intersects(outer));
+    assertTrue(outer.contains(inner));
+    assertFalse(inner.contains(outer));
+  }
+
+  /**
+   * A concave polygon does not contain a polygon that sits in its notch, even though the notch is within its bounds.
+   */
+  @Test
+  public void testConcavePolygonNotch()
+  {
+    double[] latitudes = {0, 0, 4, 4, 1, 1, 4, 4};
+    double[] longitudes = {0, 4, 4, 3, 3, 1, 1, 0};
+    PreparedPolygon concave = new PreparedPolygon(toRadians(latitudes), toRadians(longitudes));
+    PreparedPolygon inNotch = square(3, 2, 0.5);
+    PreparedPolygon inBase = square(0.5, 2, 0.25);
+    assertFalse(concave.intersects(inNotch));
+    assertFalse(concave.contains(inNotch));
+    assertTrue(concave.contains(inBase));
+  }
+
+  /**
+   * Polygons whose boundaries touch intersect, but do not contain each other.
+   */
+  @Test
+  public void testTouchingPolygons()
+  {
+    PreparedPolygon first = square(0, 0, 1);
+    PreparedPolygon second = square(0, 2, 1);
+    assertTrue(first.intersects(second));
+    assertFalse(first.contains(second));
+  }
+
+  /**
+   * The longitude prefilter must agree with a brute force comparison of every edge pair.
+   */
+  @Test
+  public void testPrefilterAgreesWithBruteForce()
+  {
+    for (int offset = 0; offset < 40; offset++)
+    {
+      double offsetDegrees = offset * 0.1;
+      PreparedPolygon first = circle(0, 0, 1.5, 37);
+      PreparedPolygon second = rotatedSquare(offsetDegrees * 0.5, offsetDegrees, 1, offset * 7);
+      assertEquals("offset " + offsetDegrees, bruteForceEdgesIntersect(first, second), first.edgesIntersect(second));
+      assertEquals("offset " + offsetDegrees, bruteForceEdgesIntersect(second, first), second.edgesIntersect(first));
+    }
+  }
+
+  /**
+   * The batch containment check must agree with checking each location individually.
+   */
+  @Test
+  public void testContainsAllAgreesWithContains()
+  {
+    PreparedPolygon polygon = rotatedSquare(10, 20, 2, 30);
+    int locationCount = 3000;
+    double[] latitudes = new double[locationCount];
+    double[] longitudes = new double[locationCount];
+    for (int i = 0; i < locationCount; i++)
+    {
+      latitudes[i] = Math.toRadians(7 + (i % 60) * 0.1);
+      longitudes[i] = Math.toRadians(17 + (i / 60) * 0.12);
+    }
+    BitSet result = new BitSet();
+    result.set(0, locationCount + 5);
+    polygon.containsAll(latitudes, longitudes, result);
+    for (int i = 0; i < locationCount; i++)
+    {
+      assertEquals("location " + i, polygon.contains(latitudes[i], longitudes[i]), result.get(i));
+    }
+    assertTrue(result.get(locationCount));
+    assertTrue(result.cardinality() > 5);
+  }
+
+  private static double[] toRadians(double[] degrees)
+  {
+    double[] radians = new double[degrees.length];
+    for (int i = 0; i < degrees.length; i++)
+    {
+      radians[i] = Math.toRadians(degrees[i]);
+    }
+    return radians;
+  }
+
+  private static boolean bruteForceEdgesIntersect(PreparedPolygon first, PreparedPolygon second)
+  {
+    boolean intersects = false;
+    for (int i = 0; i < first.getEdgeCount() && !intersects; i++)
+    {
+      PreparedPolygon firstEdge = new PreparedPolygon(new double[] {first.getLatitude(i), first.getLatitude(i + 1)},
+                                                      new double[] {first.getLongitude(i), first.getLongitude(i + 1)});
+      for (int j = 0; j < second.getEdgeCount() && !intersects; j++)
+      {
+        PreparedPolygon secondEdge = new PreparedPolygon(new double[] {second.getLatitude(j), second.getLatitude(j + 1)},
+                                                         new double[] {second.getLongitude(j), second.getLongitude(j + 1)});
+        intersects = firstEdge.edgesIntersect(secondEdge);
+      }
+    }
+    return intersects;
+  }
+}
@@ -6,15 +6,16 @@ package org.omg.tacsit.worldwind.common.layers;
 
 import gov.nasa.worldwind.layers.AbstractLayer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.omg.tacsit.common.util.CollectionUtils;
+import org.omg.tacsit.entity.EntityFields;
 
 /**
  * A layer which has a store of items that are represented as display objects.
@@ -50,6 +51,11 @@ import org.omg.tacsit.common.util.CollectionUtils;
  * and the renderer</li>
  * <li>May possibly be more efficient.  Since the renderer pattern is a "stamp" style pattern, each renderer would
  * only need 1 intermediate display item (WWIcon, for instance).</li>
+ * <p>
+ * Items are stored in dense integer slots.  Each slot holds the item, its representation, and a bitmask of the item's
+ * selection types, so that determining how to display a representation is a single lookup with no allocation.
+ * Removing an item moves the item in the last slot into the vacated slot, which keeps the slots dense.  A layer
+ * supports at most 32 distinct selection types.
  * @param <ITEM> The type of item contained in the item layer.
  * @param <SEL_TYPE> The selection type.
  * @param <REP> The display representation type.
@@ -57,20 +63,59 @@ import org.omg.tacsit.common.util.CollectionUtils;
  */
 public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLayer
 {
-
-  private Map<ITEM, REP> itemToRepresentation;
-  private Map<REP, ITEM> representationToItem;
-  private ItemSelectionModel<SEL_TYPE> selectionModel;
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int MAX_SELECTION_TYPES = Integer.SIZE;
+  private static final int NO_SLOT = -1;
+
+  private Map<ITEM, Integer> itemToSlot;
+  private Map<REP, Integer> representationToSlot;
+  private Object[] slotItems;
+  private Object[] slotRepresentations;
+  private int[] slotSelectionMasks;
+  private int slotCount;
+
+  private Map<ITEM, Integer> unplacedSelectionMasks;
+  private Map<SEL_TYPE, Integer> selectionTypeToBit;
+  private List<SEL_TYPE> bitToSelectionType;
   private List<SEL_TYPE> selectionTypePriority;
+  private int[] priorityMasks;
+
+  private volatile RedrawRequester redrawRequester;
 
   /**
    * Creates a new instance.
    */
   public AbstractItemLayer()
   {
-    this.itemToRepresentation = new HashMap();
-    this.representationToItem = new HashMap();
-    this.selectionModel = new ItemSelectionModel();
+    this.itemToSlot = new HashMap();
+    this.representationToSlot = new HashMap();
+    this.slotItems = new Object[INITIAL_CAPACITY];
+    this.slotRepresentations = new Object[INITIAL_CAPACITY];
+    this.slotSelectionMasks = new int[INITIAL_CAPACITY];
+    this.unplacedSelectionMasks = new HashMap();
+    this.selectionTypeToBit = new HashMap();
+    this.bitToSelectionType = new ArrayList();
+    this.priorityMasks = new int[0];
+  }
+
+  /**
+   * Sets the object that is asked to redraw the display when this layer changes.  When a redraw requester is set,
+   * changes to the layer are passed to it instead of being fired as property changes, so that the requester can
+   * coalesce them.
+   * @param redrawRequester The redraw requester to use, or null to fire property changes when the layer changes.
+   */
+  public void setRedrawRequester(RedrawRequester redrawRequester)
+  {
+    this.redrawRequester = redrawRequester;
+  }
+
+  /**
+   * Gets the object that is asked to redraw the display when this layer changes.
+   * @return The redraw requester, or null if changes are fired as property changes.
+   */
+  public RedrawRequester getRedrawRequester()
+  {
+    return redrawRequester;
   }
 
   /**
@@ -79,7 +124,7 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   public Set<ITEM> getItems()
   {
-    return Collections.unmodifiableSet(itemToRepresentation.keySet());
+    return Collections.unmodifiableSet(itemToSlot.keySet());
   }
 
   /**
@@ -90,6 +135,14 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
   public void setSelectionTypePriority(List<SEL_TYPE> selectionTypePriority)
   {
     this.selectionTypePriority = CollectionUtils.copyToUnmodifiableList(selectionTypePriority);
+    if(this.selectionTypePriority != null)
+    {
+      for (SEL_TYPE selectionType : this.selectionTypePriority)
+      {
+        getSelectionBit(selectionType);
+      }
+    }
+    rebuildPriorityMasks();
   }
   
   /**
@@ -101,6 +154,57 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
   {
     return selectionTypePriority;
   }
+
+  private void rebuildPriorityMasks()
+  {
+    int priorityCount = (selectionTypePriority == null) ? 0 : selectionTypePriority.size();
+    int[] newPriorityMasks = new int[priorityCount];
+    for (int i = 0; i < priorityCount; i++)
+    {
+      Integer bit = selectionTypeToBit.get(selectionTypePriority.get(i));
+      newPriorityMasks[i] = 1 << bit.intValue();
+    }
+    this.priorityMasks = newPriorityMasks;
+  }
+
+  private int getSelectionBit(SEL_TYPE selectionType)
+  {
+    Integer bit = selectionTypeToBit.get(selectionType);
+    if (bit == null)
+    {
+      int nextBit = bitToSelectionType.size();
+      if (nextBit >= MAX_SELECTION_TYPES)
+      {
+        throw new IllegalArgumentException("No more than " + MAX_SELECTION_TYPES + " selection types are supported");
+      }
+      bit = Integer.valueOf(nextBit);
+      selectionTypeToBit.put(selectionType, bit);
+      bitToSelectionType.add(selectionType);
+    }
+    return bit.intValue();
+  }
+  
+  private int getSlot(ITEM item)
+  {
+    Integer slot = itemToSlot.get(item);
+    return (slot == null) ? NO_SLOT : slot.intValue();
+  }
+
+  private int getSelectionMask(ITEM item)
+  {
+    int mask;
+    int slot = getSlot(item);
+    if (slot != NO_SLOT)
+    {
+      mask = slotSelectionMasks[slot];
+    }
+    else
+    {
+      Integer unplacedMask = unplacedSelectionMasks.get(item);
+      mask = (unplacedMask == null) ? 0 : unplacedMask.intValue();
+    }
+    return mask;
+  }
   
   /**
    * Checks to see if this item is being displayed in the layer.
@@ -109,7 +213,7 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   public boolean containsItem(ITEM item)
   {
-    return itemToRepresentation.containsKey(item);
+    return itemToSlot.containsKey(item);
   }
   
   /**
@@ -119,25 +223,48 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   public boolean isSelected(ITEM item)
   {
-    List<SEL_TYPE> selectionTypes = getSelectionTypes(item);
-    if(selectionTypes == null)
-    {
-      return false;
-    }
-    else
-    {
-      return !selectionTypes.isEmpty();
-    }
+    return getSelectionMask(item) != 0;
   }
   
   /**
    * Gets all of the selection types for a particular item.
    * @param item The item to find the selection types of.
-   * @return The list of selection types for the item.
+   * @return The list of selection types for the item, or null if the item is not selected.
    */
   public List<SEL_TYPE> getSelectionTypes(ITEM item)
   {
-    return selectionModel.getSelectionTypes(item);
+    List<SEL_TYPE> selectionTypes = null;
+    int mask = getSelectionMask(item);
+    for (int bit = 0; mask != 0; bit++, mask >>>= 1)
+    {
+      if ((mask & 1) != 0)
+      {
+        if (selectionTypes == null)
+        {
+          selectionTypes = new ArrayList();
+        }
+        selectionTypes.add(bitToSelectionType.get(bit));
+      }
+    }
+    return selectionTypes;
+  }
+
+  private SEL_TYPE toDisplaySelectionType(int mask)
+  {
+    SEL_TYPE displaySelectionType = null;
+    if (mask != 0)
+    {
+      int[] masks = priorityMasks;
+      for (int i = 0; i < masks.length; i++)
+      {
+        if ((mask & masks[i]) != 0)
+        {
+          return selectionTypePriority.get(i);
+        }
+      }
+      displaySelectionType = bitToSelectionType.get(Integer.numberOfTrailingZeros(mask));
+    }
+    return displaySelectionType;
   }
 
   /**
@@ -147,32 +274,25 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   protected SEL_TYPE getDisplaySelectionType(ITEM item)
   {
-    final SEL_TYPE DEFAULT_SELECTION_TYPE = null;
-    if (this.selectionModel == null)
-    {
-      return DEFAULT_SELECTION_TYPE;
-    }
-
-    Collection selectionTypes = getSelectionTypes(item);
-    if ((selectionTypes == null) || (selectionTypes.isEmpty()))
-    {
-      return DEFAULT_SELECTION_TYPE;
-    }
+    return toDisplaySelectionType(getSelectionMask(item));
+  }
 
-    if (selectionTypePriority != null)
+  /**
+   * Gets the selection type that should be displayed for a representation.  This does not allocate, and is suitable
+   * for calling for every representation on every frame.
+   * @param representation The representation to get the display selection type for.
+   * @return The selection type that should be displayed, or null if the representation's item is not selected or
+   * the representation is not in this layer.
+   */
+  protected SEL_TYPE getDisplaySelectionTypeForRepresentation(REP representation)
+  {
+    SEL_TYPE displaySelectionType = null;
+    Integer slot = representationToSlot.get(representation);
+    if (slot != null)
     {
-      for (SEL_TYPE selectionType : selectionTypePriority)
-      {
-        if (selectionTypes.contains(selectionType))
-        {
-          return selectionType;
-        }
-      }
+      displaySelectionType = toDisplaySelectionType(slotSelectionMasks[slot.intValue()]);
     }
-
-    Iterator<SEL_TYPE> selectionTypeIterator = selectionTypes.iterator();
-    SEL_TYPE firstSelectionType = selectionTypeIterator.next();
-    return firstSelectionType;
+    return displaySelectionType;
   }
 
   /**
@@ -185,7 +305,12 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   protected REP getRepresentation(ITEM item)
   {
-    REP representation = itemToRepresentation.get(item);
+    REP representation = null;
+    int slot = getSlot(item);
+    if (slot != NO_SLOT)
+    {
+      representation = (REP) slotRepresentations[slot];
+    }
     return representation;
   }
 
@@ -199,10 +324,88 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   public ITEM getItem(REP representation)
   {
-    ITEM item = representationToItem.get(representation);
+    ITEM item = null;
+    Integer slot = representationToSlot.get(representation);
+    if (slot != null)
+    {
+      item = (ITEM) slotItems[slot.intValue()];
+    }
     return item;
   }
 
+  private void ensureSlotCapacity(int capacity)
+  {
+    if (capacity > slotItems.length)
+    {
+      int newCapacity = Math.max(capacity, slotItems.length * 2);
+      Object[] newSlotItems = new Object[newCapacity];
+      Object[] newSlotRepresentations = new Object[newCapacity];
+      int[] newSlotSelectionMasks = new int[newCapacity];
+      System.arraycopy(slotItems, 0, newSlotItems, 0, slotCount);
+      System.arraycopy(slotRepresentations, 0, newSlotRepresentations, 0, slotCount);
+      System.arraycopy(slotSelectionMasks, 0, newSlotSelectionMasks, 0, slotCount);
+      slotItems = newSlotItems;
+      slotRepresentations = newSlotRepresentations;
+      slotSelectionMasks = newSlotSelectionMasks;
+    }
+  }
+
+  private void placeItem(ITEM item, REP representation)
+  {
+    ensureSlotCapacity(slotCount + 1);
+    int slot = slotCount++;
+    Integer slotKey = Integer.valueOf(slot);
+    slotItems[slot] = item;
+    slotRepresentations[slot] = representation;
+    Integer unplacedMask = unplacedSelectionMasks.remove(item);
+    slotSelectionMasks[slot] = (unplacedMask == null) ? 0 : unplacedMask.intValue();
+    itemToSlot.put(item, slotKey);
+    if (representation != null)
+    {
+      representationToSlot.put(representation, slotKey);
+    }
+  }
+
+  private REP displaceItem(ITEM item)
+  {
+    REP representation = null;
+    Integer slotKey = itemToSlot.remove(item);
+    if (slotKey != null)
+    {
+      int slot = slotKey.intValue();
+      representation = (REP) slotRepresentations[slot];
+      if (representation != null)
+      {
+        representationToSlot.remove(representation);
+      }
+      // Removing an item doesn't change its selection state; keep it in case the item is added again.
+      int mask = slotSelectionMasks[slot];
+      if (mask != 0)
+      {
+        unplacedSelectionMasks.put(item, Integer.valueOf(mask));
+      }
+
+      int lastSlot = --slotCount;
+      if (slot != lastSlot)
+      {
+        ITEM movedItem = (ITEM) slotItems[lastSlot];
+        REP movedRepresentation = (REP) slotRepresentations[lastSlot];
+        slotItems[slot] = movedItem;
+        slotRepresentations[slot] = movedRepresentation;
+        slotSelectionMasks[slot] = slotSelectionMasks[lastSlot];
+        itemToSlot.put(movedItem, slotKey);
+        if (movedRepresentation != null)
+        {
+          representationToSlot.put(movedRepresentation, slotKey);
+        }
+      }
+      slotItems[lastSlot] = null;
+      slotRepresentations[lastSlot] = null;
+      slotSelectionMasks[lastSlot] = 0;
+    }
+    return representation;
+  }
+
   /**
    * Creates a new representation for an item.
    * @param item An item to create the new representation for.
@@ -217,32 +420,48 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
   protected abstract void addToLayer(REP representation);
 
   /**
-   * Adds an item to the layer.
+   * Adds an item to the layer without notifying listeners that the layer has changed.  Subclasses that need to
+   * react to items being added should override this, rather than the public add methods, so that batch operations
+   * are handled the same way as single item operations.
    * @param item The item to add to the layer. May not be null.
    */
-  public void addItem(ITEM item)
+  protected void doAddItem(ITEM item)
   {
     if (item == null)
     {
       throw new IllegalArgumentException("item may not be null");
     }
 
+    if (containsItem(item))
+    {
+      removeFromLayer(displaceItem(item));
+    }
     REP representation = newRepresentation(item);
-    this.itemToRepresentation.put(item, representation);
-    this.representationToItem.put(representation, item);
+    placeItem(item, representation);
     addToLayer(representation);
   }
 
   /**
-   * Adds a collection of items to the layer.
+   * Adds an item to the layer.
+   * @param item The item to add to the layer. May not be null.
+   */
+  public void addItem(ITEM item)
+  {
+    doAddItem(item);
+    fireLayerChanged();
+  }
+
+  /**
+   * Adds a collection of items to the layer.  Listeners are notified once, after all of the items have been added.
    * @param items The items to add to the layer.  May not have null elements.
    */
   public void addItems(Collection<? extends ITEM> items)
   {
     for (ITEM item : items)
     {
-      addItem(item);
+      doAddItem(item);
     }
+    fireLayerChanged();
   }
 
   /**
@@ -252,29 +471,40 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
   protected abstract void removeFromLayer(REP representation);
 
   /**
-   * Removes an item from the layer.
+   * Removes an item from the layer without notifying listeners that the layer has changed.
    * @param item The item to remove from the layer.
    */
-  public void removeItem(ITEM item)
+  protected void doRemoveItem(ITEM item)
   {
-    if (item != null)
+    if ((item != null) && containsItem(item))
     {
-      REP representation = itemToRepresentation.remove(item);
-      representationToItem.remove(representation);
+      REP representation = displaceItem(item);
       removeFromLayer(representation);
     }
   }
 
   /**
-   * Removes a collection of items from the layer.
+   * Removes an item from the layer.
+   * @param item The item to remove from the layer.
+   */
+  public void removeItem(ITEM item)
+  {
+    doRemoveItem(item);
+    fireLayerChanged();
+  }
+
+  /**
+   * Removes a collection of items from the layer.  Listeners are notified once, after all of the items have been
+   * removed.
    * @param items The items to remove from the layer.
    */
   public void removeItems(Collection<? extends ITEM> items)
   {
     for (ITEM item : items)
     {
-      removeItem(item);
+      doRemoveItem(item);
     }
+    fireLayerChanged();
   }
 
   /**
@@ -287,9 +517,15 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   public void clearItems()
   {
-    itemToRepresentation.clear();
-    selectionModel.clearAll();
+    itemToSlot.clear();
+    representationToSlot.clear();
+    Arrays.fill(slotItems, 0, slotCount, null);
+    Arrays.fill(slotRepresentations, 0, slotCount, null);
+    Arrays.fill(slotSelectionMasks, 0, slotCount, 0);
+    slotCount = 0;
+    unplacedSelectionMasks.clear();
     clearRepresentationsFromLayer();
+    fireLayerChanged();
   }
 
   /**
@@ -299,13 +535,23 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   protected void setRepresentation(ITEM item, REP representation)
   {
-    REP existingRepresentation = itemToRepresentation.remove(item);
-    representationToItem.remove(existingRepresentation);
-
+    int slot = getSlot(item);
+    if (slot == NO_SLOT)
+    {
+      throw new IllegalArgumentException("item is not in the layer");
+    }
+    REP existingRepresentation = (REP) slotRepresentations[slot];
+    if (existingRepresentation != null)
+    {
+      representationToSlot.remove(existingRepresentation);
+    }
     removeFromLayer(existingRepresentation);
 
-    itemToRepresentation.put(item, representation);
-    representationToItem.put(representation, item);
+    slotRepresentations[slot] = representation;
+    if (representation != null)
+    {
+      representationToSlot.put(representation, itemToSlot.get(item));
+    }
 
     addToLayer(representation);
   }
@@ -317,12 +563,45 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   protected abstract void updateDisplayAttributes(ITEM item, REP representation);
 
+  /**
+   * Updates the display attributes of a representation for an item, when it is known which of the item's fields
+   * changed.  Subclasses can override this to skip the attributes that don't depend on those fields.  The default
+   * implementation updates every attribute.
+   * @param item The item being represented.
+   * @param representation The representation that should be updated.
+   * @param changedFields The fields of the item that changed, as a bitmask of the values in EntityFields.
+   */
+  protected void updateDisplayAttributes(ITEM item, REP representation, int changedFields)
+  {
+    updateDisplayAttributes(item, representation);
+  }
+
   /**
    * Updates all representations that are displayed in this layer.
    */
   protected void updateAllRepresentations()
   {
-    updateItems(itemToRepresentation.keySet());
+    updateItems(new ArrayList<ITEM>(itemToSlot.keySet()));
+  }
+
+  /**
+   * Updates the representation of an item without notifying listeners that the layer has changed.
+   * @param item The item that has been changed.
+   */
+  protected void doUpdateItem(ITEM item)
+  {
+    doUpdateItem(item, EntityFields.ALL);
+  }
+
+  /**
+   * Updates the representation of an item without notifying listeners that the layer has changed.
+   * @param item The item that has been changed.
+   * @param changedFields The fields of the item that changed, as a bitmask of the values in EntityFields.
+   */
+  protected void doUpdateItem(ITEM item, int changedFields)
+  {
+    REP representation = getRepresentation(item);
+    updateDisplayAttributes(item, representation, changedFields);
   }
 
   /**
@@ -332,21 +611,34 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   public void updateItem(ITEM item)
   {
-    REP representation = getRepresentation(item);
-    updateDisplayAttributes(item, representation);
+    doUpdateItem(item);
     fireLayerChanged();
   }
 
   /**
    * Notifies the layer that a collection of items have been changed, and should be updated.  The items that were
-   * changed must already be added to the layer.
+   * changed must already be added to the layer.  Listeners are notified once, after all of the items have been
+   * updated.
    * @param items The items that have been updated.
    */
   public void updateItems(Collection<? extends ITEM> items)
+  {
+    updateItems(items, null);
+  }
+
+  /**
+   * Notifies the layer that a collection of items have been changed, and which of their fields changed, so that
+   * only the affected display attributes are updated.  The items that were changed must already be added to the
+   * layer.  Listeners are notified once, after all of the items have been updated.
+   * @param items The items that have been updated.
+   * @param changedFields The fields that changed for each item, as a bitmask of the values in EntityFields.  Items
+   * that aren't in the map, or every item if the map is null, are treated as if every field changed.
+   */
+  public void updateItems(Collection<? extends ITEM> items, Map<?, Integer> changedFields)
   {
     for (ITEM item : items)
     {
-      updateItem(item);
+      doUpdateItem(item, EntityFields.get(changedFields, item));
     }
     fireLayerChanged();
   }
@@ -358,7 +650,23 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   public void addItemToSelection(ITEM item, SEL_TYPE selectionType)
   {
-    selectionModel.addToSelection(item, selectionType);
+    // Every type in the priority list is registered when the list is set, so registering a new type here never
+    //  changes the priority masks.
+    int selectionBit = 1 << getSelectionBit(selectionType);
+    int slot = getSlot(item);
+    if (slot != NO_SLOT)
+    {
+      int oldMask = slotSelectionMasks[slot];
+      slotSelectionMasks[slot] = oldMask | selectionBit;
+      if (oldMask != slotSelectionMasks[slot])
+      {
+        itemSelectionChanged(item);
+      }
+    }
+    else
+    {
+      unplacedSelectionMasks.put(item, Integer.valueOf(getSelectionMask(item) | selectionBit));
+    }
     fireLayerChanged();
   }
 
@@ -368,7 +676,13 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   public void clearItemSelection(ITEM item)
   {
-    selectionModel.clearSelection(item);
+    int slot = getSlot(item);
+    if (slot != NO_SLOT && slotSelectionMasks[slot] != 0)
+    {
+      slotSelectionMasks[slot] = 0;
+      itemSelectionChanged(item);
+    }
+    unplacedSelectionMasks.remove(item);
     fireLayerChanged();
   }
 
@@ -378,83 +692,82 @@ public abstract class AbstractItemLayer<ITEM, SEL_TYPE, REP> extends AbstractLay
    */
   public void clearSelectionType(SEL_TYPE selectionType)
   {
-    selectionModel.clearSelectionType(selectionType);
-  }
-
-  /**
-   * Fires notification that the layer has changed, and needs to be repainted.
-   */
-  protected void fireLayerChanged()
-  {
-    firePropertyChange("layer", null, this);
-  }
-
-  private class ItemSelectionModel<SEL_TYPE>
-  {
-    private Map<SEL_TYPE, Set<ITEM>> selectionTypeToItems;
-
-    public ItemSelectionModel()
+    Integer bit = selectionTypeToBit.get(selectionType);
+    if (bit != null)
     {
-      selectionTypeToItems = new HashMap();
-    }
-
-    private Set<ITEM> lazyGetSelections(SEL_TYPE selectionType)
-    {
-      Set<ITEM> selectionSet;
-      if (selectionTypeToItems.containsKey(selectionType))
+      int clearedBit = 1 << bit.intValue();
+      for (int slot = 0; slot < slotCount; slot++)
       {
-        selectionSet = selectionTypeToItems.get(selectionType);
+        if ((slotSelectionMasks[slot] & clearedBit) != 0)
+        {
+          slotSelectionMasks[slot] &= ~clearedBit;
+          itemSelectionChanged((ITEM) slotItems[slot]);
+        }
       }
-      else
+      int keepMask = ~clearedBit;
+      Iterator<Map.Entry<ITEM, Integer>> unplacedEntries = unplacedSelectionMasks.entrySet().iterator();
+      while (unplacedEntries.hasNext())
       {
-        selectionSet = new HashSet();
-        selectionTypeToItems.put(selectionType, selectionSet);
+        Map.Entry<ITEM, Integer> unplacedEntry = unplacedEntries.next();
+        int remainingMask = unplacedEntry.getValue().intValue() & keepMask;
+        if (remainingMask == 0)
+        {
+          unplacedEntries.remove();
+        }
+        else
+        {
+          unplacedEntry.setValue(Integer.valueOf(remainingMask));
+        }
       }
-      return selectionSet;
-    }
-
-    public void addToSelection(ITEM item, SEL_TYPE selectionType)
-    {
-      Set<ITEM> itemsForSelectionType = lazyGetSelections(selectionType);
-      itemsForSelectionType.add(item);
-    }
-
-    public void clearAll()
-    {
-      selectionTypeToItems.clear();
     }
+  }
 
-    public List<SEL_TYPE> getSelectionTypes(ITEM item)
+  /**
+   * Gets the items in the layer that have a particular selection type.
+   * @param selectionType The selection type to find the items of.
+   * @return The items in the layer with the selection type.
+   */
+  public List<ITEM> getItemsWithSelectionType(SEL_TYPE selectionType)
+  {
+    List<ITEM> items = new ArrayList<ITEM>();
+    Integer bit = selectionTypeToBit.get(selectionType);
+    if (bit != null)
     {
-      List<SEL_TYPE> selectionsForIcon = null;
-      for (Map.Entry<SEL_TYPE, Set<ITEM>> entry : selectionTypeToItems.entrySet())
+      int selectionBit = 1 << bit.intValue();
+      for (int slot = 0; slot < slotCount; slot++)
       {
-        Set selectionsForType = entry.getValue();
-        if (selectionsForType.contains(item))
+        if ((slotSelectionMasks[slot] & selectionBit) != 0)
         {
-          if (selectionsForIcon == null)
-          {
-            selectionsForIcon = new ArrayList();
-          }
-          SEL_TYPE selectionType = entry.getKey();
-          selectionsForIcon.add(selectionType);
+          items.add((ITEM) slotItems[slot]);
         }
       }
-      return selectionsForIcon;
     }
+    return items;
+  }
 
-    public void clearSelection(ITEM item)
+  /**
+   * Notifies the layer that the selection types of an item in the layer have changed.  This is called once for each
+   * item whose selection actually changed, so subclasses can re-style only those items.  The default implementation
+   * does nothing.
+   * @param item The item whose selection changed.
+   */
+  protected void itemSelectionChanged(ITEM item)
+  {
+  }
+
+  /**
+   * Fires notification that the layer has changed, and needs to be repainted.
+   */
+  protected void fireLayerChanged()
+  {
+    RedrawRequester requester = redrawRequester;
+    if (requester != null)
     {
-      for (Map.Entry<SEL_TYPE, Set<ITEM>> entry : selectionTypeToItems.entrySet())
-      {
-        Set<ITEM> selectionsForType = entry.getValue();
-        selectionsForType.remove(item);
-      }
+      requester.requestRedraw();
     }
-
-    public void clearSelectionType(SEL_TYPE selectionType)
+    else
     {
-      selectionTypeToItems.remove(selectionType);
+      firePropertyChange("layer", null, this);
     }
   }
 }
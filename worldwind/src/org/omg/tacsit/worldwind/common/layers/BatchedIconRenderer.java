@@ -0,0 +1,651 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.layers;
+
+import com.sun.opengl.util.BufferUtil;
+import gov.nasa.worldwind.View;
+import gov.nasa.worldwind.geom.Frustum;
+import gov.nasa.worldwind.geom.Position;
+import gov.nasa.worldwind.geom.Vec4;
+import gov.nasa.worldwind.globes.Globe;
+import gov.nasa.worldwind.layers.Layer;
+import gov.nasa.worldwind.pick.PickSupport;
+import gov.nasa.worldwind.render.DrawContext;
+import gov.nasa.worldwind.render.WWIcon;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import javax.media.opengl.GL;
+import org.omg.tacsit.worldwind.common.util.ScreenPickGrid;
+
+/**
+ * Draws the icons of a SelectableIconLayer in a few batched draw calls.
+ * <p>
+ * Icon images are packed into an IconAtlas, and each frame the renderer projects the icons to the screen and fills
+ * one vertex array with a quad per icon and another with the outlines of the selected icons.  The icons are drawn
+ * back to front in one call per run of icons on the same atlas page, which is a single call while every image fits
+ * on the first page, followed by all of the selection outlines in a single call.  When picking, the
+ * same quads are drawn untextured with a parallel array of unique pick colors.
+ * <p>
+ * Icons that the batch can't draw, because they have a background texture or an image the atlas can't hold, are
+ * handed back to the caller so they can be drawn by an ordinary IconRenderer.  The batch doesn't draw pedestals, so
+ * layers with a pedestal should not use it.
+ * <p>
+ * Icons are depth tested the same way an IconRenderer tests them.  While the eye is low enough for terrain to hide
+ * icons, each icon is drawn at its own screen depth, pulled slightly toward the eye, and is hidden by terrain in front
+ * of it.  Otherwise, and for icons that are always on top, icons are drawn in front of everything.
+ * <p>
+ * When clustering is on, visible icons that fall in the same square screen cell are drawn as a single badge showing
+ * how many icons it stands for, so no more than one icon or badge is drawn per cell.  Clusters are recomputed from
+ * the projected icons every frame, so they split apart on their own as the view zooms in.
+ * <p>
+ * Each rendered frame also records the screen rectangles of the batched icons in a ScreenPickGrid, so that points
+ * and boxes can be picked against the last frame without a picking pass.
+ * @author Matthew Child
+ */
+class BatchedIconRenderer
+{
+  private static final int VERTICES_PER_QUAD = 4;
+  private static final int VERTICES_PER_OUTLINE = 8;
+  private static final int INITIAL_CAPACITY = 256;
+  private static final int NO_CLUSTER = -1;
+  private static final int COORDINATES_PER_VERTEX = 3;
+  // The same offset an IconRenderer uses, so that icons on the ground aren't hidden by the terrain they sit on.
+  private static final double DEPTH_OFFSET = 8d * 0.00048875809d;
+  private static final float MAX_VERTEX_Z = 0.9999f;
+
+  /**
+   * The width and height of a clustering cell used when none is specified, in pixels.
+   */
+  static final int DEFAULT_CLUSTER_CELL_SIZE = 48;
+
+  private SelectableIconLayer<?> layer;
+  private IconAtlas atlas;
+  private PickSupport pickSupport;
+  private ScreenPickGrid<WWIcon> pickGrid;
+  private ClusterBadges clusterBadges;
+  private boolean clustering;
+  private int clusterCellSize;
+  private int iconBudget;
+  private int[] cellClusters;
+
+  private int iconCount;
+  private WWIcon[] icons;
+  private IconAtlas.Region[] regions;
+  private float[] screenX;
+  private float[] screenY;
+  private float[] iconWidths;
+  private float[] iconHeights;
+  private float[] iconScales;
+  private float[] iconDepths;
+  private Object[] selectionTypes;
+  private long[] drawOrder;
+  private int[] clusterCounts;
+
+  private FloatBuffer vertices;
+  private FloatBuffer textureCoordinates;
+  private ByteBuffer colors;
+
+  /**
+   * Creates a new instance.
+   * @param layer The layer whose icons will be rendered, which supplies the selection state and colors.
+   */
+  BatchedIconRenderer(SelectableIconLayer<?> layer)
+  {
+    this.layer = layer;
+    this.atlas = new IconAtlas();
+    this.pickSupport = new PickSupport();
+    this.pickGrid = new ScreenPickGrid<WWIcon>();
+    this.clusterBadges = new ClusterBadges();
+    this.clusterCellSize = DEFAULT_CLUSTER_CELL_SIZE;
+    this.cellClusters = new int[0];
+    ensureIconCapacity(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Sets whether icons that are close together on screen are drawn as a single cluster badge.
+   * @param clustering true to cluster icons, false to draw every icon.
+   */
+  void setClustering(boolean clustering)
+  {
+    this.clustering = clustering;
+  }
+
+  /**
+   * Checks whether icons that are close together on screen are drawn as a single cluster badge.
+   * @return true if icons are clustered, false if every icon is drawn.
+   */
+  boolean isClustering()
+  {
+    return clustering;
+  }
+
+  /**
+   * Sets the size of the screen cells that icons are clustered in.
+   * @param clusterCellSize The width and height of a cell, in pixels.  Must be positive.
+   */
+  void setClusterCellSize(int clusterCellSize)
+  {
+    if (clusterCellSize <= 0)
+    {
+      throw new IllegalArgumentException("clusterCellSize must be positive");
+    }
+    this.clusterCellSize = clusterCellSize;
+  }
+
+  /**
+   * Gets the size of the screen cells that icons are clustered in.
+   * @return The width and height of a cell, in pixels.
+   */
+  int getClusterCellSize()
+  {
+    return clusterCellSize;
+  }
+
+  /**
+   * Sets the most icons that are drawn in a single frame.  When more icons than this are in view, the nearest are
+   * drawn.  A cluster badge counts as a single icon.
+   * @param iconBudget The most icons drawn per frame, or 0 to draw every icon in view.  May not be negative.
+   */
+  void setIconBudget(int iconBudget)
+  {
+    if (iconBudget < 0)
+    {
+      throw new IllegalArgumentException("iconBudget may not be negative");
+    }
+    this.iconBudget = iconBudget;
+  }
+
+  /**
+   * Gets the most icons that are drawn in a single frame.
+   * @return The most icons drawn per frame, or 0 if every icon in view is drawn.
+   */
+  int getIconBudget()
+  {
+    return iconBudget;
+  }
+
+  /**
+   * Renders icons.
+   * @param dc The draw context to render the icons in.
+   * @param visibleIcons The icons to render.
+   * @param fallbackIcons The collection to add icons that could not be drawn in the batch to.
+   */
+  void render(DrawContext dc, List<WWIcon> visibleIcons, Collection<WWIcon> fallbackIcons)
+  {
+    prepareIcons(dc, visibleIcons, fallbackIcons);
+    recordPickRectangles(dc.getView().getViewport());
+    if (iconCount > 0)
+    {
+      GL gl = dc.getGL();
+      beginDrawing(dc);
+      try
+      {
+        drawIcons(dc);
+        drawSelectionOutlines(gl);
+      }
+      finally
+      {
+        endDrawing(gl);
+      }
+    }
+  }
+
+  /**
+   * Picks icons.
+   * @param dc The draw context to pick the icons in.
+   * @param visibleIcons The icons to pick.
+   * @param pickPoint The point being picked.
+   * @param pickLayer The layer to report as the source of the picked icons.
+   * @param fallbackIcons The collection to add icons that could not be picked in the batch to.
+   */
+  void pick(DrawContext dc, List<WWIcon> visibleIcons, Point pickPoint, Layer pickLayer,
+            Collection<WWIcon> fallbackIcons)
+  {
+    prepareIcons(dc, visibleIcons, fallbackIcons);
+    if (iconCount > 0)
+    {
+      GL gl = dc.getGL();
+      pickSupport.clearPickList();
+      pickSupport.beginPicking(dc);
+      beginDrawing(dc);
+      try
+      {
+        drawPickQuads(dc);
+      }
+      finally
+      {
+        endDrawing(gl);
+        pickSupport.endPicking(dc);
+      }
+      pickSupport.resolvePick(dc, pickPoint, pickLayer);
+    }
+  }
+
+  private void prepareIcons(DrawContext dc, List<WWIcon> visibleIcons, Collection<WWIcon> fallbackIcons)
+  {
+    iconCount = 0;
+    ensureIconCapacity(visibleIcons.size());
+    atlas.beginFrame();
+
+    View view = dc.getView();
+    Globe globe = dc.getGlobe();
+    Frustum frustum = view.getFrustumInModelCoordinates();
+    Vec4 eyePoint = view.getEyePoint();
+    double horizonDistance = view.computeHorizonDistance();
+    boolean terrainOccludes = isTerrainOccluding(dc);
+
+    for (int i = 0; i < visibleIcons.size(); i++)
+    {
+      WWIcon icon = visibleIcons.get(i);
+      if (!icon.isVisible())
+      {
+        continue;
+      }
+
+      IconAtlas.Region region = null;
+      if (icon.getBackgroundTexture() == null)
+      {
+        region = atlas.getRegion(icon.getImageSource());
+      }
+      if (region == null)
+      {
+        fallbackIcons.add(icon);
+        continue;
+      }
+
+      Position position = icon.getPosition();
+      Vec4 iconPoint = globe.computePointFromPosition(position);
+      if (!icon.isAlwaysOnTop() && eyePoint.distanceTo3(iconPoint) > horizonDistance)
+      {
+        continue;
+      }
+      if (!frustum.contains(iconPoint))
+      {
+        continue;
+      }
+      Vec4 screenPoint = view.project(iconPoint);
+      if (screenPoint == null)
+      {
+        continue;
+      }
+
+      Dimension size = icon.getSize();
+      int index = iconCount++;
+      icons[index] = icon;
+      regions[index] = region;
+      screenX[index] = (float) screenPoint.x;
+      screenY[index] = (float) screenPoint.y;
+      iconWidths[index] = (size != null) ? size.width : region.width;
+      iconHeights[index] = (size != null) ? size.height : region.height;
+      iconScales[index] = icon.isHighlighted() ? (float) icon.getHighlightScale() : 1f;
+      double depth = 0;
+      if (terrainOccludes && !icon.isAlwaysOnTop())
+      {
+        depth = Math.max(0, Math.min(1, screenPoint.z - DEPTH_OFFSET));
+      }
+      iconDepths[index] = (float) depth;
+      selectionTypes[index] = layer.getSelectionType(icon);
+      // Screen depth is never negative, so its float bits sort in the same order as the depth itself.
+      long depthBits = Float.floatToIntBits((float) Math.max(0, screenPoint.z));
+      drawOrder[index] = (depthBits << 32) | index;
+    }
+    Arrays.fill(icons, iconCount, icons.length, null);
+    Arrays.fill(selectionTypes, iconCount, selectionTypes.length, null);
+    Arrays.sort(drawOrder, 0, iconCount);
+    if (clustering)
+    {
+      clusterIcons(view.getViewport());
+    }
+    // The draw order is sorted nearest first, so cutting it short keeps the nearest icons.
+    if (iconBudget > 0 && iconCount > iconBudget)
+    {
+      iconCount = iconBudget;
+    }
+  }
+
+  /**
+   * Checks whether terrain may hide icons in the current frame, which is when the eye is below the highest point of
+   * the globe.  Icons are only depth tested against the terrain when this is true.
+   * @param dc The draw context of the current frame.
+   * @return true if terrain may hide icons, false if icons are drawn in front of everything.
+   */
+  static boolean isTerrainOccluding(DrawContext dc)
+  {
+    Position eyePosition = dc.getView().getEyePosition();
+    return (eyePosition != null) &&
+           (eyePosition.getElevation() < dc.getGlobe().getMaxElevation() * dc.getVerticalExaggeration());
+  }
+
+  /**
+   * Replaces the prepared icons with one entry per occupied screen cell.  Each cell is represented by its nearest
+   * icon.  When a cell holds more than one icon, its representative is drawn as a badge, and shows the selection of
+   * the nearest selected icon in the cell.
+   */
+  private void clusterIcons(Rectangle viewport)
+  {
+    int columnCount = Math.max(1, (viewport.width + clusterCellSize - 1) / clusterCellSize);
+    int rowCount = Math.max(1, (viewport.height + clusterCellSize - 1) / clusterCellSize);
+    int cellCount = columnCount * rowCount;
+    if (cellClusters.length < cellCount)
+    {
+      cellClusters = new int[cellCount];
+    }
+    Arrays.fill(cellClusters, 0, cellCount, NO_CLUSTER);
+
+    // The draw order is sorted nearest first, so the first icon found in a cell is its representative.
+    int clusterCount = 0;
+    for (int i = 0; i < iconCount; i++)
+    {
+      long order = drawOrder[i];
+      int index = (int) order;
+      int column = (int) Math.floor((screenX[index] - viewport.x) / clusterCellSize);
+      int row = (int) Math.floor((screenY[index] - viewport.y) / clusterCellSize);
+      column = Math.max(0, Math.min(columnCount - 1, column));
+      row = Math.max(0, Math.min(rowCount - 1, row));
+      int cell = (row * columnCount) + column;
+
+      int cluster = cellClusters[cell];
+      if (cluster == NO_CLUSTER)
+      {
+        cellClusters[cell] = clusterCount;
+        drawOrder[clusterCount] = order;
+        clusterCounts[clusterCount] = 1;
+        clusterCount++;
+      }
+      else
+      {
+        clusterCounts[cluster]++;
+        int representative = (int) drawOrder[cluster];
+        if (selectionTypes[representative] == null)
+        {
+          selectionTypes[representative] = selectionTypes[index];
+        }
+      }
+    }
+
+    for (int cluster = 0; cluster < clusterCount; cluster++)
+    {
+      int count = clusterCounts[cluster];
+      if (count > 1)
+      {
+        int representative = (int) drawOrder[cluster];
+        IconAtlas.Region badgeRegion = atlas.getRegion(clusterBadges.getBadge(count));
+        if (badgeRegion != null)
+        {
+          regions[representative] = badgeRegion;
+          iconWidths[representative] = badgeRegion.width;
+          iconHeights[representative] = badgeRegion.height;
+          iconScales[representative] = 1f;
+        }
+      }
+    }
+    iconCount = clusterCount;
+  }
+
+  /**
+   * Finds the icons that can not be drawn in a batch.
+   * @param visibleIcons The icons to check.
+   * @param fallbackIcons The collection to add icons that can not be drawn in a batch to.
+   */
+  void findUnbatchedIcons(List<WWIcon> visibleIcons, Collection<WWIcon> fallbackIcons)
+  {
+    atlas.beginFrame();
+    for (int i = 0; i < visibleIcons.size(); i++)
+    {
+      WWIcon icon = visibleIcons.get(i);
+      if (icon.isVisible() && (icon.getBackgroundTexture() != null || atlas.getRegion(icon.getImageSource()) == null))
+      {
+        fallbackIcons.add(icon);
+      }
+    }
+  }
+
+  /**
+   * Deletes the textures of the renderer's atlas.  The renderer may still be used afterwards, and will create new
+   * textures as they are needed.
+   */
+  void dispose()
+  {
+    atlas.dispose();
+  }
+
+  /**
+   * Gets the screen rectangles of the icons drawn in the last rendered frame.
+   * @return The pick grid of the last rendered frame.
+   */
+  ScreenPickGrid<WWIcon> getPickGrid()
+  {
+    return pickGrid;
+  }
+
+  private void recordPickRectangles(Rectangle viewport)
+  {
+    pickGrid.reset(viewport.width, viewport.height);
+    // The pick grid uses AWT coordinates, whose y axis runs down from the top of the viewport.
+    float viewportTop = viewport.y + viewport.height;
+    for (int i = 0; i < iconCount; i++)
+    {
+      int index = getIconIndex(i);
+      float halfWidth = iconWidths[index] * iconScales[index] / 2;
+      float halfHeight = iconHeights[index] * iconScales[index] / 2;
+      float centerX = screenX[index] - viewport.x;
+      float centerY = viewportTop - (screenY[index] + (iconHeights[index] / 2));
+      pickGrid.add(icons[index], centerX - halfWidth, centerY - halfHeight, centerX + halfWidth,
+                   centerY + halfHeight);
+    }
+  }
+
+  private void ensureIconCapacity(int capacity)
+  {
+    if (icons == null || icons.length < capacity)
+    {
+      int newCapacity = Math.max(capacity, (icons == null) ? 0 : icons.length * 2);
+      icons = new WWIcon[newCapacity];
+      regions = new IconAtlas.Region[newCapacity];
+      screenX = new float[newCapacity];
+      screenY = new float[newCapacity];
+      iconWidths = new float[newCapacity];
+      iconHeights = new float[newCapacity];
+      iconScales = new float[newCapacity];
+      iconDepths = new float[newCapacity];
+      selectionTypes = new Object[newCapacity];
+      clusterCounts = new int[newCapacity];
+      drawOrder = new long[newCapacity];
+      vertices = BufferUtil.newFloatBuffer(newCapacity * VERTICES_PER_OUTLINE * COORDINATES_PER_VERTEX);
+      textureCoordinates = BufferUtil.newFloatBuffer(newCapacity * VERTICES_PER_QUAD * 2);
+      colors = BufferUtil.newByteBuffer(newCapacity * VERTICES_PER_OUTLINE * 4);
+    }
+  }
+
+  private int getIconIndex(int drawPosition)
+  {
+    // Icons are drawn farthest first, so that nearer icons are drawn on top.
+    return (int) drawOrder[iconCount - 1 - drawPosition];
+  }
+
+  private void beginDrawing(DrawContext dc)
+  {
+    GL gl = dc.getGL();
+    Rectangle viewport = dc.getView().getViewport();
+    gl.glPushAttrib(GL.GL_ENABLE_BIT | GL.GL_CURRENT_BIT | GL.GL_COLOR_BUFFER_BIT | GL.GL_DEPTH_BUFFER_BIT |
+                    GL.GL_TEXTURE_BIT | GL.GL_TRANSFORM_BIT | GL.GL_LINE_BIT | GL.GL_VIEWPORT_BIT);
+    gl.glPushClientAttrib(GL.GL_CLIENT_VERTEX_ARRAY_BIT);
+    gl.glMatrixMode(GL.GL_PROJECTION);
+    gl.glPushMatrix();
+    gl.glLoadIdentity();
+    gl.glOrtho(viewport.x, viewport.x + viewport.width, viewport.y, viewport.y + viewport.height, -1, 1);
+    gl.glMatrixMode(GL.GL_MODELVIEW);
+    gl.glPushMatrix();
+    gl.glLoadIdentity();
+    // With this projection and depth range, a vertex at z = 1 - 2 * depth lands at that depth in the depth buffer.
+    gl.glDepthRange(0, 1);
+    gl.glEnable(GL.GL_DEPTH_TEST);
+    gl.glDepthFunc(GL.GL_LESS);
+    gl.glDepthMask(false);
+    gl.glEnableClientState(GL.GL_VERTEX_ARRAY);
+  }
+
+  private void endDrawing(GL gl)
+  {
+    gl.glMatrixMode(GL.GL_PROJECTION);
+    gl.glPopMatrix();
+    gl.glMatrixMode(GL.GL_MODELVIEW);
+    gl.glPopMatrix();
+    gl.glPopClientAttrib();
+    gl.glPopAttrib();
+  }
+
+  private void putQuadVertices(int index)
+  {
+    // The icon sits on top of its screen point, and a highlight scales it about its center.
+    float halfWidth = iconWidths[index] * iconScales[index] / 2;
+    float halfHeight = iconHeights[index] * iconScales[index] / 2;
+    float centerX = screenX[index];
+    float centerY = screenY[index] + (iconHeights[index] / 2);
+    float z = toVertexZ(index);
+    vertices.put(centerX - halfWidth).put(centerY - halfHeight).put(z);
+    vertices.put(centerX + halfWidth).put(centerY - halfHeight).put(z);
+    vertices.put(centerX + halfWidth).put(centerY + halfHeight).put(z);
+    vertices.put(centerX - halfWidth).put(centerY + halfHeight).put(z);
+  }
+
+  private float toVertexZ(int index)
+  {
+    // Icons in front of everything are kept just inside the near clipping plane.
+    return Math.min(1 - (2 * iconDepths[index]), MAX_VERTEX_Z);
+  }
+
+  private void drawIcons(DrawContext dc)
+  {
+    GL gl = dc.getGL();
+    vertices.clear();
+    textureCoordinates.clear();
+    for (int i = 0; i < iconCount; i++)
+    {
+      int index = getIconIndex(i);
+      putQuadVertices(index);
+      IconAtlas.Region region = regions[index];
+      textureCoordinates.put(region.minS).put(region.maxT);
+      textureCoordinates.put(region.maxS).put(region.maxT);
+      textureCoordinates.put(region.maxS).put(region.minT);
+      textureCoordinates.put(region.minS).put(region.minT);
+    }
+    vertices.flip();
+    textureCoordinates.flip();
+
+    gl.glEnable(GL.GL_TEXTURE_2D);
+    gl.glTexEnvi(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_MODULATE);
+    gl.glEnable(GL.GL_BLEND);
+    // Alpha is blended separately so that drawing into a transparent offscreen raster leaves correct coverage.
+    gl.glBlendFuncSeparate(GL.GL_SRC_ALPHA, GL.GL_ONE_MINUS_SRC_ALPHA, GL.GL_ONE, GL.GL_ONE_MINUS_SRC_ALPHA);
+    gl.glColor4f(1f, 1f, 1f, 1f);
+    gl.glEnableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+    gl.glVertexPointer(COORDINATES_PER_VERTEX, GL.GL_FLOAT, 0, vertices);
+    gl.glTexCoordPointer(2, GL.GL_FLOAT, 0, textureCoordinates);
+    int runStart = 0;
+    for (int i = 1; i <= iconCount; i++)
+    {
+      IconAtlas.Page page = regions[getIconIndex(runStart)].page;
+      if (i == iconCount || regions[getIconIndex(i)].page != page)
+      {
+        page.bind(dc);
+        gl.glDrawArrays(GL.GL_QUADS, runStart * VERTICES_PER_QUAD, (i - runStart) * VERTICES_PER_QUAD);
+        runStart = i;
+      }
+    }
+    gl.glDisableClientState(GL.GL_TEXTURE_COORD_ARRAY);
+    gl.glDisable(GL.GL_TEXTURE_2D);
+  }
+
+  private void drawSelectionOutlines(GL gl)
+  {
+    float lineWidth = layer.getSelectionLineWidth();
+    float halfLineWidth = lineWidth / 2;
+    int outlineCount = 0;
+    vertices.clear();
+    colors.clear();
+    for (int i = 0; i < iconCount; i++)
+    {
+      int index = getIconIndex(i);
+      Object selectionType = selectionTypes[index];
+      if (selectionType != null)
+      {
+        // The outline surrounds the quad, so it is scaled about the icon's center along with a highlighted icon.
+        float halfWidth = iconWidths[index] * iconScales[index] / 2;
+        float halfHeight = iconHeights[index] * iconScales[index] / 2;
+        float centerX = screenX[index];
+        float centerY = screenY[index] + (iconHeights[index] / 2);
+        float minX = centerX - halfWidth - halfLineWidth;
+        float minY = centerY - halfHeight - halfLineWidth;
+        float maxX = centerX + halfWidth + halfLineWidth;
+        float maxY = centerY + halfHeight + halfLineWidth;
+        float z = toVertexZ(index);
+        vertices.put(minX).put(minY).put(z).put(minX).put(maxY).put(z);
+        vertices.put(minX).put(maxY).put(z).put(maxX).put(maxY).put(z);
+        vertices.put(maxX).put(maxY).put(z).put(maxX).put(minY).put(z);
+        vertices.put(maxX).put(minY).put(z).put(minX).put(minY).put(z);
+        Color selectionColor = layer.getDisplaySelectionColor(selectionType);
+        putColor(selectionColor, VERTICES_PER_OUTLINE);
+        outlineCount++;
+      }
+    }
+    if (outlineCount > 0)
+    {
+      vertices.flip();
+      colors.flip();
+      gl.glLineWidth(lineWidth);
+      gl.glEnableClientState(GL.GL_COLOR_ARRAY);
+      gl.glVertexPointer(COORDINATES_PER_VERTEX, GL.GL_FLOAT, 0, vertices);
+      gl.glColorPointer(4, GL.GL_UNSIGNED_BYTE, 0, colors);
+      gl.glDrawArrays(GL.GL_LINES, 0, outlineCount * VERTICES_PER_OUTLINE);
+      gl.glDisableClientState(GL.GL_COLOR_ARRAY);
+    }
+  }
+
+  private void drawPickQuads(DrawContext dc)
+  {
+    GL gl = dc.getGL();
+    vertices.clear();
+    colors.clear();
+    for (int i = 0; i < iconCount; i++)
+    {
+      int index = getIconIndex(i);
+      putQuadVertices(index);
+      Color pickColor = dc.getUniquePickColor();
+      putColor(pickColor, VERTICES_PER_QUAD);
+      WWIcon icon = icons[index];
+      pickSupport.addPickableObject(pickColor.getRGB(), icon, icon.getPosition(), false);
+    }
+    vertices.flip();
+    colors.flip();
+
+    gl.glDisable(GL.GL_TEXTURE_2D);
+    gl.glDisable(GL.GL_BLEND);
+    gl.glEnableClientState(GL.GL_COLOR_ARRAY);
+    gl.glVertexPointer(COORDINATES_PER_VERTEX, GL.GL_FLOAT, 0, vertices);
+    gl.glColorPointer(4, GL.GL_UNSIGNED_BYTE, 0, colors);
+    gl.glDrawArrays(GL.GL_QUADS, 0, iconCount * VERTICES_PER_QUAD);
+    gl.glDisableClientState(GL.GL_COLOR_ARRAY);
+  }
+
+  private void putColor(Color color, int vertexCount)
+  {
+    byte red = (byte) color.getRed();
+    byte green = (byte) color.getGreen();
+    byte blue = (byte) color.getBlue();
+    byte alpha = (byte) color.getAlpha();
+    for (int i = 0; i < vertexCount; i++)
+    {
+      colors.put(red).put(green).put(blue).put(alpha);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.layers;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates and caches the badge images that stand in for clusters of icons.  A badge is a disc showing the number of
+ * icons in the cluster.  Counts above MAX_COUNT share a single badge, so that at most MAX_COUNT badges are ever
+ * created.
+ * @author Matthew Child
+ */
+class ClusterBadges
+{
+  /**
+   * The largest count that has its own badge.
+   */
+  static final int MAX_COUNT = 99;
+
+  private static final int BADGE_SIZE = 30;
+  private static final Color FILL_COLOR = new Color(32, 32, 32, 220);
+  private static final Color TEXT_COLOR = Color.WHITE;
+  private static final Font TEXT_FONT = new Font("SansSerif", Font.BOLD, 12);
+
+  private Map<Integer, BufferedImage> countToBadge;
+
+  /**
+   * Creates a new instance.
+   */
+  ClusterBadges()
+  {
+    this.countToBadge = new HashMap<Integer, BufferedImage>();
+  }
+
+  /**
+   * Gets the badge image for a cluster.  The same image is returned every time for the same count, so it can be used
+   * as a key.
+   * @param count The number of icons in the cluster.
+   * @return The badge image.
+   */
+  BufferedImage getBadge(int count)
+  {
+    Integer key = Integer.valueOf(Math.min(count, MAX_COUNT + 1));
+    BufferedImage badge = countToBadge.get(key);
+    if (badge == null)
+    {
+      String label = (count > MAX_COUNT) ? (MAX_COUNT + "+") : String.valueOf(count);
+      badge = createBadge(label);
+      countToBadge.put(key, badge);
+    }
+    return badge;
+  }
+
+  private static BufferedImage createBadge(String label)
+  {
+    BufferedImage badge = new BufferedImage(BADGE_SIZE, BADGE_SIZE, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = badge.createGraphics();
+    try
+    {
+      graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+      graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+      graphics.setColor(FILL_COLOR);
+      graphics.fillOval(1, 1, BADGE_SIZE - 2, BADGE_SIZE - 2);
+      graphics.setColor(TEXT_COLOR);
+      graphics.setStroke(new BasicStroke(2f));
+      graphics.drawOval(1, 1, BADGE_SIZE - 3, BADGE_SIZE - 3);
+
+      graphics.setFont(TEXT_FONT);
+      FontMetrics metrics = graphics.getFontMetrics();
+      int textX = (BADGE_SIZE - metrics.stringWidth(label)) / 2;
+      int textY = ((BADGE_SIZE - metrics.getHeight()) / 2) + metrics.getAscent();
+      graphics.drawString(label, textX, textY);
+    }
+    finally
+    {
+      graphics.dispose();
+    }
+    return badge;
+  }
+}
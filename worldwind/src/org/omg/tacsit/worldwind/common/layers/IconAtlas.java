@@ -0,0 +1,403 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.layers;
+
+import com.sun.opengl.util.BufferUtil;
+import gov.nasa.worldwind.render.DrawContext;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.media.opengl.GL;
+import javax.media.opengl.GLContext;
+import org.omg.tacsit.worldwind.common.util.GLUtils;
+
+/**
+ * A few textures which hold the images of many icons, so that icons with different images can be drawn without
+ * binding a new texture for each one.
+ * <p>
+ * Images are packed into horizontal shelves of a page the first time they are requested, and copied to the page's
+ * texture the next time the page is bound.  When every page is full, the page that has gone unused the longest is
+ * emptied and packed again, as long as no icon in the current frame uses it.  Images that can not be read, or that
+ * are larger than MAX_IMAGE_SIZE, are rejected for good.  When a single frame needs more images than the pages can
+ * hold, the images that don't fit are refused for that frame only.  Icons whose images are refused need to be drawn
+ * some other way.
+ * <p>
+ * Regions are keyed on the image source, and keep their own copy of the image's pixels, so an image that the
+ * IconImageCache evicts and reads again keeps the region it already has.  Callers should use stable image sources,
+ * such as paths, rather than decoded images.
+ * <p>
+ * Callers mark the start of each pass over the icons with beginFrame, so that the atlas knows which pages are in use,
+ * and call dispose once the atlas is no longer needed, so that the page textures are deleted.
+ * @author Matthew Child
+ */
+class IconAtlas
+{
+  /**
+   * The width and height of each page's texture, in pixels.
+   */
+  static final int ATLAS_SIZE = 1024;
+
+  /**
+   * The largest width or height of an image that will be packed into the atlas, in pixels.
+   */
+  static final int MAX_IMAGE_SIZE = 256;
+
+  /**
+   * The most pages the atlas will create before it starts emptying unused pages.
+   */
+  static final int MAX_PAGE_COUNT = 4;
+
+  private static final int PADDING = 1;
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private static ByteBuffer blankPixels;
+
+  private Map<Object, Region> sourceToRegion;
+  private Set<Object> rejectedSources;
+  private List<Page> pages;
+  private int frameNumber;
+  private int evictionCount;
+  private boolean overflowReported;
+
+  /**
+   * Creates a new, empty instance.
+   */
+  IconAtlas()
+  {
+    this.sourceToRegion = new HashMap<Object, Region>();
+    this.rejectedSources = new HashSet<Object>();
+    this.pages = new ArrayList<Page>();
+  }
+
+  /**
+   * Marks the start of a pass over the icons.  Pages that hold a region returned during the pass will not be emptied
+   * until a later pass.
+   */
+  void beginFrame()
+  {
+    frameNumber++;
+  }
+
+  /**
+   * Gets the region of the atlas that holds an image, packing the image into the atlas if it isn't there yet.
+   * @param imageSource The image source of an icon.  This may be a BufferedImage, a URL, or a String naming a
+   * classpath resource or file.
+   * @return The region that holds the image, or null if the image can not be held by the atlas.
+   */
+  Region getRegion(Object imageSource)
+  {
+    Region region = null;
+    if (imageSource != null)
+    {
+      region = sourceToRegion.get(imageSource);
+      if (region == null && !rejectedSources.contains(imageSource))
+      {
+        BufferedImage image = IconImageCache.getSharedCache().getImage(imageSource);
+        if (image == null || image.getWidth() > MAX_IMAGE_SIZE || image.getHeight() > MAX_IMAGE_SIZE)
+        {
+          rejectedSources.add(imageSource);
+        }
+        else
+        {
+          region = pack(imageSource, image);
+          if (region != null)
+          {
+            sourceToRegion.put(imageSource, region);
+          }
+        }
+      }
+      if (region != null)
+      {
+        region.page.lastUsedFrame = frameNumber;
+      }
+    }
+    return region;
+  }
+
+  private Region pack(Object imageSource, BufferedImage image)
+  {
+    int width = image.getWidth();
+    int height = image.getHeight();
+    Region region = null;
+    for (int i = 0; i < pages.size() && region == null; i++)
+    {
+      region = pages.get(i).pack(imageSource, width, height);
+    }
+    if (region == null && pages.size() < MAX_PAGE_COUNT)
+    {
+      Page page = new Page();
+      pages.add(page);
+      region = page.pack(imageSource, width, height);
+    }
+    if (region == null)
+    {
+      Page page = findUnusedPage();
+      if (page != null)
+      {
+        for (Region evictedRegion : page.regions)
+        {
+          sourceToRegion.remove(evictedRegion.imageSource);
+        }
+        page.clear();
+        evictionCount++;
+        if (evictionCount == 1)
+        {
+          Logger.getLogger(IconAtlas.class.getName()).log(Level.INFO,
+              "Icon atlas is full; emptying its least recently used pages to make room.");
+        }
+        region = page.pack(imageSource, width, height);
+      }
+      else if (!overflowReported)
+      {
+        Logger.getLogger(IconAtlas.class.getName()).log(Level.WARNING,
+            "Icon atlas can't hold every image in view; the images that don't fit are drawn individually.");
+        overflowReported = true;
+      }
+    }
+    if (region != null)
+    {
+      region.pixels = toPixels(image);
+    }
+    return region;
+  }
+
+  private Page findUnusedPage()
+  {
+    Page unusedPage = null;
+    for (Page page : pages)
+    {
+      if (page.lastUsedFrame != frameNumber && (unusedPage == null || page.lastUsedFrame < unusedPage.lastUsedFrame))
+      {
+        unusedPage = page;
+      }
+    }
+    return unusedPage;
+  }
+
+  /**
+   * Gets the number of times a page has been emptied to make room for new images.
+   * @return The number of pages evicted.
+   */
+  int getEvictionCount()
+  {
+    return evictionCount;
+  }
+
+  /**
+   * Deletes the textures of every page, and empties the atlas.  Images requested afterwards are packed into new
+   * pages.
+   */
+  void dispose()
+  {
+    for (Page page : pages)
+    {
+      page.deleteTexture();
+    }
+    pages.clear();
+    sourceToRegion.clear();
+    rejectedSources.clear();
+  }
+
+  /**
+   * Gets a page's worth of transparent pixels, which is shared by every page to clear its texture.  GL only reads
+   * from the buffer, so it is never changed.
+   */
+  private static synchronized ByteBuffer getBlankPixels()
+  {
+    if (blankPixels == null)
+    {
+      blankPixels = BufferUtil.newByteBuffer(ATLAS_SIZE * ATLAS_SIZE * BYTES_PER_PIXEL);
+    }
+    return blankPixels;
+  }
+
+  private static ByteBuffer toPixels(BufferedImage image)
+  {
+    int width = image.getWidth();
+    int height = image.getHeight();
+    int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+    ByteBuffer pixels = BufferUtil.newByteBuffer(argb.length * BYTES_PER_PIXEL);
+    for (int i = 0; i < argb.length; i++)
+    {
+      int pixel = argb[i];
+      pixels.put((byte) (pixel >>> 16));
+      pixels.put((byte) (pixel >>> 8));
+      pixels.put((byte) pixel);
+      pixels.put((byte) (pixel >>> 24));
+    }
+    pixels.flip();
+    return pixels;
+  }
+
+  /**
+   * One texture of the atlas, and the regions packed into it.
+   */
+  static class Page
+  {
+    private List<Region> regions;
+    private List<Region> pendingUploads;
+    private int shelfX;
+    private int shelfY;
+    private int shelfHeight;
+    private int lastUsedFrame;
+
+    private GLContext textureContext;
+    private int textureId;
+    private boolean textureStale;
+
+    Page()
+    {
+      this.regions = new ArrayList<Region>();
+      this.pendingUploads = new ArrayList<Region>();
+    }
+
+    private Region pack(Object imageSource, int width, int height)
+    {
+      Region region = null;
+      int x = shelfX;
+      int y = shelfY;
+      int rowHeight = shelfHeight;
+      if (x + width + PADDING > ATLAS_SIZE)
+      {
+        y += rowHeight;
+        x = 0;
+        rowHeight = 0;
+      }
+      if (y + height + PADDING <= ATLAS_SIZE)
+      {
+        region = new Region(this, imageSource, x, y, width, height);
+        shelfX = x + width + PADDING;
+        shelfY = y;
+        shelfHeight = Math.max(rowHeight, height + PADDING);
+        regions.add(region);
+        pendingUploads.add(region);
+      }
+      return region;
+    }
+
+    private void clear()
+    {
+      regions.clear();
+      pendingUploads.clear();
+      shelfX = 0;
+      shelfY = 0;
+      shelfHeight = 0;
+      // The old images are still in the texture; wipe them so they can't bleed into the padding of new ones.
+      textureStale = true;
+    }
+
+    /**
+     * Binds the page's texture, creating it and copying any newly packed images to it first.  The texture is
+     * recreated if the draw context's GL context has changed since it was last bound, and the old one is deleted.
+     * @param dc The draw context to bind the texture in.
+     */
+    void bind(DrawContext dc)
+    {
+      GL gl = dc.getGL();
+      GLContext context = dc.getGLContext();
+      if (context != textureContext)
+      {
+        deleteTexture();
+        createTexture(gl);
+        textureContext = context;
+        pendingUploads.clear();
+        pendingUploads.addAll(regions);
+      }
+      else if (textureStale)
+      {
+        gl.glBindTexture(GL.GL_TEXTURE_2D, textureId);
+        clearTexture(gl);
+      }
+      textureStale = false;
+
+      gl.glBindTexture(GL.GL_TEXTURE_2D, textureId);
+      if (!pendingUploads.isEmpty())
+      {
+        gl.glPixelStorei(GL.GL_UNPACK_ALIGNMENT, 1);
+        for (Region region : pendingUploads)
+        {
+          gl.glTexSubImage2D(GL.GL_TEXTURE_2D, 0, region.x, region.y, region.width, region.height, GL.GL_RGBA,
+                             GL.GL_UNSIGNED_BYTE, region.pixels);
+        }
+        pendingUploads.clear();
+      }
+    }
+
+    private void createTexture(GL gl)
+    {
+      int[] textureIds = new int[1];
+      gl.glGenTextures(1, textureIds, 0);
+      textureId = textureIds[0];
+      gl.glBindTexture(GL.GL_TEXTURE_2D, textureId);
+      gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_LINEAR);
+      gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_LINEAR);
+      gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_S, GL.GL_CLAMP_TO_EDGE);
+      gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_T, GL.GL_CLAMP_TO_EDGE);
+      clearTexture(gl);
+    }
+
+    private void clearTexture(GL gl)
+    {
+      gl.glTexImage2D(GL.GL_TEXTURE_2D, 0, GL.GL_RGBA, ATLAS_SIZE, ATLAS_SIZE, 0, GL.GL_RGBA, GL.GL_UNSIGNED_BYTE,
+                      getBlankPixels());
+    }
+
+    private void deleteTexture()
+    {
+      if (textureContext != null)
+      {
+        final int[] textureIds = {textureId};
+        GLUtils.runInContext(textureContext, new GLUtils.ContextTask()
+        {
+          public void run(GL gl)
+          {
+            gl.glDeleteTextures(1, textureIds, 0);
+          }
+        });
+        textureContext = null;
+      }
+    }
+  }
+
+  /**
+   * The area of a page that holds one image.  Texture coordinates run from the top of the image at minT to the
+   * bottom of the image at maxT.
+   */
+  static class Region
+  {
+    final Page page;
+    final int x;
+    final int y;
+    final int width;
+    final int height;
+    final float minS;
+    final float minT;
+    final float maxS;
+    final float maxT;
+    private final Object imageSource;
+    private ByteBuffer pixels;
+
+    Region(Page page, Object imageSource, int x, int y, int width, int height)
+    {
+      this.page = page;
+      this.imageSource = imageSource;
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+      this.minS = (float) x / ATLAS_SIZE;
+      this.minT = (float) y / ATLAS_SIZE;
+      this.maxS = (float) (x + width) / ATLAS_SIZE;
+      this.maxT = (float) (y + height) / ATLAS_SIZE;
+    }
+  }
+}
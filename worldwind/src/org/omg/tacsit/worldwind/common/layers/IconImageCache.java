@@ -0,0 +1,408 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.layers;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.omg.tacsit.common.util.ObjectUtils;
+import org.omg.tacsit.worldwind.common.util.ImageUtils;
+
+/**
+ * A bounded cache of icon images, keyed by image source, size, rotation and tint.
+ * <p>
+ * Each image is decoded or drawn once, and every later request for the same key returns the same BufferedImage, until
+ * it is evicted.  When the images held take more than the byte budget, the least recently used are evicted, and a
+ * later request decodes or draws a new image.
+ * <p>
+ * Because an evicted image comes back as a different object, decoded images should not be used as icon image sources.
+ * Worldwind's texture cache and the icon atlas both key on the image source, so icons should keep a stable source,
+ * such as the image's path, and leave it to the texture layer to resolve the source through this cache.  The atlas
+ * then holds one region per source however often the decoded image is evicted.
+ * <p>
+ * Rotations are rounded to the nearest rotation step, so an icon that turns slowly only needs a new image each time it
+ * crosses a step.
+ * @author Matthew Child
+ */
+public class IconImageCache
+{
+  /**
+   * The byte budget used when none is specified.
+   */
+  public static final long DEFAULT_BYTE_BUDGET = 32L * 1024 * 1024;
+
+  /**
+   * The rotation step used when none is specified, in degrees.
+   */
+  public static final double DEFAULT_ROTATION_STEP = 5.0;
+
+  private static final int BYTES_PER_PIXEL = 4;
+
+  private static IconImageCache sharedCache;
+
+  private Map<ImageKey, BufferedImage> keyToImage;
+  private long byteBudget;
+  private long byteCount;
+  private double rotationStep;
+  private ExecutorService preloadExecutor;
+
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * Creates a new, empty instance with the default byte budget and rotation step.
+   */
+  public IconImageCache()
+  {
+    // Access order makes iteration run from the least recently used image to the most recently used.
+    this.keyToImage = new LinkedHashMap<ImageKey, BufferedImage>(16, 0.75f, true);
+    this.byteBudget = DEFAULT_BYTE_BUDGET;
+    this.rotationStep = DEFAULT_ROTATION_STEP;
+  }
+
+  /**
+   * Gets the cache shared by every image pack that doesn't have its own.
+   * @return The shared cache.
+   */
+  public static synchronized IconImageCache getSharedCache()
+  {
+    if (sharedCache == null)
+    {
+      sharedCache = new IconImageCache();
+    }
+    return sharedCache;
+  }
+
+  /**
+   * Sets the most memory the cached images may take before the least recently used are evicted.
+   * @param byteBudget The budget, in bytes.  Must be positive.
+   */
+  public synchronized void setByteBudget(long byteBudget)
+  {
+    if (byteBudget <= 0)
+    {
+      throw new IllegalArgumentException("byteBudget must be positive");
+    }
+    this.byteBudget = byteBudget;
+    evict(null);
+  }
+
+  /**
+   * Gets the most memory the cached images may take before the least recently used are evicted.
+   * @return The budget, in bytes.
+   */
+  public synchronized long getByteBudget()
+  {
+    return byteBudget;
+  }
+
+  /**
+   * Sets the step that rotations are rounded to.  Images are cached by their rounded rotation, so images cached with
+   * the old step are still used for rotations that round to the same angle, and the rest are kept until they are
+   * evicted.
+   * @param rotationStep The step, in degrees.  Must be positive.
+   */
+  public synchronized void setRotationStep(double rotationStep)
+  {
+    if (!(rotationStep > 0))
+    {
+      throw new IllegalArgumentException("rotationStep must be positive");
+    }
+    this.rotationStep = rotationStep;
+  }
+
+  /**
+   * Gets the step that rotations are rounded to.
+   * @return The step, in degrees.
+   */
+  public synchronized double getRotationStep()
+  {
+    return rotationStep;
+  }
+
+  /**
+   * Gets the decoded image for an image source.
+   * @param imageSource The image source.  This may be a BufferedImage, a URL, or a String naming a classpath resource
+   * or file.
+   * @return The image, or null if the image source can't be read.
+   */
+  public BufferedImage getImage(Object imageSource)
+  {
+    return getImage(imageSource, null, 0, null);
+  }
+
+  /**
+   * Gets a variant of the image for an image source, drawn at a size, rotated and tinted.
+   * @param imageSource The image source.  This may be a BufferedImage, a URL, or a String naming a classpath resource
+   * or file.
+   * @param size The size to draw the image at, or null for the image's own size.
+   * @param rotation The clockwise rotation of the image, in degrees.  This is rounded to the rotation step.
+   * @param tint The color to tint the image with, or null to leave it untinted.  The tint's alpha sets how strongly
+   * the image is tinted.
+   * @return The image, or null if the image source can't be read.
+   */
+  public BufferedImage getImage(Object imageSource, Dimension size, double rotation, Color tint)
+  {
+    if (imageSource == null)
+    {
+      return null;
+    }
+    ImageKey key;
+    synchronized (this)
+    {
+      key = new ImageKey(imageSource, size, toRotationStepCount(rotation) * rotationStep, tint);
+      BufferedImage image = keyToImage.get(key);
+      if (image != null)
+      {
+        hitCount++;
+        return image;
+      }
+      missCount++;
+    }
+
+    // Images are drawn without holding the lock, so one slow image doesn't hold up requests for the others.
+    BufferedImage image;
+    if (key.isOriginal())
+    {
+      image = ImageUtils.readImage(imageSource);
+    }
+    else
+    {
+      BufferedImage original = getImage(imageSource);
+      image = (original != null) ? createVariant(original, key) : null;
+    }
+    if (image != null)
+    {
+      image = put(key, image);
+    }
+    return image;
+  }
+
+  private int toRotationStepCount(double rotation)
+  {
+    int stepsPerTurn = (int) Math.max(1, Math.round(360.0 / rotationStep));
+    int stepCount = (int) Math.round(rotation / rotationStep) % stepsPerTurn;
+    if (stepCount < 0)
+    {
+      stepCount += stepsPerTurn;
+    }
+    return stepCount;
+  }
+
+  private synchronized BufferedImage put(ImageKey key, BufferedImage image)
+  {
+    // Another thread may have drawn the same image meanwhile; keep the first, so every caller shares one image.
+    BufferedImage cachedImage = keyToImage.get(key);
+    if (cachedImage == null)
+    {
+      keyToImage.put(key, image);
+      byteCount += getByteCount(image);
+      evict(key);
+      cachedImage = image;
+    }
+    return cachedImage;
+  }
+
+  /**
+   * Evicts the least recently used images until the cache is within its budget, keeping the image just added.
+   */
+  private void evict(ImageKey keptKey)
+  {
+    Iterator<Map.Entry<ImageKey, BufferedImage>> entries = keyToImage.entrySet().iterator();
+    while (byteCount > byteBudget && entries.hasNext())
+    {
+      Map.Entry<ImageKey, BufferedImage> entry = entries.next();
+      if (!entry.getKey().equals(keptKey))
+      {
+        byteCount -= getByteCount(entry.getValue());
+        entries.remove();
+        evictionCount++;
+      }
+    }
+  }
+
+  private static long getByteCount(BufferedImage image)
+  {
+    return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+  }
+
+  private static BufferedImage createVariant(BufferedImage original, ImageKey key)
+  {
+    int width = (key.width > 0) ? key.width : original.getWidth();
+    int height = (key.height > 0) ? key.height : original.getHeight();
+    BufferedImage variant = new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR);
+    Graphics2D graphics = variant.createGraphics();
+    graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    graphics.rotate(Math.toRadians(key.rotation), width / 2.0, height / 2.0);
+    graphics.drawImage(original, 0, 0, width, height, null);
+    if (key.tint != null)
+    {
+      // Source-atop only paints over the image's own pixels, so transparent areas stay transparent.
+      graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_ATOP));
+      graphics.setColor(key.tint);
+      graphics.fillRect(0, 0, width, height);
+    }
+    graphics.dispose();
+    return variant;
+  }
+
+  /**
+   * Decodes image sources on a background thread, so that they are already cached when icons first ask for them.
+   * @param imageSources The image sources to decode.
+   */
+  public void preload(Collection<?> imageSources)
+  {
+    final List<Object> sources = new ArrayList<Object>(imageSources);
+    if (!sources.isEmpty())
+    {
+      getPreloadExecutor().execute(new Runnable()
+      {
+        public void run()
+        {
+          for (Object imageSource : sources)
+          {
+            getImage(imageSource);
+          }
+        }
+      });
+    }
+  }
+
+  private synchronized ExecutorService getPreloadExecutor()
+  {
+    if (preloadExecutor == null)
+    {
+      preloadExecutor = Executors.newSingleThreadExecutor(new PreloadThreadFactory());
+    }
+    return preloadExecutor;
+  }
+
+  /**
+   * Gets the number of images in the cache.
+   * @return The number of cached images.
+   */
+  public synchronized int size()
+  {
+    return keyToImage.size();
+  }
+
+  /**
+   * Gets the memory taken by the cached images.
+   * @return The size of the cached images, in bytes.
+   */
+  public synchronized long getByteCount()
+  {
+    return byteCount;
+  }
+
+  /**
+   * Gets the number of requests that were answered with an image already in the cache.
+   * @return The number of cache hits.
+   */
+  public synchronized long getHitCount()
+  {
+    return hitCount;
+  }
+
+  /**
+   * Gets the number of requests for an image that wasn't in the cache.
+   * @return The number of cache misses.
+   */
+  public synchronized long getMissCount()
+  {
+    return missCount;
+  }
+
+  /**
+   * Gets the number of images that have been evicted to keep within the byte budget.
+   * @return The number of evictions.
+   */
+  public synchronized long getEvictionCount()
+  {
+    return evictionCount;
+  }
+
+  /**
+   * Removes every image from the cache.
+   */
+  public synchronized void clear()
+  {
+    keyToImage.clear();
+    byteCount = 0;
+  }
+
+  private static class ImageKey
+  {
+    private Object imageSource;
+    private int width;
+    private int height;
+    private double rotation;
+    private Color tint;
+
+    public ImageKey(Object imageSource, Dimension size, double rotation, Color tint)
+    {
+      this.imageSource = imageSource;
+      if (size != null)
+      {
+        this.width = size.width;
+        this.height = size.height;
+      }
+      this.rotation = rotation;
+      this.tint = tint;
+    }
+
+    public boolean isOriginal()
+    {
+      return width <= 0 && height <= 0 && rotation == 0 && tint == null;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+      if (!(obj instanceof ImageKey))
+      {
+        return false;
+      }
+      ImageKey other = (ImageKey) obj;
+      return ObjectUtils.areEqual(imageSource, other.imageSource) && width == other.width && height == other.height
+             && Double.compare(rotation, other.rotation) == 0 && ObjectUtils.areEqual(tint, other.tint);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      int hash = imageSource.hashCode();
+      hash = 31 * hash + width;
+      hash = 31 * hash + height;
+      long rotationBits = Double.doubleToLongBits(rotation);
+      hash = 31 * hash + (int) (rotationBits ^ (rotationBits >>> 32));
+      hash = 31 * hash + ((tint != null) ? tint.hashCode() : 0);
+      return hash;
+    }
+  }
+
+  private static class PreloadThreadFactory implements ThreadFactory
+  {
+    public Thread newThread(Runnable runnable)
+    {
+      Thread thread = new Thread(runnable, "Icon image preload");
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
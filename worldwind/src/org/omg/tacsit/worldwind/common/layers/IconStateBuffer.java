@@ -0,0 +1,274 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.layers;
+
+import gov.nasa.worldwind.geom.Position;
+import gov.nasa.worldwind.render.WWIcon;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A double buffer of changes to the icons of a SelectableIconLayer, which lets the model side change icons while the
+ * layer renders without either side waiting on the other.
+ * <p>
+ * Writers stage changes in the back buffer, and publish it once a batch of changes is complete.  The renderer takes
+ * the published front buffer at the start of a frame and applies it, so a frame shows either all of a batch or none
+ * of it.  Taking and publishing only swap buffer references while holding a lock, so the renderer never waits for a
+ * writer to finish a batch.
+ * <p>
+ * Each buffer holds at most one change per icon, with the latest state winning.  If the renderer hasn't taken the
+ * front buffer by the time the next batch is published, the writer merges the two, so buffers never grow beyond the
+ * number of icons however long the layer goes without rendering.
+ * @author Matthew Child
+ */
+class IconStateBuffer
+{
+  private Object publishLock;
+  private Buffer backBuffer;
+  private Buffer frontBuffer;
+
+  /**
+   * Creates a new, empty instance.
+   */
+  IconStateBuffer()
+  {
+    this.publishLock = new Object();
+    this.backBuffer = new Buffer();
+  }
+
+  /**
+   * Stages an icon to be added to the layer.
+   * @param icon The icon to add.
+   */
+  synchronized void stageAdd(WWIcon icon)
+  {
+    IconChange change = backBuffer.getChange(icon);
+    change.added = true;
+    change.removed = false;
+  }
+
+  /**
+   * Stages an icon to be removed from the layer.
+   * @param icon The icon to remove.
+   */
+  synchronized void stageRemove(WWIcon icon)
+  {
+    IconChange change = backBuffer.getChange(icon);
+    change.added = false;
+    change.removed = true;
+    change.positionChanged = false;
+    change.imageChanged = false;
+    change.selectionChanged = false;
+  }
+
+  /**
+   * Stages every icon to be removed from the layer.  Changes staged before this are discarded.
+   */
+  synchronized void stageClear()
+  {
+    backBuffer.iconToChange.clear();
+    backBuffer.cleared = true;
+  }
+
+  /**
+   * Stages a new position and image for an icon.
+   * @param icon The icon to change.
+   * @param position The icon's new position.
+   * @param imageSource The icon's new image source.
+   */
+  synchronized void stageState(WWIcon icon, Position position, Object imageSource)
+  {
+    IconChange change = backBuffer.getChange(icon);
+    if (!change.removed)
+    {
+      change.position = position;
+      change.positionChanged = true;
+      change.imageSource = imageSource;
+      change.imageChanged = true;
+    }
+  }
+
+  /**
+   * Stages a new position for an icon, leaving its image as it is.
+   * @param icon The icon to change.
+   * @param position The icon's new position.
+   */
+  synchronized void stagePosition(WWIcon icon, Position position)
+  {
+    IconChange change = backBuffer.getChange(icon);
+    if (!change.removed)
+    {
+      change.position = position;
+      change.positionChanged = true;
+    }
+  }
+
+  /**
+   * Stages a new selection type to display for an icon.
+   * @param icon The icon to change.
+   * @param selectionType The selection type to display, or null if the icon is not selected.
+   */
+  synchronized void stageSelectionType(WWIcon icon, Object selectionType)
+  {
+    IconChange change = backBuffer.getChange(icon);
+    if (!change.removed)
+    {
+      change.selectionType = selectionType;
+      change.selectionChanged = true;
+    }
+  }
+
+  /**
+   * Publishes the changes staged since the last publish as a complete batch.
+   */
+  synchronized void publish()
+  {
+    if (backBuffer.isEmpty())
+    {
+      return;
+    }
+    Buffer publishedBuffer = backBuffer;
+    backBuffer = new Buffer();
+
+    Buffer unappliedBuffer;
+    synchronized (publishLock)
+    {
+      unappliedBuffer = frontBuffer;
+      frontBuffer = null;
+    }
+    // While the buffers are merged the renderer sees no front buffer, and keeps showing the last batch it applied.
+    if (unappliedBuffer != null)
+    {
+      unappliedBuffer.merge(publishedBuffer);
+      publishedBuffer = unappliedBuffer;
+    }
+    synchronized (publishLock)
+    {
+      frontBuffer = publishedBuffer;
+    }
+  }
+
+  /**
+   * Takes the latest published batch of changes.  This is called by the renderer, and never waits for a writer.
+   * @return The published changes, or null if nothing has been published since the last take.
+   */
+  Buffer takePublished()
+  {
+    Buffer publishedBuffer;
+    synchronized (publishLock)
+    {
+      publishedBuffer = frontBuffer;
+      frontBuffer = null;
+    }
+    return publishedBuffer;
+  }
+
+  /**
+   * A set of changes to icons.
+   */
+  static class Buffer
+  {
+    boolean cleared;
+    Map<WWIcon, IconChange> iconToChange;
+
+    Buffer()
+    {
+      this.iconToChange = new LinkedHashMap<WWIcon, IconChange>();
+    }
+
+    private IconChange getChange(WWIcon icon)
+    {
+      IconChange change = iconToChange.get(icon);
+      if (change == null)
+      {
+        change = new IconChange();
+        iconToChange.put(icon, change);
+      }
+      return change;
+    }
+
+    private boolean isEmpty()
+    {
+      return !cleared && iconToChange.isEmpty();
+    }
+
+    /**
+     * Merges newer changes into this buffer.
+     */
+    private void merge(Buffer newerBuffer)
+    {
+      if (newerBuffer.cleared)
+      {
+        cleared = true;
+        iconToChange = newerBuffer.iconToChange;
+      }
+      else
+      {
+        for (Map.Entry<WWIcon, IconChange> entry : newerBuffer.iconToChange.entrySet())
+        {
+          IconChange olderChange = iconToChange.get(entry.getKey());
+          if (olderChange == null)
+          {
+            iconToChange.put(entry.getKey(), entry.getValue());
+          }
+          else
+          {
+            olderChange.merge(entry.getValue());
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The changes to a single icon.  An icon that is both added and changed is added, and then given its new state.
+   */
+  static class IconChange
+  {
+    boolean added;
+    boolean removed;
+    boolean positionChanged;
+    Position position;
+    boolean imageChanged;
+    Object imageSource;
+    boolean selectionChanged;
+    Object selectionType;
+
+    private void merge(IconChange newerChange)
+    {
+      if (newerChange.removed)
+      {
+        added = false;
+        removed = true;
+        positionChanged = false;
+        imageChanged = false;
+        selectionChanged = false;
+      }
+      else
+      {
+        if (newerChange.added)
+        {
+          added = true;
+          removed = false;
+        }
+        if (newerChange.positionChanged)
+        {
+          positionChanged = true;
+          position = newerChange.position;
+        }
+        if (newerChange.imageChanged)
+        {
+          imageChanged = true;
+          imageSource = newerChange.imageSource;
+        }
+        if (newerChange.selectionChanged)
+        {
+          selectionChanged = true;
+          selectionType = newerChange.selectionType;
+        }
+      }
+    }
+  }
+}
@@ -4,6 +4,8 @@
  */
 package org.omg.tacsit.worldwind.common.layers;
 
+import java.util.Collection;
+
 /**
  * A set of images used to represent items.
  * <p>
@@ -19,5 +21,11 @@ public interface ImagePack<T>
    * @param object The item to get the image for.
    * @return The image source that should be used to represent an item.
    */
-  public Object getImageSource(T object);  
+  public Object getImageSource(T object);
+
+  /**
+   * Gets every image source this pack may return, so that they can be loaded before they are first displayed.
+   * @return The image sources of the pack.
+   */
+  public Collection<?> getImageSources();
 }
@@ -4,40 +4,71 @@
  */
 package org.omg.tacsit.worldwind.common.layers;
 
-import gov.nasa.worldwind.geom.Position;
 import gov.nasa.worldwind.render.DrawContext;
-import gov.nasa.worldwind.render.UserFacingIcon;
 import gov.nasa.worldwind.render.WWIcon;
 import java.awt.Color;
 import java.awt.Point;
+import java.awt.Rectangle;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import org.omg.tacsit.entity.EntityFields;
 
 /**
  * A layer that displays positioned items as an icon.
+ * <p>
+ * The layer never changes its icons directly.  Adding, removing and updating items stages each icon's new position,
+ * image and selection styling, and the staged changes are published as one batch when the layer fires that it has
+ * changed.  The icons are changed on the render thread at the start of the next frame, so items may be changed from
+ * another thread while the layer renders, and a frame never shows part of a batch.  Staging an icon only reads the
+ * item's position and looks its image up in the image pack; the work that needs the GL context, such as loading
+ * textures and projecting icons to the screen, is left to the render thread.
+ * <p>
+ * When an update says that only an item's position changed, only the icon's position is staged, and the image pack
+ * is not consulted.
  * @author Matthew Child
  * @param <P> The type of positioned item
  * @param <SEL_TYPE> The type of selection
  */
 public class ItemIconLayer<P extends Positioned, SEL_TYPE> extends AbstractItemLayer<P, SEL_TYPE, WWIcon>
-{    
+{
   private SelectableIconLayer<SEL_TYPE> iconLayer;
-  private ImagePack<P> imagePack;
+  private IconStateBuffer stateBuffer;
+  private SharedIconStore<P> iconStore;
+  private PropertyChangeListener imagePackListener;
   
   /**
-   * Creates a new instance.
+   * Creates a new instance, with icons that are not shared with any other layer.
    */
   public ItemIconLayer()
   {
-    this.imagePack = new KeyedImagePack();
+    this(new SharedIconStore<P>());
+  }
+
+  /**
+   * Creates a new instance that shares icons with the other layers using the same store.  Every layer that uses the
+   * store displays items with the store's image pack.
+   * @param iconStore The store that holds the icons for items. May not be null.
+   */
+  public ItemIconLayer(SharedIconStore<P> iconStore)
+  {
+    if (iconStore == null)
+    {
+      throw new IllegalArgumentException("iconStore may not be null");
+    }
+    this.iconStore = iconStore;
     this.iconLayer = createIconLayer();
+    this.stateBuffer = iconLayer.getStateBuffer();
+    this.iconLayer.setSharedIconStore(iconStore);
     this.iconLayer.setSelectionModel(new IconSelectionHelper());
+    this.imagePackListener = new ImagePackListener();
+    this.iconStore.addPropertyChangeListener(SharedIconStore.IMAGE_PACK_PROPERTY, imagePackListener);
   }
 
   private SelectableIconLayer createIconLayer()
   {
-    SelectableIconLayer layer = new SelectableIconLayer();
-    // MC: Region culling causes the icons to disappear as they move around the display.
-    layer.setRegionCulling(false);
-    return layer;
+    return new SelectableIconLayer();
   }
 
   /**
@@ -66,68 +97,163 @@ public class ItemIconLayer<P extends Positioned, SEL_TYPE> extends AbstractItemL
    */
   public ImagePack<P> getImagePack()
   {
-    return imagePack;
+    return iconStore.getImagePack();
   }
 
   /**
-   * Sets the image pack used to get images to display for item in the layer.
+   * Sets the image pack used to get images to display for item in the layer.  This also changes the images of every
+   * other layer that shares this layer's icon store.
    * @param imagePack The image pack that picks images for items. 
    */
   public void setImagePack(ImagePack<P> imagePack)
   {
-    this.imagePack = imagePack;
-    updateAllRepresentations();
+    iconStore.setImagePack(imagePack);
+  }
+
+  /**
+   * Gets the store that holds the icons displayed by this layer.
+   * @return The layer's icon store.
+   */
+  public SharedIconStore<P> getIconStore()
+  {
+    return iconStore;
   }
 
   @Override
   protected WWIcon newRepresentation(P item)
   {
-    Object imageSource = getImageSource(item);
-    Position p = Position.ZERO;
-    if(item != null)
+    return iconStore.acquire(item);
+  }
+
+  @Override
+  protected void doAddItem(P item)
+  {
+    boolean replacing = containsItem(item);
+    super.doAddItem(item);
+    if (replacing)
     {
-      p = item.getPosition();
+      // The new representation acquired the icon again, so release the hold of the one it replaced.
+      iconStore.release(item);
     }
-    UserFacingIcon representation = new UserFacingIcon(imageSource, p);
-    return representation;
+  }
+
+  @Override
+  protected void doRemoveItem(P item)
+  {
+    boolean contained = (item != null) && containsItem(item);
+    super.doRemoveItem(item);
+    if (contained)
+    {
+      iconStore.release(item);
+    }
+  }
+
+  @Override
+  public void clearItems()
+  {
+    for (P item : getItems())
+    {
+      iconStore.release(item);
+    }
+    super.clearItems();
   }
 
   @Override
   protected void addToLayer(WWIcon representation)
   {
-    this.iconLayer.addIcon(representation);
+    stateBuffer.stageAdd(representation);
+    P item = getItem(representation);
+    if (item != null)
+    {
+      stageState(item, representation);
+      stateBuffer.stageSelectionType(representation, getDisplaySelectionType(item));
+    }
   }
 
   @Override
   protected void removeFromLayer(WWIcon representation)
   {
-    iconLayer.removeIcon(representation);
+    stateBuffer.stageRemove(representation);
   }
 
   @Override
   protected void updateDisplayAttributes(P item, WWIcon representation)
   {
-    Position itemPosition = item.getPosition();
-    representation.setPosition(itemPosition);
-    
-    Object imageSource = getImageSource(item);
-    representation.setImageSource(imageSource);
+    updateDisplayAttributes(item, representation, EntityFields.ALL);
+  }
+
+  @Override
+  protected void updateDisplayAttributes(P item, WWIcon representation, int changedFields)
+  {
+    if (representation != null)
+    {
+      if (EntityFields.isMoveOnly(changedFields))
+      {
+        stateBuffer.stagePosition(representation, item.getPosition());
+      }
+      else
+      {
+        stageState(item, representation);
+      }
+    }
+  }
+
+  private void stageState(P item, WWIcon representation)
+  {
+    stateBuffer.stageState(representation, item.getPosition(), iconStore.getImageSource(item));
   }
 
   @Override
   protected void clearRepresentationsFromLayer()
   {
-    iconLayer.removeAllIcons();
+    stateBuffer.stageClear();
   }
 
-  private Object getImageSource(P item)
+  @Override
+  protected void itemSelectionChanged(P item)
   {
-    Object imageSource = null;
-    if (this.imagePack != null)
+    WWIcon representation = getRepresentation(item);
+    if (representation != null)
     {
-      imageSource = this.imagePack.getImageSource(item);
+      stateBuffer.stageSelectionType(representation, getDisplaySelectionType(item));
     }
-    return imageSource;
+  }
+
+  @Override
+  public void setSelectionTypePriority(List<SEL_TYPE> selectionTypePriority)
+  {
+    super.setSelectionTypePriority(selectionTypePriority);
+    for (P item : getItems())
+    {
+      itemSelectionChanged(item);
+    }
+    fireLayerChanged();
+  }
+
+  @Override
+  public void clearSelectionType(SEL_TYPE selectionType)
+  {
+    super.clearSelectionType(selectionType);
+    fireLayerChanged();
+  }
+
+  /**
+   * Publishes the changes staged since the layer last changed, so they are displayed from the next frame, and then
+   * notifies listeners that the layer has changed.
+   */
+  @Override
+  protected void fireLayerChanged()
+  {
+    stateBuffer.publish();
+    super.fireLayerChanged();
+  }
+
+  @Override
+  public void dispose()
+  {
+    iconStore.removePropertyChangeListener(SharedIconStore.IMAGE_PACK_PROPERTY, imagePackListener);
+    iconLayer.dispose();
+    super.dispose();
   }
 
   @Override
@@ -136,6 +262,137 @@ public class ItemIconLayer<P extends Positioned, SEL_TYPE> extends AbstractItemL
     iconLayer.pick(dc, point);
   }
 
+  /**
+   * Sets whether icons that are close together on screen are drawn as a single badge showing how many icons it
+   * stands for.  The badges split apart as the view zooms in.
+   * @param clustering true to cluster icons, false to draw every icon.
+   */
+  public void setClustering(boolean clustering)
+  {
+    iconLayer.setClustering(clustering);
+  }
+
+  /**
+   * Checks whether icons that are close together on screen are drawn as a single badge.
+   * @return true if icons are clustered, false if every icon is drawn.
+   */
+  public boolean isClustering()
+  {
+    return iconLayer.isClustering();
+  }
+
+  /**
+   * Sets the size of the square screen cells that icons are clustered in.
+   * @param clusterCellSize The width and height of a cell, in pixels.  Must be positive.
+   */
+  public void setClusterCellSize(int clusterCellSize)
+  {
+    iconLayer.setClusterCellSize(clusterCellSize);
+  }
+
+  /**
+   * Gets the size of the square screen cells that icons are clustered in.
+   * @return The width and height of a cell, in pixels.
+   */
+  public int getClusterCellSize()
+  {
+    return iconLayer.getClusterCellSize();
+  }
+
+  /**
+   * Sets the most icons that are drawn in a single frame, which bounds the time the layer takes to render.  When
+   * more icons than this are in view, the nearest are drawn.
+   * @param iconBudget The most icons drawn per frame, or 0 to draw every icon in view.  May not be negative.
+   */
+  public void setIconBudget(int iconBudget)
+  {
+    iconLayer.setIconBudget(iconBudget);
+  }
+
+  /**
+   * Gets the most icons that are drawn in a single frame.
+   * @return The most icons drawn per frame, or 0 if every icon in view is drawn.
+   */
+  public int getIconBudget()
+  {
+    return iconLayer.getIconBudget();
+  }
+
+  /**
+   * Sets whether icons are cached in an offscreen raster while the view is still and no items have changed.  This
+   * pays off for layers whose items rarely change, such as landmarks.
+   * @param rasterCaching true to cache the icons in a raster, false to draw them every frame.
+   */
+  public void setRasterCaching(boolean rasterCaching)
+  {
+    iconLayer.setRasterCaching(rasterCaching);
+  }
+
+  /**
+   * Checks whether icons are cached in an offscreen raster while the view is still and no items have changed.
+   * @return true if the icons are cached in a raster, false if they are drawn every frame.
+   */
+  public boolean isRasterCaching()
+  {
+    return iconLayer.isRasterCaching();
+  }
+
+  /**
+   * Sets whether icons take part in Worldwind's picking pass.  When this is off, most icons can only be picked with
+   * pickItem(Point) and pickItems(Rectangle).
+   * @param picked true to pick icons in the picking pass, false to leave them to the screen-space pick methods.
+   */
+  public void setIconPickPassEnabled(boolean picked)
+  {
+    iconLayer.setBatchPicking(picked);
+  }
+
+  /**
+   * Checks whether icons take part in Worldwind's picking pass.
+   * @return true if icons are picked in the picking pass, false otherwise.
+   */
+  public boolean isIconPickPassEnabled()
+  {
+    return iconLayer.isBatchPicking();
+  }
+
+  /**
+   * Picks the topmost item at a point, using the icon positions of the last rendered frame rather than a picking
+   * pass.
+   * @param point The point to pick, in AWT coordinates relative to the viewport.
+   * @return The topmost item at the point, or null if there is none.
+   */
+  public P pickItem(Point point)
+  {
+    P item = null;
+    WWIcon icon = iconLayer.pickIcon(point);
+    if (icon != null)
+    {
+      item = getItem(icon);
+    }
+    return item;
+  }
+
+  /**
+   * Picks every item whose icon intersects a box, using the icon positions of the last rendered frame rather than a
+   * picking pass.
+   * @param box The box to pick, in AWT coordinates relative to the viewport.
+   * @return The items whose icons intersect the box.
+   */
+  public List<P> pickItems(Rectangle box)
+  {
+    List<P> items = new ArrayList<P>();
+    for (WWIcon icon : iconLayer.pickIcons(box))
+    {
+      P item = getItem(icon);
+      if (item != null)
+      {
+        items.add(item);
+      }
+    }
+    return items;
+  }
+
   @Override
   public void preRender(DrawContext dc)
   {
@@ -152,14 +409,20 @@ public class ItemIconLayer<P extends Positioned, SEL_TYPE> extends AbstractItemL
     iconLayer.render(dc);
   }
   
+  private class ImagePackListener implements PropertyChangeListener
+  {
+    public void propertyChange(PropertyChangeEvent evt)
+    {
+      updateAllRepresentations();
+    }
+  }
+
   private class IconSelectionHelper implements IconSelectionModel
   {
 
     public Object getSelectionType(WWIcon icon)
     {
-      P item = getItem(icon);
-      Object selectionType = ItemIconLayer.this.getDisplaySelectionType(item);
-      return selectionType;
+      return iconLayer.getAppliedSelectionType(icon);
     }
   }
 }
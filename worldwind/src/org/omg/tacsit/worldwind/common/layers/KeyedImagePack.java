@@ -5,8 +5,11 @@
 package org.omg.tacsit.worldwind.common.layers;
 
 import java.awt.Image;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import javax.swing.Icon;
 
 /**
@@ -14,6 +17,9 @@ import javax.swing.Icon;
  * <p>
  * The image pack will always return a valid image source.  If an explicit mapping is not provided, a "missing"
  * image will be returned.
+ * <p>
+ * Image paths are returned as they were set, rather than as decoded images.  Textures are keyed on the image source,
+ * so a path stays the same key for as long as it is used, however often its decoded image is evicted and read again.
  * @param <K> The key type that is used for defining images.
  * @author Matthew Child
  */
@@ -49,6 +55,13 @@ public class KeyedImagePack<K> implements ImagePack<K>
     return imageSource;
   }
 
+  public Collection<?> getImageSources()
+  {
+    Set<Object> imageSources = new LinkedHashSet<Object>(identifierToImageSource.values());
+    imageSources.add(missingImageSource);
+    return imageSources;
+  }
+
   private void doSetImageSource(K key, Object imageSource)
   {
     identifierToImageSource.put(key, imageSource);
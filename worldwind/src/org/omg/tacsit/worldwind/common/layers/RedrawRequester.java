@@ -0,0 +1,18 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.layers;
+
+/**
+ * An object which redraws a display on request.  Implementations are free to coalesce several requests into a single
+ * redraw, so a request only guarantees that a redraw will happen at some point after the request is made.
+ * @author Matthew Child
+ */
+public interface RedrawRequester
+{
+  /**
+   * Requests that the display be redrawn.  This may be called from any thread.
+   */
+  public void requestRedraw();
+}
@@ -0,0 +1,304 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.layers;
+
+import gov.nasa.worldwind.View;
+import gov.nasa.worldwind.geom.Matrix;
+import gov.nasa.worldwind.render.DrawContext;
+import java.awt.Rectangle;
+import java.nio.Buffer;
+import javax.media.opengl.GL;
+import javax.media.opengl.GLContext;
+import org.omg.tacsit.common.util.ObjectUtils;
+import org.omg.tacsit.worldwind.common.util.GLUtils;
+
+/**
+ * An offscreen texture that holds what a layer drew in screen space, so it can be composited again on later frames
+ * instead of being drawn from scratch.
+ * <p>
+ * The layer captures its drawing into the raster with beginCapture and endCapture, and draws the raster in its place.
+ * On later frames, the raster can be drawn alone for as long as it is valid: until the layer invalidates it, or the
+ * view moves.  The raster is only worth capturing while the view is still, so the cache also tracks whether the view
+ * has moved since the previous frame.
+ * <p>
+ * Capturing needs framebuffer objects.  If they aren't available, beginCapture fails, and the layer should draw
+ * directly.  The framebuffer and its texture are deleted by dispose, or when the GL context changes.
+ * @author Matthew Child
+ */
+class ScreenRasterCache
+{
+  private static final String FRAMEBUFFER_EXTENSION = "GL_EXT_framebuffer_object";
+
+  private ViewState lastViewState;
+  private ViewState rasterViewState;
+  private boolean valid;
+
+  private GLContext rasterContext;
+  private boolean unsupported;
+  private int framebufferId;
+  private int textureId;
+  private int textureWidth;
+  private int textureHeight;
+  private int previousFramebufferId;
+
+  /**
+   * Creates a new instance with no raster.
+   */
+  ScreenRasterCache()
+  {
+  }
+
+  /**
+   * Discards the raster, so that the next frame draws the layer from scratch.
+   */
+  void invalidate()
+  {
+    valid = false;
+  }
+
+  /**
+   * Records the view of the current frame, and checks whether it is the same as the view of the previous frame.  This
+   * should be called once per frame.
+   * @param dc The draw context of the current frame.
+   * @return true if the view hasn't moved since the previous frame, false otherwise.
+   */
+  boolean updateView(DrawContext dc)
+  {
+    ViewState viewState = new ViewState(dc.getView());
+    boolean viewStill = viewState.equals(lastViewState);
+    lastViewState = viewState;
+    if (!viewStill)
+    {
+      valid = false;
+    }
+    return viewStill;
+  }
+
+  /**
+   * Checks whether the raster holds what the layer would draw in the current frame.
+   * @param dc The draw context of the current frame.
+   * @return true if the raster can be drawn in place of the layer, false if the layer must be drawn.
+   */
+  boolean isValid(DrawContext dc)
+  {
+    return valid && dc.getGLContext() == rasterContext && rasterViewState.equals(lastViewState);
+  }
+
+  /**
+   * Starts capturing drawing into the raster.  Until endCapture is called, drawing goes to the raster instead of the
+   * screen.
+   * @param dc The draw context of the current frame.
+   * @return true if capture has started, or false if the raster can't be captured, in which case endCapture must not
+   * be called.
+   */
+  boolean beginCapture(DrawContext dc)
+  {
+    boolean capturing = false;
+    GL gl = dc.getGL();
+    Rectangle viewport = dc.getView().getViewport();
+    if (!unsupported && viewport.width > 0 && viewport.height > 0 && prepareFramebuffer(dc, viewport))
+    {
+      gl.glPushAttrib(GL.GL_COLOR_BUFFER_BIT | GL.GL_VIEWPORT_BIT | GL.GL_ENABLE_BIT | GL.GL_SCISSOR_BIT);
+      gl.glViewport(0, 0, viewport.width, viewport.height);
+      gl.glDisable(GL.GL_SCISSOR_TEST);
+      gl.glClearColor(0f, 0f, 0f, 0f);
+      gl.glClear(GL.GL_COLOR_BUFFER_BIT);
+      capturing = true;
+    }
+    return capturing;
+  }
+
+  /**
+   * Stops capturing drawing into the raster, and keeps the raster for the current view.
+   * @param dc The draw context of the current frame.
+   */
+  void endCapture(DrawContext dc)
+  {
+    GL gl = dc.getGL();
+    gl.glPopAttrib();
+    gl.glBindFramebufferEXT(GL.GL_FRAMEBUFFER_EXT, previousFramebufferId);
+    rasterViewState = lastViewState;
+    valid = true;
+  }
+
+  private boolean prepareFramebuffer(DrawContext dc, Rectangle viewport)
+  {
+    GL gl = dc.getGL();
+    GLContext context = dc.getGLContext();
+    if (context != rasterContext)
+    {
+      deleteFramebuffer();
+      if (!gl.isExtensionAvailable(FRAMEBUFFER_EXTENSION))
+      {
+        unsupported = true;
+        return false;
+      }
+      int[] ids = new int[1];
+      gl.glGenFramebuffersEXT(1, ids, 0);
+      framebufferId = ids[0];
+      gl.glGenTextures(1, ids, 0);
+      textureId = ids[0];
+      textureWidth = 0;
+      textureHeight = 0;
+      rasterContext = context;
+      valid = false;
+    }
+
+    int[] binding = new int[1];
+    gl.glGetIntegerv(GL.GL_FRAMEBUFFER_BINDING_EXT, binding, 0);
+    previousFramebufferId = binding[0];
+    gl.glBindFramebufferEXT(GL.GL_FRAMEBUFFER_EXT, framebufferId);
+    if (viewport.width > textureWidth || viewport.height > textureHeight)
+    {
+      resizeTexture(gl, viewport);
+    }
+    boolean complete = gl.glCheckFramebufferStatusEXT(GL.GL_FRAMEBUFFER_EXT) == GL.GL_FRAMEBUFFER_COMPLETE_EXT;
+    if (!complete)
+    {
+      gl.glBindFramebufferEXT(GL.GL_FRAMEBUFFER_EXT, previousFramebufferId);
+      unsupported = true;
+    }
+    return complete;
+  }
+
+  /**
+   * Deletes the framebuffer and texture of the raster, and discards the raster.  The cache may still be used
+   * afterwards, and will create a new framebuffer when it next captures.
+   */
+  void dispose()
+  {
+    deleteFramebuffer();
+    valid = false;
+  }
+
+  private void deleteFramebuffer()
+  {
+    if (rasterContext != null)
+    {
+      final int[] framebufferIds = {framebufferId};
+      final int[] textureIds = {textureId};
+      GLUtils.runInContext(rasterContext, new GLUtils.ContextTask()
+      {
+        public void run(GL gl)
+        {
+          gl.glDeleteFramebuffersEXT(1, framebufferIds, 0);
+          gl.glDeleteTextures(1, textureIds, 0);
+        }
+      });
+      rasterContext = null;
+    }
+  }
+
+  private void resizeTexture(GL gl, Rectangle viewport)
+  {
+    // Power of two sizes work without the non-power-of-two texture extension.
+    textureWidth = toPowerOfTwo(viewport.width);
+    textureHeight = toPowerOfTwo(viewport.height);
+    gl.glBindTexture(GL.GL_TEXTURE_2D, textureId);
+    gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MIN_FILTER, GL.GL_NEAREST);
+    gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_MAG_FILTER, GL.GL_NEAREST);
+    gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_S, GL.GL_CLAMP_TO_EDGE);
+    gl.glTexParameteri(GL.GL_TEXTURE_2D, GL.GL_TEXTURE_WRAP_T, GL.GL_CLAMP_TO_EDGE);
+    gl.glTexImage2D(GL.GL_TEXTURE_2D, 0, GL.GL_RGBA, textureWidth, textureHeight, 0, GL.GL_RGBA, GL.GL_UNSIGNED_BYTE,
+                    (Buffer) null);
+    gl.glBindTexture(GL.GL_TEXTURE_2D, 0);
+    gl.glFramebufferTexture2DEXT(GL.GL_FRAMEBUFFER_EXT, GL.GL_COLOR_ATTACHMENT0_EXT, GL.GL_TEXTURE_2D, textureId, 0);
+  }
+
+  private static int toPowerOfTwo(int size)
+  {
+    int powerOfTwo = 1;
+    while (powerOfTwo < size)
+    {
+      powerOfTwo <<= 1;
+    }
+    return powerOfTwo;
+  }
+
+  /**
+   * Draws the raster over the viewport.
+   * @param dc The draw context of the current frame.
+   */
+  void draw(DrawContext dc)
+  {
+    GL gl = dc.getGL();
+    Rectangle viewport = dc.getView().getViewport();
+    float maxS = (float) viewport.width / textureWidth;
+    float maxT = (float) viewport.height / textureHeight;
+
+    gl.glPushAttrib(GL.GL_ENABLE_BIT | GL.GL_CURRENT_BIT | GL.GL_COLOR_BUFFER_BIT | GL.GL_DEPTH_BUFFER_BIT |
+                    GL.GL_TEXTURE_BIT | GL.GL_TRANSFORM_BIT);
+    gl.glMatrixMode(GL.GL_PROJECTION);
+    gl.glPushMatrix();
+    gl.glLoadIdentity();
+    gl.glOrtho(viewport.x, viewport.x + viewport.width, viewport.y, viewport.y + viewport.height, -1, 1);
+    gl.glMatrixMode(GL.GL_MODELVIEW);
+    gl.glPushMatrix();
+    gl.glLoadIdentity();
+    try
+    {
+      gl.glDisable(GL.GL_DEPTH_TEST);
+      gl.glEnable(GL.GL_TEXTURE_2D);
+      gl.glBindTexture(GL.GL_TEXTURE_2D, textureId);
+      gl.glTexEnvi(GL.GL_TEXTURE_ENV, GL.GL_TEXTURE_ENV_MODE, GL.GL_REPLACE);
+      // The raster's colors were blended into transparent black, so they are already multiplied by their alpha.
+      gl.glEnable(GL.GL_BLEND);
+      gl.glBlendFunc(GL.GL_ONE, GL.GL_ONE_MINUS_SRC_ALPHA);
+      gl.glBegin(GL.GL_QUADS);
+      gl.glTexCoord2f(0f, 0f);
+      gl.glVertex2i(viewport.x, viewport.y);
+      gl.glTexCoord2f(maxS, 0f);
+      gl.glVertex2i(viewport.x + viewport.width, viewport.y);
+      gl.glTexCoord2f(maxS, maxT);
+      gl.glVertex2i(viewport.x + viewport.width, viewport.y + viewport.height);
+      gl.glTexCoord2f(0f, maxT);
+      gl.glVertex2i(viewport.x, viewport.y + viewport.height);
+      gl.glEnd();
+    }
+    finally
+    {
+      gl.glMatrixMode(GL.GL_PROJECTION);
+      gl.glPopMatrix();
+      gl.glMatrixMode(GL.GL_MODELVIEW);
+      gl.glPopMatrix();
+      gl.glPopAttrib();
+    }
+  }
+
+  /**
+   * The parts of a view that decide where things are drawn on the screen.
+   */
+  private static class ViewState
+  {
+    private Rectangle viewport;
+    private Matrix modelview;
+    private Matrix projection;
+
+    public ViewState(View view)
+    {
+      this.viewport = view.getViewport();
+      this.modelview = view.getModelviewMatrix();
+      this.projection = view.getProjectionMatrix();
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+      if (!(obj instanceof ViewState))
+      {
+        return false;
+      }
+      ViewState other = (ViewState) obj;
+      return ObjectUtils.areEqual(viewport, other.viewport) && ObjectUtils.areEqual(modelview, other.modelview)
+             && ObjectUtils.areEqual(projection, other.projection);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return (viewport != null) ? viewport.hashCode() : 0;
+    }
+  }
+}
@@ -5,6 +5,7 @@
 package org.omg.tacsit.worldwind.common.layers;
 
 import com.sun.opengl.util.texture.TextureCoords;
+import gov.nasa.worldwind.geom.Sector;
 import gov.nasa.worldwind.geom.Vec4;
 import gov.nasa.worldwind.layers.IconLayer;
 import gov.nasa.worldwind.render.DrawContext;
@@ -13,13 +14,43 @@ import gov.nasa.worldwind.render.WWIcon;
 import gov.nasa.worldwind.util.Logging;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Point;
 import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.media.opengl.GL;
+import org.omg.tacsit.common.util.ObjectUtils;
+import org.omg.tacsit.worldwind.common.util.LocationGridIndex;
 
 /**
  * A layer that renders icons with selection state shown as boxes around the icons.
+ * <p>
+ * The layer keeps its icons in a spatial index, and only passes the icons inside the visible sector to the icon
+ * renderer, so the cost of a frame depends on the number of icons on screen.  When an icon moves, the layer must be
+ * told with updateIconLocation(WWIcon) so that the index follows it.
+ * <p>
+ * By default the visible icons are drawn and picked in batches by a BatchedIconRenderer.  Icons it can't batch are
+ * drawn one at a time by the layer's icon renderer.  The batch doesn't draw pedestals, so while the layer has a
+ * pedestal, every icon is drawn by the icon renderer.
+ * <p>
+ * Icons may also be changed through the layer's state buffer, which lets another thread stage changes to icons
+ * while the layer renders.  Published batches of staged changes are applied at the start of the next frame, on the
+ * render thread.  Icons may be shared with other layers through a SharedIconStore; when one layer moves a shared
+ * icon, the other layers sharing the store are told, and move the icon in their own indexes at the start of their
+ * next frame.
+ * <p>
+ * Layers whose icons rarely change can turn on raster caching.  While the view is still and no icons have changed,
+ * the batched icons are drawn once into an offscreen raster, and the raster is composited on the following frames
+ * in place of drawing the icons.  Any change made through the layer, or any movement of the view, discards the raster.
+ * The raster has no depth buffer, so it is only used while the eye is too high for terrain to hide icons.
+ * Changes the layer can't see, such as a selection model changing on its own, must be followed by a call to
+ * invalidateRaster().
  * @param <SEL_TYPE> The type of selections this layer can render.
  * @author Matthew Child
  */
@@ -27,6 +58,20 @@ public class SelectableIconLayer<SEL_TYPE> extends IconLayer
 {
 
   private SelectableIconRenderer selectedIconRenderer;
+  private LocationGridIndex<WWIcon> iconIndex;
+  private List<WWIcon> visibleIcons;
+  private List<WWIcon> unbatchedIcons;
+  private List<WWIcon> rendererIcons;
+  private BatchedIconRenderer batchedIconRenderer;
+  private boolean batchRendering;
+  private boolean batchPicking;
+  private IconStateBuffer stateBuffer;
+  private Map<WWIcon, Object> appliedSelectionTypes;
+  private long appliedFrameTimeStamp;
+  private ScreenRasterCache rasterCache;
+  private boolean rasterCaching;
+  private SharedIconStore<?> sharedIconStore;
+  private Set<WWIcon> movedSharedIcons;
 
   /**
    * Creates a new instance.
@@ -35,6 +80,546 @@ public class SelectableIconLayer<SEL_TYPE> extends IconLayer
   {
     this.selectedIconRenderer = new SelectableIconRenderer();
     this.iconRenderer = selectedIconRenderer;
+    this.iconIndex = new LocationGridIndex<WWIcon>();
+    this.visibleIcons = new ArrayList<WWIcon>();
+    this.unbatchedIcons = new ArrayList<WWIcon>();
+    this.rendererIcons = visibleIcons;
+    this.batchedIconRenderer = new BatchedIconRenderer(this);
+    this.batchRendering = true;
+    this.batchPicking = true;
+    this.stateBuffer = new IconStateBuffer();
+    this.appliedSelectionTypes = new HashMap();
+    this.rasterCache = new ScreenRasterCache();
+    this.movedSharedIcons = new HashSet<WWIcon>();
+    // The base class culls with an index built from the positions icons have when they are added, so icons
+    //  disappear once they move.  This layer culls with its own index instead, and renders from the visible icons.
+    super.setRegionCulling(false);
+    super.setIcons(new VisibleIcons());
+  }
+
+  @Override
+  public void addIcon(WWIcon icon)
+  {
+    if (icon == null)
+    {
+      throw new IllegalArgumentException("icon may not be null");
+    }
+    iconIndex.put(icon, icon.getPosition());
+    rasterCache.invalidate();
+  }
+
+  @Override
+  public void addIcons(Iterable<WWIcon> icons)
+  {
+    if (icons == null)
+    {
+      throw new IllegalArgumentException("icons may not be null");
+    }
+    for (WWIcon icon : icons)
+    {
+      addIcon(icon);
+    }
+  }
+
+  @Override
+  public void removeIcon(WWIcon icon)
+  {
+    iconIndex.remove(icon);
+    rasterCache.invalidate();
+  }
+
+  @Override
+  public void removeAllIcons()
+  {
+    iconIndex.clear();
+    visibleIcons.clear();
+    unbatchedIcons.clear();
+    rasterCache.invalidate();
+  }
+
+  @Override
+  public Iterable<WWIcon> getIcons()
+  {
+    return Collections.unmodifiableList(iconIndex.getItems(new ArrayList<WWIcon>()));
+  }
+
+  /**
+   * Replaces the icons of this layer with the icons of an iterable.  This layer keeps its icons in its own index, so
+   * the icons are copied into it; later changes to the iterable are not seen by the layer.
+   * @param iconIterable The icons to show, or null to remove every icon.
+   */
+  @Override
+  public void setIcons(Iterable<WWIcon> iconIterable)
+  {
+    removeAllIcons();
+    if (iconIterable != null)
+    {
+      addIcons(iconIterable);
+    }
+  }
+
+  /**
+   * Updates the spatial index after an icon's position has changed.
+   * @param icon The icon that has moved.  If the icon is not in this layer, nothing happens.
+   */
+  public void updateIconLocation(WWIcon icon)
+  {
+    if (iconIndex.contains(icon))
+    {
+      iconIndex.put(icon, icon.getPosition());
+      rasterCache.invalidate();
+    }
+  }
+
+  /**
+   * Gets the buffer that changes to icons are staged in.  The layer applies the changes when they are published.
+   * @return The layer's state buffer.
+   */
+  IconStateBuffer getStateBuffer()
+  {
+    return stateBuffer;
+  }
+
+  /**
+   * Sets the store that this layer's icons are shared through.  Other layers sharing the store are told when this
+   * layer moves one of its icons, and this layer is told when they do.
+   * @param sharedIconStore The store the icons are shared through, or null if they are not shared.
+   */
+  void setSharedIconStore(SharedIconStore<?> sharedIconStore)
+  {
+    if (this.sharedIconStore != null)
+    {
+      this.sharedIconStore.removeSharingLayer(this);
+    }
+    this.sharedIconStore = sharedIconStore;
+    if (this.sharedIconStore != null)
+    {
+      this.sharedIconStore.addSharingLayer(this);
+    }
+  }
+
+  /**
+   * Notes that another layer has moved a shared icon.  This may be called from any thread; the icon is moved in this
+   * layer's index at the start of the next frame.
+   * @param icon The icon that has moved.
+   */
+  void sharedIconMoved(WWIcon icon)
+  {
+    synchronized (movedSharedIcons)
+    {
+      movedSharedIcons.add(icon);
+    }
+  }
+
+  /**
+   * Moves the icons that other layers have moved since the last frame in this layer's index.
+   */
+  private void applySharedIconMoves()
+  {
+    List<WWIcon> movedIcons;
+    synchronized (movedSharedIcons)
+    {
+      if (movedSharedIcons.isEmpty())
+      {
+        return;
+      }
+      movedIcons = new ArrayList<WWIcon>(movedSharedIcons);
+      movedSharedIcons.clear();
+    }
+    for (WWIcon icon : movedIcons)
+    {
+      updateIconLocation(icon);
+    }
+  }
+
+  /**
+   * Gets the selection type that the most recently applied staged changes set for an icon.
+   * @param icon The icon to get the selection type of.
+   * @return The selection type to display, or null if none has been staged for the icon.
+   */
+  Object getAppliedSelectionType(WWIcon icon)
+  {
+    return appliedSelectionTypes.get(icon);
+  }
+
+  /**
+   * Applies the latest published changes from the state buffer.  This is done at most once a frame, so that picking
+   * and rendering a frame see the same icons.
+   */
+  private void applyStagedChanges(DrawContext dc)
+  {
+    long frameTimeStamp = dc.getFrameTimeStamp();
+    if (frameTimeStamp == appliedFrameTimeStamp)
+    {
+      return;
+    }
+    appliedFrameTimeStamp = frameTimeStamp;
+
+    applySharedIconMoves();
+    IconStateBuffer.Buffer buffer = stateBuffer.takePublished();
+    if (buffer == null)
+    {
+      return;
+    }
+    rasterCache.invalidate();
+    if (buffer.cleared)
+    {
+      removeAllIcons();
+      appliedSelectionTypes.clear();
+    }
+    for (Map.Entry<WWIcon, IconStateBuffer.IconChange> entry : buffer.iconToChange.entrySet())
+    {
+      WWIcon icon = entry.getKey();
+      IconStateBuffer.IconChange change = entry.getValue();
+      if (change.removed)
+      {
+        removeIcon(icon);
+        appliedSelectionTypes.remove(icon);
+        continue;
+      }
+      if (change.positionChanged && change.position != null && !change.position.equals(icon.getPosition()))
+      {
+        icon.setPosition(change.position);
+        if (sharedIconStore != null)
+        {
+          sharedIconStore.iconMoved(icon, this);
+        }
+      }
+      // Setting the image source discards the icon's texture, so only do it when the image has actually changed.
+      if (change.imageChanged && !ObjectUtils.areEqual(change.imageSource, icon.getImageSource()))
+      {
+        icon.setImageSource(change.imageSource);
+      }
+      if (change.selectionChanged)
+      {
+        if (change.selectionType == null)
+        {
+          appliedSelectionTypes.remove(icon);
+        }
+        else
+        {
+          appliedSelectionTypes.put(icon, change.selectionType);
+        }
+      }
+      // Another layer sharing the icon may already have moved it, so the index is always brought up to date.
+      if (change.added)
+      {
+        addIcon(icon);
+      }
+      else
+      {
+        updateIconLocation(icon);
+      }
+    }
+  }
+
+  private void cullIcons(DrawContext dc)
+  {
+    visibleIcons.clear();
+    Sector visibleSector = dc.getVisibleSector();
+    if (visibleSector != null)
+    {
+      iconIndex.getItemsInSector(visibleSector, visibleIcons);
+    }
+    else
+    {
+      iconIndex.getItems(visibleIcons);
+    }
+  }
+
+  /**
+   * Sets whether icons are drawn in batches.
+   * @param batchRendering true to draw icons in batches from a texture atlas, or false to draw every icon one at a
+   * time with the layer's icon renderer.
+   */
+  public void setBatchRendering(boolean batchRendering)
+  {
+    this.batchRendering = batchRendering;
+    rasterCache.invalidate();
+  }
+
+  /**
+   * Checks whether icons are drawn in batches.
+   * @return true if icons are drawn in batches from a texture atlas, or false if every icon is drawn one at a time
+   * with the layer's icon renderer.
+   */
+  public boolean isBatchRendering()
+  {
+    return batchRendering;
+  }
+
+  /**
+   * Sets whether icons that are close together on screen are drawn as a single badge showing how many icons it
+   * stands for.  Clustering only applies to icons drawn in batches.  Picking a badge picks the nearest icon in its
+   * cluster.
+   * @param clustering true to cluster icons, false to draw every icon.
+   */
+  public void setClustering(boolean clustering)
+  {
+    batchedIconRenderer.setClustering(clustering);
+    rasterCache.invalidate();
+  }
+
+  /**
+   * Checks whether icons that are close together on screen are drawn as a single badge.
+   * @return true if icons are clustered, false if every icon is drawn.
+   */
+  public boolean isClustering()
+  {
+    return batchedIconRenderer.isClustering();
+  }
+
+  /**
+   * Sets the size of the square screen cells that icons are clustered in.  All of the icons in a cell form one
+   * cluster.
+   * @param clusterCellSize The width and height of a cell, in pixels.  Must be positive.
+   */
+  public void setClusterCellSize(int clusterCellSize)
+  {
+    batchedIconRenderer.setClusterCellSize(clusterCellSize);
+    rasterCache.invalidate();
+  }
+
+  /**
+   * Gets the size of the square screen cells that icons are clustered in.
+   * @return The width and height of a cell, in pixels.
+   */
+  public int getClusterCellSize()
+  {
+    return batchedIconRenderer.getClusterCellSize();
+  }
+
+  /**
+   * Sets the most batched icons that are drawn in a single frame.  When more icons than this are in view, the
+   * nearest are drawn.
+   * @param iconBudget The most icons drawn per frame, or 0 to draw every icon in view.  May not be negative.
+   */
+  public void setIconBudget(int iconBudget)
+  {
+    batchedIconRenderer.setIconBudget(iconBudget);
+    rasterCache.invalidate();
+  }
+
+  /**
+   * Gets the most batched icons that are drawn in a single frame.
+   * @return The most icons drawn per frame, or 0 if every icon in view is drawn.
+   */
+  public int getIconBudget()
+  {
+    return batchedIconRenderer.getIconBudget();
+  }
+
+  /**
+   * Sets whether batched icons are cached in an offscreen raster while the view is still and the icons are
+   * unchanged.  This pays off for layers whose icons rarely change, such as landmarks.
+   * @param rasterCaching true to cache the batched icons in a raster, false to draw them every frame.
+   */
+  public void setRasterCaching(boolean rasterCaching)
+  {
+    this.rasterCaching = rasterCaching;
+    rasterCache.invalidate();
+  }
+
+  /**
+   * Checks whether batched icons are cached in an offscreen raster while the view is still and the icons are
+   * unchanged.
+   * @return true if the batched icons are cached in a raster, false if they are drawn every frame.
+   */
+  public boolean isRasterCaching()
+  {
+    return rasterCaching;
+  }
+
+  /**
+   * Discards the cached raster of the layer's icons, so that they are drawn from scratch on the next frame.  This
+   * must be called after changing anything that affects how the icons are drawn without going through the layer,
+   * such as the state of its selection model.
+   */
+  public void invalidateRaster()
+  {
+    rasterCache.invalidate();
+  }
+
+  /**
+   * Sets whether icons drawn in batches take part in Worldwind's picking pass.  When this is off, those icons can
+   * only be picked with pickIcon(Point) and pickIcons(Rectangle); icons that are drawn individually still take part
+   * in the picking pass.
+   * @param batchPicking true to pick batched icons in the picking pass, false otherwise.
+   */
+  public void setBatchPicking(boolean batchPicking)
+  {
+    this.batchPicking = batchPicking;
+  }
+
+  /**
+   * Checks whether icons drawn in batches take part in Worldwind's picking pass.
+   * @return true if batched icons are picked in the picking pass, false otherwise.
+   */
+  public boolean isBatchPicking()
+  {
+    return batchPicking;
+  }
+
+  /**
+   * Checks whether icons are currently drawn in batches, which they are when batch rendering is on and the layer has
+   * no pedestal.
+   */
+  private boolean isBatching()
+  {
+    return batchRendering && getPedestal() == null;
+  }
+
+  @Override
+  protected void doPick(DrawContext dc, Point pickPoint)
+  {
+    applyStagedChanges(dc);
+    cullIcons(dc);
+    if (isBatching())
+    {
+      unbatchedIcons.clear();
+      if (batchPicking)
+      {
+        batchedIconRenderer.pick(dc, visibleIcons, pickPoint, this, unbatchedIcons);
+      }
+      else
+      {
+        batchedIconRenderer.findUnbatchedIcons(visibleIcons, unbatchedIcons);
+      }
+      rendererIcons = unbatchedIcons;
+    }
+    else
+    {
+      rendererIcons = visibleIcons;
+    }
+    if (!rendererIcons.isEmpty())
+    {
+      super.doPick(dc, pickPoint);
+    }
+  }
+
+  @Override
+  protected void doRender(DrawContext dc)
+  {
+    applyStagedChanges(dc);
+    boolean viewStill = rasterCache.updateView(dc);
+    if (isBatching())
+    {
+      boolean cacheRaster = rasterCaching && viewStill && !BatchedIconRenderer.isTerrainOccluding(dc);
+      if (cacheRaster && rasterCache.isValid(dc))
+      {
+        // Nothing has changed since the raster was drawn, so the icons that couldn't be batched are also the same.
+        rasterCache.draw(dc);
+      }
+      else
+      {
+        cullIcons(dc);
+        unbatchedIcons.clear();
+        renderBatch(dc, cacheRaster);
+      }
+      rendererIcons = unbatchedIcons;
+    }
+    else
+    {
+      cullIcons(dc);
+      rendererIcons = visibleIcons;
+    }
+    if (!rendererIcons.isEmpty())
+    {
+      super.doRender(dc);
+    }
+  }
+
+  private void renderBatch(DrawContext dc, boolean capture)
+  {
+    if (capture && rasterCache.beginCapture(dc))
+    {
+      try
+      {
+        batchedIconRenderer.render(dc, visibleIcons, unbatchedIcons);
+      }
+      finally
+      {
+        rasterCache.endCapture(dc);
+      }
+      rasterCache.draw(dc);
+    }
+    else
+    {
+      batchedIconRenderer.render(dc, visibleIcons, unbatchedIcons);
+    }
+  }
+
+  /**
+   * Deletes the textures the layer uses to draw its icons in batches, and its cached raster.
+   */
+  @Override
+  public void dispose()
+  {
+    setSharedIconStore(null);
+    batchedIconRenderer.dispose();
+    rasterCache.dispose();
+    super.dispose();
+  }
+
+  /**
+   * Picks the topmost icon at a point, using the icon positions of the last rendered frame rather than a picking
+   * pass.  Only icons drawn in batches can be picked this way.
+   * @param point The point to pick, in AWT coordinates relative to the viewport.
+   * @return The topmost icon at the point, or null if there is none.
+   */
+  public WWIcon pickIcon(Point point)
+  {
+    WWIcon icon = null;
+    if (isBatching())
+    {
+      icon = batchedIconRenderer.getPickGrid().pick(point);
+    }
+    return icon;
+  }
+
+  /**
+   * Picks every icon that intersects a box, using the icon positions of the last rendered frame rather than a
+   * picking pass.  Only icons drawn in batches can be picked this way.
+   * @param box The box to pick, in AWT coordinates relative to the viewport.
+   * @return The icons that intersect the box.
+   */
+  public List<WWIcon> pickIcons(Rectangle box)
+  {
+    List<WWIcon> icons = new ArrayList<WWIcon>();
+    if (isBatching())
+    {
+      batchedIconRenderer.getPickGrid().pick(box, icons);
+    }
+    return icons;
+  }
+
+  /**
+   * Gets the selection type to display for an icon.
+   * @param icon The icon to get the selection type of.
+   * @return The selection type to display, or null if the icon is not selected.
+   */
+  Object getSelectionType(WWIcon icon)
+  {
+    return selectedIconRenderer.getSelectionType(icon);
+  }
+
+  /**
+   * Gets the color to draw a selection type with, falling back to a default color if none has been set.
+   * @param selectionType The selection type to get the color of.
+   * @return The color to draw the selection type with.
+   */
+  Color getDisplaySelectionColor(Object selectionType)
+  {
+    return selectedIconRenderer.safelyGetSelectionColor(selectionType);
+  }
+
+  /**
+   * Gets the width of the outlines drawn around selected icons.
+   * @return The selection outline width, in pixels.
+   */
+  float getSelectionLineWidth()
+  {
+    return selectedIconRenderer.selectionLineWidth;
   }
 
   /**
@@ -44,6 +629,7 @@ public class SelectableIconLayer<SEL_TYPE> extends IconLayer
   public void setSelectionModel(IconSelectionModel selectionModel)
   {
     selectedIconRenderer.setSelectionModel(selectionModel);
+    rasterCache.invalidate();
   }
 
   /**
@@ -63,6 +649,7 @@ public class SelectableIconLayer<SEL_TYPE> extends IconLayer
   public void setSelectionColor(SEL_TYPE selectionType, Color selectionColor)
   {
     selectedIconRenderer.setSelectionColor(selectionType, selectionColor);
+    rasterCache.invalidate();
   }
 
   /**
@@ -75,6 +662,14 @@ public class SelectableIconLayer<SEL_TYPE> extends IconLayer
     return selectedIconRenderer.getSelectionColor(selectionType);
   }
 
+  private class VisibleIcons implements Iterable<WWIcon>
+  {
+    public Iterator<WWIcon> iterator()
+    {
+      return rendererIcons.iterator();
+    }
+  }
+
   private class SelectableIconRenderer extends IconRenderer
   {
 
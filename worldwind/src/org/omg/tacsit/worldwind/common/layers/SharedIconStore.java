@@ -0,0 +1,228 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.layers;
+
+import gov.nasa.worldwind.geom.Position;
+import gov.nasa.worldwind.render.UserFacingIcon;
+import gov.nasa.worldwind.render.WWIcon;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds the icons for positioned items, so that several ItemIconLayers, such as the layers of different viewports,
+ * can display the same item with a single icon.
+ * <p>
+ * Each layer acquires an item's icon when the item is added to it, and releases it when the item is removed.  The
+ * icon is created by the first acquire and discarded by the last release.  Once an icon is displayed, it is only
+ * changed on the render thread, by the layers that display it; the store never changes an icon it has handed out.
+ * <p>
+ * Icons only hold state that every layer shares: position and image.  Selection styling and culling stay with each
+ * layer.  Each layer culls with its own spatial index, so when one layer moves a shared icon, the store tells every
+ * other layer sharing it to move the icon in its index too, whether or not that layer has seen the change yet.  The store also owns the image pack, so all layers that share a store display items with the same images.
+ * @param <P> The type of positioned item.
+ * @author Matthew Child
+ */
+public class SharedIconStore<P extends Positioned>
+{
+  /**
+   * The property that's fired when the image pack changes.
+   */
+  public static final String IMAGE_PACK_PROPERTY = "imagePack";
+
+  private volatile ImagePack<P> imagePack;
+  private Map<P, Entry> itemToEntry;
+  private PropertyChangeSupport propertyChangeSupport;
+  private List<SelectableIconLayer<?>> sharingLayers;
+
+  /**
+   * Creates a new, empty instance.
+   */
+  public SharedIconStore()
+  {
+    this.imagePack = new KeyedImagePack<P>();
+    this.itemToEntry = new HashMap<P, Entry>();
+    this.propertyChangeSupport = new PropertyChangeSupport(this);
+    this.sharingLayers = new CopyOnWriteArrayList<SelectableIconLayer<?>>();
+    preloadImages(imagePack);
+  }
+
+  /**
+   * Gets the image pack used to get images to display for items.
+   * @return The image pack that picks images for items.
+   */
+  public ImagePack<P> getImagePack()
+  {
+    return imagePack;
+  }
+
+  /**
+   * Sets the image pack used to get images to display for items.  Listeners to the image pack property are expected
+   * to update the images of the icons they display.
+   * @param imagePack The image pack that picks images for items.
+   */
+  public void setImagePack(ImagePack<P> imagePack)
+  {
+    ImagePack<P> oldImagePack;
+    synchronized (this)
+    {
+      oldImagePack = this.imagePack;
+      this.imagePack = imagePack;
+    }
+    preloadImages(imagePack);
+    propertyChangeSupport.firePropertyChange(IMAGE_PACK_PROPERTY, oldImagePack, imagePack);
+  }
+
+  /**
+   * Starts decoding an image pack's images in the background, so the first icons to show them don't wait on the
+   * decoding.
+   */
+  private static void preloadImages(ImagePack<?> imagePack)
+  {
+    if (imagePack != null)
+    {
+      IconImageCache.getSharedCache().preload(imagePack.getImageSources());
+    }
+  }
+
+  /**
+   * Gets the number of items that have icons in the store.
+   * @return The number of icons held by the store.
+   */
+  public synchronized int size()
+  {
+    return itemToEntry.size();
+  }
+
+  /**
+   * Gets the icon for an item, creating it if no layer holds the item yet.  Every acquire must be matched by a
+   * release.
+   * @param item The item to get the icon for. May not be null.
+   * @return The item's icon.
+   */
+  public synchronized WWIcon acquire(P item)
+  {
+    if (item == null)
+    {
+      throw new IllegalArgumentException("item may not be null");
+    }
+    Entry entry = itemToEntry.get(item);
+    if (entry == null)
+    {
+      Position position = item.getPosition();
+      if (position == null)
+      {
+        position = Position.ZERO;
+      }
+      entry = new Entry(new UserFacingIcon(getImageSource(item), position));
+      itemToEntry.put(item, entry);
+    }
+    entry.referenceCount++;
+    return entry.icon;
+  }
+
+  /**
+   * Releases a layer's hold on an item's icon.  The icon is discarded when no layer holds it.
+   * @param item The item to release the icon of.
+   */
+  public synchronized void release(P item)
+  {
+    Entry entry = itemToEntry.get(item);
+    if (entry != null)
+    {
+      entry.referenceCount--;
+      if (entry.referenceCount <= 0)
+      {
+        itemToEntry.remove(item);
+      }
+    }
+  }
+
+  /**
+   * Adds a layer that displays icons from this store, so that it is told when another layer moves one of them.
+   * @param layer The layer that shares the store's icons.
+   */
+  void addSharingLayer(SelectableIconLayer<?> layer)
+  {
+    sharingLayers.add(layer);
+  }
+
+  /**
+   * Removes a layer that no longer displays icons from this store.
+   * @param layer The layer that no longer shares the store's icons.
+   */
+  void removeSharingLayer(SelectableIconLayer<?> layer)
+  {
+    sharingLayers.remove(layer);
+  }
+
+  /**
+   * Tells every other layer sharing this store that one of its icons has moved, so that their spatial indexes follow
+   * it.  This is called on the render thread of the layer that moved the icon.
+   * @param icon The icon that has moved.
+   * @param movingLayer The layer that moved the icon.
+   */
+  void iconMoved(WWIcon icon, SelectableIconLayer<?> movingLayer)
+  {
+    for (SelectableIconLayer<?> layer : sharingLayers)
+    {
+      if (layer != movingLayer)
+      {
+        layer.sharedIconMoved(icon);
+      }
+    }
+  }
+
+  /**
+   * Gets the image that the image pack picks for an item.  This may be called from several threads at once, as
+   * long as the image pack isn't being changed.
+   * @param item The item to get the image of.
+   * @return The item's image source, or null if there is no image pack.
+   */
+  public Object getImageSource(P item)
+  {
+    Object imageSource = null;
+    ImagePack<P> currentImagePack = this.imagePack;
+    if (currentImagePack != null)
+    {
+      imageSource = currentImagePack.getImageSource(item);
+    }
+    return imageSource;
+  }
+
+  /**
+   * Adds a listener that is notified when a property of the store changes.
+   * @param propertyName The property to listen to.
+   * @param listener The listener to add.
+   */
+  public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
+  {
+    propertyChangeSupport.addPropertyChangeListener(propertyName, listener);
+  }
+
+  /**
+   * Removes a listener that is notified when a property of the store changes.
+   * @param propertyName The property that was listened to.
+   * @param listener The listener to remove.
+   */
+  public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
+  {
+    propertyChangeSupport.removePropertyChangeListener(propertyName, listener);
+  }
+
+  private static class Entry
+  {
+    private WWIcon icon;
+    private int referenceCount;
+
+    public Entry(WWIcon icon)
+    {
+      this.icon = icon;
+    }
+  }
+}
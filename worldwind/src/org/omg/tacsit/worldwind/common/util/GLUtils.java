@@ -0,0 +1,88 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.util;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.media.opengl.GL;
+import javax.media.opengl.GLContext;
+import javax.media.opengl.GLException;
+
+/**
+ * A collection of utility functions for working with OpenGL contexts outside of rendering.
+ * @author Matthew Child
+ */
+public abstract class GLUtils
+{
+  /**
+   * Work that needs a GL context to be current, such as deleting textures.
+   */
+  public interface ContextTask
+  {
+    /**
+     * Does the work.
+     * @param gl The GL of the context, which is current on the calling thread.
+     */
+    public void run(GL gl);
+  }
+
+  /**
+   * Runs a task with a context current on the calling thread.  If the context isn't already current, it is made
+   * current for the task, and the context that was current before is restored afterwards.
+   * @param context The context to run the task in. May not be null.
+   * @param task The task to run. May not be null.
+   * @return true if the task was run, false if the context could not be made current, such as after it has been
+   * destroyed.
+   */
+  public static boolean runInContext(GLContext context, ContextTask task)
+  {
+    if (context == null)
+    {
+      throw new IllegalArgumentException("context may not be null");
+    }
+    if (task == null)
+    {
+      throw new IllegalArgumentException("task may not be null");
+    }
+
+    boolean ran = false;
+    GLContext previousContext = GLContext.getCurrent();
+    if (previousContext == context)
+    {
+      task.run(context.getGL());
+      ran = true;
+    }
+    else
+    {
+      try
+      {
+        if (context.makeCurrent() != GLContext.CONTEXT_NOT_CURRENT)
+        {
+          try
+          {
+            task.run(context.getGL());
+            ran = true;
+          }
+          finally
+          {
+            context.release();
+          }
+        }
+      }
+      catch (GLException e)
+      {
+        Logger.getLogger(GLUtils.class.getName()).log(Level.FINE, "Unable to make a GL context current", e);
+      }
+      finally
+      {
+        if (previousContext != null)
+        {
+          previousContext.makeCurrent();
+        }
+      }
+    }
+    return ran;
+  }
+}
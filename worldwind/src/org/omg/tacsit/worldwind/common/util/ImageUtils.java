@@ -7,6 +7,12 @@ package org.omg.tacsit.worldwind.common.util;
 import java.awt.Graphics;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
 import javax.swing.Icon;
 
 /**
@@ -53,4 +59,44 @@ public abstract class ImageUtils
     icon.paintIcon(null, imageGraphics, 0, 0);
     return bufferedImage;
   }
+
+  /**
+   * Reads the image named by an icon image source.
+   * @param imageSource The image source.  This may be a BufferedImage, which is returned as it is, a URL, or a String
+   * naming a classpath resource or file.
+   * @return The image, or null if the image source can't be read.
+   */
+  public static BufferedImage readImage(Object imageSource)
+  {
+    BufferedImage image = null;
+    try
+    {
+      if (imageSource instanceof BufferedImage)
+      {
+        image = (BufferedImage) imageSource;
+      }
+      else if (imageSource instanceof URL)
+      {
+        image = ImageIO.read((URL) imageSource);
+      }
+      else if (imageSource instanceof String)
+      {
+        String imagePath = (String) imageSource;
+        URL imageResource = ImageUtils.class.getResource(imagePath);
+        if (imageResource != null)
+        {
+          image = ImageIO.read(imageResource);
+        }
+        else
+        {
+          image = ImageIO.read(new File(imagePath));
+        }
+      }
+    }
+    catch (IOException ex)
+    {
+      Logger.getLogger(ImageUtils.class.getName()).log(Level.FINE, "Unable to read image " + imageSource, ex);
+    }
+    return image;
+  }
 }
@@ -0,0 +1,69 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.util;
+
+import gov.nasa.worldwind.geom.LatLon;
+import gov.nasa.worldwind.geom.Sector;
+import java.util.Collection;
+import org.omg.tacsit.common.util.LatLonGridIndex;
+
+/**
+ * A spatial index of items at locations on the globe, which takes WorldWind locations and sectors.
+ * <p>
+ * LocationGridIndex is not thread-safe.  An index that is changed on one thread and queried on another must be
+ * guarded by the caller.
+ * @param <T> The type of item in the index.
+ * @author Matthew Child
+ * @see LatLonGridIndex
+ */
+public class LocationGridIndex<T> extends LatLonGridIndex<T>
+{
+  /**
+   * Creates a new instance with the default cell size.
+   */
+  public LocationGridIndex()
+  {
+    super();
+  }
+
+  /**
+   * Creates a new instance.
+   * @param cellSize The size of each grid cell, in degrees.  Must be positive, and no more than 180 degrees.
+   */
+  public LocationGridIndex(double cellSize)
+  {
+    super(cellSize);
+  }
+
+  /**
+   * Puts an item in the index at a location.  If the item is already in the index, it is moved to the new location.
+   * @param item The item to put in the index. May not be null.
+   * @param location The location of the item. May not be null.
+   */
+  public void put(T item, LatLon location)
+  {
+    if (location == null)
+    {
+      throw new IllegalArgumentException("location may not be null");
+    }
+    put(item, location.getLatitude().degrees, location.getLongitude().degrees);
+  }
+
+  /**
+   * Gets the items whose locations are inside a sector.
+   * @param sector The sector to find items in. May not be null.
+   * @param result The collection to add the items to.
+   * @return The result collection.
+   */
+  public <C extends Collection<? super T>> C getItemsInSector(Sector sector, C result)
+  {
+    if (sector == null)
+    {
+      throw new IllegalArgumentException("sector may not be null");
+    }
+    return getItemsInRegion(sector.getMinLatitude().degrees, sector.getMaxLatitude().degrees,
+                            sector.getMinLongitude().degrees, sector.getMaxLongitude().degrees, result);
+  }
+}
@@ -0,0 +1,282 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.util;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Collection;
+
+/**
+ * A screen-space index of rectangles drawn in a frame, which answers picks on the CPU instead of by rendering a
+ * picking pass.
+ * <p>
+ * The screen is divided into square cells, and each rectangle is recorded in every cell it covers.  Rectangles are
+ * added in drawing order, so when rectangles overlap, the one added last is considered to be on top.  Coordinates
+ * are AWT screen coordinates, with y increasing downwards.
+ * @param <T> The type of item that each rectangle represents.
+ * @author Matthew Child
+ */
+public class ScreenPickGrid<T>
+{
+  /**
+   * The size of the grid cells used when none is specified, in pixels.
+   */
+  public static final int DEFAULT_CELL_SIZE = 64;
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int INITIAL_CELL_CAPACITY = 8;
+
+  private int cellSize;
+  private int width;
+  private int height;
+  private int columnCount;
+  private int rowCount;
+
+  private int count;
+  private Object[] items;
+  private float[] minX;
+  private float[] minY;
+  private float[] maxX;
+  private float[] maxY;
+  private int[] queryStamps;
+  private int queryStamp;
+
+  private int[][] cellEntries;
+  private int[] cellCounts;
+
+  /**
+   * Creates a new, empty instance with the default cell size.
+   */
+  public ScreenPickGrid()
+  {
+    this(DEFAULT_CELL_SIZE);
+  }
+
+  /**
+   * Creates a new, empty instance.
+   * @param cellSize The size of each grid cell, in pixels.  Must be positive.
+   */
+  public ScreenPickGrid(int cellSize)
+  {
+    if (cellSize <= 0)
+    {
+      throw new IllegalArgumentException("cellSize must be positive");
+    }
+    this.cellSize = cellSize;
+    this.items = new Object[INITIAL_CAPACITY];
+    this.minX = new float[INITIAL_CAPACITY];
+    this.minY = new float[INITIAL_CAPACITY];
+    this.maxX = new float[INITIAL_CAPACITY];
+    this.maxY = new float[INITIAL_CAPACITY];
+    this.queryStamps = new int[INITIAL_CAPACITY];
+    this.cellEntries = new int[0][];
+    this.cellCounts = new int[0];
+  }
+
+  /**
+   * Removes every rectangle from the grid, and sizes it for a new frame.
+   * @param width The width of the screen, in pixels.
+   * @param height The height of the screen, in pixels.
+   */
+  public void reset(int width, int height)
+  {
+    Object[] oldItems = items;
+    for (int i = 0; i < count; i++)
+    {
+      oldItems[i] = null;
+    }
+    count = 0;
+
+    this.width = Math.max(0, width);
+    this.height = Math.max(0, height);
+    int newColumnCount = (this.width + cellSize - 1) / cellSize;
+    int newRowCount = (this.height + cellSize - 1) / cellSize;
+    int cellCount = newColumnCount * newRowCount;
+    if (cellCount != cellCounts.length)
+    {
+      cellEntries = new int[cellCount][];
+      cellCounts = new int[cellCount];
+    }
+    else
+    {
+      for (int i = 0; i < cellCount; i++)
+      {
+        cellCounts[i] = 0;
+      }
+    }
+    columnCount = newColumnCount;
+    rowCount = newRowCount;
+  }
+
+  /**
+   * Gets the number of rectangles in the grid.
+   * @return The number of rectangles.
+   */
+  public int size()
+  {
+    return count;
+  }
+
+  /**
+   * Adds the rectangle of an item to the grid.  Rectangles that are entirely off screen are ignored.
+   * @param item The item that the rectangle represents.
+   * @param left The left edge of the rectangle.
+   * @param top The top edge of the rectangle.
+   * @param right The right edge of the rectangle.
+   * @param bottom The bottom edge of the rectangle.
+   */
+  public void add(T item, float left, float top, float right, float bottom)
+  {
+    if (right < 0 || bottom < 0 || left > width || top > height)
+    {
+      return;
+    }
+    int minColumn = Math.max(0, toCell(left));
+    int maxColumn = Math.min(columnCount - 1, toCell(right));
+    int minRow = Math.max(0, toCell(top));
+    int maxRow = Math.min(rowCount - 1, toCell(bottom));
+
+    ensureCapacity(count + 1);
+    int entry = count++;
+    items[entry] = item;
+    minX[entry] = left;
+    minY[entry] = top;
+    maxX[entry] = right;
+    maxY[entry] = bottom;
+    queryStamps[entry] = 0;
+
+    for (int row = minRow; row <= maxRow; row++)
+    {
+      for (int column = minColumn; column <= maxColumn; column++)
+      {
+        addToCell((row * columnCount) + column, entry);
+      }
+    }
+  }
+
+  /**
+   * Picks the topmost item whose rectangle contains a point.
+   * @param point The point to pick, in screen coordinates.
+   * @return The topmost item at the point, or null if there is none.
+   */
+  public T pick(Point point)
+  {
+    T picked = null;
+    int column = toCell(point.x);
+    int row = toCell(point.y);
+    if (point.x >= 0 && point.y >= 0 && column < columnCount && row < rowCount)
+    {
+      int cell = (row * columnCount) + column;
+      int[] entries = cellEntries[cell];
+      int topEntry = -1;
+      for (int i = 0; i < cellCounts[cell]; i++)
+      {
+        int entry = entries[i];
+        if (entry > topEntry && point.x >= minX[entry] && point.x <= maxX[entry] &&
+            point.y >= minY[entry] && point.y <= maxY[entry])
+        {
+          topEntry = entry;
+        }
+      }
+      if (topEntry >= 0)
+      {
+        picked = getItem(topEntry);
+      }
+    }
+    return picked;
+  }
+
+  /**
+   * Picks every item whose rectangle intersects a box.
+   * @param box The box to pick, in screen coordinates.
+   * @param result The collection to add the picked items to.
+   * @return The result collection.
+   */
+  public <C extends Collection<? super T>> C pick(Rectangle box, C result)
+  {
+    int minColumn = Math.max(0, toCell(box.x));
+    int maxColumn = Math.min(columnCount - 1, toCell(box.x + box.width));
+    int minRow = Math.max(0, toCell(box.y));
+    int maxRow = Math.min(rowCount - 1, toCell(box.y + box.height));
+    queryStamp++;
+    for (int row = minRow; row <= maxRow; row++)
+    {
+      for (int column = minColumn; column <= maxColumn; column++)
+      {
+        int cell = (row * columnCount) + column;
+        int[] entries = cellEntries[cell];
+        for (int i = 0; i < cellCounts[cell]; i++)
+        {
+          int entry = entries[i];
+          if (queryStamps[entry] != queryStamp &&
+              maxX[entry] >= box.x && minX[entry] <= box.x + box.width &&
+              maxY[entry] >= box.y && minY[entry] <= box.y + box.height)
+          {
+            queryStamps[entry] = queryStamp;
+            result.add(getItem(entry));
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T getItem(int entry)
+  {
+    // Only items of type T are ever stored in the array.
+    return (T) items[entry];
+  }
+
+  private int toCell(float coordinate)
+  {
+    return (int) Math.floor(coordinate / cellSize);
+  }
+
+  private void addToCell(int cell, int entry)
+  {
+    int[] entries = cellEntries[cell];
+    int cellCount = cellCounts[cell];
+    if (entries == null)
+    {
+      entries = new int[INITIAL_CELL_CAPACITY];
+      cellEntries[cell] = entries;
+    }
+    else if (cellCount == entries.length)
+    {
+      int[] newEntries = new int[entries.length * 2];
+      System.arraycopy(entries, 0, newEntries, 0, cellCount);
+      entries = newEntries;
+      cellEntries[cell] = entries;
+    }
+    entries[cellCount] = entry;
+    cellCounts[cell] = cellCount + 1;
+  }
+
+  private void ensureCapacity(int capacity)
+  {
+    if (capacity > items.length)
+    {
+      int newCapacity = Math.max(capacity, items.length * 2);
+      Object[] newItems = new Object[newCapacity];
+      System.arraycopy(items, 0, newItems, 0, count);
+      items = newItems;
+      minX = copyOf(minX, newCapacity);
+      minY = copyOf(minY, newCapacity);
+      maxX = copyOf(maxX, newCapacity);
+      maxY = copyOf(maxY, newCapacity);
+      int[] newQueryStamps = new int[newCapacity];
+      System.arraycopy(queryStamps, 0, newQueryStamps, 0, count);
+      queryStamps = newQueryStamps;
+    }
+  }
+
+  private float[] copyOf(float[] values, int newCapacity)
+  {
+    float[] newValues = new float[newCapacity];
+    System.arraycopy(values, 0, newValues, 0, count);
+    return newValues;
+  }
+}
@@ -7,7 +7,10 @@ package org.omg.tacsit.worldwind.entity;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import org.omg.tacsit.controller.Entity;
+import org.omg.tacsit.controller.EntityType;
 import org.omg.tacsit.entity.AbstractEntity;
+import org.omg.tacsit.entity.EntityFields;
+import org.omg.tacsit.geometry.AbstractPreparedGeometry;
 import org.omg.tacsit.geometry.GeodeticPosition;
 import org.omg.tacsit.geometry.Geometry;
 import org.omg.tacsit.worldwind.geometry.WWSurfaceGeometry;
@@ -29,7 +32,25 @@ public class GeometryEntity extends AbstractEntity
    */
   public GeometryEntity()
   {
-    super(WWEntityType.SURFACE_GEOMETRY);
+    this(WWEntityType.SURFACE_GEOMETRY);
+  }
+
+  /**
+   * Creates a new instance of any type of geometry entity, such as a type that isn't one of the WWEntityTypes.
+   * Viewports display each new type in a layer of its own.
+   * @param entityType The type of entity. May not be null, and may not be TRACK or LANDMARK.
+   */
+  public GeometryEntity(EntityType entityType)
+  {
+    super(entityType);
+    if (entityType == null)
+    {
+      throw new IllegalArgumentException("entityType may not be null");
+    }
+    if (WWEntityType.TRACK.equals(entityType) || WWEntityType.LANDMARK.equals(entityType))
+    {
+      throw new UnsupportedOperationException("entityType " + entityType + " is not a valid type for a geometry.");
+    }
     geometryPropertyListener = new GeometryPropertyListener();
   }
 
@@ -58,7 +79,7 @@ public class GeometryEntity extends AbstractEntity
     {
       this.geometry.addPropertyChangeListener(geometryPropertyListener);
     }
-    propertyChanged(PROPERTY_GEOMETRY, oldGeometry, geometry);
+    propertyChanged(PROPERTY_GEOMETRY, oldGeometry, geometry, EntityFields.POSITION | EntityFields.SHAPE);
   }
 
   /**
@@ -133,7 +154,7 @@ public class GeometryEntity extends AbstractEntity
   {
     String oldName = this.name;
     this.name = name;
-    propertyChanged("name", oldName, this.name);
+    propertyChanged("name", oldName, this.name, EntityFields.ATTRIBUTES);
   }
 
   public GeodeticPosition getReferencePosition()
@@ -153,7 +174,10 @@ public class GeometryEntity extends AbstractEntity
 
     public void propertyChange(PropertyChangeEvent evt)
     {
-      propertyChanged(PROPERTY_GEOMETRY, null, geometry);
+      // Moving the center of any geometry moves it; every other property changes the shape.
+      int fields = AbstractPreparedGeometry.PROPERTY_CENTER.equals(evt.getPropertyName()) ? EntityFields.POSITION
+                                                                                          : EntityFields.SHAPE;
+      propertyChanged(PROPERTY_GEOMETRY, null, geometry, fields);
     }
   }
 }
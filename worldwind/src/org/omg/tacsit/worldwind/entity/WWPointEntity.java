@@ -27,6 +27,16 @@ public class WWPointEntity extends PointEntity implements Positioned
    * @param entityType The type of entity. must be either a TRACK or LANDMARK.
    */
   public WWPointEntity(WWEntityType entityType)
+  {
+    this((EntityType) entityType);
+  }
+
+  /**
+   * Creates a new instance of any type of point entity, such as a type that isn't one of the WWEntityTypes.  Viewports
+   * display each new type in a layer of its own.
+   * @param entityType The type of entity. May not be null, and may not be SURFACE_GEOMETRY.
+   */
+  public WWPointEntity(EntityType entityType)
   {
     super(entityType);
     validateEntityType(entityType);
@@ -35,7 +45,11 @@ public class WWPointEntity extends PointEntity implements Positioned
   
   private void validateEntityType(EntityType entityType)
   {
-    if((!WWEntityType.TRACK.equals(entityType)) && (!WWEntityType.LANDMARK.equals(entityType)))
+    if (entityType == null)
+    {
+      throw new IllegalArgumentException("entityType may not be null");
+    }
+    if (WWEntityType.SURFACE_GEOMETRY.equals(entityType))
     {
       throw new UnsupportedOperationException("entityType " + entityType + " is not a valid type for an EntityItem.");
     }
@@ -5,80 +5,136 @@
 package org.omg.tacsit.worldwind.geometry;
 
 import gov.nasa.worldwind.geom.LatLon;
-import gov.nasa.worldwind.geom.Position;
 import gov.nasa.worldwind.geom.Sector;
-import gov.nasa.worldwind.util.WWMath;
-import java.util.Iterator;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import org.omg.tacsit.geometry.GeodeticPosition;
+import org.omg.tacsit.geometry.GeometryUtils;
+import org.omg.tacsit.geometry.PreparedPolygon;
 
 /**
  * An implementation that provides standard implementations of the WWSurfaceGeometry interface.
+ * <p>
+ * The tessellated bounding locations of the geometry are computed once and cached, along with their bounding sector
+ * and edge arrays.  Containment and intersection between geometries are exact for the tessellated boundaries; see
+ * {@link PreparedPolygon}.  Subclasses must call {@link #observeGeometryChanges()} once their property change support is in
+ * place, so that the cache is discarded whenever the geometry fires a property change.
  * @author Matthew Child
  */
 public abstract class AbstractSurfaceGeometry implements WWSurfaceGeometry
 {
-  
-  private boolean contains(LatLon location)
+  private volatile PreparedSurfaceGeometry preparedGeometry;
+
+  /**
+   * Computes the bounding locations of the surface geometry.  This is only called when the cached locations are
+   * missing or have been invalidated by a property change.
+   * @return An Iterable of locations on the surface of a globe that bound this geometry.
+   */
+  protected abstract Iterable<? extends LatLon> computeBoundingLocations();
+
+  /**
+   * Converts the vertices of a polygon into Worldwind locations.
+   * @param polygon The polygon to convert.
+   * @return The vertices of the polygon, as a closed ring of locations.
+   */
+  protected static List<LatLon> toLocations(PreparedPolygon polygon)
   {
-    boolean contains = false;
-    Iterable<? extends LatLon> boundingLocations = getBoundingLocations();
-    if(boundingLocations != null)
+    int vertexCount = polygon.getVertexCount();
+    List<LatLon> locations = new ArrayList<LatLon>(vertexCount);
+    for (int i = 0; i < vertexCount; i++)
     {
-      contains = WWMath.isLocationInside(location, boundingLocations);
+      locations.add(LatLon.fromRadians(polygon.getLatitude(i), polygon.getLongitude(i)));
     }
-    return contains;
+    return locations;
+  }
+
+  /**
+   * Starts listening to this geometry's property changes, so that the cached tessellation is discarded whenever
+   * the geometry changes.
+   */
+  protected void observeGeometryChanges()
+  {
+    addPropertyChangeListener(new PreparedGeometryInvalidator());
+  }
+
+  /**
+   * Discards the cached tessellation of this geometry.  It will be recomputed the next time it's needed.
+   */
+  protected void invalidateBoundingLocations()
+  {
+    preparedGeometry = null;
   }
 
+  /**
+   * Gets the prepared form of this geometry, computing it if necessary.
+   * @return The prepared geometry.
+   */
+  PreparedSurfaceGeometry getPreparedGeometry()
+  {
+    PreparedSurfaceGeometry prepared = preparedGeometry;
+    if(prepared == null)
+    {
+      prepared = PreparedSurfaceGeometry.prepare(computeBoundingLocations());
+      preparedGeometry = prepared;
+    }
+    return prepared;
+  }
+
+  public Iterable<? extends LatLon> getBoundingLocations()
+  {
+    return getPreparedGeometry().getBoundingLocations();
+  }
+
+  public Sector getBoundingSector()
+  {
+    return getPreparedGeometry().getBoundingSector();
+  }
+
+  private PreparedPolygon getPolygon()
+  {
+    return getPreparedGeometry().getPolygon();
+  }
+  
   public boolean contains(GeodeticPosition point)
   {
-    Position wwPosition = WWGeodeticPosition.toWWPosition(point);
-    return contains(wwPosition);
+    boolean contains = false;
+    PreparedPolygon polygon = getPolygon();
+    if(polygon != null)
+    {
+      contains = polygon.contains(point);
+    }
+    return contains;
   }
   
-  private boolean containsAll(Iterable<? extends LatLon> theirs)
+  public void containsAll(double[] latitudes, double[] longitudes, BitSet result)
   {
-    boolean containsAll = false;
-    if(theirs != null)
+    PreparedPolygon polygon = getPolygon();
+    if(polygon != null)
     {
-      Iterator<? extends LatLon> theirLocations = theirs.iterator();
-      if(theirLocations.hasNext())
-      {
-        containsAll = true;
-        while (theirLocations.hasNext())
-        {
-          LatLon theirLocation = theirLocations.next();
-          if(!contains(theirLocation))
-          {
-            containsAll = false;
-            break;
-          }
-        }
-      }
+      polygon.containsAll(latitudes, longitudes, result);
+    }
+    else
+    {
+      GeometryUtils.checkBatchArguments(latitudes, longitudes, result);
+      result.clear(0, latitudes.length);
     }
-    return containsAll;
   }
   
-  private boolean areAnyOfMyLocationsInside(Iterable<? extends LatLon> theirs)
+  private static PreparedPolygon toPolygon(WWSurfaceGeometry geometry)
   {
-    boolean myLocationsInside = false;
-    if(theirs != null)
+    PreparedPolygon polygon;
+    if(geometry instanceof AbstractSurfaceGeometry)
     {
-      Iterable<? extends LatLon> boundingLocations = getBoundingLocations();
-      if(boundingLocations != null)
-      {    
-        Iterator<? extends LatLon> myLocations = boundingLocations.iterator();
-        while (myLocations.hasNext())
-        {
-          LatLon myLocation = myLocations.next();
-          if(WWMath.isLocationInside(myLocation, theirs))
-          {
-            myLocationsInside = true;
-            break;
-          }
-        }
-      }
+      polygon = ((AbstractSurfaceGeometry)geometry).getPolygon();
     }
-    return myLocationsInside;
+    else
+    {
+      polygon = PreparedSurfaceGeometry.prepare(geometry.getBoundingLocations()).getPolygon();
+    }
+    return polygon;
   }
   
   public boolean contains(WWSurfaceGeometry geometry)
@@ -86,38 +142,39 @@ public abstract class AbstractSurfaceGeometry implements WWSurfaceGeometry
     boolean contains = false;
     if(geometry != null)
     {
-      Iterable<? extends LatLon> otherBoundingLocations = geometry.getBoundingLocations();
-      
-      boolean containsAllTheirs = containsAll(otherBoundingLocations);
-      boolean anyOfMyLocaitonsInside = areAnyOfMyLocationsInside(otherBoundingLocations);
-      
-      contains = containsAllTheirs && !anyOfMyLocaitonsInside;
+      PreparedPolygon myPolygon = getPolygon();
+      PreparedPolygon theirPolygon = toPolygon(geometry);
+      if((myPolygon != null) && (theirPolygon != null))
+      {
+        contains = myPolygon.contains(theirPolygon);
+      }
     }
-    
     return contains;
   }
-  
-  private boolean boundingBoxesIntersect(WWSurfaceGeometry geometry)
+
+  public boolean intersects(WWSurfaceGeometry geometry)
   {
     boolean intersects = false;
     if(geometry != null)
     {
-      Iterable<? extends LatLon> theirBoundingLocations = geometry.getBoundingLocations();
-      Iterable<? extends LatLon> myBoundingLocations = getBoundingLocations();
-      if((theirBoundingLocations != null) && (myBoundingLocations != null))
+      PreparedPolygon myPolygon = getPolygon();
+      PreparedPolygon theirPolygon = toPolygon(geometry);
+      if((myPolygon != null) && (theirPolygon != null))
       {
-        Sector theirBoundingSector = Sector.boundingSector(theirBoundingLocations);
-        Sector myBoundingSector = Sector.boundingSector(myBoundingLocations);
-        intersects = myBoundingSector.intersects(theirBoundingSector);
+        intersects = myPolygon.intersects(theirPolygon);
       }
     }
     return intersects;
   }
-  
 
-  public boolean intersects(WWSurfaceGeometry geometry)
+  /**
+   * Discards the cached tessellation whenever the geometry changes.
+   */
+  private class PreparedGeometryInvalidator implements PropertyChangeListener
   {
-    boolean intersects = boundingBoxesIntersect(geometry);
-    return intersects;
+    public void propertyChange(PropertyChangeEvent evt)
+    {
+      invalidateBoundingLocations();
+    }
   }
 }
@@ -5,46 +5,69 @@
 package org.omg.tacsit.worldwind.geometry;
 
 import gov.nasa.worldwind.geom.Position;
-import gov.nasa.worldwind.globes.Earth;
 import gov.nasa.worldwind.globes.Globe;
+import org.omg.tacsit.geometry.Ellipsoid;
 
 /**
  * A Factory that creates new shapes that meet the Tacsit standard.
  * <p>
- * All shapes created by the factory share the same Globe.
+ * All shapes created by the factory share the same Ellipsoid.  Shapes are evaluated without a Worldwind Globe, so
+ * the factory can be used where no globe or rendering classes are available.
  * @author Matthew Child
  */
 public class GeometryFactory
 {
-  private static final Globe DEFAULT_GLOBE = new Earth();
-  
-  private Globe globe;
+  private Ellipsoid ellipsoid;
   
   /**
-   * Creates a new instance.
+   * Creates a new instance that creates shapes on the WGS-84 ellipsoid.
    */
   public GeometryFactory()
   {
-    this(DEFAULT_GLOBE);
+    this(Ellipsoid.WGS84);
   }
 
   /**
    * Creates a new instance.
-   * @param globe The globe that new shapes use to calculate functions that are a part of the WWSurfaceGeometry
-   * interface.
+   * @param globe The globe whose radii define the ellipsoid that new shapes use to calculate functions that are a
+   * part of the WWSurfaceGeometry interface.
    */
   public GeometryFactory(Globe globe)
+  {
+    this(toEllipsoid(globe));
+  }
+
+  /**
+   * Creates a new instance.
+   * @param ellipsoid The ellipsoid that new shapes use to calculate functions that are a part of the
+   * WWSurfaceGeometry interface.
+   */
+  public GeometryFactory(Ellipsoid ellipsoid)
+  {
+    if(ellipsoid == null)
+    {
+      throw new IllegalArgumentException("ellipsoid may not be null");
+    }
+    this.ellipsoid = ellipsoid;
+  }
+
+  /**
+   * Creates an Ellipsoid with the same radii as a Globe.
+   * @param globe The globe to model.
+   * @return An ellipsoid with the globe's equatorial and polar radii.
+   */
+  static Ellipsoid toEllipsoid(Globe globe)
   {
     if(globe == null)
     {
       throw new IllegalArgumentException("globe may not be null");
     }
-    this.globe = globe;
+    return new Ellipsoid(globe.getEquatorialRadius(), globe.getPolarRadius());
   }
   
   private WWSurfaceGeometry newInstance(WWSurfaceShape shape)
   {
-    return shape.createShape(globe);
+    return shape.createShape(ellipsoid);
   }
   
   /**
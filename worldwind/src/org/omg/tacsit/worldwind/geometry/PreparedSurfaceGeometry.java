@@ -0,0 +1,102 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.geometry;
+
+import gov.nasa.worldwind.geom.LatLon;
+import gov.nasa.worldwind.geom.Sector;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.omg.tacsit.geometry.PreparedPolygon;
+
+/**
+ * The tessellated form of a surface geometry, captured once so that it can be queried repeatedly without
+ * re-tessellating the geometry.  Holds the bounding locations, their bounding sector, and the edge arrays of the
+ * polygon they form.
+ * @author Matthew Child
+ */
+class PreparedSurfaceGeometry
+{
+  private List<LatLon> boundingLocations;
+
+  private Sector boundingSector;
+
+  private PreparedPolygon polygon;
+
+  private PreparedSurfaceGeometry(List<LatLon> boundingLocations, Sector boundingSector, PreparedPolygon polygon)
+  {
+    this.boundingLocations = boundingLocations;
+    this.boundingSector = boundingSector;
+    this.polygon = polygon;
+  }
+
+  /**
+   * Prepares a set of bounding locations.
+   * @param locations The locations that bound a surface geometry.  May be null.
+   * @return The prepared form of the locations.  If the locations are null or empty, the prepared geometry will have
+   * no bounding locations, sector or polygon.
+   */
+  static PreparedSurfaceGeometry prepare(Iterable<? extends LatLon> locations)
+  {
+    List<LatLon> locationList = new ArrayList<LatLon>();
+    if(locations != null)
+    {
+      for (LatLon location : locations)
+      {
+        locationList.add(location);
+      }
+    }
+
+    PreparedSurfaceGeometry prepared;
+    if(locationList.isEmpty())
+    {
+      prepared = new PreparedSurfaceGeometry(null, null, null);
+    }
+    else
+    {
+      int locationCount = locationList.size();
+      double[] latitudes = new double[locationCount];
+      double[] longitudes = new double[locationCount];
+      for (int i = 0; i < locationCount; i++)
+      {
+        LatLon location = locationList.get(i);
+        latitudes[i] = location.getLatitude().radians;
+        longitudes[i] = location.getLongitude().radians;
+      }
+      PreparedPolygon polygon = new PreparedPolygon(latitudes, longitudes);
+      Sector boundingSector = Sector.fromRadians(polygon.getMinLatitude(), polygon.getMaxLatitude(),
+                                                 polygon.getMinLongitude(), polygon.getMaxLongitude());
+      prepared = new PreparedSurfaceGeometry(Collections.unmodifiableList(locationList), boundingSector, polygon);
+    }
+    return prepared;
+  }
+
+  /**
+   * Gets the bounding locations.
+   * @return An unmodifiable list of the bounding locations, or null if there were none.
+   */
+  List<LatLon> getBoundingLocations()
+  {
+    return boundingLocations;
+  }
+
+  /**
+   * Gets the sector that bounds the locations.
+   * @return The bounding sector, or null if there were no locations.
+   */
+  Sector getBoundingSector()
+  {
+    return boundingSector;
+  }
+
+  /**
+   * Gets the polygon formed by the bounding locations.
+   * @return The polygon, or null if there were no locations.
+   */
+  PreparedPolygon getPolygon()
+  {
+    return polygon;
+  }
+}
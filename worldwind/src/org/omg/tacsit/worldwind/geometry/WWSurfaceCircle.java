@@ -7,39 +7,50 @@ package org.omg.tacsit.worldwind.geometry;
 import gov.nasa.worldwind.geom.LatLon;
 import gov.nasa.worldwind.geom.Position;
 import gov.nasa.worldwind.globes.Globe;
-import gov.nasa.worldwind.render.SurfaceCircle;
 import java.beans.PropertyChangeListener;
 import org.omg.tacsit.geometry.Circle;
+import org.omg.tacsit.geometry.DefaultCircle;
+import org.omg.tacsit.geometry.Ellipsoid;
 import org.omg.tacsit.geometry.GeodeticPosition;
 
 /**
  * An implementation of the Tacsit specification's <code>Circle</code> interface.
+ * <p>
+ * The geometry of the circle is evaluated by a {@link DefaultCircle}, so no Worldwind Globe is needed to answer
+ * spatial queries.
  * 
  * @author Matthew Child
  */
 public class WWSurfaceCircle extends AbstractSurfaceGeometry implements Circle, WWSurfaceGeometry
 {
-  private SurfaceCircle circleDelegate;
-  
-  private WWGeodeticPosition geodeticCenter;
-  
-  private Globe globe;
+  private DefaultCircle circleDelegate;
+
+  /**
+   * Creates a new instance on the WGS-84 ellipsoid.
+   */
+  public WWSurfaceCircle()
+  {
+    this(Ellipsoid.WGS84);
+  }
 
   /**
    * Creates a new instance.
-   * @param globe The globe to use to define the bounding locations.
+   * @param globe The globe whose radii define the ellipsoid the circle is evaluated on.
    */
   public WWSurfaceCircle(Globe globe)
   {
-    // Passing in a globe is necessary here to satisfy the interface contract of entity's contains method.
-    if(globe == null)
-    {
-      throw new IllegalArgumentException("Globe may not be null.");
-    }
-    this.globe = globe;
-    this.circleDelegate = new SurfaceCircle();
-    this.geodeticCenter = WWGeodeticPosition.ZERO;
-    circleDelegate.setCenter(geodeticCenter.getPosition());
+    this(GeometryFactory.toEllipsoid(globe));
+  }
+
+  /**
+   * Creates a new instance.
+   * @param ellipsoid The ellipsoid the circle is evaluated on.
+   */
+  public WWSurfaceCircle(Ellipsoid ellipsoid)
+  {
+    this.circleDelegate = new DefaultCircle(ellipsoid);
+    circleDelegate.setCenter(WWGeodeticPosition.ZERO);
+    observeGeometryChanges();
   }
   
   @Override
@@ -72,10 +83,7 @@ public class WWSurfaceCircle extends AbstractSurfaceGeometry implements Circle,
    */
   public void setCenter(WWGeodeticPosition center)
   {
-    WWGeodeticPosition oldCenter = this.geodeticCenter;
-    this.geodeticCenter = center;
-    circleDelegate.setCenter(this.geodeticCenter.getPosition());
-    circleDelegate.firePropertyChange("center", oldCenter, this.geodeticCenter);
+    circleDelegate.setCenter(center);
   }
   
   /**
@@ -89,12 +97,13 @@ public class WWSurfaceCircle extends AbstractSurfaceGeometry implements Circle,
 
   public GeodeticPosition getCenter()
   {
-    return geodeticCenter;
+    return circleDelegate.getCenter();
   }
   
-  public Iterable<? extends LatLon> getBoundingLocations()
+  @Override
+  protected Iterable<? extends LatLon> computeBoundingLocations()
   {
-    return circleDelegate.getLocations(globe);
+    return toLocations(circleDelegate.getPolygon());
   }
   
   /**
@@ -103,9 +112,7 @@ public class WWSurfaceCircle extends AbstractSurfaceGeometry implements Circle,
    */
   public void setRadius(double radiusMeters)
   {
-    double oldRadius = circleDelegate.getRadius();
     circleDelegate.setRadius(radiusMeters);
-    circleDelegate.firePropertyChange("radius", oldRadius, radiusMeters);
   }
 
   public double getRadius()
@@ -5,7 +5,9 @@
 package org.omg.tacsit.worldwind.geometry;
 
 import gov.nasa.worldwind.geom.LatLon;
+import gov.nasa.worldwind.geom.Sector;
 import org.omg.tacsit.common.util.PropertyListenable;
+import org.omg.tacsit.geometry.BatchContainment;
 import org.omg.tacsit.geometry.GeodeticPosition;
 import org.omg.tacsit.geometry.Geometry;
 
@@ -13,7 +15,7 @@ import org.omg.tacsit.geometry.Geometry;
  * Geometry that exists on the surface of the Globe.  Any altitude values are ignored.
  * @author Matthew Child
  */
-public interface WWSurfaceGeometry extends Geometry, PropertyListenable
+public interface WWSurfaceGeometry extends Geometry, PropertyListenable, BatchContainment
 {
   /**
    * The reference position to use to give a general location of the geometry.
@@ -27,6 +29,12 @@ public interface WWSurfaceGeometry extends Geometry, PropertyListenable
    */
   public Iterable<? extends LatLon> getBoundingLocations();
   
+  /**
+   * The sector that bounds the surface geometry.
+   * @return The smallest sector containing all of the bounding locations, or null if there are no bounding locations.
+   */
+  public Sector getBoundingSector();
+  
   /**
    * Checks to see if another geometry is wholly contained by this geometry.
    * @param geometry The geometry to check containment of.
@@ -8,63 +8,74 @@ import gov.nasa.worldwind.geom.Angle;
 import gov.nasa.worldwind.geom.LatLon;
 import gov.nasa.worldwind.geom.Position;
 import gov.nasa.worldwind.globes.Globe;
-import gov.nasa.worldwind.render.SurfaceQuad;
 import java.beans.PropertyChangeListener;
+import org.omg.tacsit.geometry.DefaultRectangle;
+import org.omg.tacsit.geometry.Ellipsoid;
 import org.omg.tacsit.geometry.GeodeticPosition;
 import org.omg.tacsit.geometry.Rectangle;
 
 /**
  * An implementation of the Tacsit specification's <code>Rectangle</code> interface.
+ * <p>
+ * The geometry of the rectangle is evaluated by a {@link DefaultRectangle}, so no Worldwind Globe is needed to answer
+ * spatial queries.
  * 
  * @author Matthew Child
  */
 public class WWSurfaceRectangle extends AbstractSurfaceGeometry implements Rectangle, WWSurfaceGeometry
 {
-  private SurfaceQuad quadDelegate;
-  
-  private WWGeodeticPosition geodeticCenter;
-  
-  private Globe globe;
+  private DefaultRectangle rectangleDelegate;
+
+  /**
+   * Creates a new instance on the WGS-84 ellipsoid.
+   */
+  public WWSurfaceRectangle()
+  {
+    this(Ellipsoid.WGS84);
+  }
 
   /**
    * Creates a new instance.
-   * @param globe The globe to use to define the bounding locations.
+   * @param globe The globe whose radii define the ellipsoid the rectangle is evaluated on.
    */
   public WWSurfaceRectangle(Globe globe)
   {
-    // Passing in a globe is necessary here to satisfy the interface contract of entity's contains method.
-    if(globe == null)
-    {
-      throw new IllegalArgumentException("Globe may not be null.");
-    }
-    this.globe = globe;
-    this.quadDelegate = new SurfaceQuad();
-    this.geodeticCenter = WWGeodeticPosition.ZERO;
-    quadDelegate.setCenter(geodeticCenter.getPosition());
+    this(GeometryFactory.toEllipsoid(globe));
+  }
+
+  /**
+   * Creates a new instance.
+   * @param ellipsoid The ellipsoid the rectangle is evaluated on.
+   */
+  public WWSurfaceRectangle(Ellipsoid ellipsoid)
+  {
+    this.rectangleDelegate = new DefaultRectangle(ellipsoid);
+    rectangleDelegate.setCenter(WWGeodeticPosition.ZERO);
+    observeGeometryChanges();
   }
   
   @Override
   public void addPropertyChangeListener(PropertyChangeListener listener)
   {
-    quadDelegate.addPropertyChangeListener(listener);
+    rectangleDelegate.addPropertyChangeListener(listener);
   }
 
   @Override
   public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
   {
-    quadDelegate.addPropertyChangeListener(propertyName, listener);
+    rectangleDelegate.addPropertyChangeListener(propertyName, listener);
   }
 
   @Override
   public void removePropertyChangeListener(PropertyChangeListener listener)
   {
-    quadDelegate.removePropertyChangeListener(listener);
+    rectangleDelegate.removePropertyChangeListener(listener);
   }
 
   @Override
   public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
   {
-    quadDelegate.removePropertyChangeListener(propertyName, listener);
+    rectangleDelegate.removePropertyChangeListener(propertyName, listener);
   }
 
   /**
@@ -73,15 +84,13 @@ public class WWSurfaceRectangle extends AbstractSurfaceGeometry implements Recta
    */
   public void setOrientation(Angle orientation)
   {
-    Angle oldHeading = quadDelegate.getHeading();
-    quadDelegate.setHeading(orientation);
-    quadDelegate.firePropertyChange("heading", oldHeading, orientation);
+    double orientationRadians = (orientation == null) ? 0 : orientation.getRadians();
+    rectangleDelegate.setOrientation(orientationRadians);
   }
 
   public double getOrientation()
   {
-    Angle heading = quadDelegate.getHeading();
-    return (heading == null) ? 0 : heading.getRadians();
+    return rectangleDelegate.getOrientation();
   }
 
   /**
@@ -91,14 +100,12 @@ public class WWSurfaceRectangle extends AbstractSurfaceGeometry implements Recta
    */
   public void setHeight(double height)
   {
-    double oldHeight = quadDelegate.getHeight();
-    quadDelegate.setHeight(height);
-    quadDelegate.firePropertyChange("height", oldHeight, height);
+    rectangleDelegate.setHeight(height);
   }
   
   public double getHeight()
   {
-    return quadDelegate.getHeight();
+    return rectangleDelegate.getHeight();
   }
   
   /**
@@ -108,14 +115,12 @@ public class WWSurfaceRectangle extends AbstractSurfaceGeometry implements Recta
    */
   public void setWidth(double width)
   {
-    double oldWidth = quadDelegate.getWidth();
-    quadDelegate.setWidth(width);
-    quadDelegate.firePropertyChange("width", oldWidth, width);
+    rectangleDelegate.setWidth(width);
   }
 
   public double getWidth()
   {
-    return quadDelegate.getWidth();
+    return rectangleDelegate.getWidth();
   }
   
   /**
@@ -124,10 +129,7 @@ public class WWSurfaceRectangle extends AbstractSurfaceGeometry implements Recta
    */
   public void setCenter(WWGeodeticPosition center)
   {
-    WWGeodeticPosition oldCenter = this.geodeticCenter;
-    this.geodeticCenter = center;
-    quadDelegate.setCenter(this.geodeticCenter.getPosition());
-    quadDelegate.firePropertyChange("center", oldCenter, this.geodeticCenter);
+    rectangleDelegate.setCenter(center);
   }
   
   /**
@@ -141,12 +143,13 @@ public class WWSurfaceRectangle extends AbstractSurfaceGeometry implements Recta
 
   public GeodeticPosition getCenter()
   {
-    return geodeticCenter;
+    return rectangleDelegate.getCenter();
   }
   
-  public Iterable<? extends LatLon> getBoundingLocations()
+  @Override
+  protected Iterable<? extends LatLon> computeBoundingLocations()
   {
-    return quadDelegate.getLocations(globe);
+    return toLocations(rectangleDelegate.getPolygon());
   }
 
   public GeodeticPosition getReferencePosition()
@@ -5,6 +5,7 @@
 package org.omg.tacsit.worldwind.geometry;
 
 import gov.nasa.worldwind.globes.Globe;
+import org.omg.tacsit.geometry.Ellipsoid;
 
 /**
  * An enumeration of surface shapes supported by the Tacsit implementation for Worldwind.
@@ -18,9 +19,9 @@ public enum WWSurfaceShape
   RECTANGLE(WWSurfaceRectangle.class)
   {
     @Override
-    public WWSurfaceGeometry createShape(Globe globe)
+    public WWSurfaceGeometry createShape(Ellipsoid ellipsoid)
     {
-      return new WWSurfaceRectangle(globe);
+      return new WWSurfaceRectangle(ellipsoid);
     }
   },
   
@@ -30,9 +31,9 @@ public enum WWSurfaceShape
   CIRCLE(WWSurfaceCircle.class)
   {
     @Override
-    public WWSurfaceGeometry createShape(Globe globe)
+    public WWSurfaceGeometry createShape(Ellipsoid ellipsoid)
     {
-      return new WWSurfaceCircle(globe);
+      return new WWSurfaceCircle(ellipsoid);
     }
   };
   
@@ -58,10 +59,20 @@ public enum WWSurfaceShape
   
   /**
    * Creates a new shape based on the enumeration's value.
-   * @param globe The globe to use for calculating information about the shape.
+   * @param ellipsoid The ellipsoid to use for calculating information about the shape.
    * @return A new WWSurfaceGeometry of the type described by the enumeration value.
    */
-  public abstract WWSurfaceGeometry createShape(Globe globe);
+  public abstract WWSurfaceGeometry createShape(Ellipsoid ellipsoid);
+  
+  /**
+   * Creates a new shape based on the enumeration's value.
+   * @param globe The globe whose radii are used for calculating information about the shape.
+   * @return A new WWSurfaceGeometry of the type described by the enumeration value.
+   */
+  public WWSurfaceGeometry createShape(Globe globe)
+  {
+    return createShape(GeometryFactory.toEllipsoid(globe));
+  }
   
   /**
    * Gets the WWSurfaceShape for a particular class of WWSurfaceGeometry.
@@ -8,38 +8,102 @@ import org.omg.tacsit.worldwind.entity.WWEntityType;
 import gov.nasa.worldwind.layers.Layer;
 import gov.nasa.worldwind.layers.LayerList;
 import java.awt.Color;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import javax.swing.Timer;
+import org.omg.tacsit.common.util.Disposable;
 import org.omg.tacsit.controller.Entity;
 import org.omg.tacsit.controller.EntityType;
 import org.omg.tacsit.controller.SelectionType;
+import org.omg.tacsit.entity.EntityFields;
 import org.omg.tacsit.ui.entity.EntityCollectionUI;
 import org.omg.tacsit.worldwind.common.layers.AbstractItemLayer;
 import org.omg.tacsit.worldwind.entity.WWPointEntity;
 import org.omg.tacsit.worldwind.common.layers.ImagePack;
+import org.omg.tacsit.worldwind.common.layers.RedrawRequester;
 import org.omg.tacsit.worldwind.common.layers.ItemIconLayer;
+import org.omg.tacsit.worldwind.common.layers.SharedIconStore;
 import org.omg.tacsit.worldwind.entity.GeometryEntity;
 
 /**
- * A LayerList which displays all the EntityTypes that are defined in the Worldwind Tacsit implementation.
+ * A LayerList which displays entities with one layer per EntityType.
+ * <p>
+ * Layers for the EntityTypes defined in the Worldwind Tacsit implementation are created up front.  A layer for any
+ * other type is created the first time an entity of that type is displayed: point entities get an icon layer, and
+ * geometry entities get a geometry layer.  A layer for a type can also be registered explicitly.  Listeners to
+ * LAYER_ADDED_PROPERTY are told about every layer that is created after construction, so they can add it to their
+ * model.
+ * <p>
+ * Each type has its own update interval and render budget.  Updates to a type with an update interval are gathered
+ * and passed to its layer at most once per interval, so a fast changing type such as tracks can be refreshed at a
+ * steady rate while the layers of other types are only touched when their entities change.  A type's render budget
+ * caps the number of icons its layer draws in a frame, keeping the nearest ones.
+ * <p>
+ * Each type can also be limited to a band of ranges from the eye to the center of the view, as given to
+ * setRangeToEye(double).  While the range is outside a type's band, its layer neither renders nor picks, and updates
+ * to its entities are held back rather than passed to the layer.  The held back updates are passed on, combined into
+ * one update per entity, when the range comes back into the band.
  * @author Matthew Child
  */
-public class EntityLayerList
+public class EntityLayerList implements Disposable
 {
+  /**
+   * The property that is fired when a layer is created for an entity type after construction.  The new value is
+   * the new layer.
+   */
+  public static final String LAYER_ADDED_PROPERTY = "layerAdded";
+
+  /**
+   * The update interval of tracks, in milliseconds, which refreshes them at 10 Hz.
+   */
+  public static final int DEFAULT_TRACK_UPDATE_INTERVAL = 100;
 
   private LayerList layerList;
   private Map<EntityType, EntityToItemLayerAdapter> typeToLayer;
+  private Map<EntityType, TypeSettings> typeToSettings;
   private ItemIconLayer trackLayer;
+  private SharedEntityScene sharedScene;
+  private Map<SelectionType, Color> selectionTypeToColor;
+  private List<SelectionType> selectionPriorityList;
+  private RedrawRequester redrawRequester;
+  private boolean iconPickPassEnabled;
+  private double rangeToEye;
+  private PropertyChangeSupport propertyChangeSupport;
 
   /**
-   * Creates a new instance.
+   * Creates a new instance, with icons that are not shared with any other EntityLayerList.
    */
   public EntityLayerList()
   { 
+    this(new SharedEntityScene());
+  }
+
+  /**
+   * Creates a new instance that displays landmarks and tracks with the icons of a shared scene.
+   * @param sharedScene The scene that holds the shared icons. May not be null.
+   */
+  public EntityLayerList(SharedEntityScene sharedScene)
+  {
+    if (sharedScene == null)
+    {
+      throw new IllegalArgumentException("sharedScene may not be null");
+    }
+    this.sharedScene = sharedScene;
+    this.iconPickPassEnabled = true;
+    this.rangeToEye = Double.NaN;
+    this.propertyChangeSupport = new PropertyChangeSupport(this);
     initLayers();
   }
 
@@ -47,21 +111,91 @@ public class EntityLayerList
   {
     layerList = new LayerList();
     typeToLayer = new HashMap();
+    typeToSettings = new HashMap();
     
-    Map<SelectionType, Color> selectionTypeToColor = createSelectionColorMap();
-    List<SelectionType> selectionPriorityList = createSelectionPriorityList();
+    selectionTypeToColor = createSelectionColorMap();
+    selectionPriorityList = createSelectionPriorityList();
 
     AbstractItemLayer geometryLayer = createGeometryLayer(selectionTypeToColor, selectionPriorityList);
-    typeToLayer.put(WWEntityType.SURFACE_GEOMETRY, new EntityToItemLayerAdapter(geometryLayer, GeometryEntity.class));
-    layerList.add(geometryLayer);
+    addEntityLayer(WWEntityType.SURFACE_GEOMETRY, geometryLayer, GeometryEntity.class);
 
-    AbstractItemLayer landmarkLayer = createLandmarkLayer(selectionTypeToColor, selectionPriorityList);
-    typeToLayer.put(WWEntityType.LANDMARK, new EntityToItemLayerAdapter(landmarkLayer, WWPointEntity.class));
-    layerList.add(landmarkLayer);
+    AbstractItemLayer landmarkLayer = createLandmarkLayer(sharedScene.getLandmarkIcons(), selectionTypeToColor,
+                                                          selectionPriorityList);
+    addEntityLayer(WWEntityType.LANDMARK, landmarkLayer, WWPointEntity.class);
 
-    trackLayer = createTrackLayer(selectionTypeToColor, selectionPriorityList);
-    typeToLayer.put(WWEntityType.TRACK, new EntityToItemLayerAdapter(trackLayer, WWPointEntity.class));
-    layerList.add(trackLayer);
+    trackLayer = createTrackLayer(sharedScene.getTrackIcons(), selectionTypeToColor, selectionPriorityList);
+    getSettings(WWEntityType.TRACK).updateInterval = DEFAULT_TRACK_UPDATE_INTERVAL;
+    addEntityLayer(WWEntityType.TRACK, trackLayer, WWPointEntity.class);
+  }
+
+  private EntityToItemLayerAdapter addEntityLayer(EntityType entityType, AbstractItemLayer layer,
+                                                  Class<? extends Entity> allowedEntityClass)
+  {
+    EntityToItemLayerAdapter entityLayer = new EntityToItemLayerAdapter(layer, allowedEntityClass);
+    TypeSettings settings = getSettings(entityType);
+    entityLayer.setEnabled(settings.enabled);
+    entityLayer.setInRange(settings.isInRange(rangeToEye));
+    entityLayer.setUpdateInterval(settings.updateInterval);
+    entityLayer.setIconBudget(settings.iconBudget);
+    layer.setRedrawRequester(redrawRequester);
+    if (layer instanceof ItemIconLayer)
+    {
+      ((ItemIconLayer) layer).setIconPickPassEnabled(iconPickPassEnabled);
+    }
+    typeToLayer.put(entityType, entityLayer);
+    layerList.add(layer);
+    return entityLayer;
+  }
+
+  private TypeSettings getSettings(EntityType entityType)
+  {
+    TypeSettings settings = typeToSettings.get(entityType);
+    if (settings == null)
+    {
+      settings = new TypeSettings();
+      typeToSettings.put(entityType, settings);
+    }
+    return settings;
+  }
+
+  /**
+   * Registers the layer that displays entities of a type, replacing the layer that would otherwise be created for
+   * it.  The layer is added on top of the existing layers.
+   * @param entityType The type of entity the layer displays. May not be null, and may not already have a layer.
+   * @param layer The layer that displays the entities. May not be null.
+   * @param allowedEntityClass The class that entities of the type must be instances of. May not be null.
+   */
+  public void registerEntityLayer(EntityType entityType, AbstractItemLayer layer,
+                                  Class<? extends Entity> allowedEntityClass)
+  {
+    if (entityType == null)
+    {
+      throw new IllegalArgumentException("entityType may not be null");
+    }
+    synchronized (this)
+    {
+      if (typeToLayer.containsKey(entityType))
+      {
+        throw new IllegalArgumentException("entityType " + entityType + " already has a layer");
+      }
+      addEntityLayer(entityType, layer, allowedEntityClass);
+    }
+    propertyChangeSupport.firePropertyChange(LAYER_ADDED_PROPERTY, null, layer);
+  }
+
+  private AbstractItemLayer createLayerForEntity(Entity entity)
+  {
+    AbstractItemLayer layer = null;
+    if (entity instanceof GeometryEntity)
+    {
+      layer = createGeometryLayer(selectionTypeToColor, selectionPriorityList);
+    }
+    else if (entity instanceof WWPointEntity)
+    {
+      layer = createPointLayer(sharedScene.getIconStore(entity.getType()), selectionTypeToColor,
+                               selectionPriorityList);
+    }
+    return layer;
   }
   
   private AbstractItemLayer createGeometryLayer(Map<SelectionType, Color> selectionTypeToColor, List<SelectionType> selectionPriorityList)
@@ -75,20 +209,29 @@ public class EntityLayerList
     return geometryLayer;
   }
   
-  private AbstractItemLayer createLandmarkLayer(Map<SelectionType, Color> selectionTypeToColor, List<SelectionType> selectionPriorityList)
+  private AbstractItemLayer createLandmarkLayer(SharedIconStore<WWPointEntity> iconStore,
+                                                Map<SelectionType, Color> selectionTypeToColor, List<SelectionType> selectionPriorityList)
   {
-    ItemIconLayer landmarkLayer = new ItemIconLayer();
+    ItemIconLayer landmarkLayer = new ItemIconLayer(iconStore);
     for (Map.Entry<SelectionType, Color> entry : selectionTypeToColor.entrySet())
     {
       landmarkLayer.setSelectionColor(entry.getKey(), entry.getValue());
     }
     landmarkLayer.setSelectionTypePriority(selectionPriorityList);
+    landmarkLayer.setRasterCaching(true);
     return landmarkLayer;
   }
   
-  private ItemIconLayer createTrackLayer(Map<SelectionType, Color> selectionTypeToColor, List<SelectionType> selectionPriorityList)
+  private ItemIconLayer createTrackLayer(SharedIconStore<WWPointEntity> iconStore,
+                                         Map<SelectionType, Color> selectionTypeToColor, List<SelectionType> selectionPriorityList)
   {
-    ItemIconLayer layer = new ItemIconLayer();
+    return createPointLayer(iconStore, selectionTypeToColor, selectionPriorityList);
+  }
+  
+  private ItemIconLayer createPointLayer(SharedIconStore<WWPointEntity> iconStore,
+                                         Map<SelectionType, Color> selectionTypeToColor, List<SelectionType> selectionPriorityList)
+  {
+    ItemIconLayer layer = new ItemIconLayer(iconStore);
     for (Map.Entry<SelectionType, Color> entry : selectionTypeToColor.entrySet())
     {
       layer.setSelectionColor(entry.getKey(), entry.getValue());
@@ -125,6 +268,203 @@ public class EntityLayerList
     return Collections.unmodifiableCollection(layerList).iterator();
   }
 
+  /**
+   * Sets the object that is asked to redraw the display when any of the layers in this list change.
+   * @param redrawRequester The redraw requester to use, or null to fire property changes when the layers change.
+   */
+  public void setRedrawRequester(RedrawRequester redrawRequester)
+  {
+    synchronized (this)
+    {
+      this.redrawRequester = redrawRequester;
+    }
+    for (EntityToItemLayerAdapter entityLayer : getEntityLayers())
+    {
+      entityLayer.layer.setRedrawRequester(redrawRequester);
+    }
+  }
+
+  private synchronized List<EntityToItemLayerAdapter> getEntityLayers()
+  {
+    return new ArrayList<EntityToItemLayerAdapter>(typeToLayer.values());
+  }
+
+  /**
+   * Sets how often updates to entities of a type are passed on to their layer.
+   * @param entityType The entity type to set the update interval of.
+   * @param updateInterval The interval, in milliseconds, or 0 to pass on every update as soon as it arrives.  May
+   * not be negative.
+   */
+  public void setUpdateInterval(EntityType entityType, int updateInterval)
+  {
+    if (updateInterval < 0)
+    {
+      throw new IllegalArgumentException("updateInterval may not be negative");
+    }
+    EntityToItemLayerAdapter entityLayer;
+    synchronized (this)
+    {
+      getSettings(entityType).updateInterval = updateInterval;
+      entityLayer = typeToLayer.get(entityType);
+    }
+    if (entityLayer != null)
+    {
+      entityLayer.setUpdateInterval(updateInterval);
+    }
+  }
+
+  /**
+   * Gets how often updates to entities of a type are passed on to their layer.
+   * @param entityType The entity type to get the update interval of.
+   * @return The interval, in milliseconds, or 0 if every update is passed on as soon as it arrives.
+   */
+  public synchronized int getUpdateInterval(EntityType entityType)
+  {
+    return getSettings(entityType).updateInterval;
+  }
+
+  /**
+   * Sets the most icons that the layer for a type draws in a single frame.  When more icons than this are in view,
+   * the nearest are drawn.  The budget has no effect on types that are not drawn as icons.
+   * @param entityType The entity type to set the render budget of.
+   * @param iconBudget The most icons drawn per frame, or 0 to draw every icon in view.  May not be negative.
+   */
+  public void setRenderBudget(EntityType entityType, int iconBudget)
+  {
+    if (iconBudget < 0)
+    {
+      throw new IllegalArgumentException("iconBudget may not be negative");
+    }
+    EntityToItemLayerAdapter entityLayer;
+    synchronized (this)
+    {
+      getSettings(entityType).iconBudget = iconBudget;
+      entityLayer = typeToLayer.get(entityType);
+    }
+    if (entityLayer != null)
+    {
+      entityLayer.setIconBudget(iconBudget);
+    }
+  }
+
+  /**
+   * Gets the most icons that the layer for a type draws in a single frame.
+   * @param entityType The entity type to get the render budget of.
+   * @return The most icons drawn per frame, or 0 if every icon in view is drawn.
+   */
+  public synchronized int getRenderBudget(EntityType entityType)
+  {
+    return getSettings(entityType).iconBudget;
+  }
+
+  /**
+   * Sets the band of ranges from the eye at which entities of a type are displayed.  Outside the band, the type's
+   * layer is skipped when rendering and picking, and updates to its entities are held back until the range returns
+   * to the band.
+   * @param entityType The entity type to set the visible range of.
+   * @param minimumRange The smallest range at which the type is displayed, in meters.  May not be negative.
+   * @param maximumRange The largest range at which the type is displayed, in meters, or Double.POSITIVE_INFINITY for
+   * no limit.  May not be less than minimumRange.
+   */
+  public void setVisibleRange(EntityType entityType, double minimumRange, double maximumRange)
+  {
+    if (!(minimumRange >= 0))
+    {
+      throw new IllegalArgumentException("minimumRange may not be negative");
+    }
+    if (!(maximumRange >= minimumRange))
+    {
+      throw new IllegalArgumentException("maximumRange may not be less than minimumRange");
+    }
+    EntityToItemLayerAdapter entityLayer;
+    boolean inRange;
+    synchronized (this)
+    {
+      TypeSettings settings = getSettings(entityType);
+      settings.minimumRange = minimumRange;
+      settings.maximumRange = maximumRange;
+      inRange = settings.isInRange(rangeToEye);
+      entityLayer = typeToLayer.get(entityType);
+    }
+    if (entityLayer != null)
+    {
+      entityLayer.setInRange(inRange);
+    }
+  }
+
+  /**
+   * Gets the smallest range from the eye at which entities of a type are displayed.
+   * @param entityType The entity type to get the minimum range of.
+   * @return The minimum visible range, in meters.
+   */
+  public synchronized double getMinimumVisibleRange(EntityType entityType)
+  {
+    return getSettings(entityType).minimumRange;
+  }
+
+  /**
+   * Gets the largest range from the eye at which entities of a type are displayed.
+   * @param entityType The entity type to get the maximum range of.
+   * @return The maximum visible range, in meters, or Double.POSITIVE_INFINITY if there is no limit.
+   */
+  public synchronized double getMaximumVisibleRange(EntityType entityType)
+  {
+    return getSettings(entityType).maximumRange;
+  }
+
+  /**
+   * Sets the current range from the eye to the center of the view, which decides which types are inside their
+   * visible ranges.  Types that come back into range are brought up to date with the updates held back while they
+   * were out of range.
+   * @param rangeToEye The range, in meters, or Double.NaN if it is not known, in which case every type is displayed.
+   */
+  public void setRangeToEye(double rangeToEye)
+  {
+    Map<EntityToItemLayerAdapter, Boolean> layerToInRange = new HashMap();
+    synchronized (this)
+    {
+      this.rangeToEye = rangeToEye;
+      for (Map.Entry<EntityType, EntityToItemLayerAdapter> entry : typeToLayer.entrySet())
+      {
+        boolean inRange = getSettings(entry.getKey()).isInRange(rangeToEye);
+        layerToInRange.put(entry.getValue(), Boolean.valueOf(inRange));
+      }
+    }
+    for (Map.Entry<EntityToItemLayerAdapter, Boolean> entry : layerToInRange.entrySet())
+    {
+      entry.getKey().setInRange(entry.getValue().booleanValue());
+    }
+  }
+
+  /**
+   * Gets the current range from the eye to the center of the view.
+   * @return The range, in meters, or Double.NaN if it is not known.
+   */
+  public synchronized double getRangeToEye()
+  {
+    return rangeToEye;
+  }
+
+  /**
+   * Adds a listener that is notified when a property of the layer list changes.
+   * @param propertyName The property to listen to.
+   * @param listener The listener to add.
+   */
+  public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener)
+  {
+    propertyChangeSupport.addPropertyChangeListener(propertyName, listener);
+  }
+
+  /**
+   * Removes a listener that was notified when a property of the layer list changes.
+   * @param propertyName The property that was listened to.
+   * @param listener The listener to remove.
+   */
+  public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener)
+  {
+    propertyChangeSupport.removePropertyChangeListener(propertyName, listener);
+  }
+
   /**
    * Sets the image pack that's used to determine which icons should be displayed for tracks.
    * @param iconSet The image pack that contains the icons for tracks.
@@ -143,16 +483,6 @@ public class EntityLayerList
     return trackLayer.getImagePack();
   }
 
-  private EntityToItemLayerAdapter getEntityLayerSafely(EntityType entityType)
-  {
-    EntityToItemLayerAdapter entityLayer = typeToLayer.get(entityType);
-    if (entityLayer == null)
-    {
-      throw new IllegalArgumentException("entityType has no corresponding layer");
-    }
-    return entityLayer;
-  }
-
   private EntityToItemLayerAdapter checkedGetEntityLayer(Entity entity)
   {
     if (entity == null)
@@ -160,18 +490,48 @@ public class EntityLayerList
       throw new IllegalArgumentException("null entity has no associated entity layerr");
     }
     EntityType entityType = entity.getType();
-    return getEntityLayerSafely(entityType);
+    EntityToItemLayerAdapter entityLayer;
+    AbstractItemLayer createdLayer = null;
+    synchronized (this)
+    {
+      entityLayer = typeToLayer.get(entityType);
+      if (entityLayer == null)
+      {
+        createdLayer = createLayerForEntity(entity);
+        if (createdLayer == null)
+        {
+          throw new IllegalArgumentException("entityType " + entityType + " has no corresponding layer");
+        }
+        Class<? extends Entity> allowedEntityClass =
+            (entity instanceof GeometryEntity) ? GeometryEntity.class : WWPointEntity.class;
+        entityLayer = addEntityLayer(entityType, createdLayer, allowedEntityClass);
+      }
+    }
+    if (createdLayer != null)
+    {
+      propertyChangeSupport.firePropertyChange(LAYER_ADDED_PROPERTY, null, createdLayer);
+    }
+    return entityLayer;
   }
 
   /**
-   * Sets whether or not an entity type should be displayed.
+   * Sets whether or not an entity type should be displayed.  If the type doesn't have a layer yet, the setting is
+   * applied when its layer is created.
    * @param entityType The entity type to enable or disable
    * @param enabled whether or not the entity type should be displayed.
    */
-  public void setEnabled(WWEntityType entityType, boolean enabled)
+  public void setEnabled(EntityType entityType, boolean enabled)
   {
-    EntityToItemLayerAdapter entityLayer = getEntityLayerSafely(entityType);
-    entityLayer.setEnabled(enabled);
+    EntityToItemLayerAdapter entityLayer;
+    synchronized (this)
+    {
+      getSettings(entityType).enabled = enabled;
+      entityLayer = typeToLayer.get(entityType);
+    }
+    if (entityLayer != null)
+    {
+      entityLayer.setEnabled(enabled);
+    }
   }
 
   /**
@@ -194,12 +554,77 @@ public class EntityLayerList
     entityLayer.removeEntity(entity);
   }
 
+  private Map<EntityToItemLayerAdapter, List<Entity>> groupByLayer(Collection<? extends Entity> entities)
+  {
+    Map<EntityToItemLayerAdapter, List<Entity>> layerToEntities = new HashMap();
+    for (Entity entity : entities)
+    {
+      EntityToItemLayerAdapter entityLayer = checkedGetEntityLayer(entity);
+      List<Entity> entitiesForLayer = layerToEntities.get(entityLayer);
+      if (entitiesForLayer == null)
+      {
+        entitiesForLayer = new ArrayList();
+        layerToEntities.put(entityLayer, entitiesForLayer);
+      }
+      entitiesForLayer.add(entity);
+    }
+    return layerToEntities;
+  }
+
+  /**
+   * Adds a collection of entities to be displayed.  Each layer is updated once with all of its entities.
+   * @param entities The entities to be added.
+   */
+  public void addEntities(Collection<? extends Entity> entities)
+  {
+    for (Map.Entry<EntityToItemLayerAdapter, List<Entity>> entry : groupByLayer(entities).entrySet())
+    {
+      entry.getKey().addEntities(entry.getValue());
+    }
+  }
+
+  /**
+   * Removes a collection of entities from display.  Each layer is updated once with all of its entities.
+   * @param entities The entities to be removed.
+   */
+  public void removeEntities(Collection<? extends Entity> entities)
+  {
+    for (Map.Entry<EntityToItemLayerAdapter, List<Entity>> entry : groupByLayer(entities).entrySet())
+    {
+      entry.getKey().removeEntities(entry.getValue());
+    }
+  }
+
+  /**
+   * Notifies the EntityLayerList that a collection of entities have been updated.  Each layer is updated once with
+   * all of its entities.
+   * @param entities The entities that have been updated.
+   */
+  public void updateEntities(Collection<? extends Entity> entities)
+  {
+    updateEntities(entities, null);
+  }
+
+  /**
+   * Notifies the EntityLayerList that a collection of entities have been updated, and which of their fields changed.
+   * Each layer is updated once with all of its entities, and only refreshes what depends on the changed fields.
+   * @param entities The entities that have been updated.
+   * @param changedFields The fields that changed for each entity, or null if they are not known.
+   */
+  public void updateEntities(Collection<? extends Entity> entities, Map<Entity, Integer> changedFields)
+  {
+    for (Map.Entry<EntityToItemLayerAdapter, List<Entity>> entry : groupByLayer(entities).entrySet())
+    {
+      entry.getKey().updateEntities(entry.getValue(), changedFields);
+    }
+  }
+
   /**
    * Clears all entities from the layer.
    */
   public void clearEntities()
   {
-    for (EntityToItemLayerAdapter entityLayer : typeToLayer.values())
+    for (EntityToItemLayerAdapter entityLayer : getEntityLayers())
     {
       entityLayer.clearEntities();
     }
@@ -225,7 +650,7 @@ public class EntityLayerList
    */
   public void clearSelection(SelectionType selectionType)
   {
-    for (EntityToItemLayerAdapter layer : typeToLayer.values())
+    for (EntityToItemLayerAdapter layer : getEntityLayers())
     {
       layer.clearSelection(selectionType);
     }
@@ -237,8 +662,7 @@ public class EntityLayerList
    */
   public void updateEntity(Entity entity)
   {
-    EntityToItemLayerAdapter entityLayer = checkedGetEntityLayer(entity);
-    entityLayer.updateEntity(entity);
+    updateEntities(Collections.singletonList(entity), null);
   }
 
   /**
@@ -254,7 +678,7 @@ public class EntityLayerList
   {
     // Entities can only exist in a single layer.
     Entity entityForObject = null;
-    for (EntityToItemLayerAdapter layer : typeToLayer.values())
+    for (EntityToItemLayerAdapter layer : getEntityLayers())
     {
       Entity entityInLayer = layer.getEntityForDisplayObject(pickedObject);
       if (entityInLayer != null)
@@ -265,11 +689,104 @@ public class EntityLayerList
     }
     return entityForObject;
   }
+  /**
+   * Picks the topmost entity drawn as an icon at a point, using the icon positions of the last rendered frame rather
+   * than a picking pass.
+   * @param point The point to pick, in AWT coordinates relative to the viewport.
+   * @return The topmost entity whose icon is at the point, or null if there is none.
+   */
+  public Entity pickIconEntity(Point point)
+  {
+    Entity pickedEntity = null;
+    // Later layers are drawn on top of earlier ones, so check them first.
+    for (int i = layerList.size() - 1; i >= 0 && pickedEntity == null; i--)
+    {
+      Layer layer = layerList.get(i);
+      if (layer instanceof ItemIconLayer && layer.isEnabled())
+      {
+        pickedEntity = (Entity) ((ItemIconLayer) layer).pickItem(point);
+      }
+    }
+    return pickedEntity;
+  }
+
+  /**
+   * Picks every entity drawn as an icon that intersects a box, using the icon positions of the last rendered frame
+   * rather than a picking pass.
+   * @param box The box to pick, in AWT coordinates relative to the viewport.
+   * @return The entities whose icons intersect the box.
+   */
+  public List<Entity> pickIconEntities(Rectangle box)
+  {
+    List<Entity> pickedEntities = new ArrayList();
+    for (Layer layer : layerList)
+    {
+      if (layer instanceof ItemIconLayer && layer.isEnabled())
+      {
+        pickedEntities.addAll(((ItemIconLayer) layer).pickItems(box));
+      }
+    }
+    return pickedEntities;
+  }
+
+  /**
+   * Sets whether icons take part in Worldwind's picking pass.  Turning this off leaves mostly the surface shapes to
+   * be picked by rendering, and icons must be picked with pickIconEntity(Point) instead.
+   * @param enabled true to pick icons in the picking pass, false otherwise.
+   */
+  public void setIconPickPassEnabled(boolean enabled)
+  {
+    synchronized (this)
+    {
+      iconPickPassEnabled = enabled;
+    }
+    for (Layer layer : layerList)
+    {
+      if (layer instanceof ItemIconLayer)
+      {
+        ((ItemIconLayer) layer).setIconPickPassEnabled(enabled);
+      }
+    }
+  }
+
+  /**
+   * Stops passing on gathered updates, and disposes the layers.  Updates still waiting for their interval are
+   * dropped.
+   */
+  public void dispose()
+  {
+    for (EntityToItemLayerAdapter entityLayer : getEntityLayers())
+    {
+      entityLayer.dispose();
+    }
+  }
+
+  /**
+   * The settings of an entity type, which are kept for types whose layers haven't been created yet.
+   */
+  private static class TypeSettings
+  {
+    boolean enabled = true;
+    int updateInterval;
+    int iconBudget;
+    double minimumRange = 0;
+    double maximumRange = Double.POSITIVE_INFINITY;
+
+    boolean isInRange(double rangeToEye)
+    {
+      return Double.isNaN(rangeToEye) || (rangeToEye >= minimumRange && rangeToEye <= maximumRange);
+    }
+  }
   
   private class EntityToItemLayerAdapter implements EntityCollectionUI
   {
     private AbstractItemLayer layer;
     private Class<? extends Entity> allowedEntityClass;
+    private int updateInterval;
+    private boolean enabled;
+    private boolean inRange;
+    private Map<Entity, Integer> pendingFields;
+    private Timer updateTimer;
 
     public EntityToItemLayerAdapter(AbstractItemLayer itemLayer, Class<? extends Entity> allowedEntityClass)
     {
@@ -284,6 +801,25 @@ public class EntityLayerList
       }
       this.layer = itemLayer;
       this.allowedEntityClass = allowedEntityClass;
+      this.enabled = true;
+      this.inRange = true;
+      this.pendingFields = new LinkedHashMap();
+      this.updateTimer = new Timer(0, new UpdateAction());
+      this.updateTimer.setRepeats(false);
+    }
+
+    public synchronized void setUpdateInterval(int updateInterval)
+    {
+      this.updateInterval = updateInterval;
+      updateTimer.setInitialDelay(updateInterval);
+    }
+
+    public void setIconBudget(int iconBudget)
+    {
+      if (layer instanceof ItemIconLayer)
+      {
+        ((ItemIconLayer) layer).setIconBudget(iconBudget);
+      }
     }
 
     public void addEntity(Entity entity)
@@ -293,16 +829,107 @@ public class EntityLayerList
 
     public void removeEntity(Entity entity)
     {
+      synchronized (this)
+      {
+        pendingFields.remove(entity);
+      }
       layer.removeItem(entity);
     }
 
     public void updateEntity(Entity entity)
     {
-      layer.updateItem(entity);
+      updateEntities(Collections.singletonList(entity), null);
+    }
+
+    public void addEntities(List<Entity> entities)
+    {
+      layer.addItems(entities);
+    }
+
+    public void removeEntities(List<Entity> entities)
+    {
+      synchronized (this)
+      {
+        pendingFields.keySet().removeAll(entities);
+      }
+      layer.removeItems(entities);
+    }
+
+    public void updateEntities(List<Entity> entities)
+    {
+      updateEntities(entities, null);
+    }
+
+    public void updateEntities(List<Entity> entities, Map<Entity, Integer> changedFields)
+    {
+      boolean gathering;
+      synchronized (this)
+      {
+        // Out of range, updates are held back without a timer, until the layer comes back into range.
+        gathering = (updateInterval > 0) || !inRange;
+        if (gathering)
+        {
+          // The fields of an entity updated several times in one interval are combined, so nothing is lost.
+          for (Entity entity : entities)
+          {
+            int fields = EntityFields.get(changedFields, entity);
+            Integer pending = pendingFields.get(entity);
+            if (pending != null)
+            {
+              fields |= pending.intValue();
+            }
+            pendingFields.put(entity, Integer.valueOf(fields));
+          }
+          if (inRange && !updateTimer.isRunning())
+          {
+            updateTimer.start();
+          }
+        }
+      }
+      if (!gathering)
+      {
+        layer.updateItems(entities, changedFields);
+      }
+    }
+
+    private void flushUpdates()
+    {
+      List<Entity> entities;
+      Map<Entity, Integer> changedFields;
+      synchronized (this)
+      {
+        if (!inRange)
+        {
+          return;
+        }
+        entities = new ArrayList(pendingFields.keySet());
+        changedFields = pendingFields;
+        pendingFields = new LinkedHashMap();
+      }
+      if (!entities.isEmpty())
+      {
+        layer.updateItems(entities, changedFields);
+      }
+    }
+
+    public synchronized void stopUpdates()
+    {
+      updateTimer.stop();
+      pendingFields.clear();
+    }
+
+    public void dispose()
+    {
+      stopUpdates();
+      layer.dispose();
     }
 
     public void clearEntities()
     {
+      synchronized (this)
+      {
+        pendingFields.clear();
+      }
       layer.clearItems();
     }
 
@@ -330,7 +957,45 @@ public class EntityLayerList
     
     public void setEnabled(boolean enabled)
     {
-      layer.setEnabled(enabled);
+      synchronized (this)
+      {
+        this.enabled = enabled;
+      }
+      updateLayerEnabled();
     } 
+
+    public void setInRange(boolean inRange)
+    {
+      boolean cameIntoRange;
+      synchronized (this)
+      {
+        cameIntoRange = inRange && !this.inRange;
+        this.inRange = inRange;
+      }
+      updateLayerEnabled();
+      if (cameIntoRange)
+      {
+        flushUpdates();
+      }
+    }
+
+    private void updateLayerEnabled()
+    {
+      boolean layerEnabled;
+      synchronized (this)
+      {
+        layerEnabled = enabled && inRange;
+      }
+      // A disabled layer is skipped by Worldwind when rendering and picking.
+      layer.setEnabled(layerEnabled);
+    }
+
+    private class UpdateAction implements ActionListener
+    {
+      public void actionPerformed(ActionEvent e)
+      {
+        flushUpdates();
+      }
+    }
   }
 }
@@ -7,6 +7,7 @@ package org.omg.tacsit.worldwind.ui.viewport;
 import org.omg.tacsit.worldwind.common.layers.KeyedImagePack;
 import org.omg.tacsit.worldwind.common.layers.ImagePack;
 import java.awt.Image;
+import java.util.Collection;
 import javax.swing.Icon;
 import org.omg.tacsit.controller.Entity;
 import org.omg.tacsit.controller.EntityType;
@@ -39,6 +40,11 @@ public class EntityTypeImagePack<T extends Entity> implements ImagePack<T>
     return imageSource;
   }
 
+  public Collection<?> getImageSources()
+  {
+    return delegate.getImageSources();
+  }
+
   /**
    * Sets the image source that's used if no icon is defined for a particular entity type.
    * @param missingIconPath The file system path to the icon location.
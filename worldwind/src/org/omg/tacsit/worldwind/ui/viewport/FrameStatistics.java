@@ -0,0 +1,111 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.ui.viewport;
+
+/**
+ * A snapshot of the rendering statistics gathered by a RedrawScheduler.  All times are in nanoseconds.
+ * @author Matthew Child
+ */
+public class FrameStatistics
+{
+  private long frameCount;
+  private long totalFrameTime;
+  private long lastFrameTime;
+  private long maxFrameTime;
+  private long redrawRequestCount;
+  private long scheduledRedrawCount;
+
+  /**
+   * Creates a new instance.
+   * @param frameCount The number of frames that have been rendered.
+   * @param totalFrameTime The total time spent rendering frames.
+   * @param lastFrameTime The time spent rendering the most recent frame.
+   * @param maxFrameTime The longest time spent rendering a single frame.
+   * @param redrawRequestCount The number of times a redraw was requested.
+   * @param scheduledRedrawCount The number of redraws the requests were coalesced into.
+   */
+  public FrameStatistics(long frameCount, long totalFrameTime, long lastFrameTime, long maxFrameTime,
+                         long redrawRequestCount, long scheduledRedrawCount)
+  {
+    this.frameCount = frameCount;
+    this.totalFrameTime = totalFrameTime;
+    this.lastFrameTime = lastFrameTime;
+    this.maxFrameTime = maxFrameTime;
+    this.redrawRequestCount = redrawRequestCount;
+    this.scheduledRedrawCount = scheduledRedrawCount;
+  }
+
+  /**
+   * Gets the number of frames that have been rendered.  This includes frames that were not requested through the
+   * scheduler, such as those caused by the user moving the view.
+   * @return The number of rendered frames.
+   */
+  public long getFrameCount()
+  {
+    return frameCount;
+  }
+
+  /**
+   * Gets the total time spent rendering frames.
+   * @return The total frame time, in nanoseconds.
+   */
+  public long getTotalFrameTime()
+  {
+    return totalFrameTime;
+  }
+
+  /**
+   * Gets the average time spent rendering a frame.
+   * @return The average frame time, in nanoseconds, or 0 if no frames have been rendered.
+   */
+  public long getAverageFrameTime()
+  {
+    return (frameCount == 0) ? 0 : (totalFrameTime / frameCount);
+  }
+
+  /**
+   * Gets the time spent rendering the most recent frame.
+   * @return The most recent frame time, in nanoseconds.
+   */
+  public long getLastFrameTime()
+  {
+    return lastFrameTime;
+  }
+
+  /**
+   * Gets the longest time spent rendering a single frame.
+   * @return The longest frame time, in nanoseconds.
+   */
+  public long getMaxFrameTime()
+  {
+    return maxFrameTime;
+  }
+
+  /**
+   * Gets the number of times a redraw was requested.
+   * @return The number of redraw requests.
+   */
+  public long getRedrawRequestCount()
+  {
+    return redrawRequestCount;
+  }
+
+  /**
+   * Gets the number of redraws that the requests were coalesced into.
+   * @return The number of redraws issued by the scheduler.
+   */
+  public long getScheduledRedrawCount()
+  {
+    return scheduledRedrawCount;
+  }
+
+  @Override
+  public String toString()
+  {
+    return "FrameStatistics[frames=" + frameCount + ", averageFrameTime=" + getAverageFrameTime() +
+           ", lastFrameTime=" + lastFrameTime + ", maxFrameTime=" + maxFrameTime +
+           ", redrawRequests=" + redrawRequestCount + ", scheduledRedraws=" + scheduledRedrawCount + "]";
+  }
+}
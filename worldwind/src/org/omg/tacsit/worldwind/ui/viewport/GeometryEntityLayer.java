@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.omg.tacsit.entity.EntityFields;
 import org.omg.tacsit.geometry.GeodeticPosition;
 import org.omg.tacsit.worldwind.common.layers.AbstractItemLayer;
 import org.omg.tacsit.worldwind.entity.GeometryEntity;
@@ -30,6 +31,11 @@ import org.omg.tacsit.worldwind.geometry.WWSurfaceRectangle;
 
 /**
  * A Layer capable of displaying geometry entities.
+ * <p>
+ * Every shape displayed with the same selection type shares one set of shape attributes, which is treated as
+ * immutable once it has been created.  Changing the color of a selection type replaces its attributes.  Shapes are
+ * only re-styled when their displayed selection type changes, so that Worldwind can keep the cached textures of the
+ * shapes that didn't change.
  * @param <SEL_TYPE> The selection type that can be displayed in the layer.
  * @author Matthew Child
  */
@@ -37,7 +43,7 @@ public class GeometryEntityLayer<SEL_TYPE> extends AbstractItemLayer<GeometryEnt
 {
 
   private RenderableLayer renderableLayer;
-  private Map<SEL_TYPE, Material> selectionTypeToMaterial;
+  private Map<SEL_TYPE, ShapeAttributes> selectionTypeToAttributes;
 
   /**
    * Creates a new instance.
@@ -45,7 +51,7 @@ public class GeometryEntityLayer<SEL_TYPE> extends AbstractItemLayer<GeometryEnt
   public GeometryEntityLayer()
   {
     this.renderableLayer = new RenderableLayer();
-    this.selectionTypeToMaterial = new HashMap();
+    this.selectionTypeToAttributes = new HashMap();
   }
 
   /**
@@ -55,7 +61,16 @@ public class GeometryEntityLayer<SEL_TYPE> extends AbstractItemLayer<GeometryEnt
    */
   public void setSelectionColor(SEL_TYPE selectionType, Color selectionColor)
   {
-    selectionTypeToMaterial.put(selectionType, new Material(selectionColor));
+    Material shapeMaterial = new Material(selectionColor);
+    ShapeAttributes shapeAttributes = new BasicShapeAttributes();
+    shapeAttributes.setInteriorMaterial(shapeMaterial);
+    shapeAttributes.setOutlineMaterial(shapeMaterial);
+    selectionTypeToAttributes.put(selectionType, shapeAttributes);
+
+    for (GeometryEntity item : getItemsWithSelectionType(selectionType))
+    {
+      reloadShapeAttributes(item);
+    }
   }
 
   /**
@@ -67,44 +82,37 @@ public class GeometryEntityLayer<SEL_TYPE> extends AbstractItemLayer<GeometryEnt
   {
     Color colorForType = null;
 
-    Material material = getShapeMaterial(selectionType);
-    if (material != null)
+    ShapeAttributes shapeAttributes = getShapeAttributes(selectionType);
+    if (shapeAttributes != null)
     {
-      colorForType = material.getDiffuse();
+      colorForType = shapeAttributes.getInteriorMaterial().getDiffuse();
     }
     return colorForType;
   }
 
-  private Material getShapeMaterial(SEL_TYPE selectionType)
+  private ShapeAttributes getShapeAttributes(SEL_TYPE selectionType)
   {
-    Material shapeMaterial = selectionTypeToMaterial.get(selectionType);
-    return shapeMaterial;
+    ShapeAttributes shapeAttributes = null;
+    if (selectionType != null)
+    {
+      shapeAttributes = selectionTypeToAttributes.get(selectionType);
+    }
+    return shapeAttributes;
   }
 
-  private void reloadShapeMaterial(GeometryEntity item)
+  private void reloadShapeAttributes(GeometryEntity item)
   {
     SurfaceShape representation = getRepresentation(item);
     if (representation != null)
     {
       SEL_TYPE selectionType = getDisplaySelectionType(item);
-      Material shapeMaterial = getShapeMaterial(selectionType);
-      if (shapeMaterial != null)
+      // For a surface shape, the default attributes are initially null.  Null attributes restore the shape to its
+      // default display method.
+      ShapeAttributes shapeAttributes = getShapeAttributes(selectionType);
+      if (representation.getAttributes() != shapeAttributes)
       {
-        ShapeAttributes shapeAttributes = representation.getAttributes();
-        if (shapeAttributes == null)
-        {
-          shapeAttributes = new BasicShapeAttributes();
-        }
-        shapeAttributes.setInteriorMaterial(shapeMaterial);
-        shapeAttributes.setOutlineMaterial(shapeMaterial);
         representation.setAttributes(shapeAttributes);
       }
-      else
-      {
-        // For a surface shape, the default attributes are initially null.  This restores them to their
-        // default display method.
-        representation.setAttributes(null);
-      }
     }
     else
     {
@@ -113,47 +121,21 @@ public class GeometryEntityLayer<SEL_TYPE> extends AbstractItemLayer<GeometryEnt
     }
   }
 
-  private void reloadAllShapeMaterials()
-  {
-    for (GeometryEntity item : getItems())
-    {
-      reloadShapeMaterial(item);
-    }
-  }
-
   @Override
-  public void addItem(GeometryEntity item)
+  protected void doAddItem(GeometryEntity item)
   {
-    super.addItem(item);
+    super.doAddItem(item);
     // If the item was already added to selection
     if (isSelected(item))
     {
-      reloadShapeMaterial(item);
-    }
-  }
-
-  @Override
-  public void addItemToSelection(GeometryEntity item, SEL_TYPE selectionType)
-  {
-    super.addItemToSelection(item, selectionType);
-    if (containsItem(item))
-    {
-      reloadShapeMaterial(item);
+      reloadShapeAttributes(item);
     }
   }
 
   @Override
-  public void clearSelectionType(SEL_TYPE selectionType)
-  {
-    super.clearSelectionType(selectionType);
-    reloadAllShapeMaterials();
-  }
-
-  @Override
-  public void clearItemSelection(GeometryEntity item)
+  protected void itemSelectionChanged(GeometryEntity item)
   {
-    super.clearItemSelection(item);
-    reloadShapeMaterial(item);
+    reloadShapeAttributes(item);
   }
 
   @Override
@@ -262,6 +244,7 @@ public class GeometryEntityLayer<SEL_TYPE> extends AbstractItemLayer<GeometryEnt
       {
         SurfaceShape shape = toSurfaceShape(geometry);
         setRepresentation(item, shape);
+        reloadShapeAttributes(item);
       }
 
     }
@@ -276,6 +259,7 @@ public class GeometryEntityLayer<SEL_TYPE> extends AbstractItemLayer<GeometryEnt
       {
         SurfaceShape shape = toSurfaceShape(geometry);
         setRepresentation(item, shape);
+        reloadShapeAttributes(item);
       }
     }
     else
@@ -290,6 +274,48 @@ public class GeometryEntityLayer<SEL_TYPE> extends AbstractItemLayer<GeometryEnt
     }
   }
 
+  /**
+   * Updates a shape when it is known which fields of its entity changed.  A pure move only sets the shape's center,
+   * so the rest of the shape is left alone, and changes to fields the shape doesn't display are ignored.
+   * @param item The entity being represented.
+   * @param representation The shape that should be updated.
+   * @param changedFields The fields of the entity that changed, as a bitmask of the values in EntityFields.
+   */
+  @Override
+  protected void updateDisplayAttributes(GeometryEntity item, SurfaceShape representation, int changedFields)
+  {
+    if ((changedFields & (EntityFields.POSITION | EntityFields.SHAPE)) != 0)
+    {
+      boolean moved = EntityFields.isMoveOnly(changedFields) && moveShape(item.getGeometry(), representation);
+      if (!moved)
+      {
+        updateDisplayAttributes(item, representation);
+      }
+    }
+  }
+
+  /**
+   * Moves a shape to the center of its geometry, without changing its size.
+   * @return true if the shape was moved, or false if the shape doesn't match the geometry and must be rebuilt.
+   */
+  private boolean moveShape(WWSurfaceGeometry geometry, SurfaceShape representation)
+  {
+    boolean moved = false;
+    if (geometry instanceof WWSurfaceCircle && representation instanceof SurfaceCircle)
+    {
+      Position center = WWGeodeticPosition.toWWPosition(((WWSurfaceCircle) geometry).getCenter());
+      ((SurfaceCircle) representation).setCenter(center);
+      moved = true;
+    }
+    else if (geometry instanceof WWSurfaceRectangle && representation instanceof SurfaceQuad)
+    {
+      Position center = WWGeodeticPosition.toWWPosition(((WWSurfaceRectangle) geometry).getCenter());
+      ((SurfaceQuad) representation).setCenter(center);
+      moved = true;
+    }
+    return moved;
+  }
+
   @Override
   protected void clearRepresentationsFromLayer()
   {
@@ -0,0 +1,230 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.ui.viewport;
+
+import gov.nasa.worldwind.WorldWindow;
+import gov.nasa.worldwind.event.RenderingEvent;
+import gov.nasa.worldwind.event.RenderingListener;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import javax.swing.Timer;
+import org.omg.tacsit.common.util.Disposable;
+import org.omg.tacsit.worldwind.common.layers.RedrawRequester;
+
+/**
+ * Coalesces redraw requests for a WorldWindow into at most one redraw per frame interval.
+ * <p>
+ * Requests may come from any thread.  They mark the window as dirty, and a frame timer running on the event
+ * dispatch thread issues a single redraw for all of the requests made since the last frame.  When idle suspension is
+ * on, the frame timer stops as soon as a frame passes with no requests, so nothing is rendered while nothing changes.
+ * When it is off, the window is redrawn every frame interval.
+ * <p>
+ * The scheduler also times every frame the window renders, whether or not the scheduler asked for it.  The results
+ * are available from getFrameStatistics().
+ * @author Matthew Child
+ */
+public class RedrawScheduler implements RedrawRequester, Disposable
+{
+  /**
+   * The maximum frame rate used when none is specified, in frames per second.
+   */
+  public static final double DEFAULT_MAXIMUM_FRAME_RATE = 60;
+
+  private static final long NOT_RENDERING = -1;
+
+  private WorldWindow worldWindow;
+  private Timer frameTimer;
+  private FrameTimingListener frameTimingListener;
+  private double maximumFrameRate;
+  private boolean idleSuspended;
+  private boolean redrawPending;
+
+  private long frameStartTime;
+  private long frameCount;
+  private long totalFrameTime;
+  private long lastFrameTime;
+  private long maxFrameTime;
+  private long redrawRequestCount;
+  private long scheduledRedrawCount;
+
+  /**
+   * Creates a new instance.
+   * @param worldWindow The window to redraw. May not be null.
+   */
+  public RedrawScheduler(WorldWindow worldWindow)
+  {
+    if (worldWindow == null)
+    {
+      throw new IllegalArgumentException("worldWindow may not be null");
+    }
+    this.worldWindow = worldWindow;
+    this.idleSuspended = true;
+    this.frameStartTime = NOT_RENDERING;
+
+    this.frameTimer = new Timer(0, new FrameAction());
+    this.frameTimer.setInitialDelay(0);
+    setMaximumFrameRate(DEFAULT_MAXIMUM_FRAME_RATE);
+
+    this.frameTimingListener = new FrameTimingListener();
+    worldWindow.addRenderingListener(frameTimingListener);
+  }
+
+  /**
+   * Sets the maximum rate at which the scheduler will redraw the window.
+   * @param framesPerSecond The maximum number of redraws per second.  Must be positive.
+   */
+  public synchronized void setMaximumFrameRate(double framesPerSecond)
+  {
+    if (!(framesPerSecond > 0))
+    {
+      throw new IllegalArgumentException("framesPerSecond must be positive");
+    }
+    this.maximumFrameRate = framesPerSecond;
+    int frameInterval = (int) Math.max(1, Math.round(1000 / framesPerSecond));
+    frameTimer.setDelay(frameInterval);
+  }
+
+  /**
+   * Gets the maximum rate at which the scheduler will redraw the window.
+   * @return The maximum number of redraws per second.
+   */
+  public synchronized double getMaximumFrameRate()
+  {
+    return maximumFrameRate;
+  }
+
+  /**
+   * Sets whether rendering stops while nothing has changed.
+   * @param idleSuspended true to redraw only when a redraw has been requested, or false to redraw every frame
+   * interval.
+   */
+  public synchronized void setIdleSuspended(boolean idleSuspended)
+  {
+    this.idleSuspended = idleSuspended;
+    if (!idleSuspended)
+    {
+      startFrameTimer();
+    }
+  }
+
+  /**
+   * Checks whether rendering stops while nothing has changed.
+   * @return true if the window is redrawn only when a redraw has been requested, or false if it is redrawn every
+   * frame interval.
+   */
+  public synchronized boolean isIdleSuspended()
+  {
+    return idleSuspended;
+  }
+
+  public synchronized void requestRedraw()
+  {
+    redrawRequestCount++;
+    redrawPending = true;
+    startFrameTimer();
+  }
+
+  private void startFrameTimer()
+  {
+    if (!frameTimer.isRunning())
+    {
+      frameTimer.start();
+    }
+  }
+
+  private synchronized boolean nextFrame()
+  {
+    boolean redraw = redrawPending || !idleSuspended;
+    if (redraw)
+    {
+      redrawPending = false;
+      scheduledRedrawCount++;
+    }
+    else
+    {
+      frameTimer.stop();
+    }
+    return redraw;
+  }
+
+  /**
+   * Gets a snapshot of the rendering statistics gathered since the scheduler was created, or since they were last
+   * reset.
+   * @return The current rendering statistics.
+   */
+  public synchronized FrameStatistics getFrameStatistics()
+  {
+    return new FrameStatistics(frameCount, totalFrameTime, lastFrameTime, maxFrameTime, redrawRequestCount,
+                               scheduledRedrawCount);
+  }
+
+  /**
+   * Resets the rendering statistics to zero.
+   */
+  public synchronized void resetFrameStatistics()
+  {
+    frameCount = 0;
+    totalFrameTime = 0;
+    lastFrameTime = 0;
+    maxFrameTime = 0;
+    redrawRequestCount = 0;
+    scheduledRedrawCount = 0;
+  }
+
+  private synchronized void frameStarted(long time)
+  {
+    frameStartTime = time;
+  }
+
+  private synchronized void frameFinished(long time)
+  {
+    if (frameStartTime != NOT_RENDERING)
+    {
+      long frameTime = time - frameStartTime;
+      frameStartTime = NOT_RENDERING;
+      frameCount++;
+      totalFrameTime += frameTime;
+      lastFrameTime = frameTime;
+      maxFrameTime = Math.max(maxFrameTime, frameTime);
+    }
+  }
+
+  public void dispose()
+  {
+    synchronized (this)
+    {
+      frameTimer.stop();
+      redrawPending = false;
+    }
+    worldWindow.removeRenderingListener(frameTimingListener);
+  }
+
+  private class FrameAction implements ActionListener
+  {
+    public void actionPerformed(ActionEvent e)
+    {
+      if (nextFrame())
+      {
+        worldWindow.redraw();
+      }
+    }
+  }
+
+  private class FrameTimingListener implements RenderingListener
+  {
+    public void stageChanged(RenderingEvent event)
+    {
+      String stage = event.getStage();
+      if (RenderingEvent.BEFORE_RENDERING.equals(stage))
+      {
+        frameStarted(System.nanoTime());
+      }
+      else if (RenderingEvent.AFTER_BUFFER_SWAP.equals(stage))
+      {
+        frameFinished(System.nanoTime());
+      }
+    }
+  }
+}
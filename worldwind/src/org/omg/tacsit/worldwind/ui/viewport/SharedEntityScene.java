@@ -0,0 +1,71 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.ui.viewport;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.omg.tacsit.controller.EntityType;
+import org.omg.tacsit.worldwind.common.layers.SharedIconStore;
+import org.omg.tacsit.worldwind.entity.WWEntityType;
+import org.omg.tacsit.worldwind.entity.WWPointEntity;
+
+/**
+ * The viewport-independent representations of entities, shared by every WorldwindViewport created with it.
+ * <p>
+ * Landmarks and tracks are displayed with one icon per entity, however many viewports show them.  Each viewport keeps
+ * its own selection styling, culling and the set of entities it shows, and still applies the changes it is sent to
+ * the shared icons.  Since viewports thin out updates on their own, a shared icon may be moved by a viewport that
+ * another has not yet heard from; the other viewports sharing the icon then move it in their own culling indexes.
+ * Surface geometry is not shared, because its shapes carry each viewport's selection styling.
+ * <p>
+ * Each entity type shown with icons has its own store, which is created the first time the type is asked for.
+ * @author Matthew Child
+ */
+public class SharedEntityScene
+{
+  private Map<EntityType, SharedIconStore<WWPointEntity>> typeToIcons;
+
+  /**
+   * Creates a new, empty instance.
+   */
+  public SharedEntityScene()
+  {
+    typeToIcons = new HashMap<EntityType, SharedIconStore<WWPointEntity>>();
+  }
+
+  /**
+   * Gets the store that holds the icons of entities of a type, creating it if the type doesn't have one yet.
+   * @param entityType The type of entity to get the icon store of.
+   * @return The icon store of the entity type.
+   */
+  public synchronized SharedIconStore<WWPointEntity> getIconStore(EntityType entityType)
+  {
+    SharedIconStore<WWPointEntity> iconStore = typeToIcons.get(entityType);
+    if (iconStore == null)
+    {
+      iconStore = new SharedIconStore<WWPointEntity>();
+      typeToIcons.put(entityType, iconStore);
+    }
+    return iconStore;
+  }
+
+  /**
+   * Gets the store that holds the icons of landmarks.
+   * @return The landmark icon store.
+   */
+  public SharedIconStore<WWPointEntity> getLandmarkIcons()
+  {
+    return getIconStore(WWEntityType.LANDMARK);
+  }
+
+  /**
+   * Gets the store that holds the icons of tracks.
+   * @return The track icon store.
+   */
+  public SharedIconStore<WWPointEntity> getTrackIcons()
+  {
+    return getIconStore(WWEntityType.TRACK);
+  }
+}
@@ -0,0 +1,311 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.ui.viewport;
+
+import gov.nasa.worldwind.Model;
+import gov.nasa.worldwind.View;
+import gov.nasa.worldwind.WorldWindow;
+import gov.nasa.worldwind.geom.Position;
+import gov.nasa.worldwind.geom.Vec4;
+import gov.nasa.worldwind.globes.Globe;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.Timer;
+import org.omg.tacsit.common.util.Disposable;
+import org.omg.tacsit.controller.Entity;
+import org.omg.tacsit.entity.EntityFields;
+import org.omg.tacsit.worldwind.common.layers.Positioned;
+
+/**
+ * Passes entity updates on to an EntityLayerList, dropping the position updates that would not visibly move an
+ * entity in a WorldWindow.
+ * <p>
+ * The decimator remembers the position each positioned entity was last displayed at.  When an update arrives, both
+ * that position and the new one are projected with the window's current view, and the update is held back if they
+ * are less than the pixel threshold apart.  Because the comparison uses the current view, the same movement is
+ * dropped when zoomed out and passed on when zoomed in.  Entities that are not Positioned are always passed on.
+ * <p>
+ * Held back entities are not lost.  A catch-up timer periodically passes on every entity that has been held back
+ * since the last catch-up, so displayed entities never drift from their true state for longer than the catch-up
+ * interval.  This also bounds how long a non-positional change, such as a new image, can wait behind a small move.
+ * <p>
+ * When the changed fields of the updates are known, only pure moves are held back; an update that changes anything
+ * else about an entity is passed on at once.  The changed fields of an entity that is held back are combined with
+ * those of its later updates, so nothing that changed is lost when it is finally passed on.
+ * @author Matthew Child
+ */
+public class UpdateDecimator implements Disposable
+{
+  /**
+   * The pixel threshold used when none is specified.
+   */
+  public static final double DEFAULT_PIXEL_THRESHOLD = 1.0;
+
+  /**
+   * The catch-up interval used when none is specified, in milliseconds.
+   */
+  public static final int DEFAULT_CATCH_UP_INTERVAL = 1000;
+
+  private WorldWindow worldWindow;
+  private EntityLayerList entityLayerList;
+  private Timer catchUpTimer;
+  private double pixelThreshold;
+  private Map<Entity, Position> entityToDisplayedPosition;
+  private Map<Entity, Integer> heldEntityFields;
+  private long forwardedCount;
+  private long droppedCount;
+
+  /**
+   * Creates a new instance.
+   * @param worldWindow The window that the entities are displayed in. May not be null.
+   * @param entityLayerList The layers to pass updates on to. May not be null.
+   */
+  public UpdateDecimator(WorldWindow worldWindow, EntityLayerList entityLayerList)
+  {
+    if (worldWindow == null)
+    {
+      throw new IllegalArgumentException("worldWindow may not be null");
+    }
+    if (entityLayerList == null)
+    {
+      throw new IllegalArgumentException("entityLayerList may not be null");
+    }
+    this.worldWindow = worldWindow;
+    this.entityLayerList = entityLayerList;
+    this.pixelThreshold = DEFAULT_PIXEL_THRESHOLD;
+    this.entityToDisplayedPosition = new HashMap();
+    this.heldEntityFields = new LinkedHashMap();
+    this.catchUpTimer = new Timer(DEFAULT_CATCH_UP_INTERVAL, new CatchUpAction());
+    this.catchUpTimer.start();
+  }
+
+  /**
+   * Sets the smallest screen movement that is passed on immediately.
+   * @param pixelThreshold The threshold, in pixels.  A threshold of 0 passes on every update.  May not be negative.
+   */
+  public synchronized void setPixelThreshold(double pixelThreshold)
+  {
+    if (!(pixelThreshold >= 0))
+    {
+      throw new IllegalArgumentException("pixelThreshold may not be negative");
+    }
+    this.pixelThreshold = pixelThreshold;
+  }
+
+  /**
+   * Gets the smallest screen movement that is passed on immediately.
+   * @return The threshold, in pixels.
+   */
+  public synchronized double getPixelThreshold()
+  {
+    return pixelThreshold;
+  }
+
+  /**
+   * Sets how often held back updates are passed on.
+   * @param catchUpInterval The interval, in milliseconds.  Must be positive.
+   */
+  public void setCatchUpInterval(int catchUpInterval)
+  {
+    if (catchUpInterval <= 0)
+    {
+      throw new IllegalArgumentException("catchUpInterval must be positive");
+    }
+    catchUpTimer.setDelay(catchUpInterval);
+  }
+
+  /**
+   * Gets how often held back updates are passed on.
+   * @return The interval, in milliseconds.
+   */
+  public int getCatchUpInterval()
+  {
+    return catchUpTimer.getDelay();
+  }
+
+  /**
+   * Gets the number of entity updates that have been passed on to the layers, including catch-ups.
+   * @return The number of updates passed on.
+   */
+  public synchronized long getForwardedCount()
+  {
+    return forwardedCount;
+  }
+
+  /**
+   * Gets the number of entity updates that have been held back because they would not visibly move the entity.
+   * @return The number of updates held back.
+   */
+  public synchronized long getDroppedCount()
+  {
+    return droppedCount;
+  }
+
+  /**
+   * Records that entities have been added to the layers at their current positions.
+   * @param entities The entities that were added.
+   */
+  public synchronized void entitiesAdded(Collection<? extends Entity> entities)
+  {
+    for (Entity entity : entities)
+    {
+      recordDisplayedPosition(entity);
+    }
+  }
+
+  /**
+   * Forgets entities that have been removed from the layers.
+   * @param entities The entities that were removed.
+   */
+  public synchronized void entitiesRemoved(Collection<? extends Entity> entities)
+  {
+    for (Entity entity : entities)
+    {
+      entityToDisplayedPosition.remove(entity);
+      heldEntityFields.remove(entity);
+    }
+  }
+
+  /**
+   * Forgets every entity.
+   */
+  public synchronized void entitiesCleared()
+  {
+    entityToDisplayedPosition.clear();
+    heldEntityFields.clear();
+  }
+
+  /**
+   * Passes updated entities on to the layers, holding back the ones that would not visibly move.
+   * @param entities The entities that have been updated.
+   */
+  public void updateEntities(Collection<? extends Entity> entities)
+  {
+    updateEntities(entities, null);
+  }
+
+  /**
+   * Passes updated entities on to the layers, holding back the pure moves that would not visibly move an entity.
+   * @param entities The entities that have been updated.
+   * @param changedFields The fields that changed for each entity, or null if they are not known.  When they are not
+   * known, any update may be held back.
+   */
+  public synchronized void updateEntities(Collection<? extends Entity> entities, Map<Entity, Integer> changedFields)
+  {
+    List<Entity> forwardedEntities = new ArrayList(entities.size());
+    Map<Entity, Integer> forwardedFields = new HashMap();
+    View view = worldWindow.getView();
+    Globe globe = getGlobe();
+    boolean decimating = (pixelThreshold > 0) && (view != null) && (globe != null);
+    for (Entity entity : entities)
+    {
+      int fields = EntityFields.get(changedFields, entity);
+      Integer heldFields = heldEntityFields.get(entity);
+      if (heldFields != null)
+      {
+        fields |= heldFields.intValue();
+      }
+      boolean holdable = (changedFields == null) || EntityFields.isMoveOnly(fields);
+      if (decimating && holdable && isBelowThreshold(entity, view, globe))
+      {
+        heldEntityFields.put(entity, Integer.valueOf(fields));
+        droppedCount++;
+      }
+      else
+      {
+        heldEntityFields.remove(entity);
+        forwardedEntities.add(entity);
+        forwardedFields.put(entity, Integer.valueOf(fields));
+      }
+    }
+    forward(forwardedEntities, forwardedFields);
+  }
+
+  /**
+   * Immediately passes on every entity update that has been held back.
+   */
+  public synchronized void catchUp()
+  {
+    if (!heldEntityFields.isEmpty())
+    {
+      List<Entity> caughtUpEntities = new ArrayList(heldEntityFields.keySet());
+      Map<Entity, Integer> caughtUpFields = heldEntityFields;
+      heldEntityFields = new LinkedHashMap();
+      forward(caughtUpEntities, caughtUpFields);
+    }
+  }
+
+  private void forward(List<Entity> entities, Map<Entity, Integer> changedFields)
+  {
+    if (!entities.isEmpty())
+    {
+      for (Entity entity : entities)
+      {
+        recordDisplayedPosition(entity);
+      }
+      forwardedCount += entities.size();
+      entityLayerList.updateEntities(entities, changedFields);
+    }
+  }
+
+  private void recordDisplayedPosition(Entity entity)
+  {
+    if (entity instanceof Positioned)
+    {
+      Position position = ((Positioned) entity).getPosition();
+      if (position != null)
+      {
+        entityToDisplayedPosition.put(entity, position);
+      }
+    }
+  }
+
+  private boolean isBelowThreshold(Entity entity, View view, Globe globe)
+  {
+    boolean belowThreshold = false;
+    if (entity instanceof Positioned)
+    {
+      Position displayedPosition = entityToDisplayedPosition.get(entity);
+      Position position = ((Positioned) entity).getPosition();
+      if (displayedPosition != null && position != null)
+      {
+        Vec4 displayedPoint = view.project(globe.computePointFromPosition(displayedPosition));
+        Vec4 point = view.project(globe.computePointFromPosition(position));
+        if (displayedPoint != null && point != null)
+        {
+          double dx = point.x - displayedPoint.x;
+          double dy = point.y - displayedPoint.y;
+          belowThreshold = ((dx * dx) + (dy * dy)) < (pixelThreshold * pixelThreshold);
+        }
+      }
+    }
+    return belowThreshold;
+  }
+
+  private Globe getGlobe()
+  {
+    Model model = worldWindow.getModel();
+    return (model != null) ? model.getGlobe() : null;
+  }
+
+  public void dispose()
+  {
+    catchUpTimer.stop();
+  }
+
+  private class CatchUpAction implements ActionListener
+  {
+    public void actionPerformed(ActionEvent e)
+    {
+      catchUp();
+    }
+  }
+}
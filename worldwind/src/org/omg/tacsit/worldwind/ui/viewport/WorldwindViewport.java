@@ -21,6 +21,7 @@ import gov.nasa.worldwind.examples.util.ToolTipController;
 import gov.nasa.worldwind.geom.Angle;
 import gov.nasa.worldwind.geom.LatLon;
 import gov.nasa.worldwind.geom.Position;
+import gov.nasa.worldwind.geom.Sector;
 import gov.nasa.worldwind.geom.Vec4;
 import gov.nasa.worldwind.globes.Globe;
 import gov.nasa.worldwind.layers.Layer;
@@ -30,26 +31,40 @@ import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.swing.Timer;
 import org.omg.tacsit.common.math.Distance;
 import org.omg.tacsit.common.util.Disposable;
+import org.omg.tacsit.controller.EntityType;
 import org.omg.tacsit.controller.Projection;
 import org.omg.tacsit.controller.SelectionListener;
 import org.omg.tacsit.controller.SelectionManager;
 import org.omg.tacsit.controller.SelectionType;
 import org.omg.tacsit.controller.SingleSelectionManager;
 import org.omg.tacsit.controller.ViewEyeProperties;
+import org.omg.tacsit.geometry.Ellipsoid;
+import org.omg.tacsit.geometry.GeodesicUtils;
 import org.omg.tacsit.geometry.GeodeticPosition;
 import org.omg.tacsit.geometry.GeometryUtils;
 import org.omg.tacsit.ui.viewport.AbstractViewport;
 import org.omg.tacsit.ui.viewport.EntityViewport;
+import org.omg.tacsit.ui.viewport.InterestRegion;
+import org.omg.tacsit.ui.viewport.LazyViewportChangeEvent;
+import org.omg.tacsit.worldwind.common.layers.Positioned;
 import org.omg.tacsit.worldwind.geometry.WWGeodeticPosition;
 
 /**
@@ -59,21 +74,61 @@ import org.omg.tacsit.worldwind.geometry.WWGeodeticPosition;
 public class WorldwindViewport extends AbstractViewport implements EntityViewport, Disposable
 {
   private static final int WORLD_MAP_LAYER_INDEX = 10;
+
+  /**
+   * The interest margin used when none is specified, as a fraction of the distance to the horizon.
+   */
+  public static final double DEFAULT_INTEREST_MARGIN = 0.5;
+
+  /**
+   * How many times taller than it needs to be the interest region may get, when zooming in, before it is shrunk.
+   */
+  private static final double INTEREST_SHRINK_RATIO = 3;
+
+  /**
+   * The shortest time between view eye change events when none is specified, in milliseconds.
+   */
+  public static final int DEFAULT_VIEW_EYE_CHANGE_INTERVAL = 100;
   
   private ViewUpdateListener viewUpdateListener;
   private WorldWindowGLCanvas worldWindow;
+  private RedrawScheduler redrawScheduler;
   private EntityLayerList entityLayerList;
+  private UpdateDecimator updateDecimator;
   private ToolTipController toolTipController;
   private SelectionManager selectionManager;
   private SelectionListener selectionListener;
   private SelectListener viewportSelectionListener;
+  private boolean screenSpacePicking;
+  private boolean interestManaged;
+  private double interestMargin;
+  private volatile Sector interestSector;
+  private volatile Set<EntityType> allowedEntityTypes;
+  private int viewEyeChangeInterval;
+  private long lastViewEyeChangeTime;
+  private Timer viewEyeChangeTimer;
 
   /**
-   * Creates a new instance.
+   * Creates a new instance, with entity representations that are not shared with any other viewport.
    */
   public WorldwindViewport()
   {
-    initGUI();
+    this(new SharedEntityScene());
+  }
+
+  /**
+   * Creates a new instance that displays entities with the representations of a shared scene.  Viewports created
+   * with the same scene hold a single copy of each representation between them.
+   * @param sharedScene The scene that holds the shared representations. May not be null.
+   */
+  public WorldwindViewport(SharedEntityScene sharedScene)
+  {
+    interestManaged = true;
+    interestMargin = DEFAULT_INTEREST_MARGIN;
+    viewEyeChangeInterval = DEFAULT_VIEW_EYE_CHANGE_INTERVAL;
+    viewEyeChangeTimer = new Timer(0, new ViewEyeChangeAction());
+    viewEyeChangeTimer.setRepeats(false);
+    initGUI(sharedScene);
     
     selectionManager = createDefaultSelectionManager();
     
@@ -86,15 +141,19 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
     return new SingleSelectionManager();
   }
 
-  private void initGUI()
+  private void initGUI(SharedEntityScene sharedScene)
   {
     this.worldWindow = new WorldWindowGLCanvas();
     this.worldWindow.setPreferredSize(new Dimension(640, 480));
+    this.redrawScheduler = new RedrawScheduler(worldWindow);
 
     // Create the default model as described in the current worldwind properties.
-    entityLayerList = new EntityLayerList();
+    entityLayerList = new EntityLayerList(sharedScene);
+    entityLayerList.setRedrawRequester(redrawScheduler);
+    updateDecimator = new UpdateDecimator(worldWindow, entityLayerList);
     Model windowModel = createModel(entityLayerList);
     this.worldWindow.setModel(windowModel);
+    entityLayerList.addPropertyChangeListener(EntityLayerList.LAYER_ADDED_PROPERTY, new EntityLayerAddedListener());
 
     // Setup a select listener for the worldmap click-and-go feature
     this.worldWindow.addSelectListener(new ClickAndGoSelectListener(worldWindow, WorldMapLayer.class));
@@ -133,6 +192,255 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
     return worldWindow;
   }
 
+  /**
+   * Gets the scheduler that coalesces redraws of this Viewport.  It can be used to set the maximum frame rate, to
+   * control whether rendering stops while nothing changes, and to read frame-time statistics.
+   * @return The redraw scheduler for this Viewport.
+   */
+  public RedrawScheduler getRedrawScheduler()
+  {
+    return redrawScheduler;
+  }
+
+  /**
+   * Gets the decimator that drops entity updates too small to see at the current zoom level.  Its pixel threshold
+   * and catch-up interval can be adjusted, or its threshold set to 0 to display every update.
+   * @return The update decimator for this viewport.
+   */
+  public UpdateDecimator getUpdateDecimator()
+  {
+    return updateDecimator;
+  }
+
+  /**
+   * Sets the shortest time between view eye change events.  While the view moves, an event is fired at most once per
+   * interval, and a final event is always fired once the view stops, so listeners always see where the view ends up.
+   * @param viewEyeChangeInterval The interval, in milliseconds, or 0 to fire an event for every change of the view.
+   * May not be negative.
+   */
+  public void setViewEyeChangeInterval(int viewEyeChangeInterval)
+  {
+    if (viewEyeChangeInterval < 0)
+    {
+      throw new IllegalArgumentException("viewEyeChangeInterval may not be negative");
+    }
+    this.viewEyeChangeInterval = viewEyeChangeInterval;
+  }
+
+  /**
+   * Gets the shortest time between view eye change events.
+   * @return The interval, in milliseconds, or 0 if an event is fired for every change of the view.
+   */
+  public int getViewEyeChangeInterval()
+  {
+    return viewEyeChangeInterval;
+  }
+
+  /**
+   * Gets the layers that display this Viewport's entities.  They can be used to set the update interval and render
+   * budget of each entity type.
+   * @return The entity layers of this Viewport.
+   */
+  public EntityLayerList getEntityLayerList()
+  {
+    return entityLayerList;
+  }
+
+  /**
+   * Sets whether icons are picked from their positions in the last rendered frame instead of by Worldwind's picking
+   * pass.  When this is on, clicks are first checked against the icons on screen, and only fall back to the picking
+   * pass, which then mostly renders surface shapes, when no icon is under the click.
+   * @param screenSpacePicking true to pick icons in screen space, false to pick everything in the picking pass.
+   */
+  public void setScreenSpacePicking(boolean screenSpacePicking)
+  {
+    this.screenSpacePicking = screenSpacePicking;
+    entityLayerList.setIconPickPassEnabled(!screenSpacePicking);
+  }
+
+  /**
+   * Checks whether icons are picked from their positions in the last rendered frame.
+   * @return true if icons are picked in screen space, false if everything is picked in the picking pass.
+   */
+  public boolean isScreenSpacePicking()
+  {
+    return screenSpacePicking;
+  }
+
+  /**
+   * Sets whether the viewport only allows point entities that are near enough to be seen.  When this is on, the
+   * viewport's interest region is the area within the horizon distance of the eye, plus a margin, and point entities
+   * outside of it are not allowed.  The region follows the view, and an INTEREST_PROPERTY change is fired each time
+   * it moves, with the old and new regions as InterestRegions.
+   * @param interestManaged true to only allow nearby point entities, false to allow them anywhere.
+   */
+  public void setInterestManaged(boolean interestManaged)
+  {
+    this.interestManaged = interestManaged;
+    updateInterestSector();
+  }
+
+  /**
+   * Checks whether the viewport only allows point entities that are near enough to be seen.
+   * @return true if only nearby point entities are allowed, false if they are allowed anywhere.
+   */
+  public boolean isInterestManaged()
+  {
+    return interestManaged;
+  }
+
+  /**
+   * Sets how far beyond the horizon the interest region reaches.  A larger margin means the region moves less often
+   * as the view pans, at the cost of holding more entities that are out of sight.
+   * @param interestMargin The margin, as a fraction of the distance to the horizon.  May not be negative.
+   */
+  public void setInterestMargin(double interestMargin)
+  {
+    if (!(interestMargin >= 0))
+    {
+      throw new IllegalArgumentException("interestMargin may not be negative");
+    }
+    this.interestMargin = interestMargin;
+    updateInterestSector();
+  }
+
+  /**
+   * Gets how far beyond the horizon the interest region reaches.
+   * @return The margin, as a fraction of the distance to the horizon.
+   */
+  public double getInterestMargin()
+  {
+    return interestMargin;
+  }
+
+  /**
+   * Gets the region that point entities must be inside to be allowed in the viewport.
+   * @return The interest region, or null if point entities are allowed anywhere.
+   */
+  public Sector getInterestSector()
+  {
+    return interestSector;
+  }
+
+  /**
+   * Sets the types of entity that are allowed in the viewport.
+   * @param entityTypes The allowed entity types, or null to allow every type.
+   */
+  public void setAllowedEntityTypes(Collection<? extends EntityType> entityTypes)
+  {
+    Set<EntityType> oldEntityTypes = allowedEntityTypes;
+    Set<EntityType> newEntityTypes = null;
+    if (entityTypes != null)
+    {
+      newEntityTypes = Collections.unmodifiableSet(new HashSet<EntityType>(entityTypes));
+    }
+    allowedEntityTypes = newEntityTypes;
+    propertyChanged(INTEREST_PROPERTY, oldEntityTypes, newEntityTypes);
+  }
+
+  /**
+   * Gets the types of entity that are allowed in the viewport.
+   * @return The allowed entity types, or null if every type is allowed.
+   */
+  public Set<EntityType> getAllowedEntityTypes()
+  {
+    return allowedEntityTypes;
+  }
+
+  /**
+   * Moves the interest region to follow the view.  The region is only moved when the area within the horizon is no
+   * longer inside it, or when it has become much larger than that area, so that small movements of the view don't
+   * change which entities are allowed.
+   */
+  private void updateInterestSector()
+  {
+    Sector oldInterestSector = interestSector;
+    Sector newInterestSector = null;
+    if (interestManaged && isInitialized())
+    {
+      View view = getView();
+      Position eyePosition = view.getEyePosition();
+      double globeRadius = view.getGlobe().getRadius();
+      if (eyePosition != null && globeRadius > 0)
+      {
+        double horizonAngle = view.computeHorizonDistance() / globeRadius;
+        Sector horizonSector = computeSurroundingSector(eyePosition, horizonAngle);
+        if (oldInterestSector != null && horizonSector != null && contains(oldInterestSector, horizonSector) &&
+            getLatitudeSpan(oldInterestSector) <= INTEREST_SHRINK_RATIO * getLatitudeSpan(horizonSector))
+        {
+          newInterestSector = oldInterestSector;
+        }
+        else if (horizonSector != null)
+        {
+          newInterestSector = computeSurroundingSector(eyePosition, horizonAngle * (1 + interestMargin));
+        }
+      }
+    }
+    if (newInterestSector != oldInterestSector)
+    {
+      interestSector = newInterestSector;
+      propertyChanged(INTEREST_PROPERTY, toInterestRegion(oldInterestSector), toInterestRegion(newInterestSector));
+    }
+  }
+
+  private static InterestRegion toInterestRegion(Sector sector)
+  {
+    InterestRegion region = null;
+    if (sector != null)
+    {
+      region = new InterestRegion(sector.getMinLatitude().degrees, sector.getMaxLatitude().degrees,
+                                  sector.getMinLongitude().degrees, sector.getMaxLongitude().degrees);
+    }
+    return region;
+  }
+
+  /**
+   * Computes a sector that holds every location within an angular distance of a center location.
+   * @param center The center location.
+   * @param angularRadius The angular distance from the center, in radians.
+   * @return The surrounding sector, or null if it would cover the entire globe.
+   */
+  private static Sector computeSurroundingSector(LatLon center, double angularRadius)
+  {
+    Sector sector = null;
+    double latitude = center.getLatitude().radians;
+    double minLatitude = latitude - angularRadius;
+    double maxLatitude = latitude + angularRadius;
+    if (minLatitude > -Math.PI / 2 && maxLatitude < Math.PI / 2)
+    {
+      double minLongitude = -Math.PI;
+      double maxLongitude = Math.PI;
+      double sinRadius = Math.sin(Math.min(angularRadius, Math.PI / 2));
+      double cosLatitude = Math.cos(latitude);
+      // Sectors that cross the antimeridian can't be represented, so they take in every longitude instead.
+      if (sinRadius < cosLatitude)
+      {
+        double longitudeRadius = Math.asin(sinRadius / cosLatitude);
+        double longitude = center.getLongitude().radians;
+        if (longitude - longitudeRadius > -Math.PI && longitude + longitudeRadius < Math.PI)
+        {
+          minLongitude = longitude - longitudeRadius;
+          maxLongitude = longitude + longitudeRadius;
+        }
+      }
+      sector = Sector.fromRadians(minLatitude, maxLatitude, minLongitude, maxLongitude);
+    }
+    return sector;
+  }
+
+  private static boolean contains(Sector outer, Sector inner)
+  {
+    return outer.getMinLatitude().degrees <= inner.getMinLatitude().degrees &&
+           outer.getMaxLatitude().degrees >= inner.getMaxLatitude().degrees &&
+           outer.getMinLongitude().degrees <= inner.getMinLongitude().degrees &&
+           outer.getMaxLongitude().degrees >= inner.getMaxLongitude().degrees;
+  }
+
+  private static double getLatitudeSpan(Sector sector)
+  {
+    return sector.getMaxLatitude().degrees - sector.getMinLatitude().degrees;
+  }
+
   /**
    * Gets the Worldwind View for this Viewport.
    * @return The View of this Viewport.
@@ -143,7 +451,8 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
   }
 
   /**
-   * Sets the image pack used to pick icons for tracks.
+   * Sets the image pack used to pick icons for tracks.  Track icons belong to the viewport's shared scene, so this
+   * also changes the track icons of every other viewport that shares the scene.
    * @param imagePack The image pack to use for picking icons for tracks.
    */
   public void setTrackImagePack(ImagePack imagePack)
@@ -302,7 +611,7 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
         newView.setPitch(pitch);
       }
     }
-    this.worldWindow.redraw();
+    redrawScheduler.requestRedraw();
   }
   
   /**
@@ -341,6 +650,12 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
     return geoCenter;
   }
   
+  private void updateEntityLayerRange()
+  {
+    double rangeToEye = isInitialized() ? getRangeToEye() : Double.NaN;
+    entityLayerList.setRangeToEye(rangeToEye);
+  }
+
   /**
    * Calculates the range from the camera to the center of the view.
    * @return range to the eye point, in meters.
@@ -393,33 +708,48 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
   @Override
   public ViewEyeProperties getViewEye()
   {    
-    WorldwindViewEyeProperties viewEye = new WorldwindViewEyeProperties();
-        
-    Projection currentProjection = getProjection();
-    viewEye.setProjection(currentProjection);
-    
-    GeodeticPosition geoCenter = getGeoCenter();
-    viewEye.setGeoCenter(geoCenter);
-        
-    double rangeMeters = getRangeToEye();
-    viewEye.setRangeScale(rangeMeters);
-    
-    Angle orientation = getOrientation();
-    viewEye.setOrientation(orientation);
-    
-    Angle pitch = getPitch();
-    viewEye.setPitch(pitch);
-    
-    return viewEye;
+    return new ViewEyeState(this).createViewEyeProperties();
   }
   
   /**
-   * Fires to associated listeners that the view eye has changed.
+   * Fires to associated listeners that the view eye has changed.  The state of the view is captured when the event is
+   * fired, but the view eye is only worked out from it if a listener asks the event for it.
    */
   protected void fireViewEyeChanged()
   {
-    ViewEyeProperties viewEye = getViewEye();
-    super.fireViewEyeChanged(viewEye);
+    lastViewEyeChangeTime = System.nanoTime();
+    final ViewEyeState viewEyeState = new ViewEyeState(this);
+    fireViewportChanged(new LazyViewportChangeEvent(this)
+    {
+      @Override
+      protected ViewEyeProperties createViewEyeProperties()
+      {
+        return viewEyeState.createViewEyeProperties();
+      }
+    });
+  }
+
+  /**
+   * Fires that the view eye has changed, unless an event was fired less than the view eye change interval ago.  In
+   * that case, an event is fired once the interval has passed, which shows the view as it is by then.
+   */
+  private void viewEyeChanged()
+  {
+    // While an event is pending, it will show this change too.
+    if (!viewEyeChangeTimer.isRunning())
+    {
+      long elapsedMillis = (System.nanoTime() - lastViewEyeChangeTime) / 1000000;
+      // Before the first event, the elapsed time is meaningless and may be negative.
+      if (elapsedMillis >= viewEyeChangeInterval || elapsedMillis < 0)
+      {
+        fireViewEyeChanged();
+      }
+      else
+      {
+        viewEyeChangeTimer.setInitialDelay((int) (viewEyeChangeInterval - elapsedMillis));
+        viewEyeChangeTimer.start();
+      }
+    }
   }
 
   @Override
@@ -487,10 +817,11 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
     return maximumWithNorthAndEastMargin;
   }
   
-  private Distance getLongitudeDifference(Position min, Position max, double equatorialRadius, double polarRadius)
+  private Distance getLongitudeDifference(Position min, Position max, Ellipsoid ellipsoid)
   {
-    LatLon pointEastOfMin = new LatLon(min.getLatitude(), max.getLongitude());
-    double distanceMeters = LatLon.ellipsoidalDistance(min, pointEastOfMin, equatorialRadius, polarRadius);
+    double minLatitude = min.getLatitude().radians;
+    double distanceMeters = GeodesicUtils.vincentyDistance(ellipsoid, minLatitude, min.getLongitude().radians,
+                                                           minLatitude, max.getLongitude().radians);
     if(!Double.isNaN(distanceMeters))
     {
       return Distance.fromMeters(distanceMeters);
@@ -501,10 +832,11 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
     }
   }
   
-  private Distance getLatitudeDifference(Position min, Position max, double equatorialRadius, double polarRadius)
+  private Distance getLatitudeDifference(Position min, Position max, Ellipsoid ellipsoid)
   {
-    LatLon pointAboveMin = new LatLon(max.getLatitude(), min.getLongitude());
-    double distanceMeters = LatLon.ellipsoidalDistance(min, pointAboveMin, equatorialRadius, polarRadius);
+    double minLongitude = min.getLongitude().radians;
+    double distanceMeters = GeodesicUtils.vincentyDistance(ellipsoid, min.getLatitude().radians, minLongitude,
+                                                           max.getLatitude().radians, minLongitude);
     if(!Double.isNaN(distanceMeters))
     {
       return Distance.fromMeters(distanceMeters);
@@ -600,10 +932,9 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
         
     // Calculate the distance of the horizontal and vertical rectangle formed by the two points.
     Globe globe = view.getGlobe();
-    double equatorialRadius = globe.getEquatorialRadius();
-    double polarRadius = globe.getPolarRadius();
-    Distance longitudeDistance = getLongitudeDifference(minimumPosition, maximumPosition, equatorialRadius, polarRadius);
-    Distance latitudeDistance = getLatitudeDifference(minimumPosition, maximumPosition, equatorialRadius, polarRadius);    
+    Ellipsoid ellipsoid = new Ellipsoid(globe.getEquatorialRadius(), globe.getPolarRadius());
+    Distance longitudeDistance = getLongitudeDifference(minimumPosition, maximumPosition, ellipsoid);
+    Distance latitudeDistance = getLatitudeDifference(minimumPosition, maximumPosition, ellipsoid);    
     
     // Get the minimum elevation the view eye must be away to fully view the longitude and latitude distance
     Distance newElevation = getMinimumElevation(longitudeDistance, latitudeDistance);
@@ -659,10 +990,10 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
    * Normally, the algorithm moves the point minimum point west and south, and the maximum point east and north.  When
    * the minimum scaled view crosses the dateline, the minimum point should be moved east and south, and the maximum
    * point should move west and north.</li>
-   * <li>The zoom out distance is incorrect.  The underlying function that serves as a basis for the zoom out
-   * distance is LatLon.ellipsoidalDistance().  This function appears to always calculate the distance from normalized
-   * maximum to normalized minimum.  This throws off the correct value, since the shortest distance between 
-   * two points at -179 and 179 is obviously 2 degrees apart, not 358 degrees</li>
+   * <li>The zoom out distance is inconsistent with the chosen points.  The underlying function that serves as a basis
+   * for the zoom out distance is GeodesicUtils.vincentyDistance(), which measures the shortest path between the
+   * points.  Since the points were chosen as if the viewport spanned 358 degrees from -179 to 179, the distance used
+   * (2 degrees) does not match the area the view is centered on.</li>
    * </ol>
    * @param points The list of points to scale the viewport to.
    * @param margin The distance (in meters) to
@@ -679,27 +1010,88 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
 
   public void addEntity(Entity entity)
   {
-    entityLayerList.addEntity(entity);
+    addEntities(Collections.singletonList(entity));
   }
 
   public void removeEntity(Entity entity)
   {
-    entityLayerList.removeEntity(entity);
+    removeEntities(Collections.singletonList(entity));
   }
 
   public void clearEntities()
   {
-    entityLayerList.clearEntities();
+    synchronized (updateDecimator)
+    {
+      entityLayerList.clearEntities();
+      updateDecimator.entitiesCleared();
+    }
   }
 
   public void updateEntity(Entity entity)
   {
-    entityLayerList.updateEntity(entity);
+    updateEntities(Collections.singletonList(entity));
+  }
+
+  public void addEntities(Collection<? extends Entity> entities)
+  {
+    List<Entity> allowedEntities = new ArrayList<Entity>(entities.size());
+    for (Entity entity : entities)
+    {
+      if (isEntityAllowed(entity))
+      {
+        allowedEntities.add(entity);
+      }
+    }
+    if (!allowedEntities.isEmpty())
+    {
+      synchronized (updateDecimator)
+      {
+        entityLayerList.addEntities(allowedEntities);
+        updateDecimator.entitiesAdded(allowedEntities);
+      }
+    }
   }
 
+  public void removeEntities(Collection<? extends Entity> entities)
+  {
+    synchronized (updateDecimator)
+    {
+      entityLayerList.removeEntities(entities);
+      updateDecimator.entitiesRemoved(entities);
+    }
+  }
+
+  public void updateEntities(Collection<? extends Entity> entities)
+  {
+    updateDecimator.updateEntities(entities);
+  }
+
+  public void updateEntities(Collection<? extends Entity> entities, Map<Entity, Integer> changedFields)
+  {
+    updateDecimator.updateEntities(entities, changedFields);
+  }
+
+  /**
+   * Checks to see if an entity is one of the allowed types, and for point entities, whether it is inside the
+   * interest region.
+   * @param entity The entity to check.
+   * @return true if the entity is allowed in the viewport, false otherwise.
+   */
   public boolean isEntityAllowed(Entity entity)
   {
-    return true;
+    boolean allowed = true;
+    Set<EntityType> entityTypes = allowedEntityTypes;
+    if (entityTypes != null)
+    {
+      allowed = entityTypes.contains(entity.getType());
+    }
+    Sector sector = interestSector;
+    if (allowed && sector != null && entity.isPointEntity() && (entity instanceof Positioned))
+    {
+      Position position = ((Positioned) entity).getPosition();
+      allowed = (position == null) || sector.contains(position);
+    }
+    return allowed;
   }
   
   public void setSelectionManager(SelectionManager selectionManager)
@@ -769,9 +1161,40 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
       updateViewportSelection(event.getEntities(), event.getSelectionType());
     }
   }
+
+  private class ViewEyeChangeAction implements ActionListener
+  {
+    public void actionPerformed(ActionEvent e)
+    {
+      fireViewEyeChanged();
+    }
+  }
+
+  /**
+   * Adds the layers created for newly seen entity types to the model, on top of the other entity layers.
+   */
+  private class EntityLayerAddedListener implements PropertyChangeListener
+  {
+    public void propertyChange(PropertyChangeEvent evt)
+    {
+      Layer addedLayer = (Layer) evt.getNewValue();
+      LayerList modelLayers = worldWindow.getModel().getLayers();
+      int insertIndex = WORLD_MAP_LAYER_INDEX;
+      Iterator<Layer> entityLayers = entityLayerList.getLayers();
+      while (entityLayers.hasNext())
+      {
+        insertIndex = Math.max(insertIndex, modelLayers.indexOf(entityLayers.next()) + 1);
+      }
+      modelLayers.add(Math.min(insertIndex, modelLayers.size()), addedLayer);
+    }
+  }
   
   public void dispose()
   {
+    viewEyeChangeTimer.stop();
+    redrawScheduler.dispose();
+    updateDecimator.dispose();
+    entityLayerList.dispose();
     worldWindow.shutdown();
   }
       
@@ -794,7 +1217,9 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
       String propertyName = evt.getPropertyName();
       if(propertyName.equals(AVKey.VIEW))
       {
-        fireViewEyeChanged();
+        viewEyeChanged();
+        updateInterestSector();
+        updateEntityLayerRange();
       }
     }
 
@@ -813,6 +1238,8 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
       {
         firstRendering = false;
         fireViewEyeChanged();
+        updateInterestSector();
+        updateEntityLayerRange();
       }
     }
   }
@@ -851,8 +1278,16 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
       SelectionType selectionType = getSelectionTypeForEvent(event);
       if(selectionType != null)
       {
-        Object topObject = event.getTopObject();
-        Entity selectedEntity = entityLayerList.getEntityForObject(topObject);
+        Entity selectedEntity = null;
+        if(screenSpacePicking)
+        {
+          selectedEntity = entityLayerList.pickIconEntity(event.getMouseEvent().getPoint());
+        }
+        if(selectedEntity == null)
+        {
+          Object topObject = event.getTopObject();
+          selectedEntity = entityLayerList.getEntityForObject(topObject);
+        }
         if(selectedEntity != null)
         {
           List<Entity> selectionAsList = Collections.singletonList(selectedEntity);
@@ -861,4 +1296,53 @@ public class WorldwindViewport extends AbstractViewport implements EntityViewpor
       }
     }
   }
+
+  /**
+   * The parts of a view that a view eye is worked out from.  These are cheap to capture, so they can be taken when the
+   * view changes, and turned into a view eye later.
+   */
+  private static class ViewEyeState
+  {
+    private Projection projection;
+    private Globe globe;
+    private Vec4 centerPoint;
+    private Vec4 eyePoint;
+    private Angle heading;
+    private Angle pitch;
+
+    public ViewEyeState(WorldwindViewport viewport)
+    {
+      this.projection = viewport.getProjection();
+      if(viewport.isInitialized())
+      {
+        View view = viewport.getView();
+        this.globe = view.getGlobe();
+        this.centerPoint = view.getCenterPoint();
+        this.eyePoint = view.getEyePoint();
+        this.heading = view.getHeading();
+        this.pitch = view.getPitch();
+      }
+    }
+
+    public ViewEyeProperties createViewEyeProperties()
+    {
+      WorldwindViewEyeProperties viewEye = new WorldwindViewEyeProperties();
+      viewEye.setProjection(projection);
+      
+      GeodeticPosition geoCenter = null;
+      double rangeMeters = 0;
+      if(globe != null)
+      {
+        Position centerPosition = globe.computePositionFromPoint(centerPoint);
+        geoCenter = new WWGeodeticPosition(centerPosition);
+        rangeMeters = eyePoint.distanceTo3(centerPoint);
+      }
+      viewEye.setGeoCenter(geoCenter);
+      viewEye.setRangeScale(rangeMeters);
+      viewEye.setOrientation(heading);
+      viewEye.setPitch(pitch);
+      
+      return viewEye;
+    }
+  }
 }
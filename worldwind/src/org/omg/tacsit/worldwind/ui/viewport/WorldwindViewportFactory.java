@@ -7,12 +7,14 @@ package org.omg.tacsit.worldwind.ui.viewport;
 import org.omg.tacsit.common.util.Factory;
 
 /**
- * A Factory that creates new Worldwind Viewports.  The Viewports will have a default name.
+ * A Factory that creates new Worldwind Viewports.  The Viewports will have a default name, and share a single set of
+ * entity representations, so each additional viewport adds little memory or update work.
  * @author Matthew Child
  */
 public class WorldwindViewportFactory implements Factory<WorldwindViewport>
 {
   private int viewportCount;
+  private SharedEntityScene sharedScene;
 
   /**
    * Creates a new instance.
@@ -20,11 +22,21 @@ public class WorldwindViewportFactory implements Factory<WorldwindViewport>
   public WorldwindViewportFactory()
   {
     viewportCount = 0;
+    sharedScene = new SharedEntityScene();
+  }
+
+  /**
+   * Gets the scene whose representations are shared by every viewport this factory creates.
+   * @return The shared scene.
+   */
+  public SharedEntityScene getSharedScene()
+  {
+    return sharedScene;
   }
   
   public WorldwindViewport createObject()
   {    
-    WorldwindViewport viewport = new WorldwindViewport();
+    WorldwindViewport viewport = new WorldwindViewport(sharedScene);
     viewportCount++;
     viewport.setName("Viewport " + viewportCount);
     return viewport;
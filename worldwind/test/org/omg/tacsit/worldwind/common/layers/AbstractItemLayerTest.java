@@ -0,0 +1,371 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.layers;
+
+import gov.nasa.worldwind.render.DrawContext;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assume;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the dense slot storage and selection bitmasks of AbstractItemLayer.
+ * @author Matthew Child
+ */
+public class AbstractItemLayerTest
+{
+  /**
+   * A representation that only remembers the item it was created for.
+   */
+  private static class Representation
+  {
+    private String item;
+
+    public Representation(String item)
+    {
+      this.item = item;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "Representation{" + item + '}';
+    }
+  }
+
+  /**
+   * An item layer of strings, which keeps track of the representations it has been given.
+   */
+  private static class TestLayer extends AbstractItemLayer<String, String, Representation>
+  {
+    private Set<Representation> layerRepresentations = new HashSet<Representation>();
+    private List<String> selectionChangedItems = new ArrayList<String>();
+
+    @Override
+    protected Representation newRepresentation(String item)
+    {
+      return new Representation(item);
+    }
+
+    @Override
+    protected void addToLayer(Representation representation)
+    {
+      assertTrue(layerRepresentations.add(representation));
+    }
+
+    @Override
+    protected void removeFromLayer(Representation representation)
+    {
+      assertTrue(layerRepresentations.remove(representation));
+    }
+
+    @Override
+    protected void clearRepresentationsFromLayer()
+    {
+      layerRepresentations.clear();
+    }
+
+    @Override
+    protected void updateDisplayAttributes(String item, Representation representation)
+    {
+    }
+
+    @Override
+    protected void itemSelectionChanged(String item)
+    {
+      selectionChangedItems.add(item);
+    }
+
+    @Override
+    protected void doRender(DrawContext dc)
+    {
+    }
+  }
+
+  /**
+   * Checks that the layer holds exactly the expected items, each with its own representation, and each with the
+   * expected selection types.
+   */
+  private static void assertLayerMatches(TestLayer layer, Map<String, Set<String>> expectedSelections,
+                                         Set<String> expectedItems)
+  {
+    assertEquals(expectedItems, layer.getItems());
+    assertEquals(expectedItems.size(), layer.layerRepresentations.size());
+    for (String item : expectedItems)
+    {
+      assertTrue(layer.containsItem(item));
+      Representation representation = layer.getRepresentation(item);
+      assertNotNull(representation);
+      assertEquals(item, representation.item);
+      assertTrue(layer.layerRepresentations.contains(representation));
+      assertEquals(item, layer.getItem(representation));
+
+      Set<String> expectedTypes = expectedSelections.get(item);
+      List<String> selectionTypes = layer.getSelectionTypes(item);
+      if (expectedTypes == null || expectedTypes.isEmpty())
+      {
+        assertNull(selectionTypes);
+        assertFalse(layer.isSelected(item));
+        assertNull(layer.getDisplaySelectionTypeForRepresentation(representation));
+      }
+      else
+      {
+        assertEquals(expectedTypes, new HashSet<String>(selectionTypes));
+        assertTrue(layer.isSelected(item));
+        String displayType = layer.getDisplaySelectionTypeForRepresentation(representation);
+        assertTrue(expectedTypes.contains(displayType));
+        assertEquals(layer.getDisplaySelectionType(item), displayType);
+      }
+    }
+  }
+
+  /**
+   * Removing an item from the middle moves the last item into its slot; the moved item must keep its representation
+   * and selection.
+   */
+  @Test
+  public void testRemoveMovesLastItemIntoSlot()
+  {
+    TestLayer layer = new TestLayer();
+    layer.addItems(Arrays.asList("a", "b", "c", "d"));
+    layer.addItemToSelection("d", "hooked");
+    Representation removedRepresentation = layer.getRepresentation("b");
+    Representation movedRepresentation = layer.getRepresentation("d");
+
+    layer.removeItem("b");
+
+    assertFalse(layer.containsItem("b"));
+    assertNull(layer.getItem(removedRepresentation));
+    assertSame(movedRepresentation, layer.getRepresentation("d"));
+    assertEquals("d", layer.getItem(movedRepresentation));
+    assertEquals("hooked", layer.getDisplaySelectionTypeForRepresentation(movedRepresentation));
+    assertEquals(Arrays.asList("d"), layer.getItemsWithSelectionType("hooked"));
+
+    Map<String, Set<String>> selections = new HashMap<String, Set<String>>();
+    selections.put("d", new HashSet<String>(Arrays.asList("hooked")));
+    assertLayerMatches(layer, selections, new HashSet<String>(Arrays.asList("a", "c", "d")));
+  }
+
+  /**
+   * An item's selection is kept while it is out of the layer, and applies again when it is added back.
+   */
+  @Test
+  public void testSelectionKeptWhileItemIsRemoved()
+  {
+    TestLayer layer = new TestLayer();
+    layer.addItem("a");
+    layer.addItemToSelection("a", "hooked");
+    layer.addItemToSelection("b", "selected");
+    layer.removeItem("a");
+    assertTrue(layer.isSelected("a"));
+    assertTrue(layer.getItemsWithSelectionType("hooked").isEmpty());
+
+    layer.addItems(Arrays.asList("a", "b"));
+    assertEquals("hooked", layer.getDisplaySelectionTypeForRepresentation(layer.getRepresentation("a")));
+    assertEquals("selected", layer.getDisplaySelectionTypeForRepresentation(layer.getRepresentation("b")));
+
+    layer.clearSelectionType("hooked");
+    assertFalse(layer.isSelected("a"));
+    assertTrue(layer.isSelected("b"));
+  }
+
+  /**
+   * The display selection type is the highest priority type an item has.
+   */
+  @Test
+  public void testDisplaySelectionTypeFollowsPriority()
+  {
+    TestLayer layer = new TestLayer();
+    layer.addItem("a");
+    layer.addItemToSelection("a", "selected");
+    layer.addItemToSelection("a", "hooked");
+    layer.setSelectionTypePriority(Arrays.asList("hooked", "selected"));
+    assertEquals("hooked", layer.getDisplaySelectionType("a"));
+    layer.setSelectionTypePriority(Arrays.asList("selected", "hooked"));
+    assertEquals("selected", layer.getDisplaySelectionType("a"));
+  }
+
+  /**
+   * Selection changes are only reported for items whose selection actually changed.
+   */
+  @Test
+  public void testSelectionChangedOnlyWhenMaskChanges()
+  {
+    TestLayer layer = new TestLayer();
+    layer.addItems(Arrays.asList("a", "b"));
+    layer.addItemToSelection("a", "selected");
+    layer.addItemToSelection("a", "selected");
+    layer.clearItemSelection("b");
+    assertEquals(Arrays.asList("a"), layer.selectionChangedItems);
+  }
+
+  /**
+   * A layer supports 32 selection types, one per bit of the mask, and refuses a 33rd.
+   */
+  @Test
+  public void testSelectionTypeLimit()
+  {
+    TestLayer layer = new TestLayer();
+    layer.addItem("a");
+    for (int i = 0; i < Integer.SIZE; i++)
+    {
+      layer.addItemToSelection("a", "type" + i);
+    }
+    assertEquals(Integer.SIZE, layer.getSelectionTypes("a").size());
+    assertEquals("type31", layer.getSelectionTypes("a").get(Integer.SIZE - 1));
+    assertEquals(Arrays.asList("a"), layer.getItemsWithSelectionType("type31"));
+    try
+    {
+      layer.addItemToSelection("a", "type" + Integer.SIZE);
+      fail("A 33rd selection type should be refused");
+    }
+    catch (IllegalArgumentException expected)
+    {
+    }
+    assertEquals(Integer.SIZE, layer.getSelectionTypes("a").size());
+  }
+
+  /**
+   * Random adds, removes and selection changes should leave the layer matching a straightforward model of the same
+   * operations.
+   */
+  @Test
+  public void testRandomOperationsMatchModel()
+  {
+    String[] selectionTypes = {"selected", "hooked", "highlighted"};
+    Random random = new Random(20261019L);
+    TestLayer layer = new TestLayer();
+    layer.setSelectionTypePriority(Arrays.asList("hooked", "selected"));
+    Set<String> items = new HashSet<String>();
+    Map<String, Set<String>> selections = new HashMap<String, Set<String>>();
+
+    for (int step = 0; step < 5000; step++)
+    {
+      String item = "item" + random.nextInt(40);
+      String selectionType = selectionTypes[random.nextInt(selectionTypes.length)];
+      int operation = random.nextInt(10);
+      if (operation < 4)
+      {
+        layer.addItem(item);
+        items.add(item);
+      }
+      else if (operation < 7)
+      {
+        layer.removeItem(item);
+        items.remove(item);
+      }
+      else if (operation < 9)
+      {
+        layer.addItemToSelection(item, selectionType);
+        Set<String> itemSelections = selections.get(item);
+        if (itemSelections == null)
+        {
+          itemSelections = new HashSet<String>();
+          selections.put(item, itemSelections);
+        }
+        itemSelections.add(selectionType);
+      }
+      else if (random.nextBoolean())
+      {
+        layer.clearItemSelection(item);
+        selections.remove(item);
+      }
+      else
+      {
+        layer.clearSelectionType(selectionType);
+        for (Set<String> itemSelections : selections.values())
+        {
+          itemSelections.remove(selectionType);
+        }
+      }
+
+      if (step % 50 == 0)
+      {
+        assertLayerMatches(layer, selections, items);
+        for (String type : selectionTypes)
+        {
+          Set<String> expectedItems = new HashSet<String>();
+          for (String modelItem : items)
+          {
+            Set<String> itemSelections = selections.get(modelItem);
+            if (itemSelections != null && itemSelections.contains(type))
+            {
+              expectedItems.add(modelItem);
+            }
+          }
+          assertEquals(expectedItems, new HashSet<String>(layer.getItemsWithSelectionType(type)));
+        }
+      }
+    }
+    assertLayerMatches(layer, selections, items);
+
+    layer.clearItems();
+    assertLayerMatches(layer, selections, new HashSet<String>());
+  }
+
+  /**
+   * Looking up the display selection type of a representation is done for every icon on every frame, so it must
+   * not allocate.  This is only checked on JVMs that can measure a thread's allocations.
+   */
+  @Test
+  public void testDisplaySelectionLookupDoesNotAllocate()
+  {
+    java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+    Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+    allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+    TestLayer layer = new TestLayer();
+    layer.setSelectionTypePriority(Arrays.asList("hooked", "selected"));
+    int itemCount = 100;
+    Representation[] representations = new Representation[itemCount];
+    for (int i = 0; i < itemCount; i++)
+    {
+      String item = "item" + i;
+      layer.addItem(item);
+      if (i % 3 == 0)
+      {
+        layer.addItemToSelection(item, (i % 2 == 0) ? "hooked" : "selected");
+      }
+      representations[i] = layer.getRepresentation(item);
+    }
+
+    int selectedCount = countSelected(layer, representations);
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+    int rounds = 1000;
+    for (int round = 0; round < rounds; round++)
+    {
+      selectedCount += countSelected(layer, representations);
+    }
+    long allocated = allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    assertEquals(34 * (rounds + 1), selectedCount);
+    // Allocating even once per lookup would take several megabytes; allow only for measurement overhead.
+    assertTrue("Lookups allocated " + allocated + " bytes", allocated < 4096);
+  }
+
+  private static int countSelected(TestLayer layer, Representation[] representations)
+  {
+    int selectedCount = 0;
+    for (int i = 0; i < representations.length; i++)
+    {
+      if (layer.getDisplaySelectionTypeForRepresentation(representations[i]) != null)
+      {
+        selectedCount++;
+      }
+    }
+    return selectedCount;
+  }
+}
@@ -0,0 +1,157 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.common.util;
+
+import gov.nasa.worldwind.geom.LatLon;
+import gov.nasa.worldwind.geom.Sector;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of the cell bookkeeping and sector queries of LocationGridIndex.
+ * @author Matthew Child
+ */
+public class LocationGridIndexTest
+{
+  private static Set<Integer> queryIndex(LocationGridIndex<Integer> index, Sector sector)
+  {
+    List<Integer> found = index.getItemsInSector(sector, new ArrayList<Integer>());
+    Set<Integer> foundSet = new HashSet<Integer>(found);
+    assertEquals("items found more than once", found.size(), foundSet.size());
+    return foundSet;
+  }
+
+  private static Set<Integer> queryBruteForce(Map<Integer, LatLon> itemToLocation, Sector sector)
+  {
+    Set<Integer> found = new HashSet<Integer>();
+    for (Map.Entry<Integer, LatLon> entry : itemToLocation.entrySet())
+    {
+      if (sector.contains(entry.getValue()))
+      {
+        found.add(entry.getKey());
+      }
+    }
+    return found;
+  }
+
+  private static LatLon randomLocation(Random random)
+  {
+    return LatLon.fromDegrees(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+  }
+
+  private static Sector randomSector(Random random)
+  {
+    double firstLatitude = random.nextDouble() * 180 - 90;
+    double secondLatitude = random.nextDouble() * 180 - 90;
+    double firstLongitude = random.nextDouble() * 360 - 180;
+    double secondLongitude;
+    if (random.nextBoolean())
+    {
+      // Small sectors walk their own cells; large ones check every occupied cell.
+      secondLongitude = Math.max(-180, Math.min(180, firstLongitude + random.nextDouble() * 10 - 5));
+      secondLatitude = Math.max(-90, Math.min(90, firstLatitude + random.nextDouble() * 10 - 5));
+    }
+    else
+    {
+      secondLongitude = random.nextDouble() * 360 - 180;
+    }
+    return Sector.fromDegrees(Math.min(firstLatitude, secondLatitude), Math.max(firstLatitude, secondLatitude),
+                              Math.min(firstLongitude, secondLongitude), Math.max(firstLongitude, secondLongitude));
+  }
+
+  /**
+   * Items should be found at their latest location, and no longer at the old one, once they move between cells.
+   */
+  @Test
+  public void testMovedItemIsFoundAtNewLocation()
+  {
+    LocationGridIndex<Integer> index = new LocationGridIndex<Integer>(1.0);
+    Integer item = Integer.valueOf(1);
+    index.put(item, LatLon.fromDegrees(10.5, 20.5));
+    index.put(item, LatLon.fromDegrees(-30.5, 40.5));
+
+    assertEquals(1, index.size());
+    assertTrue(queryIndex(index, Sector.fromDegrees(10, 11, 20, 21)).isEmpty());
+    assertTrue(queryIndex(index, Sector.fromDegrees(-31, -30, 40, 41)).contains(item));
+  }
+
+  /**
+   * Removing an item from the middle of a cell should keep the other items of the cell.
+   */
+  @Test
+  public void testRemoveKeepsOtherItemsInCell()
+  {
+    LocationGridIndex<Integer> index = new LocationGridIndex<Integer>(1.0);
+    for (int i = 0; i < 5; i++)
+    {
+      index.put(Integer.valueOf(i), LatLon.fromDegrees(10.1 + i * 0.1, 20.5));
+    }
+    assertTrue(index.remove(Integer.valueOf(1)));
+    assertFalse(index.remove(Integer.valueOf(1)));
+
+    Set<Integer> found = queryIndex(index, Sector.fromDegrees(10, 11, 20, 21));
+    assertEquals(4, found.size());
+    assertFalse(found.contains(Integer.valueOf(1)));
+    assertFalse(index.contains(Integer.valueOf(1)));
+  }
+
+  /**
+   * Items at the poles and the antimeridian should be kept in the edge cells, and found by sectors that reach them.
+   */
+  @Test
+  public void testEdgesOfTheGlobe()
+  {
+    LocationGridIndex<Integer> index = new LocationGridIndex<Integer>();
+    index.put(Integer.valueOf(1), LatLon.fromDegrees(90, 180));
+    index.put(Integer.valueOf(2), LatLon.fromDegrees(-90, -180));
+
+    assertTrue(queryIndex(index, Sector.fromDegrees(89, 90, 179, 180)).contains(Integer.valueOf(1)));
+    assertTrue(queryIndex(index, Sector.fromDegrees(-90, -89, -180, -179)).contains(Integer.valueOf(2)));
+    assertEquals(2, queryIndex(index, Sector.fromDegrees(-90, 90, -180, 180)).size());
+  }
+
+  /**
+   * Random puts, moves and removes should leave sector queries agreeing with a search of every item.
+   */
+  @Test
+  public void testRandomOperationsMatchBruteForce()
+  {
+    Random random = new Random(20261019L);
+    LocationGridIndex<Integer> index = new LocationGridIndex<Integer>(3.0);
+    Map<Integer, LatLon> itemToLocation = new HashMap<Integer, LatLon>();
+    for (int step = 0; step < 5000; step++)
+    {
+      Integer item = Integer.valueOf(random.nextInt(500));
+      int operation = random.nextInt(10);
+      if (operation < 7)
+      {
+        LatLon location = randomLocation(random);
+        index.put(item, location);
+        itemToLocation.put(item, location);
+      }
+      else
+      {
+        assertEquals(itemToLocation.remove(item) != null, index.remove(item));
+      }
+
+      if (step % 50 == 0)
+      {
+        assertEquals(itemToLocation.size(), index.size());
+        for (int query = 0; query < 10; query++)
+        {
+          Sector sector = randomSector(random);
+          assertEquals(queryBruteForce(itemToLocation, sector), queryIndex(index, sector));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/**
+ * Organization:  SimVentions, Inc.
+ * Creation Date: Oct 19, 2026
+ */
+package org.omg.tacsit.worldwind.ui.viewport;
+
+import gov.nasa.worldwind.layers.Layer;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.omg.tacsit.entity.DefaultEntityType;
+import org.omg.tacsit.worldwind.common.layers.ItemIconLayer;
+import org.omg.tacsit.worldwind.entity.GeometryEntity;
+import org.omg.tacsit.worldwind.entity.WWEntityType;
+import org.omg.tacsit.worldwind.entity.WWPointEntity;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that EntityLayerList creates layers on demand for entity types it wasn't built with.
+ * @author Matthew Child
+ */
+public class EntityLayerListTest
+{
+  private EntityLayerList layerList;
+  private List<Object> addedLayers;
+
+  @Before
+  public void setUp()
+  {
+    layerList = new EntityLayerList();
+    addedLayers = new ArrayList<Object>();
+    layerList.addPropertyChangeListener(EntityLayerList.LAYER_ADDED_PROPERTY, new PropertyChangeListener()
+    {
+      public void propertyChange(PropertyChangeEvent evt)
+      {
+        addedLayers.add(evt.getNewValue());
+      }
+    });
+  }
+
+  @After
+  public void tearDown()
+  {
+    layerList.dispose();
+  }
+
+  private int countLayers()
+  {
+    int count = 0;
+    for (Iterator<Layer> layers = layerList.getLayers(); layers.hasNext(); layers.next())
+    {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * A point entity of a new type should be displayed in a new icon layer, which is shared by later entities of the
+   * same type.
+   */
+  @Test
+  public void testNewPointEntityTypeGetsLayer()
+  {
+    int initialLayerCount = countLayers();
+    DefaultEntityType buoyType = new DefaultEntityType("Buoy");
+
+    layerList.addEntity(new WWPointEntity(buoyType));
+    layerList.addEntity(new WWPointEntity(buoyType));
+
+    assertEquals(1, addedLayers.size());
+    assertTrue(addedLayers.get(0) instanceof ItemIconLayer);
+    assertEquals(initialLayerCount + 1, countLayers());
+  }
+
+  /**
+   * A geometry entity of a new type should be displayed in a new geometry layer.
+   */
+  @Test
+  public void testNewGeometryEntityTypeGetsLayer()
+  {
+    int initialLayerCount = countLayers();
+
+    layerList.addEntity(new GeometryEntity(new DefaultEntityType("Exclusion Zone")));
+
+    assertEquals(1, addedLayers.size());
+    assertTrue(addedLayers.get(0) instanceof GeometryEntityLayer);
+    assertEquals(initialLayerCount + 1, countLayers());
+  }
+
+  /**
+   * Entities of the built-in types should go to the layers the list was built with.
+   */
+  @Test
+  public void testBuiltInTypesUseExistingLayers()
+  {
+    layerList.addEntity(new WWPointEntity(WWEntityType.TRACK));
+    layerList.addEntity(new GeometryEntity());
+
+    assertTrue(addedLayers.isEmpty());
+  }
+
+  /**
+   * Point entities can't be surface geometry.
+   */
+  @Test(expected = UnsupportedOperationException.class)
+  public void testPointEntityRejectsSurfaceGeometryType()
+  {
+    new WWPointEntity(WWEntityType.SURFACE_GEOMETRY);
+  }
+}